@@ -21,12 +21,14 @@ import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.ReadOnlyUserPrefs;
 import cardibuddy.model.UserPrefs;
 import cardibuddy.model.util.SampleDataUtil;
+import cardibuddy.storage.AutosaveService;
 import cardibuddy.storage.CardiBuddyStorage;
-import cardibuddy.storage.JsonCardiBuddyStorage;
+import cardibuddy.storage.CardiBuddyStorageFactory;
 import cardibuddy.storage.JsonUserPrefsStorage;
 import cardibuddy.storage.Storage;
 import cardibuddy.storage.StorageManager;
 import cardibuddy.storage.UserPrefsStorage;
+import cardibuddy.storage.WriteAheadLog;
 import cardibuddy.ui.Ui;
 import cardibuddy.ui.UiManager;
 import javafx.application.Application;
@@ -45,6 +47,7 @@ public class MainApp extends Application {
     protected Logic logic;
     protected LogicToUiManager logicToUiManager;
     protected Storage storage;
+    protected AutosaveService autosaveService;
     protected Model model;
     protected Config config;
 
@@ -58,14 +61,18 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
-        CardiBuddyStorage cardiBuddyStorage = new JsonCardiBuddyStorage(userPrefs.getCardiBuddyFilePath());
-        storage = new StorageManager(cardiBuddyStorage, userPrefsStorage);
+        CardiBuddyStorage cardiBuddyStorage = CardiBuddyStorageFactory.create(userPrefs.getStorageFormat(),
+                userPrefs.getCardiBuddyFilePath(), userPrefs.isLazyDeckLoading(), userPrefs.getCompressionLevel());
+        WriteAheadLog writeAheadLog = new WriteAheadLog(WriteAheadLog.getWalPath(userPrefs.getCardiBuddyFilePath()),
+                userPrefs.getFsyncPolicy(), userPrefs.getFsyncDelayMillis());
+        storage = new StorageManager(cardiBuddyStorage, userPrefsStorage, writeAheadLog);
 
         initLogging(config);
 
         model = initModelManager(storage, userPrefs);
 
-        logic = new LogicManager(model, storage);
+        autosaveService = new AutosaveService(storage);
+        logic = new LogicManager(model, storage, autosaveService);
 
         ui = new UiManager(logic);
 
@@ -180,6 +187,12 @@ public class MainApp extends Application {
     @Override
     public void stop() {
         logger.info("============================ [ Stopping Cardi Buddy ] =============================");
+        autosaveService.shutdown();
+        try {
+            storage.close();
+        } catch (IOException e) {
+            logger.severe("Failed to close the storage " + StringUtil.getDetails(e));
+        }
         try {
             storage.saveUserPrefs(model.getUserPrefs());
         } catch (IOException e) {
@@ -1,10 +1,15 @@
 package cardibuddy.commons.util;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Writes and reads files
@@ -80,4 +85,40 @@ public class FileUtil {
         Files.write(file, content.getBytes(CHARSET));
     }
 
+    /**
+     * Writes to {@code file} through {@code writer}, without ever leaving {@code file} half-written.
+     * The content goes to a temporary file in the same directory, which is forced to the disk
+     * and then renamed over {@code file} in one step.
+     * Will create the file and its missing parent directories if they do not exist yet.
+     */
+    public static void writeAtomically(Path file, StreamWriter writer) throws IOException {
+        createParentDirsOfFile(file);
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(temporaryFile.toFile())) {
+                BufferedOutputStream out = new BufferedOutputStream(fileOut);
+                writer.writeTo(out);
+                out.flush();
+                fileOut.getFD().sync();
+            }
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Writes content to an output stream. The stream is closed by the caller.
+     */
+    @FunctionalInterface
+    public interface StreamWriter {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
 }
@@ -3,6 +3,8 @@ package cardibuddy.commons.util;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -11,10 +13,14 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -22,6 +28,7 @@ import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import cardibuddy.commons.core.LogsCenter;
 import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
 
 /**
  * Converts a Java object instance to JSON and vice versa
@@ -39,13 +46,19 @@ public class JsonUtil {
                     .addSerializer(Level.class, new ToStringSerializer())
                     .addDeserializer(Level.class, new LevelDeserializer(Level.class)));
 
+    // leaves flushing to the end of the file, rather than after every value written into a generator
+    private static ObjectWriter valueWriter = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
     static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize) throws IOException {
-        FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
+        writeJsonFile(jsonFile, generator -> writeValue(generator, objectToSerialize));
     }
 
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(FileUtil.readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream in = Files.newInputStream(jsonFile)) {
+            return objectMapper.readValue(in, classOfObjectToDeserialize);
+        }
     }
 
     /**
@@ -76,6 +89,80 @@ public class JsonUtil {
         return Optional.of(jsonFile);
     }
 
+    /**
+     * Reads the given file through a streaming {@code JsonParser}, or returns {@code Optional.empty()}
+     * if the file is not found. The file is never loaded into memory as a whole;
+     * {@code reader} decides how much of it is held at any one time.
+     * @param filePath cannot be null.
+     * @param reader reads the content of the file from the parser it is given.
+     * @throws DataConversionException if the file is not valid Json, or not in the format {@code reader} expects.
+     * @throws IllegalValueException if {@code reader} finds values that violate data constraints.
+     */
+    public static <T> Optional<T> parseJsonFile(Path filePath, JsonReader<T> reader)
+            throws DataConversionException, IllegalValueException {
+        requireNonNull(filePath);
+        requireNonNull(reader);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Json file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try (InputStream in = Files.newInputStream(filePath)) {
+            return Optional.of(parseJson(in, reader));
+        } catch (IOException e) {
+            logger.warning("Error reading from jsonFile file " + filePath + ": " + e);
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Reads Json from {@code in} through a streaming {@code JsonParser}, as {@link #parseJsonFile} does.
+     * {@code in} is left for the caller to close.
+     */
+    public static <T> T parseJson(InputStream in, JsonReader<T> reader) throws IOException, IllegalValueException {
+        requireNonNull(in);
+        requireNonNull(reader);
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            return reader.readFrom(parser);
+        }
+    }
+
+    /**
+     * Reads the Json value at the current token of {@code parser} as an instance of {@code valueClass},
+     * leaving the parser at the last token of that value.
+     */
+    public static <T> T readValue(JsonParser parser, Class<T> valueClass) throws IOException {
+        return objectMapper.readValue(parser, valueClass);
+    }
+
+    /**
+     * Reads the whole of the given file as a tree of Json nodes.
+     * @param filePath cannot be null.
+     * @throws IOException if the file cannot be read or is not valid Json.
+     */
+    public static JsonNode readJsonTree(Path filePath) throws IOException {
+        requireNonNull(filePath);
+        try (InputStream in = Files.newInputStream(filePath)) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    /**
+     * Converts a tree of Json nodes into an instance of {@code valueClass}.
+     */
+    public static <T> T treeToValue(JsonNode tree, Class<T> valueClass) throws JsonProcessingException {
+        return objectMapper.treeToValue(tree, valueClass);
+    }
+
+    /**
+     * Converts {@code value} into a tree of Json nodes, in the same way as {@link #toJsonString}.
+     */
+    public static JsonNode valueToTree(Object value) {
+        return objectMapper.valueToTree(value);
+    }
+
     /**
      * Saves the Json object to the specified file.
      * Overwrites existing file if it exists, creates a new file if it doesn't.
@@ -90,6 +177,42 @@ public class JsonUtil {
         serializeObjectToJsonFile(filePath, jsonFile);
     }
 
+    /**
+     * Streams Json into the specified file through a pretty-printing {@code JsonGenerator},
+     * so only the values passed to the generator at any one time are held in memory.
+     * The file is replaced in one step once everything is written and forced to the disk,
+     * so it is never left half-written.
+     * @param filePath cannot be null
+     * @param content writes the Json content to the generator it is given
+     * @throws IOException if there was an error during writing to the file
+     */
+    public static void writeJsonFile(Path filePath, JsonContent content) throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(content);
+
+        FileUtil.writeAtomically(filePath, out -> writeJson(out, content));
+    }
+
+    /**
+     * Streams Json into {@code out} through a pretty-printing {@code JsonGenerator}, as {@link #writeJsonFile} does.
+     * {@code out} is flushed, but left for the caller to close.
+     */
+    public static void writeJson(OutputStream out, JsonContent content) throws IOException {
+        requireNonNull(out);
+        requireNonNull(content);
+        try (JsonGenerator generator = objectMapper.writerWithDefaultPrettyPrinter().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            content.writeTo(generator);
+        }
+    }
+
+    /**
+     * Writes {@code value} as Json into {@code generator}, in the same way as {@link #toJsonString}.
+     */
+    public static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        valueWriter.writeValue(generator, value);
+    }
+
 
     /**
      * Converts a given string representation of a JSON data to instance of a class
@@ -110,6 +233,32 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into its JSON data string representation, without any line breaks
+     * @param instance The T object to be converted into the JSON string
+     * @param <T> The generic type to create an instance of
+     * @return JSON data representation of the given class instance, on a single line
+     */
+    public static <T> String toJsonLine(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
+    /**
+     * Writes Json content to a {@code JsonGenerator}.
+     */
+    @FunctionalInterface
+    public interface JsonContent {
+        void writeTo(JsonGenerator generator) throws IOException;
+    }
+
+    /**
+     * Reads Json content from a {@code JsonParser} positioned before its first token.
+     */
+    @FunctionalInterface
+    public interface JsonReader<T> {
+        T readFrom(JsonParser parser) throws IOException, IllegalValueException;
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
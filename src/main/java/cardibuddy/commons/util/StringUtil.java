@@ -38,6 +38,28 @@ public class StringUtil {
                 .anyMatch(preppedWord::equalsIgnoreCase);
     }
 
+    /**
+     * Returns {@code word} with the case of every character folded, so that two words are equal ignoring case,
+     * in the sense of {@link String#equalsIgnoreCase(String)}, exactly when their folded forms are equal.
+     * Lets words compared ignoring case be used as keys of a hash index.
+     * @param word cannot be null
+     */
+    public static String foldCase(String word) {
+        requireNonNull(word);
+        char[] folded = null;
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            char foldedChar = Character.toLowerCase(Character.toUpperCase(c));
+            if (foldedChar != c && folded == null) {
+                folded = word.toCharArray();
+            }
+            if (folded != null) {
+                folded[i] = foldedChar;
+            }
+        }
+        return folded == null ? word : new String(folded);
+    }
+
     /**
      * Returns a detailed message of the t, including the stack trace.
      */
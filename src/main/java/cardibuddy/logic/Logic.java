@@ -1,6 +1,8 @@
 package cardibuddy.logic;
 
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import cardibuddy.commons.core.GuiSettings;
 import cardibuddy.logic.commands.CommandResult;
@@ -10,6 +12,7 @@ import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
 import javafx.collections.ObservableList;
 
 
@@ -26,6 +29,13 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
+    /**
+     * Returns a future completed once the changes made by the last command executed are logged, and forced
+     * to the disk if the fsync policy asks for it. It is completed exceptionally with a {@code CommandException}
+     * if they could not be logged, and is already complete if the command changed nothing.
+     */
+    CompletableFuture<Void> getLastCommandLogged();
+
     /**
      * Returns the AddressBook.
      *
@@ -49,6 +59,12 @@ public interface Logic {
      */
     Path getCardiBuddyFilePath();
 
+    /**
+     * Returns the URL of the thumbnail of the image at {@code imageUrl} in the given size,
+     * or {@code imageUrl} itself if the image has no thumbnail.
+     */
+    String getThumbnailUrl(String imageUrl, ThumbnailSize size);
+
     /**
      * Returns the user prefs' GUI settings.
      */
@@ -60,4 +76,10 @@ public interface Logic {
     void setGuiSettings(GuiSettings guiSettings);
 
     void setLogicToUiManager(LogicToUiManager logicToUiManager);
+
+    /**
+     * Sets the handler told about changes that could not be saved.
+     * Saves happen in the background, so the handler is not called on the JavaFX thread.
+     */
+    void setSaveErrorHandler(Consumer<String> saveErrorHandler);
 }
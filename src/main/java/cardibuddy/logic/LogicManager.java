@@ -1,7 +1,11 @@
 package cardibuddy.logic;
 
+import static java.util.Objects.requireNonNull;
+
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.GuiSettings;
@@ -16,6 +20,8 @@ import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
+import cardibuddy.storage.AutosaveService;
 import cardibuddy.storage.Storage;
 import javafx.collections.ObservableList;
 
@@ -29,15 +35,31 @@ public class LogicManager implements Logic {
 
     private final Model model;
     private final Storage storage;
+    private final AutosaveService autosaveService;
     private final CardiBuddyParser cardiBuddyParser;
     private final CommandHistory commandHistory;
-    private boolean cardiBuddyModified;
-
-    public LogicManager(Model model, Storage storage) {
+    private volatile Consumer<String> saveErrorHandler = message -> { };
+    private CompletableFuture<Void> lastCommandLogged = CompletableFuture.completedFuture(null);
+
+    /**
+     * Creates a {@code LogicManager} that logs changes to the {@code model} to the write-ahead log of
+     * {@code storage} and saves them through {@code autosaveService}.
+     * If the {@code model} holds the data {@code storage} last read, a copy of it is what the changes
+     * of the first command are worked out from, as later copies reuse its unchanged decks.
+     */
+    public LogicManager(Model model, Storage storage, AutosaveService autosaveService) {
         this.model = model;
         this.storage = storage;
+        this.autosaveService = autosaveService;
         commandHistory = new CommandHistory();
         cardiBuddyParser = new CardiBuddyParser(model.getCardiBuddy());
+        autosaveService.setErrorHandler(ioe -> saveErrorHandler.accept(FILE_OPS_ERROR_MESSAGE + ioe));
+        model.setImageStore(storage);
+        try {
+            storage.markCardiBuddyRead(model.getDetachedCardiBuddy());
+        } catch (IOException ioe) {
+            logger.warning("Could not mark the data read, the first command will log every deck: " + ioe);
+        }
     }
 
     public void setLogicToUiManager(LogicToUiManager logicToUiManager) {
@@ -47,7 +69,6 @@ public class LogicManager implements Logic {
     @Override
     public CommandResult execute(String commandText) throws CommandException, ParseException {
         logger.info("----------------[USER COMMAND][" + commandText + "]");
-        cardiBuddyModified = true;
 
         CommandResult commandResult;
 
@@ -58,18 +79,32 @@ public class LogicManager implements Logic {
             commandHistory.add(commandText);
         }
 
-        if (cardiBuddyModified) {
-            logger.info("CardiBuddy has been modified, saving to file.");
-            try {
-                storage.saveCardiBuddy(model.getCardiBuddy());
-            } catch (IOException ioe) {
-                throw new CommandException(FILE_OPS_ERROR_MESSAGE + ioe, ioe);
-            }
+        if (model.hasUnsavedChanges()) {
+            logger.info("CardiBuddy has been modified, logging the changes and queueing a save.");
+            ReadOnlyCardiBuddy changed = model.getDetachedCardiBuddy();
+            model.markSaved();
+            CompletableFuture<Void> logged = new CompletableFuture<>();
+            storage.logCardiBuddy(changed).whenComplete((unused, failure) -> {
+                autosaveService.submit(changed);
+                if (failure == null) {
+                    logged.complete(null);
+                } else {
+                    logged.completeExceptionally(new CommandException(FILE_OPS_ERROR_MESSAGE + failure, failure));
+                }
+            });
+            lastCommandLogged = logged;
+        } else {
+            lastCommandLogged = CompletableFuture.completedFuture(null);
         }
 
         return commandResult;
     }
 
+    @Override
+    public CompletableFuture<Void> getLastCommandLogged() {
+        return lastCommandLogged;
+    }
+
     @Override
     public ReadOnlyCardiBuddy getCardiBuddy() {
         return model.getCardiBuddy();
@@ -95,6 +130,11 @@ public class LogicManager implements Logic {
         return model.getCardiBuddyFilePath();
     }
 
+    @Override
+    public String getThumbnailUrl(String imageUrl, ThumbnailSize size) {
+        return storage.getThumbnailUrl(imageUrl, size);
+    }
+
     @Override
     public GuiSettings getGuiSettings() {
         return model.getGuiSettings();
@@ -104,4 +144,10 @@ public class LogicManager implements Logic {
     public void setGuiSettings(GuiSettings guiSettings) {
         model.setGuiSettings(guiSettings);
     }
+
+    @Override
+    public void setSaveErrorHandler(Consumer<String> saveErrorHandler) {
+        requireNonNull(saveErrorHandler);
+        this.saveErrorHandler = saveErrorHandler;
+    }
 }
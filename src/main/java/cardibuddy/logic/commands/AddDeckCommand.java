@@ -10,6 +10,7 @@ import java.util.List;
 
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.flashcard.Card;
@@ -56,7 +57,7 @@ public class AddDeckCommand extends AddCommand {
             throw new CommandException(MESSAGE_DUPLICATE_DECK);
         }
         model.addDeck(toAdd);
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.insertDeck(model.getCardiBuddy().getDeckList().size() - 1, toAdd));
 
         LOGGER.info("Deck has been added");
 
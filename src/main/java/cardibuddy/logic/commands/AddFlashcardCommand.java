@@ -8,7 +8,9 @@ import static java.util.Objects.requireNonNull;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
+import cardibuddy.model.deck.Deck;
 import cardibuddy.model.flashcard.Flashcard;
 
 /**
@@ -46,9 +48,12 @@ public class AddFlashcardCommand extends AddCardCommand {
             throw new CommandException(MESSAGE_DUPLICATE_FLASHCARD);
         }
 
+        Deck deck = logicToUiManager.getDisplayedDeck();
         model.addFlashcard(toAdd);
-        model.commitCardiBuddy();
-        logicToUiManager.getDisplayedDeck().addCard(toAdd);
+        deck.addCard(toAdd);
+        model.commitCardiBuddy(Deltas.sequence(
+                Deltas.insertFlashcard(model.getCardiBuddy().getFlashcardList().size() - 1, toAdd),
+                Deltas.insertCard(deck, deck.getFlashcards().size() - 1, toAdd)));
         LOGGER.info("Flashcard has been added");
 
         logicToUiManager.getDisplayedDeck().updateFilteredFlashcardList(PREDICATE_SHOW_ALL_FLASHCARDS);
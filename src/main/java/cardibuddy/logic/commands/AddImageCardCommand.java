@@ -6,10 +6,14 @@ import static cardibuddy.logic.parser.CliSyntax.PREFIX_QUESTION;
 import static cardibuddy.model.Model.PREDICATE_SHOW_ALL_FLASHCARDS;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
+import cardibuddy.model.deck.Deck;
 import cardibuddy.model.flashcard.Imagecard;
 
 /**
@@ -30,6 +34,7 @@ public class AddImageCardCommand extends AddCardCommand {
 
     public static final String MESSAGE_SUCCESS = "New flashcard added: %1$s";
     public static final String MESSAGE_DUPLICATE_FLASHCARD = "This flashcard already exists in the deck";
+    public static final String MESSAGE_IMAGE_NOT_COPIED = "The image could not be copied into CardiBuddy: %1$s";
 
     private final Imagecard toAdd;
 
@@ -49,14 +54,32 @@ public class AddImageCardCommand extends AddCardCommand {
             throw new CommandException(MESSAGE_DUPLICATE_FLASHCARD);
         }
 
-        logicToUiManager.getDisplayedDeck().addCard(toAdd);
+        Imagecard stored = storeImage(model);
+        Deck deck = logicToUiManager.getDisplayedDeck();
+        deck.addCard(stored);
         LOGGER.info("Flashcard has been added");
 
         logicToUiManager.getDisplayedDeck().updateFilteredFlashcardList(PREDICATE_SHOW_ALL_FLASHCARDS);
         logicToUiManager.updateFlashcardPanel();
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.insertCard(deck, deck.getFlashcards().size() - 1, stored));
+
+        return new CommandResult(String.format(MESSAGE_SUCCESS, stored), false, false, false, false);
+    }
 
-        return new CommandResult(String.format(MESSAGE_SUCCESS, toAdd), false, false, false, false);
+    /**
+     * Copies the image of the card to add into the image store next to the data file, so the card keeps
+     * its image if the original is moved, and returns the card pointing at the copy.
+     * The image is copied and its thumbnails made before the command returns, so adding a large image
+     * holds up the UI for as long as it takes to read and decode it, once; showing the card later only
+     * decodes the thumbnail.
+     */
+    private Imagecard storeImage(Model model) throws CommandException {
+        try {
+            String storedPath = model.storeImage(toAdd.getPath());
+            return new Imagecard(toAdd.getDeck(), toAdd.getQuestion(), toAdd.getAnswer(), storedPath);
+        } catch (IOException e) {
+            throw new CommandException(String.format(MESSAGE_IMAGE_NOT_COPIED, e.getMessage()), e);
+        }
     }
 
     @Override
@@ -5,6 +5,7 @@ import static java.util.Objects.requireNonNull;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.commands.exceptions.CommandException;
 import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 
 /**
@@ -22,8 +23,10 @@ public class ClearCommand extends Command {
             throw new CommandException(MESSAGE_TEST_ONGOING);
         }
         requireNonNull(model);
-        model.setCardiBuddy(new CardiBuddy());
-        model.commitCardiBuddy();
+        CardiBuddy previousData = new CardiBuddy(model.getCardiBuddy());
+        CardiBuddy clearedData = new CardiBuddy();
+        model.setCardiBuddy(clearedData);
+        model.commitCardiBuddy(Deltas.resetData(previousData, clearedData));
         return new CommandResult(MESSAGE_SUCCESS);
     }
 }
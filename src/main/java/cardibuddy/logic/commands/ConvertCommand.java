@@ -0,0 +1,79 @@
+package cardibuddy.logic.commands;
+
+import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.logic.CommandHistory;
+import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Model;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.StorageFormat;
+import cardibuddy.storage.BinaryCardiBuddyStorage;
+import cardibuddy.storage.CardiBuddyStorage;
+import cardibuddy.storage.CardiBuddyStorageFactory;
+import cardibuddy.storage.GzipJsonCardiBuddyStorage;
+import cardibuddy.storage.SqlCardiBuddyStorage;
+
+/**
+ * Converts a CardiBuddy data file between the json, gzip json, binary and database formats.
+ * The data currently loaded is not changed.
+ */
+public class ConvertCommand extends Command {
+
+    public static final String COMMAND_WORD = "convert";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Converts a data file between the json, "
+            + "gzip json, binary and database formats. Files ending in " + GzipJsonCardiBuddyStorage.FILE_EXTENSION
+            + " are gzip json, files ending in " + BinaryCardiBuddyStorage.FILE_EXTENSION + " are binary, "
+            + "files ending in " + SqlCardiBuddyStorage.FILE_EXTENSION + " are databases, all others are json.\n"
+            + "Parameters: SOURCE_FILE TARGET_FILE\n"
+            + "Example: " + COMMAND_WORD + " data/cardibuddy.json data/cardibuddy.bin";
+
+    public static final String MESSAGE_SUCCESS = "Converted %1$s into %2$s (%3$d decks).";
+    public static final String MESSAGE_SOURCE_NOT_FOUND = "%1$s does not exist.";
+    public static final String MESSAGE_CONVERSION_FAILED = "Could not convert %1$s: %2$s";
+
+    private final Path source;
+    private final Path target;
+
+    /**
+     * Creates a ConvertCommand that converts the data in {@code source} into a new file at {@code target}.
+     */
+    public ConvertCommand(Path source, Path target) {
+        requireAllNonNull(source, target);
+        this.source = source;
+        this.target = target;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory commandHistory) throws CommandException {
+        requireNonNull(model);
+
+        // a json source is read together with any journal kept next to it, and left as it is, since it may be
+        // the file the app is running on
+        try (CardiBuddyStorage targetStorage = CardiBuddyStorageFactory.create(StorageFormat.JSON, target)) {
+            Optional<ReadOnlyCardiBuddy> data = CardiBuddyStorageFactory.readWithoutChanges(StorageFormat.JOURNAL,
+                    source);
+            if (data.isEmpty()) {
+                throw new CommandException(String.format(MESSAGE_SOURCE_NOT_FOUND, source));
+            }
+            targetStorage.saveCardiBuddy(data.get());
+            return new CommandResult(String.format(MESSAGE_SUCCESS, source, target, data.get().getDeckList().size()));
+        } catch (DataConversionException | IOException e) {
+            throw new CommandException(String.format(MESSAGE_CONVERSION_FAILED, source, e.getMessage()));
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof ConvertCommand // instanceof handles nulls
+                && source.equals(((ConvertCommand) other).source)
+                && target.equals(((ConvertCommand) other).target));
+    }
+}
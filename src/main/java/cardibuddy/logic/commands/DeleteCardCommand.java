@@ -10,7 +10,9 @@ import cardibuddy.commons.core.index.Index;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
+import cardibuddy.model.deck.Deck;
 import cardibuddy.model.flashcard.Card;
 
 /**
@@ -48,9 +50,11 @@ public class DeleteCardCommand extends DeleteCommand {
         }
 
         Card cardToDelete = lastShownList.get(targetIndex.getZeroBased());
-        logicToUiManager.getDisplayedDeck().deleteCard(cardToDelete);
+        Deck deck = logicToUiManager.getDisplayedDeck();
+        int deckIndex = deck.getFlashcards().indexOf(cardToDelete);
+        deck.deleteCard(cardToDelete);
         logicToUiManager.updateFlashcardPanel();
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.removeCard(deck, deckIndex, cardToDelete));
 
         return new CommandResult(String.format(MESSAGE_DELETE_CARD_SUCCESS, cardToDelete));
     }
@@ -10,6 +10,7 @@ import cardibuddy.commons.core.index.Index;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 import cardibuddy.model.deck.Deck;
 
@@ -51,9 +52,10 @@ public class DeleteDeckCommand extends DeleteCommand {
         }
 
         Deck deckToDelete = lastShownList.get(targetIndex.getZeroBased());
+        int deckIndex = model.getCardiBuddy().getDeckList().indexOf(deckToDelete);
         model.deleteDeck(deckToDelete);
         logicToUiManager.removeFlashcards();
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.removeDeck(deckIndex, deckToDelete));
         return new CommandResult(String.format(MESSAGE_DELETE_DECK_SUCCESS, deckToDelete));
     }
 
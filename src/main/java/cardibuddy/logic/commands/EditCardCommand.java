@@ -13,6 +13,7 @@ import cardibuddy.commons.core.index.Index;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.flashcard.Answer;
@@ -74,9 +75,10 @@ public class EditCardCommand extends EditCommand {
             throw new CommandException(MESSAGE_DUPLICATE_CARD);
         }
 
-        logicToUiManager.getDisplayedDeck().setFlashcard(cardToEdit, editedCard);
+        Deck deck = logicToUiManager.getDisplayedDeck();
+        deck.setFlashcard(cardToEdit, editedCard);
         logicToUiManager.updateFlashcardPanel();
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.replaceCard(deck, cardToEdit, editedCard));
         return new CommandResult(String.format(MESSAGE_EDIT_CARD_SUCCESS, editedCard));
     }
 
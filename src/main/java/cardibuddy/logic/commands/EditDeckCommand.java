@@ -17,6 +17,7 @@ import cardibuddy.commons.core.index.Index;
 import cardibuddy.commons.util.CollectionUtil;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Title;
@@ -74,7 +75,7 @@ public class EditDeckCommand extends EditCommand {
 
         model.setDeck(deckToEdit, editedDeck);
         model.updateFilteredDeckList(PREDICATE_SHOW_ALL_DECKS);
-        model.commitCardiBuddy();
+        model.commitCardiBuddy(Deltas.replaceDeck(deckToEdit, editedDeck));
         return new CommandResult(String.format(MESSAGE_EDIT_DECK_SUCCESS, editedDeck));
     }
 
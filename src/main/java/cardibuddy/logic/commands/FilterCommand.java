@@ -41,7 +41,7 @@ public class FilterCommand extends Command {
         if (model.hasOngoingTestSession()) {
             throw new CommandException(MESSAGE_TEST_ONGOING);
         }
-        model.updateFilteredDeckList(predicate);
+        model.updateFilteredDeckList(predicate.indexedIn(model.getCardiBuddy()));
         return new CommandResult(
                 String.format(Messages.MESSAGE_DECKS_LISTED_OVERVIEW, model.getFilteredDeckList().size()));
     }
@@ -9,6 +9,7 @@ import cardibuddy.logic.CommandHistory;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.exceptions.CommandException;
 import cardibuddy.model.Model;
+import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.exceptions.NotInDeckException;
 import cardibuddy.model.flashcard.SearchCardKeywordsPredicate;
 
@@ -49,7 +50,8 @@ public class SearchCardCommand extends SearchCommand {
                     + " You need to open a deck first. \n" + OpenCommand.MESSAGE_USAGE));
         }
 
-        logicToUiManager.getDisplayedDeck().updateFilteredFlashcardList(predicate);
+        Deck displayedDeck = logicToUiManager.getDisplayedDeck();
+        displayedDeck.updateFilteredFlashcardList(predicate.indexedIn(displayedDeck));
         logicToUiManager.updateFlashcardPanel();
         return new CommandResult(
                 String.format(Messages.MESSAGE_FLASHCARDS_LISTED_OVERVIEW,
@@ -16,6 +16,7 @@ import cardibuddy.logic.commands.AddFlashcardCommand;
 import cardibuddy.logic.commands.AddImageCardCommand;
 import cardibuddy.logic.commands.ClearCommand;
 import cardibuddy.logic.commands.Command;
+import cardibuddy.logic.commands.ConvertCommand;
 import cardibuddy.logic.commands.DeleteCardCommand;
 import cardibuddy.logic.commands.DeleteCommand;
 import cardibuddy.logic.commands.DeleteDeckCommand;
@@ -169,6 +170,9 @@ public class CardiBuddyParser {
         case FilterCommand.COMMAND_WORD:
             return new FilterCommandParser().parse(arguments);
 
+        case ConvertCommand.COMMAND_WORD:
+            return new ConvertCommandParser().parse(arguments);
+
         case SearchCommand.COMMAND_WORD:
             try {
                 switch (arguments.substring(1, 5)) {
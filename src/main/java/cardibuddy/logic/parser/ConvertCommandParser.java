@@ -0,0 +1,38 @@
+package cardibuddy.logic.parser;
+
+import static cardibuddy.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.logic.commands.ConvertCommand;
+import cardibuddy.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses input arguments and creates a new ConvertCommand object
+ */
+public class ConvertCommandParser implements Parser<ConvertCommand> {
+
+    public static final String MESSAGE_SAME_FILE = "The source and target files must be different.";
+
+    /**
+     * Parses the given {@code String} of arguments in the context of the ConvertCommand
+     * and returns a ConvertCommand object for execution.
+     * @throws ParseException if the user input does not conform the expected format
+     */
+    public ConvertCommand parse(String args) throws ParseException {
+        String[] files = args.trim().split("\\s+");
+        if (files.length != 2 || !FileUtil.isValidPath(files[0]) || !FileUtil.isValidPath(files[1])) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, ConvertCommand.MESSAGE_USAGE));
+        }
+
+        Path source = Paths.get(files[0]);
+        Path target = Paths.get(files[1]);
+        if (source.toAbsolutePath().normalize().equals(target.toAbsolutePath().normalize())) {
+            throw new ParseException(MESSAGE_SAME_FILE);
+        }
+        return new ConvertCommand(source, target);
+    }
+
+}
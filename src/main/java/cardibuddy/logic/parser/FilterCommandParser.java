@@ -6,6 +6,7 @@ import java.util.Arrays;
 
 import cardibuddy.logic.commands.FilterCommand;
 import cardibuddy.logic.parser.exceptions.ParseException;
+import cardibuddy.model.KeywordQuery;
 import cardibuddy.model.deck.FilterDeckKeywordsPredicate;
 
 
@@ -27,8 +28,9 @@ public class FilterCommandParser implements Parser<FilterCommand> {
         }
 
         String[] nameKeywords = trimmedArgs.split("\\s+");
+        KeywordQuery query = KeywordQuery.compile(Arrays.asList(nameKeywords));
 
-        return new FilterCommand(new FilterDeckKeywordsPredicate(Arrays.asList(nameKeywords)));
+        return new FilterCommand(new FilterDeckKeywordsPredicate(query));
     }
 
 }
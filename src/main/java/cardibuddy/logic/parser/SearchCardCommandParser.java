@@ -7,6 +7,7 @@ import java.util.Arrays;
 import cardibuddy.logic.LogicToUiManager;
 import cardibuddy.logic.commands.SearchCardCommand;
 import cardibuddy.logic.parser.exceptions.ParseException;
+import cardibuddy.model.KeywordQuery;
 import cardibuddy.model.flashcard.SearchCardKeywordsPredicate;
 
 /**
@@ -33,8 +34,9 @@ public class SearchCardCommandParser implements Parser<SearchCardCommand> {
         }
 
         String[] nameKeywords = trimmedArgs.split("\\s+");
+        KeywordQuery query = KeywordQuery.compile(Arrays.asList(nameKeywords));
 
-        return new SearchCardCommand(new SearchCardKeywordsPredicate(Arrays.asList(nameKeywords)), logicToUiManager);
+        return new SearchCardCommand(new SearchCardKeywordsPredicate(query), logicToUiManager);
     }
 
 }
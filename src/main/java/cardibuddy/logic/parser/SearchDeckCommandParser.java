@@ -6,6 +6,7 @@ import java.util.Arrays;
 
 import cardibuddy.logic.commands.SearchDeckCommand;
 import cardibuddy.logic.parser.exceptions.ParseException;
+import cardibuddy.model.KeywordQuery;
 import cardibuddy.model.deck.SearchDeckKeywordsPredicate;
 
 
@@ -27,8 +28,9 @@ public class SearchDeckCommandParser implements Parser<SearchDeckCommand> {
         }
 
         String[] nameKeywords = trimmedArgs.split("\\s+");
+        KeywordQuery query = KeywordQuery.compile(Arrays.asList(nameKeywords));
 
-        return new SearchDeckCommand(new SearchDeckKeywordsPredicate(Arrays.asList(nameKeywords)));
+        return new SearchDeckCommand(new SearchDeckKeywordsPredicate(query));
     }
 
 }
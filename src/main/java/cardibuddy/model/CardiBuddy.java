@@ -3,6 +3,8 @@ package cardibuddy.model;
 import static java.util.Objects.requireNonNull;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
@@ -18,9 +20,13 @@ import javafx.collections.ObservableList;
  */
 public class CardiBuddy implements ReadOnlyCardiBuddy {
 
+    private static final AtomicLong versionStamps = new AtomicLong();
+
     private final UniqueDeckList decks;
     private final UniqueFlashcardList flashcards;
     private Statistics statistics;
+    private long flashcardsVersion;
+    private long decksVersion;
     //private TestSession testSession;
 
     /*
@@ -34,6 +40,8 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
         decks = new UniqueDeckList();
         flashcards = new UniqueFlashcardList();
         statistics = new Statistics();
+        flashcardsVersion = versionStamps.incrementAndGet();
+        decksVersion = versionStamps.incrementAndGet();
     }
 
     public CardiBuddy() {}
@@ -54,6 +62,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void setDecks(List<Deck> decks) {
         this.decks.setDecks(decks);
+        decksVersion = versionStamps.incrementAndGet();
     }
 
     /**
@@ -62,6 +71,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void setFlashcards(List<Card> flashcards) {
         this.flashcards.setFlashcards(flashcards);
+        flashcardsVersion = versionStamps.incrementAndGet();
     }
 
     /**
@@ -99,6 +109,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void addDeck(Deck d) {
         decks.add(d);
+        decksVersion = versionStamps.incrementAndGet();
 
         d.getStatistics().trackDeckAdded();
         statistics.trackDeckAdded();
@@ -120,6 +131,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
         requireNonNull(editedDeck);
 
         decks.setDeck(target, editedDeck);
+        decksVersion = versionStamps.incrementAndGet();
     }
 
     /**
@@ -129,11 +141,22 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void removeDeck(Deck key) {
         decks.remove(key);
+        decksVersion = versionStamps.incrementAndGet();
 
         key.getStatistics().trackDeckDeleted();
         statistics.trackDeckDeleted();
     }
 
+    @Override
+    public Set<Deck> searchDecksByTitle(KeywordQuery query) {
+        return decks.searchByTitle(query);
+    }
+
+    @Override
+    public Set<Deck> searchDecksByTag(KeywordQuery query) {
+        return decks.searchByTag(query);
+    }
+
     //// flashcard-level operations
     /**
      * Returns true if a deck with the same identity as {@code card} exists in cardibuddy.
@@ -150,6 +173,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void addFlashcard(Card p) {
         flashcards.add(p);
+        flashcardsVersion = versionStamps.incrementAndGet();
 
         p.getDeck().getStatistics().trackCardAdded();
         statistics.trackCardAdded();
@@ -165,6 +189,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
         requireNonNull(editedFlashcard);
 
         flashcards.setFlashcard(target, editedFlashcard);
+        flashcardsVersion = versionStamps.incrementAndGet();
     }
 
     /**
@@ -174,6 +199,7 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
      */
     public void removeFlashcard(Card key) {
         flashcards.remove(key);
+        flashcardsVersion = versionStamps.incrementAndGet();
 
         key.getDeck().getStatistics().trackCardDeleted();
         statistics.trackCardDeleted();
@@ -183,6 +209,64 @@ public class CardiBuddy implements ReadOnlyCardiBuddy {
         return statistics;
     }
 
+    //// operations used to replay undo history, which leave the statistics untouched
+
+    /**
+     * Inserts {@code deck} at position {@code index} of the deck list.
+     */
+    void insertDeck(int index, Deck deck) {
+        decks.add(index, deck);
+        decksVersion = versionStamps.incrementAndGet();
+    }
+
+    /**
+     * Removes {@code deck} from the deck list.
+     */
+    void detachDeck(Deck deck) {
+        decks.remove(deck);
+        decksVersion = versionStamps.incrementAndGet();
+    }
+
+    /**
+     * Inserts {@code card} at position {@code index} of the flashcard list.
+     */
+    void insertFlashcard(int index, Card card) {
+        flashcards.add(index, card);
+        flashcardsVersion = versionStamps.incrementAndGet();
+    }
+
+    /**
+     * Removes {@code card} from the flashcard list.
+     */
+    void detachFlashcard(Card card) {
+        flashcards.remove(card);
+        flashcardsVersion = versionStamps.incrementAndGet();
+    }
+
+    /**
+     * Returns a stamp that changes whenever a deck is added to, removed from or replaced in the deck list.
+     * Changes made inside a deck are tracked by {@code Deck#getVersion()} instead.
+     */
+    public long getDecksVersion() {
+        return decksVersion;
+    }
+
+    /**
+     * Returns a stamp that changes whenever the flashcard list changes.
+     */
+    long getFlashcardsVersion() {
+        return flashcardsVersion;
+    }
+
+    /**
+     * Replaces the flashcard list with {@code flashcards}, as it was when it had {@code version}.
+     * Used by {@code VersionedCardiBuddy} to restore an earlier state.
+     */
+    void restoreFlashcards(List<Card> flashcards, long version) {
+        this.flashcards.setFlashcards(flashcards);
+        flashcardsVersion = version;
+    }
+
     //// util methods
 
     @Override
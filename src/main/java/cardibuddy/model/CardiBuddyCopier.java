@@ -0,0 +1,87 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.CardType;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Imagecard;
+
+/**
+ * Makes copies of a {@code CardiBuddy} that share no mutable state with it, so that they can be saved
+ * on another thread while the original keeps changing.
+ * A deck that has not changed since the previous copy is not copied again; its earlier copy is reused.
+ * A deck whose cards are not loaded is copied without them, and its copy loads them only when needed.
+ */
+class CardiBuddyCopier {
+
+    private Map<Deck, CopiedDeck> copiedDecks = new IdentityHashMap<>();
+    private Statistics copiedStatisticsSource;
+    private long copiedStatisticsVersion;
+    private Statistics copiedStatistics;
+
+    /**
+     * Returns a copy of the decks and statistics of {@code cardiBuddy}.
+     * The copy must not be modified.
+     */
+    ReadOnlyCardiBuddy copy(CardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+
+        Map<Deck, CopiedDeck> newCopiedDecks = new IdentityHashMap<>();
+        List<Deck> decks = new ArrayList<>(cardiBuddy.getDeckList().size());
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            CopiedDeck copiedDeck = copiedDecks.get(deck);
+            if (copiedDeck == null || !copiedDeck.stamp.matches(deck)) {
+                copiedDeck = new CopiedDeck(deck);
+            }
+            newCopiedDecks.put(deck, copiedDeck);
+            decks.add(copiedDeck.copy);
+        }
+        copiedDecks = newCopiedDecks;
+
+        Statistics statistics = cardiBuddy.getStatistics();
+        if (statistics != copiedStatisticsSource || statistics.getVersion() != copiedStatisticsVersion) {
+            copiedStatisticsSource = statistics;
+            copiedStatisticsVersion = statistics.getVersion();
+            copiedStatistics = new Statistics(statistics);
+        }
+
+        CardiBuddy copy = new CardiBuddy();
+        copy.setDecks(decks);
+        copy.setStatistics(copiedStatistics);
+        return copy;
+    }
+
+    /**
+     * A copy of a deck, and the versions of the deck it was copied from.
+     */
+    private static class CopiedDeck {
+        private final DeckStamp stamp;
+        private final Deck copy;
+
+        CopiedDeck(Deck deck) {
+            stamp = new DeckStamp(deck);
+            if (!deck.isLoaded()) {
+                // the copy loads the same cards when they are needed, rather than having them loaded now
+                copy = new Deck(deck.getTitle(), deck.getTags(), deck.getCardLoader(), deck.getCardCount());
+                copy.setStatistics(new Statistics(deck.getStatistics()));
+                return;
+            }
+
+            copy = new Deck(deck.getTitle(), deck.getTags());
+            for (Card card : deck.getFlashcards()) {
+                copy.addCard(card.getCardType() == CardType.IMAGECARD
+                        ? new Imagecard(copy, card.getQuestion(), card.getAnswer(), card.getPath())
+                        : new Flashcard(copy, card.getQuestion(), card.getAnswer(), card.getPath()));
+            }
+            copy.setStatistics(new Statistics(deck.getStatistics()));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.flashcard.Card;
+
+/**
+ * An immutable record of a {@code CardiBuddy} at one point of its history, used by {@code VersionedCardiBuddy}.
+ * A snapshot only copies the cards of decks that changed since the snapshot it was taken after.
+ * The cards of every other deck, and the flashcard list if it is unchanged, are shared with that snapshot.
+ * The copied cards of a deck may later be spilled to an {@code UndoHistorySpillFile}, and are read back when needed.
+ */
+class CardiBuddySnapshot {
+
+    private final List<DeckState> deckStates;
+    private final List<Card> flashcards;
+    private final long flashcardsVersion;
+    private final Statistics statistics;
+
+    private CardiBuddySnapshot(List<DeckState> deckStates, List<Card> flashcards, long flashcardsVersion,
+                               Statistics statistics) {
+        this.deckStates = deckStates;
+        this.flashcards = flashcards;
+        this.flashcardsVersion = flashcardsVersion;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Takes a snapshot of {@code cardiBuddy}.
+     * Decks and flashcards that have not changed since {@code previous} are shared with it.
+     *
+     * @param previous the snapshot taken before this one, or null if there is none.
+     */
+    static CardiBuddySnapshot of(CardiBuddy cardiBuddy, CardiBuddySnapshot previous) {
+        requireNonNull(cardiBuddy);
+
+        Map<Deck, DeckState> previousStates = new IdentityHashMap<>();
+        if (previous != null) {
+            previous.deckStates.forEach(state -> previousStates.put(state.deck, state));
+        }
+
+        List<DeckState> deckStates = new ArrayList<>(cardiBuddy.getDeckList().size());
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            DeckState previousState = previousStates.get(deck);
+            if (previousState != null && previousState.version == deck.getVersion()) {
+                deckStates.add(previousState);
+            } else {
+                deckStates.add(new DeckState(deck));
+            }
+        }
+
+        List<Card> flashcards;
+        if (previous != null && previous.flashcardsVersion == cardiBuddy.getFlashcardsVersion()) {
+            flashcards = previous.flashcards;
+        } else {
+            flashcards = List.copyOf(cardiBuddy.getFlashcardList());
+        }
+
+        return new CardiBuddySnapshot(deckStates, flashcards, cardiBuddy.getFlashcardsVersion(),
+                cardiBuddy.getStatistics());
+    }
+
+    /**
+     * Brings {@code cardiBuddy} back to the state recorded in this snapshot.
+     * Only the decks whose cards differ from this snapshot are rewritten.
+     */
+    void restore(CardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+
+        // page spilled cards back in before touching cardiBuddy, so a failed read leaves it unchanged
+        Map<DeckState, List<Card>> restoredCards = new IdentityHashMap<>();
+        for (DeckState state : deckStates) {
+            if (state.deck.getVersion() != state.version) {
+                restoredCards.put(state, state.getFlashcards());
+            }
+        }
+
+        if (!hasSameDecks(cardiBuddy.getDeckList())) {
+            List<Deck> decks = new ArrayList<>(deckStates.size());
+            deckStates.forEach(state -> decks.add(state.deck));
+            cardiBuddy.setDecks(decks);
+        }
+
+        restoredCards.forEach((state, cards) -> state.deck.restoreFlashcards(cards, state.version));
+
+        if (cardiBuddy.getFlashcardsVersion() != flashcardsVersion) {
+            cardiBuddy.restoreFlashcards(flashcards, flashcardsVersion);
+        }
+        cardiBuddy.setStatistics(statistics);
+    }
+
+    /**
+     * Returns true if {@code decks} holds exactly the decks of this snapshot, in the same order.
+     */
+    private boolean hasSameDecks(List<Deck> decks) {
+        if (decks.size() != deckStates.size()) {
+            return false;
+        }
+        for (int i = 0; i < decks.size(); i++) {
+            if (decks.get(i) != deckStates.get(i).deck) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    List<DeckState> getDeckStates() {
+        return deckStates;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof CardiBuddySnapshot // instanceof handles nulls
+                && deckStates.equals(((CardiBuddySnapshot) other).deckStates)
+                && flashcards.equals(((CardiBuddySnapshot) other).flashcards));
+    }
+
+    @Override
+    public int hashCode() {
+        return deckStates.hashCode();
+    }
+
+    /**
+     * The cards of one deck at the time a snapshot was taken.
+     * The cards are held in memory until {@code spill} moves them to a spill file.
+     */
+    static class DeckState {
+        private static final long CARD_OVERHEAD_BYTES = 96;
+
+        private final Deck deck;
+        private final long version;
+        private final long estimatedSize;
+        private final boolean isLoaded;
+        private List<Card> flashcards;
+        private UndoHistorySpillFile spillFile;
+        private UndoHistorySpillFile.Slot slot;
+
+        DeckState(Deck deck) {
+            this.deck = deck;
+            this.version = deck.getVersion();
+            this.isLoaded = deck.isLoaded();
+            // the cards of a deck that is not loaded are the ones it will load, so they are not loaded here
+            this.flashcards = isLoaded ? List.copyOf(deck.getFlashcards()) : null;
+            this.estimatedSize = isLoaded ? estimateSize(flashcards) : 0;
+        }
+
+        /**
+         * Returns a rough estimate of the heap taken up by {@code cards}, in bytes.
+         */
+        private static long estimateSize(List<Card> cards) {
+            long size = 0;
+            for (Card card : cards) {
+                size += CARD_OVERHEAD_BYTES + 2L * (card.getQuestion().toString().length()
+                        + String.valueOf(card.getAnswer()).length() + card.getPath().length());
+            }
+            return size;
+        }
+
+        /**
+         * Returns the estimated heap held by this state, or 0 if its cards are not in memory.
+         */
+        long getHeapSize() {
+            return flashcards == null ? 0 : estimatedSize;
+        }
+
+        /**
+         * Frees the place of this state in the spill file, once no state of the history holds it any more.
+         */
+        void release() throws IOException {
+            if (slot != null) {
+                spillFile.free(slot);
+                slot = null;
+            }
+        }
+
+        /**
+         * Moves the cards of this state out of memory and into {@code spillFile}.
+         * A state that has been spilled before is not written again.
+         */
+        void spill(UndoHistorySpillFile spillFile) throws IOException {
+            if (flashcards == null) {
+                return;
+            }
+            if (slot == null) {
+                slot = spillFile.write(flashcards);
+                this.spillFile = spillFile;
+            }
+            flashcards = null;
+        }
+
+        /**
+         * Returns the cards of this state, reading them back from the spill file if they were spilled,
+         * or having the deck load them if they were not loaded when this state was recorded.
+         * Cards read back are not kept by this state, so the heap it holds stays as it was counted.
+         */
+        List<Card> getFlashcards() {
+            if (!isLoaded) {
+                return deck.getFlashcardsAsLoaded();
+            }
+            if (flashcards != null) {
+                return flashcards;
+            }
+            try {
+                return spillFile.read(slot, deck);
+            } catch (IOException ioe) {
+                throw new UncheckedIOException("Could not read undo history for deck " + deck.getTitle(), ioe);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (!(other instanceof DeckState)) {
+                return false;
+            }
+
+            DeckState otherState = (DeckState) other;
+            return deck.getTitle().equals(otherState.deck.getTitle())
+                    && deck.getTags().equals(otherState.deck.getTags())
+                    && getFlashcards().equals(otherState.getFlashcards());
+        }
+
+        @Override
+        public int hashCode() {
+            return getFlashcards().hashCode();
+        }
+    }
+}
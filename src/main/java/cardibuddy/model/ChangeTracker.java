@@ -0,0 +1,59 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+
+/**
+ * Remembers the versions of a {@code CardiBuddy} and of each of its decks as they were when last saved,
+ * so that saving can be skipped when nothing has changed since.
+ */
+class ChangeTracker {
+
+    private final Map<Deck, DeckStamp> savedDecks = new IdentityHashMap<>();
+    private long savedDecksVersion;
+    private Statistics savedStatistics;
+    private long savedStatisticsVersion;
+
+    /**
+     * Records the current versions of {@code cardiBuddy} and its decks as saved.
+     */
+    void markSaved(CardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+        savedDecksVersion = cardiBuddy.getDecksVersion();
+        savedStatistics = cardiBuddy.getStatistics();
+        savedStatisticsVersion = savedStatistics.getVersion();
+
+        savedDecks.clear();
+        cardiBuddy.getDeckList().forEach(deck -> savedDecks.put(deck, new DeckStamp(deck)));
+    }
+
+    /**
+     * Returns true if {@code cardiBuddy} or any of its decks changed since the last call to {@code markSaved}.
+     */
+    boolean isModified(CardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+        if (cardiBuddy.getDecksVersion() != savedDecksVersion
+                || cardiBuddy.getStatistics() != savedStatistics
+                || savedStatistics.getVersion() != savedStatisticsVersion) {
+            return true;
+        }
+
+        List<Deck> decks = cardiBuddy.getDeckList();
+        return decks.size() != savedDecks.size() || decks.stream().anyMatch(this::isModified);
+    }
+
+    /**
+     * Returns true if {@code deck} was added or changed since the last call to {@code markSaved}.
+     */
+    boolean isModified(Deck deck) {
+        requireNonNull(deck);
+        DeckStamp savedStamp = savedDecks.get(deck);
+        return savedStamp == null || !savedStamp.matches(deck);
+    }
+}
@@ -0,0 +1,28 @@
+package cardibuddy.model;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+
+/**
+ * The versions of a deck and of its statistics at one point in time.
+ */
+public class DeckStamp {
+    private final long version;
+    private final Statistics statistics;
+    private final long statisticsVersion;
+
+    public DeckStamp(Deck deck) {
+        version = deck.getVersion();
+        statistics = deck.getStatistics();
+        statisticsVersion = statistics.getVersion();
+    }
+
+    /**
+     * Returns true if neither the cards nor the statistics of {@code deck} changed since this stamp was taken.
+     */
+    public boolean matches(Deck deck) {
+        return deck.getVersion() == version
+                && deck.getStatistics() == statistics
+                && statistics.getVersion() == statisticsVersion;
+    }
+}
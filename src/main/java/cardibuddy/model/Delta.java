@@ -0,0 +1,36 @@
+package cardibuddy.model;
+
+/**
+ * A single change made to a {@code CardiBuddy} by a command, recorded so that it can be undone and redone.
+ * A delta only holds the objects touched by the change, so its size does not depend on the size of the data.
+ */
+public interface Delta {
+
+    /**
+     * Makes the change to {@code cardiBuddy}. Used when the change is redone.
+     */
+    void apply(CardiBuddy cardiBuddy);
+
+    /**
+     * Reverts the change made to {@code cardiBuddy}. Used when the change is undone.
+     */
+    void revert(CardiBuddy cardiBuddy);
+
+    /**
+     * Returns the delta that makes the opposite change.
+     */
+    default Delta inverse() {
+        Delta forward = this;
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                forward.revert(cardiBuddy);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                forward.apply(cardiBuddy);
+            }
+        };
+    }
+}
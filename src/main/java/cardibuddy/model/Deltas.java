@@ -0,0 +1,161 @@
+package cardibuddy.model;
+
+import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Card;
+
+/**
+ * Creates the {@code Delta}s recorded by commands that change a {@code CardiBuddy}.
+ */
+public class Deltas {
+
+    private Deltas() {}
+
+    /**
+     * Returns the delta of {@code deck} being inserted at position {@code index} of the deck list.
+     */
+    public static Delta insertDeck(int index, Deck deck) {
+        requireNonNull(deck);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                cardiBuddy.insertDeck(index, deck);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                cardiBuddy.detachDeck(deck);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of {@code deck} being removed from position {@code index} of the deck list.
+     */
+    public static Delta removeDeck(int index, Deck deck) {
+        return insertDeck(index, deck).inverse();
+    }
+
+    /**
+     * Returns the delta of {@code target} being replaced by {@code editedDeck} in the deck list.
+     */
+    public static Delta replaceDeck(Deck target, Deck editedDeck) {
+        requireAllNonNull(target, editedDeck);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                cardiBuddy.setDeck(target, editedDeck);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                cardiBuddy.setDeck(editedDeck, target);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of {@code card} being inserted at position {@code index} of {@code deck}.
+     */
+    public static Delta insertCard(Deck deck, int index, Card card) {
+        requireAllNonNull(deck, card);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                deck.insertCard(index, card);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                deck.deleteCard(card);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of {@code card} being removed from position {@code index} of {@code deck}.
+     */
+    public static Delta removeCard(Deck deck, int index, Card card) {
+        return insertCard(deck, index, card).inverse();
+    }
+
+    /**
+     * Returns the delta of {@code target} being replaced by {@code editedCard} in {@code deck}.
+     */
+    public static Delta replaceCard(Deck deck, Card target, Card editedCard) {
+        requireAllNonNull(deck, target, editedCard);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                deck.setFlashcard(target, editedCard);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                deck.setFlashcard(editedCard, target);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of {@code card} being inserted at position {@code index} of the flashcard list
+     * of the {@code CardiBuddy}.
+     */
+    public static Delta insertFlashcard(int index, Card card) {
+        requireNonNull(card);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                cardiBuddy.insertFlashcard(index, card);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                cardiBuddy.detachFlashcard(card);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of all the data being replaced, going from {@code before} to {@code after}.
+     * Both are kept as they are, so they must not be modified afterwards.
+     */
+    public static Delta resetData(ReadOnlyCardiBuddy before, ReadOnlyCardiBuddy after) {
+        requireAllNonNull(before, after);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                cardiBuddy.resetData(after);
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                cardiBuddy.resetData(before);
+            }
+        };
+    }
+
+    /**
+     * Returns the delta of {@code deltas} being made one after the other.
+     */
+    public static Delta sequence(Delta... deltas) {
+        List<Delta> steps = List.of(deltas);
+        return new Delta() {
+            @Override
+            public void apply(CardiBuddy cardiBuddy) {
+                steps.forEach(step -> step.apply(cardiBuddy));
+            }
+
+            @Override
+            public void revert(CardiBuddy cardiBuddy) {
+                for (int i = steps.size() - 1; i >= 0; i--) {
+                    steps.get(i).revert(cardiBuddy);
+                }
+            }
+        };
+    }
+}
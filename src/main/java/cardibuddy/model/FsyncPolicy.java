@@ -0,0 +1,14 @@
+package cardibuddy.model;
+
+/**
+ * When the changes written to the write-ahead log are forced to the disk, trading how many of the latest
+ * commands a power failure can lose for how long each command takes.
+ */
+public enum FsyncPolicy {
+    /** Forces the changes of every command before the command reports success. */
+    EVERY_COMMAND,
+    /** Forces the changes written so far at most the fsync delay after the first of them. */
+    INTERVAL,
+    /** Forces the changes written so far once no command has changed the data for the fsync delay. */
+    IDLE
+}
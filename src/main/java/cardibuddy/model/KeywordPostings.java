@@ -0,0 +1,117 @@
+package cardibuddy.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An inverted index from terms to the items holding them, searched with a {@link KeywordQuery}.
+ * Terms must be added trimmed and with their case folded, as the terms of a query are.
+ * The items matching the last search are remembered until the index is next changed.
+ * The set a search returns is its own, so later changes to the index leave it as it was.
+ * Items are held by identity, since items that are equal need not have the same hash code,
+ * so an item must be removed as the same object that was added.
+ *
+ * @param <T> the type of the items indexed
+ */
+public class KeywordPostings<T> {
+
+    private final Map<String, Set<T>> itemsByTerm = new HashMap<>();
+
+    private KeywordQuery lastQuery;
+    private Set<T> lastMatches;
+
+    /**
+     * Adds {@code item} to the postings of each of {@code terms}.
+     */
+    public void add(Collection<String> terms, T item) {
+        for (String term : terms) {
+            itemsByTerm.computeIfAbsent(term, key -> newItemSet()).add(item);
+        }
+        lastMatches = null;
+    }
+
+    /**
+     * Removes {@code item} from the postings of each of {@code terms}, which must be the terms it was added with.
+     */
+    public void remove(Collection<String> terms, T item) {
+        for (String term : terms) {
+            Set<T> items = itemsByTerm.get(term);
+            if (items != null) {
+                items.remove(item);
+                if (items.isEmpty()) {
+                    itemsByTerm.remove(term);
+                }
+            }
+        }
+        lastMatches = null;
+    }
+
+    /**
+     * Returns the items holding every term of any group of {@code query}.
+     * The result is the union over the groups of the intersection of the items holding each term of a group.
+     */
+    public Set<T> search(KeywordQuery query) {
+        if (lastMatches != null && query == lastQuery) {
+            return lastMatches;
+        }
+        List<List<String>> groups = query.getGroups();
+        Set<T> matches;
+        if (groups.size() == 1) {
+            matches = intersect(groups.get(0)); // already a set of its own
+        } else {
+            matches = newItemSet();
+            for (List<String> group : groups) {
+                matches.addAll(intersect(group));
+            }
+        }
+        lastQuery = query;
+        lastMatches = Collections.unmodifiableSet(matches);
+        return lastMatches;
+    }
+
+    /**
+     * Returns the items holding every term in {@code terms}, starting from the term held by the fewest.
+     * The set returned is a set of its own, never a posting of the index.
+     */
+    private Set<T> intersect(List<String> terms) {
+        List<Set<T>> postings = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Set<T> items = itemsByTerm.get(term);
+            if (items == null) {
+                return Collections.emptySet();
+            }
+            postings.add(items);
+        }
+        if (postings.isEmpty()) {
+            return Collections.emptySet();
+        }
+        postings.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+        Set<T> intersection = newItemSet();
+        Set<T> items = postings.get(0);
+        if (postings.size() == 1) {
+            intersection.addAll(items);
+            return intersection;
+        }
+        for (T item : items) {
+            boolean isInAll = true;
+            for (int i = 1; i < postings.size() && isInAll; i++) {
+                isInAll = postings.get(i).contains(item);
+            }
+            if (isInAll) {
+                intersection.add(item);
+            }
+        }
+        return intersection;
+    }
+
+    private static <T> Set<T> newItemSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
@@ -0,0 +1,200 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * The keywords of a search or filter, compiled once into groups of terms.
+ * Keywords joined by {@code &} form a group, and every other keyword is a group of its own.
+ * Something matches the query if it holds every term of any group, so the groups are the clauses of
+ * a disjunction of conjunctions. Terms are trimmed and have their case folded, so they are compared ignoring case.
+ * Repeated terms, and groups holding every term of another group, are dropped as they cannot change a match.
+ *
+ * A query is immutable. It can be evaluated against the text of each item, without allocating,
+ * or its groups can be looked up in a keyword index, see {@link #getGroups()}.
+ */
+public final class KeywordQuery {
+
+    public static final String AND = "&";
+
+    private final String[][] groups;
+    private final List<List<String>> groupList;
+
+    private KeywordQuery(String[][] groups) {
+        this.groups = groups;
+        List<List<String>> groupList = new ArrayList<>(groups.length);
+        for (String[] group : groups) {
+            groupList.add(List.of(group));
+        }
+        this.groupList = Collections.unmodifiableList(groupList);
+    }
+
+    /**
+     * Compiles {@code keywords}, as split from the arguments of a command, into a query.
+     * An & with no keyword on either side of it is ignored.
+     */
+    public static KeywordQuery compile(List<String> keywords) {
+        requireNonNull(keywords);
+        List<List<String>> groups = new ArrayList<>();
+        boolean isJoined = false;
+        for (String keyword : keywords) {
+            if (keyword.equals(AND)) {
+                isJoined = !groups.isEmpty();
+                continue;
+            }
+            String term = StringUtil.foldCase(keyword.trim());
+            if (term.isEmpty()) {
+                continue;
+            }
+            if (!isJoined) {
+                groups.add(new ArrayList<>());
+            }
+            List<String> group = groups.get(groups.size() - 1);
+            if (!group.contains(term)) {
+                group.add(term);
+            }
+            isJoined = false;
+        }
+
+        List<String[]> kept = new ArrayList<>(groups.size());
+        for (int i = 0; i < groups.size(); i++) {
+            if (!isRedundant(groups, i)) {
+                kept.add(groups.get(i).toArray(new String[0]));
+            }
+        }
+        return new KeywordQuery(kept.toArray(new String[0][]));
+    }
+
+    /**
+     * Returns true if group {@code index} holds every term of another group, or is the same as an earlier one,
+     * so that whatever it matches is matched anyway.
+     */
+    private static boolean isRedundant(List<List<String>> groups, int index) {
+        List<String> group = groups.get(index);
+        for (int i = 0; i < groups.size(); i++) {
+            List<String> other = groups.get(i);
+            if (i == index || !group.containsAll(other)) {
+                continue;
+            }
+            if (other.size() < group.size() || i < index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the groups of terms of this query, for looking them up in a keyword index.
+     * The terms are already trimmed and case-folded.
+     */
+    public List<List<String>> getGroups() {
+        return groupList;
+    }
+
+    /**
+     * Returns true if this query has no terms, so that it matches nothing.
+     */
+    public boolean isEmpty() {
+        return groups.length == 0;
+    }
+
+    /**
+     * Returns true if the whitespace-separated words of {@code text} hold every term of any group.
+     */
+    public boolean matchesWords(String text) {
+        return matchesWords(text, text.length());
+    }
+
+    /**
+     * Returns true if the whitespace-separated words of {@code text}, up to {@code end}, hold every term of
+     * any group.
+     */
+    public boolean matchesWords(String text, int end) {
+        for (String[] group : groups) {
+            boolean isMatch = true;
+            for (int i = 0; i < group.length && isMatch; i++) {
+                isMatch = containsWord(text, end, group[i]);
+            }
+            if (isMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if {@code tags} hold a tag named by every term of any group.
+     */
+    public boolean matchesTags(Set<Tag> tags) {
+        for (String[] group : groups) {
+            boolean isMatch = true;
+            for (int i = 0; i < group.length && isMatch; i++) {
+                isMatch = containsTag(tags, group[i]);
+            }
+            if (isMatch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsWord(String text, int end, String term) {
+        int length = term.length();
+        int i = 0;
+        while (i < end) {
+            while (i < end && isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < end && !isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i - start == length && text.regionMatches(true, start, term, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsTag(Set<Tag> tags, String term) {
+        for (Tag tag : tags) {
+            if (tag.tagName.equalsIgnoreCase(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if {@code c} is whitespace as {@code \s} in a regular expression matches it,
+     * which is what the words of a command are split on.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof KeywordQuery // instanceof handles nulls
+                && Arrays.deepEquals(groups, ((KeywordQuery) other).groups)); // state check
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(groups);
+    }
+
+    @Override
+    public String toString() {
+        return groupList.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package cardibuddy.model;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.function.Predicate;
 
@@ -8,6 +9,7 @@ import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
 import cardibuddy.model.flashcard.CardType;
+import cardibuddy.model.flashcard.ImageStore;
 import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.testsession.AnswerType;
 import cardibuddy.model.testsession.TestResult;
@@ -58,6 +60,20 @@ public interface Model {
      */
     void setCardiBuddyFilePath(Path cardiBuddyFilePath);
 
+    /**
+     * Sets the store the images of image cards are copied into.
+     */
+    void setImageStore(ImageStore imageStore);
+
+    /**
+     * Copies the image at {@code imageUrl} into the image store, and returns the URL of the copy.
+     * Until an image store is set, images are left where they are and {@code imageUrl} is returned.
+     *
+     * @throws IOException if the image could not be copied.
+     * @see ImageStore#storeImage(String)
+     */
+    String storeImage(String imageUrl) throws IOException;
+
     /**
      * Returns the CardiBuddy
      */
@@ -231,12 +247,34 @@ public interface Model {
 
     /**
      * Saves the current address book state for undo/redo.
+     * {@code delta} is the change made by the command since the last commit.
      */
-    void commitCardiBuddy();
+    void commitCardiBuddy(Delta delta);
 
     /**
      * Returns the Statistics of the Model.
      */
     Statistics getStatistics();
+
+    /**
+     * Returns true if the CardiBuddy has changed since it was last saved.
+     */
+    boolean hasUnsavedChanges();
+
+    /**
+     * Returns true if {@code deck} has been added or changed since the CardiBuddy was last saved.
+     */
+    boolean isDeckModified(Deck deck);
+
+    /**
+     * Records the current state of the CardiBuddy as saved.
+     */
+    void markSaved();
+
+    /**
+     * Returns a copy of the CardiBuddy that later changes to the model do not affect,
+     * so that it can be saved on another thread.
+     */
+    ReadOnlyCardiBuddy getDetachedCardiBuddy();
 }
 
@@ -3,6 +3,7 @@ package cardibuddy.model;
 import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
@@ -14,6 +15,7 @@ import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
 import cardibuddy.model.flashcard.CardType;
+import cardibuddy.model.flashcard.ImageStore;
 import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.testsession.AnswerType;
 import cardibuddy.model.testsession.TestResult;
@@ -39,7 +41,12 @@ public class ModelManager implements Model {
     private final FilteredList<Card> filteredFlashcards;
     private final FilteredList<Deck> filteredDecks;
     private final VersionedCardiBuddy versionedCardiBuddy;
+    private final UndoMode undoMode;
+    private final OperationLog operationLog;
+    private final ChangeTracker changeTracker = new ChangeTracker();
+    private final CardiBuddyCopier cardiBuddyCopier = new CardiBuddyCopier();
     private TestSession testSession;
+    private ImageStore imageStore;
 
     /**
      * Initializes a ModelManager with the given cardiBuddy and userPrefs.
@@ -50,7 +57,12 @@ public class ModelManager implements Model {
 
         logger.fine("Initializing with CardiBuddy: " + cardiBuddy + " and user prefs " + userPrefs);
 
-        versionedCardiBuddy = new VersionedCardiBuddy(cardiBuddy);
+        Path dataDirectory = userPrefs.getCardiBuddyFilePath().toAbsolutePath().getParent();
+        versionedCardiBuddy = new VersionedCardiBuddy(cardiBuddy, userPrefs.getUndoHistoryLimit(),
+                userPrefs.getUndoHeapBudget(), dataDirectory);
+        undoMode = userPrefs.getUndoMode();
+        operationLog = new OperationLog(userPrefs.getUndoHistoryLimit());
+        changeTracker.markSaved(versionedCardiBuddy);
         this.cardiBuddy = new CardiBuddy(cardiBuddy);
         this.userPrefs = new UserPrefs(userPrefs);
         filteredFlashcards = new FilteredList<Card>(this.versionedCardiBuddy.getFlashcardList());
@@ -96,6 +108,20 @@ public class ModelManager implements Model {
         userPrefs.setCardiBuddyFilePath(cardiBuddyFilePath);
     }
 
+    //=========== Images ====================================================================================
+
+    @Override
+    public void setImageStore(ImageStore imageStore) {
+        requireNonNull(imageStore);
+        this.imageStore = imageStore;
+    }
+
+    @Override
+    public String storeImage(String imageUrl) throws IOException {
+        requireNonNull(imageUrl);
+        return imageStore == null ? imageUrl : imageStore.storeImage(imageUrl);
+    }
+
     //=========== CardiBuddy ================================================================================
 
     @Override
@@ -340,30 +366,65 @@ public class ModelManager implements Model {
                 && filteredFlashcards.equals(other.filteredFlashcards);
     }
 
+    //=========== Change tracking ===========================================================================
+
+    @Override
+    public boolean hasUnsavedChanges() {
+        return changeTracker.isModified(versionedCardiBuddy);
+    }
+
+    @Override
+    public boolean isDeckModified(Deck deck) {
+        return changeTracker.isModified(deck);
+    }
+
+    @Override
+    public void markSaved() {
+        changeTracker.markSaved(versionedCardiBuddy);
+    }
+
+    @Override
+    public ReadOnlyCardiBuddy getDetachedCardiBuddy() {
+        return cardiBuddyCopier.copy(versionedCardiBuddy);
+    }
+
     //=========== Undo/Redo =================================================================================
 
     @Override
     public boolean canUndo() {
-        return versionedCardiBuddy.canUndo();
+        return undoMode == UndoMode.OPERATION_LOG ? operationLog.canUndo() : versionedCardiBuddy.canUndo();
     }
 
     @Override
     public boolean canRedo() {
-        return versionedCardiBuddy.canRedo();
+        return undoMode == UndoMode.OPERATION_LOG ? operationLog.canRedo() : versionedCardiBuddy.canRedo();
     }
 
     @Override
     public void undo() {
-        versionedCardiBuddy.undo();
+        if (undoMode == UndoMode.OPERATION_LOG) {
+            operationLog.undo(versionedCardiBuddy);
+        } else {
+            versionedCardiBuddy.undo();
+        }
     }
 
     @Override
     public void redo() {
-        versionedCardiBuddy.redo();
+        if (undoMode == UndoMode.OPERATION_LOG) {
+            operationLog.redo(versionedCardiBuddy);
+        } else {
+            versionedCardiBuddy.redo();
+        }
     }
 
     @Override
-    public void commitCardiBuddy() {
-        versionedCardiBuddy.commit();
+    public void commitCardiBuddy(Delta delta) {
+        requireNonNull(delta);
+        if (undoMode == UndoMode.OPERATION_LOG) {
+            operationLog.record(delta);
+        } else {
+            versionedCardiBuddy.commit();
+        }
     }
 }
@@ -0,0 +1,78 @@
+package cardibuddy.model;
+
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo history made of the {@code Delta}s recorded by commands.
+ * Undoing or redoing a command only replays its delta, so both take time and memory in proportion to the change.
+ */
+public class OperationLog {
+
+    private final List<Delta> deltas = new ArrayList<>();
+    private final int historyLimit;
+    private int appliedCount;
+
+    /**
+     * Creates an {@code OperationLog} that keeps at most {@code historyLimit} undoable deltas.
+     */
+    public OperationLog(int historyLimit) {
+        checkArgument(historyLimit > 0, "Undo history limit must be positive.");
+        this.historyLimit = historyLimit;
+    }
+
+    /**
+     * Records {@code delta} as the latest change.
+     * Undone deltas are discarded, and so are the oldest deltas beyond the history limit.
+     */
+    public void record(Delta delta) {
+        requireNonNull(delta);
+        deltas.subList(appliedCount, deltas.size()).clear();
+        deltas.add(delta);
+        appliedCount++;
+
+        if (appliedCount > historyLimit) {
+            deltas.subList(0, appliedCount - historyLimit).clear();
+            appliedCount = historyLimit;
+        }
+    }
+
+    /**
+     * Reverts the latest change still applied to {@code cardiBuddy}.
+     */
+    public void undo(CardiBuddy cardiBuddy) {
+        if (!canUndo()) {
+            throw new VersionedCardiBuddy.NoUndoableStateException();
+        }
+        appliedCount--;
+        deltas.get(appliedCount).revert(cardiBuddy);
+    }
+
+    /**
+     * Makes the latest undone change to {@code cardiBuddy} again.
+     */
+    public void redo(CardiBuddy cardiBuddy) {
+        if (!canRedo()) {
+            throw new VersionedCardiBuddy.NoRedoableStateException();
+        }
+        deltas.get(appliedCount).apply(cardiBuddy);
+        appliedCount++;
+    }
+
+    /**
+     * Returns true if {@code undo()} has changes to undo.
+     */
+    public boolean canUndo() {
+        return appliedCount > 0;
+    }
+
+    /**
+     * Returns true if {@code redo()} has changes to redo.
+     */
+    public boolean canRedo() {
+        return appliedCount < deltas.size();
+    }
+}
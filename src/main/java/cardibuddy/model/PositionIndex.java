@@ -0,0 +1,90 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The positions of the items of a list by their keys, so that an item can be found without scanning the list.
+ * The index must be told of every change to the list, before the list is changed.
+ *
+ * Positions are kept up to date lazily. Inserting or removing an item only marks the positions from it onwards
+ * as stale, and they are worked out again from the list the next time one of them is looked up.
+ * Appending and replacing items, and looking up items before the first stale position, take constant time.
+ *
+ * @param <K> the type of the keys, which must be unique in the list
+ * @param <T> the type of the items of the list
+ */
+public class PositionIndex<K, T> {
+
+    private final Map<K, Integer> positions = new HashMap<>();
+    private final List<T> items;
+    private final Function<T, K> keyOf;
+    private int stalePosition; // the positions of the items from here to the end may be out of date
+
+    /**
+     * Creates an index of the positions of the items of {@code items}, keyed by {@code keyOf}.
+     */
+    public PositionIndex(List<T> items, Function<T, K> keyOf) {
+        requireNonNull(items);
+        requireNonNull(keyOf);
+        this.items = items;
+        this.keyOf = keyOf;
+    }
+
+    /**
+     * Returns the position of the item with {@code key}, or -1 if there is none.
+     */
+    public int indexOf(K key) {
+        Integer position = positions.get(key);
+        if (position != null && position < stalePosition) {
+            return position;
+        }
+        for (int i = stalePosition; i < items.size(); i++) {
+            positions.put(keyOf.apply(items.get(i)), i);
+        }
+        stalePosition = items.size();
+        position = positions.get(key);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Records that an item with {@code key} is about to be inserted at {@code position}.
+     */
+    public void add(int position, K key) {
+        if (position == items.size() && stalePosition == position) {
+            stalePosition++; // appended, so no other position moves
+        } else {
+            stalePosition = Math.min(stalePosition, position);
+        }
+        positions.put(key, position);
+    }
+
+    /**
+     * Records that the item at {@code position}, with {@code oldKey}, is about to be replaced by one with
+     * {@code newKey}.
+     */
+    public void set(int position, K oldKey, K newKey) {
+        positions.remove(oldKey);
+        positions.put(newKey, position);
+    }
+
+    /**
+     * Records that the item at {@code position}, with {@code key}, is about to be removed.
+     */
+    public void remove(int position, K key) {
+        positions.remove(key);
+        stalePosition = Math.min(stalePosition, position);
+    }
+
+    /**
+     * Records that every item of the list is about to be replaced.
+     */
+    public void clear() {
+        positions.clear();
+        stalePosition = 0;
+    }
+}
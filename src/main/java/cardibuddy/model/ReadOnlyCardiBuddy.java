@@ -1,5 +1,7 @@
 package cardibuddy.model;
 
+import java.util.Set;
+
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
@@ -24,4 +26,16 @@ public interface ReadOnlyCardiBuddy {
 
     Statistics getStatistics();
 
+    /**
+     * Returns the decks whose titles contain every term of any group of {@code query}, ignoring case.
+     * The set tests membership by identity.
+     */
+    Set<Deck> searchDecksByTitle(KeywordQuery query);
+
+    /**
+     * Returns the decks tagged with every term of any group of {@code query}, ignoring case.
+     * The set tests membership by identity.
+     */
+    Set<Deck> searchDecksByTag(KeywordQuery query);
+
 }
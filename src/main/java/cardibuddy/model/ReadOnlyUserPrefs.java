@@ -13,4 +13,20 @@ public interface ReadOnlyUserPrefs {
 
     Path getCardiBuddyFilePath();
 
+    int getUndoHistoryLimit();
+
+    long getUndoHeapBudget();
+
+    UndoMode getUndoMode();
+
+    StorageFormat getStorageFormat();
+
+    boolean isLazyDeckLoading();
+
+    FsyncPolicy getFsyncPolicy();
+
+    long getFsyncDelayMillis();
+
+    int getCompressionLevel();
+
 }
@@ -0,0 +1,19 @@
+package cardibuddy.model;
+
+/**
+ * How CardiBuddy data is kept on the disk.
+ */
+public enum StorageFormat {
+    /** A single json file, rewritten on every save, see {@code JsonCardiBuddyStorage}. */
+    JSON,
+    /** A single gzip-compressed json file, see {@code GzipJsonCardiBuddyStorage}. */
+    GZIP_JSON,
+    /** A json checkpoint plus a journal of the changes made since, see {@code JournalCardiBuddyStorage}. */
+    JOURNAL,
+    /** A single compact binary file, see {@code BinaryCardiBuddyStorage}. */
+    BINARY,
+    /** A json manifest plus one json file per deck, see {@code ShardedCardiBuddyStorage}. */
+    SHARDED,
+    /** An embedded H2 database with tables of decks, cards, tags and sessions, see {@code SqlCardiBuddyStorage}. */
+    SQL
+}
@@ -0,0 +1,231 @@
+package cardibuddy.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.CardCodec;
+import cardibuddy.model.flashcard.CardType;
+
+/**
+ * A temporary file that holds the cards of undo states that no longer fit in the undo heap budget.
+ * Each card list is gzip-compressed and appended to the file; the {@code Slot} returned locates it again.
+ * A slot is freed once no undo state needs it. The file is emptied once every slot is freed, and rewritten
+ * with only the slots still in use once the freed ones take up more than those and {@code minDeadBytes}.
+ * The file is created on the first spill and deleted when the application exits.
+ */
+class UndoHistorySpillFile {
+
+    static final long DEFAULT_MIN_DEAD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final long minDeadBytes;
+    private final Set<Slot> liveSlots = new LinkedHashSet<>();
+    private Path file;
+    private long length;
+    private long liveBytes;
+
+    UndoHistorySpillFile(Path directory) {
+        this(directory, DEFAULT_MIN_DEAD_BYTES);
+    }
+
+    /**
+     * Creates a spill file in {@code directory} that is only rewritten once more than {@code minDeadBytes}
+     * of it are freed.
+     */
+    UndoHistorySpillFile(Path directory, long minDeadBytes) {
+        requireNonNull(directory);
+        this.directory = directory;
+        this.minDeadBytes = minDeadBytes;
+    }
+
+    /**
+     * Compresses {@code cards} and appends them to the end of the spill file.
+     *
+     * @return the slot to pass to {@code read} to get the cards back.
+     */
+    Slot write(List<Card> cards) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(buffer))) {
+            out.writeInt(cards.size());
+            for (Card card : cards) {
+                writeCard(out, card);
+            }
+        }
+        byte[] bytes = buffer.toByteArray();
+
+        try (RandomAccessFile spill = new RandomAccessFile(getOrCreateFile().toFile(), "rw")) {
+            spill.seek(length);
+            spill.write(bytes);
+        }
+        Slot slot = new Slot(length, bytes.length);
+        length += bytes.length;
+        liveSlots.add(slot);
+        liveBytes += slot.length;
+        return slot;
+    }
+
+    /**
+     * Reads back the cards stored in {@code slot}, binding each of them to {@code deck}.
+     */
+    List<Card> read(Slot slot, Deck deck) throws IOException {
+        byte[] bytes = new byte[slot.length];
+        try (RandomAccessFile spill = new RandomAccessFile(file.toFile(), "r")) {
+            spill.seek(slot.offset);
+            spill.readFully(bytes);
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(bytes)))) {
+            int size = in.readInt();
+            List<Card> cards = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                cards.add(readCard(in, deck));
+            }
+            return Collections.unmodifiableList(cards);
+        }
+    }
+
+    /**
+     * Frees {@code slot}, which must not be read any more.
+     * Empties or rewrites the file if enough of it is then freed; if rewriting fails, the file is left as it was.
+     */
+    void free(Slot slot) throws IOException {
+        if (!liveSlots.remove(slot)) {
+            return;
+        }
+        liveBytes -= slot.length;
+        if (liveSlots.isEmpty()) {
+            try (RandomAccessFile spill = new RandomAccessFile(file.toFile(), "rw")) {
+                spill.setLength(0);
+            }
+            length = 0;
+        } else if (length - liveBytes > Math.max(minDeadBytes, liveBytes)) {
+            rewrite();
+        }
+    }
+
+    /**
+     * Copies the slots in use, in order, to a new file that replaces this one.
+     */
+    private void rewrite() throws IOException {
+        Path rewritten = Files.createTempFile(directory, "undo-history", ".spill");
+        rewritten.toFile().deleteOnExit();
+        long[] offsets = new long[liveSlots.size()];
+        try (RandomAccessFile from = new RandomAccessFile(file.toFile(), "r");
+             RandomAccessFile to = new RandomAccessFile(rewritten.toFile(), "rw")) {
+            int i = 0;
+            for (Slot slot : liveSlots) {
+                byte[] bytes = new byte[slot.length];
+                from.seek(slot.offset);
+                from.readFully(bytes);
+                offsets[i++] = to.getFilePointer();
+                to.write(bytes);
+            }
+        } catch (IOException ioe) {
+            Files.deleteIfExists(rewritten);
+            throw ioe;
+        }
+
+        Files.delete(file);
+        file = rewritten;
+        int i = 0;
+        for (Slot slot : liveSlots) {
+            slot.offset = offsets[i++];
+        }
+        length = liveBytes;
+    }
+
+    /**
+     * Returns the length of the file, including the slots freed but not yet rewritten away.
+     */
+    long getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the bytes taken up by the slots still in use.
+     */
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    private Path getOrCreateFile() throws IOException {
+        if (file == null) {
+            Files.createDirectories(directory);
+            file = Files.createTempFile(directory, "undo-history", ".spill");
+            file.toFile().deleteOnExit();
+        }
+        return file;
+    }
+
+    private static void writeCard(DataOutputStream out, Card card) throws IOException {
+        out.writeByte(card.getCardType().ordinal());
+        writeString(out, card.getQuestion().toString());
+        out.writeByte(CardCodec.answerKindOf(card.getAnswer()).ordinal());
+        writeString(out, card.getAnswer().toString());
+        writeString(out, card.getPath());
+    }
+
+    private static Card readCard(DataInputStream in, Deck deck) throws IOException {
+        CardType cardType = CardCodec.cardTypeOf(in.readByte());
+        String question = readString(in);
+        CardCodec.AnswerKind answerKind = CardCodec.answerKindOf(in.readByte());
+        String answer = readString(in);
+        try {
+            return CardCodec.toCard(deck, cardType, question, answerKind, answer, readString(in));
+        } catch (IllegalValueException ive) {
+            throw new IOException("Spilled answer is no longer valid: " + answer, ive);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[size];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The position of one spilled card list in the spill file.
+     */
+    static class Slot {
+        private long offset;
+        private final int length;
+
+        private Slot(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package cardibuddy.model;
+
+/**
+ * How the {@code Model} keeps the history used by undo and redo.
+ */
+public enum UndoMode {
+    /** Keeps a snapshot of the data after every command, see {@code VersionedCardiBuddy}. */
+    SNAPSHOT,
+    /** Keeps the change made by every command, see {@code OperationLog}. */
+    OPERATION_LOG
+}
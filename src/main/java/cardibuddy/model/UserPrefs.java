@@ -1,5 +1,6 @@
 package cardibuddy.model;
 
+import static cardibuddy.commons.util.AppUtil.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
@@ -13,8 +14,21 @@ import cardibuddy.commons.core.GuiSettings;
  */
 public class UserPrefs implements ReadOnlyUserPrefs {
 
+    public static final int DEFAULT_UNDO_HISTORY_LIMIT = 100;
+    public static final long DEFAULT_UNDO_HEAP_BUDGET = 8L * 1024 * 1024;
+    public static final long DEFAULT_FSYNC_DELAY_MILLIS = 1000;
+    public static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
     private GuiSettings guiSettings = new GuiSettings();
     private Path cardibuddyFilePath = Paths.get("data" , "cardibuddy.json");
+    private int undoHistoryLimit = DEFAULT_UNDO_HISTORY_LIMIT;
+    private long undoHeapBudget = DEFAULT_UNDO_HEAP_BUDGET;
+    private UndoMode undoMode = UndoMode.SNAPSHOT;
+    private StorageFormat storageFormat = StorageFormat.JSON;
+    private boolean lazyDeckLoading = false;
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.EVERY_COMMAND;
+    private long fsyncDelayMillis = DEFAULT_FSYNC_DELAY_MILLIS;
+    private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -36,6 +50,14 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         requireNonNull(newUserPrefs);
         setGuiSettings(newUserPrefs.getGuiSettings());
         setCardiBuddyFilePath(newUserPrefs.getCardiBuddyFilePath());
+        setUndoHistoryLimit(newUserPrefs.getUndoHistoryLimit());
+        setUndoHeapBudget(newUserPrefs.getUndoHeapBudget());
+        setUndoMode(newUserPrefs.getUndoMode());
+        setStorageFormat(newUserPrefs.getStorageFormat());
+        setLazyDeckLoading(newUserPrefs.isLazyDeckLoading());
+        setFsyncPolicy(newUserPrefs.getFsyncPolicy());
+        setFsyncDelayMillis(newUserPrefs.getFsyncDelayMillis());
+        setCompressionLevel(newUserPrefs.getCompressionLevel());
     }
 
     public GuiSettings getGuiSettings() {
@@ -56,6 +78,77 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.cardibuddyFilePath = cardibuddyFilePath;
     }
 
+    public int getUndoHistoryLimit() {
+        return undoHistoryLimit;
+    }
+
+    public void setUndoHistoryLimit(int undoHistoryLimit) {
+        checkArgument(undoHistoryLimit > 0, "Undo history limit must be positive.");
+        this.undoHistoryLimit = undoHistoryLimit;
+    }
+
+    public long getUndoHeapBudget() {
+        return undoHeapBudget;
+    }
+
+    public void setUndoHeapBudget(long undoHeapBudget) {
+        checkArgument(undoHeapBudget >= 0, "Undo heap budget must not be negative.");
+        this.undoHeapBudget = undoHeapBudget;
+    }
+
+    public UndoMode getUndoMode() {
+        return undoMode;
+    }
+
+    public void setUndoMode(UndoMode undoMode) {
+        requireNonNull(undoMode);
+        this.undoMode = undoMode;
+    }
+
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        requireNonNull(storageFormat);
+        this.storageFormat = storageFormat;
+    }
+
+    public boolean isLazyDeckLoading() {
+        return lazyDeckLoading;
+    }
+
+    public void setLazyDeckLoading(boolean lazyDeckLoading) {
+        this.lazyDeckLoading = lazyDeckLoading;
+    }
+
+    public FsyncPolicy getFsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public void setFsyncPolicy(FsyncPolicy fsyncPolicy) {
+        requireNonNull(fsyncPolicy);
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    public long getFsyncDelayMillis() {
+        return fsyncDelayMillis;
+    }
+
+    public void setFsyncDelayMillis(long fsyncDelayMillis) {
+        checkArgument(fsyncDelayMillis >= 0, "Fsync delay must not be negative.");
+        this.fsyncDelayMillis = fsyncDelayMillis;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public void setCompressionLevel(int compressionLevel) {
+        checkArgument(compressionLevel >= 0 && compressionLevel <= 9, "Compression level must be from 0 to 9.");
+        this.compressionLevel = compressionLevel;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -68,12 +161,21 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         cardibuddy.model.UserPrefs o = (cardibuddy.model.UserPrefs) other;
 
         return guiSettings.equals(o.guiSettings)
-                && cardibuddyFilePath.equals(o.cardibuddyFilePath);
+                && cardibuddyFilePath.equals(o.cardibuddyFilePath)
+                && undoHistoryLimit == o.undoHistoryLimit
+                && undoHeapBudget == o.undoHeapBudget
+                && undoMode == o.undoMode
+                && storageFormat == o.storageFormat
+                && lazyDeckLoading == o.lazyDeckLoading
+                && fsyncPolicy == o.fsyncPolicy
+                && fsyncDelayMillis == o.fsyncDelayMillis
+                && compressionLevel == o.compressionLevel;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, cardibuddyFilePath);
+        return Objects.hash(guiSettings, cardibuddyFilePath, undoHistoryLimit, undoHeapBudget, undoMode,
+                storageFormat, lazyDeckLoading, fsyncPolicy, fsyncDelayMillis, compressionLevel);
     }
 
     @Override
@@ -81,6 +183,14 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings);
         sb.append("\nLocal data file location : " + cardibuddyFilePath);
+        sb.append("\nUndo history limit : " + undoHistoryLimit);
+        sb.append("\nUndo heap budget (bytes) : " + undoHeapBudget);
+        sb.append("\nUndo mode : " + undoMode);
+        sb.append("\nStorage format : " + storageFormat);
+        sb.append("\nLazy deck loading : " + lazyDeckLoading);
+        sb.append("\nFsync policy : " + fsyncPolicy);
+        sb.append("\nFsync delay (ms) : " + fsyncDelayMillis);
+        sb.append("\nCompression level : " + compressionLevel);
         return sb.toString();
     }
 
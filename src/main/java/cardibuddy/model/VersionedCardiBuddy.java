@@ -1,58 +1,176 @@
 package cardibuddy.model;
 
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
 
 /**
  * {@code CardiBuddy} that keeps track of its own history.
+ * Each state is a {@code CardiBuddySnapshot} that shares unchanged decks with the state before it,
+ * so committing only copies what the last command changed.
+ * The history keeps at most {@code historyLimit} undoable states. Once the cards held by the history exceed
+ * {@code heapBudget} bytes, the cards of the oldest states are spilled to disk and read back on a deep undo.
+ * The heap held is kept as a running total, counting each deck state once however many states share it,
+ * and a deck state is freed from the spill file once the last state holding it leaves the history.
  */
 public class VersionedCardiBuddy extends CardiBuddy {
 
-    private final List<ReadOnlyCardiBuddy> cardiBuddyStateList;
+    private static final Logger logger = LogsCenter.getLogger(VersionedCardiBuddy.class);
+
+    private final List<CardiBuddySnapshot> cardiBuddyStateList;
+    private final int historyLimit;
+    private final long heapBudget;
+    private final UndoHistorySpillFile spillFile;
+    // how many states of the history hold each deck state
+    private final Map<CardiBuddySnapshot.DeckState, Integer> holderCounts = new IdentityHashMap<>();
+    private long heapSize; // the estimated heap held by the cards of every deck state in the history
     private int currentStatePointer;
 
+    /**
+     * Creates a {@code VersionedCardiBuddy} with an unbounded history that is always kept in memory.
+     */
     public VersionedCardiBuddy(ReadOnlyCardiBuddy initialState) {
+        this(initialState, Integer.MAX_VALUE, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a {@code VersionedCardiBuddy} that keeps at most {@code historyLimit} undoable states
+     * and spills the oldest of them to a temporary file in {@code spillDirectory}
+     * once they take up more than {@code heapBudget} bytes.
+     *
+     * @param spillDirectory where to create the spill file, or null to keep every state in memory.
+     */
+    public VersionedCardiBuddy(ReadOnlyCardiBuddy initialState, int historyLimit, long heapBudget,
+                               Path spillDirectory) {
         super(initialState);
+        checkArgument(historyLimit > 0, "Undo history limit must be positive.");
+        checkArgument(heapBudget >= 0, "Undo heap budget must not be negative.");
 
+        this.historyLimit = historyLimit;
+        this.heapBudget = heapBudget;
+        this.spillFile = spillDirectory == null ? null : new UndoHistorySpillFile(spillDirectory);
         cardiBuddyStateList = new ArrayList<>();
-        cardiBuddyStateList.add(new CardiBuddy(initialState));
+        cardiBuddyStateList.add(hold(CardiBuddySnapshot.of(this, null)));
         currentStatePointer = 0;
     }
 
     /**
-     * Saves a copy of the current {@code CardiBuddy} state at the end of the state list.
-     * Undone states are removed from the state list.
+     * Saves a snapshot of the current {@code CardiBuddy} state at the end of the state list.
+     * Undone states are removed from the state list, and so are the oldest states beyond the history limit.
      */
     public void commit() {
         removeStatesAfterCurrentPointer();
-        cardiBuddyStateList.add(new CardiBuddy(this));
+        cardiBuddyStateList.add(hold(CardiBuddySnapshot.of(this, cardiBuddyStateList.get(currentStatePointer))));
         currentStatePointer++;
+
+        if (currentStatePointer > historyLimit) {
+            release(cardiBuddyStateList.subList(0, currentStatePointer - historyLimit));
+            currentStatePointer = historyLimit;
+        }
+        enforceHeapBudget();
+    }
+
+    /**
+     * Counts {@code snapshot} as a holder of its deck states, adding the heap of those new to the history.
+     */
+    private CardiBuddySnapshot hold(CardiBuddySnapshot snapshot) {
+        for (CardiBuddySnapshot.DeckState state : snapshot.getDeckStates()) {
+            if (holderCounts.merge(state, 1, Integer::sum) == 1) {
+                heapSize += state.getHeapSize();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Removes {@code snapshots} from the history, freeing the deck states no other state holds.
+     */
+    private void release(List<CardiBuddySnapshot> snapshots) {
+        for (CardiBuddySnapshot snapshot : snapshots) {
+            for (CardiBuddySnapshot.DeckState state : snapshot.getDeckStates()) {
+                if (holderCounts.computeIfPresent(state, (unused, count) -> count == 1 ? null : count - 1) != null) {
+                    continue;
+                }
+                heapSize -= state.getHeapSize();
+                try {
+                    state.release();
+                } catch (IOException ioe) {
+                    logger.warning("Could not free undo history from disk: " + ioe);
+                }
+            }
+        }
+        snapshots.clear();
+    }
+
+    /**
+     * Spills the cards of the oldest states until the cards held in memory fit in the heap budget.
+     * The cards of the current state are never spilled, since they are shared with the live decks.
+     */
+    private void enforceHeapBudget() {
+        if (spillFile == null || heapSize <= heapBudget) {
+            return;
+        }
+
+        Set<CardiBuddySnapshot.DeckState> currentStates = Collections.newSetFromMap(new IdentityHashMap<>());
+        currentStates.addAll(cardiBuddyStateList.get(currentStatePointer).getDeckStates());
+        try {
+            for (int i = 0; i < cardiBuddyStateList.size() && heapSize > heapBudget; i++) {
+                for (CardiBuddySnapshot.DeckState state : cardiBuddyStateList.get(i).getDeckStates()) {
+                    if (heapSize <= heapBudget) {
+                        break;
+                    }
+                    if (!currentStates.contains(state)) {
+                        long stateHeapSize = state.getHeapSize();
+                        state.spill(spillFile);
+                        heapSize -= stateHeapSize;
+                    }
+                }
+            }
+        } catch (IOException ioe) {
+            logger.warning("Could not spill undo history to disk, keeping it in memory: " + ioe);
+        }
     }
 
     private void removeStatesAfterCurrentPointer() {
-        cardiBuddyStateList.subList(currentStatePointer + 1, cardiBuddyStateList.size()).clear();
+        release(cardiBuddyStateList.subList(currentStatePointer + 1, cardiBuddyStateList.size()));
     }
 
     /**
      * Restores the CardiBuddy to its previous state.
+     * If the state cannot be read back from disk, the CardiBuddy and its history are left as they were.
+     *
+     * @throws java.io.UncheckedIOException if the state was spilled to disk and could not be read back.
      */
     public void undo() {
         if (!canUndo()) {
             throw new NoUndoableStateException();
         }
+        cardiBuddyStateList.get(currentStatePointer - 1).restore(this);
         currentStatePointer--;
-        resetData(cardiBuddyStateList.get(currentStatePointer));
     }
 
     /**
      * Restores the CardiBuddy to its previously undone state.
+     * If the state cannot be read back from disk, the CardiBuddy and its history are left as they were.
+     *
+     * @throws java.io.UncheckedIOException if the state was spilled to disk and could not be read back.
      */
     public void redo() {
         if (!canRedo()) {
             throw new NoRedoableStateException();
         }
+        cardiBuddyStateList.get(currentStatePointer + 1).restore(this);
         currentStatePointer++;
-        resetData(cardiBuddyStateList.get(currentStatePointer));
     }
 
     /**
@@ -93,7 +211,7 @@ public class VersionedCardiBuddy extends CardiBuddy {
      * Thrown when trying to {@code undo()} but can't.
      */
     public static class NoUndoableStateException extends RuntimeException {
-        private NoUndoableStateException() {
+        NoUndoableStateException() {
             super("Current state pointer at start of addressBookState list, unable to undo.");
         }
     }
@@ -102,7 +220,7 @@ public class VersionedCardiBuddy extends CardiBuddy {
      * Thrown when trying to {@code redo()} but can't.
      */
     public static class NoRedoableStateException extends RuntimeException {
-        private NoRedoableStateException() {
+        NoRedoableStateException() {
             super("Current state pointer at end of addressBookState list, unable to redo.");
         }
     }
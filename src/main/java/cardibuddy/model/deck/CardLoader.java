@@ -0,0 +1,21 @@
+package cardibuddy.model.deck;
+
+import java.util.List;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.flashcard.Card;
+
+/**
+ * Loads the cards of a deck that was created with only its header, i.e. its title, tags, card count and statistics.
+ * A loader may be called from more than one thread, for copies of the same deck.
+ */
+@FunctionalInterface
+public interface CardLoader {
+
+    /**
+     * Returns the cards of {@code deck}, created as cards of that deck.
+     *
+     * @throws DataConversionException if the cards could not be read.
+     */
+    List<Card> loadCards(Deck deck) throws DataConversionException;
+}
@@ -3,22 +3,23 @@ package cardibuddy.model.deck;
 import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.deck.exceptions.DeckNotLoadedException;
 import cardibuddy.model.flashcard.Card;
-import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.flashcard.UniqueFlashcardList;
 import cardibuddy.model.flashcard.exceptions.DuplicateFlashcardException;
 import cardibuddy.model.tag.Tag;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.transformation.FilteredList;
 
@@ -28,16 +29,24 @@ import javafx.collections.transformation.FilteredList;
  */
 public class Deck {
 
+    private static final AtomicLong versionStamps = new AtomicLong();
+
     // Identity fields
     private final Title title;
 
     // Data fields
     private final Set<Tag> tags = new HashSet<>();
-    private List<Card> flashcards = new ArrayList<>();
-    private FilteredList<Card> filteredFlashcards;
+    private final UniqueFlashcardList flashcards = new UniqueFlashcardList();
+    private final FilteredList<Card> filteredFlashcards =
+            new FilteredList<>(flashcards.asUnmodifiableObservableList());
     private Statistics statistics = new Statistics();
     private final Logger logger = LogsCenter.getLogger(Deck.class.getName());
-    private Predicate predicate;
+    private long version = versionStamps.incrementAndGet();
+
+    // set only while the cards of a deck created with only its header are not loaded yet
+    private CardLoader cardLoader;
+    private int unloadedCardCount;
+    private List<Card> cardsAsLoaded;
 
     /**
      * Every field must be present and not null.
@@ -46,8 +55,7 @@ public class Deck {
         requireAllNonNull(title, tags);
         this.title = title;
         this.tags.addAll(tags);
-        this.flashcards.addAll(flashcards);
-        this.filteredFlashcards = new FilteredList<>(FXCollections.observableList(flashcards));
+        this.flashcards.setFlashcards(flashcards);
         logger.info("Created Deck");
     }
 
@@ -61,6 +69,17 @@ public class Deck {
         logger.info("Created Deck");
     }
 
+    /**
+     * Creates a deck with only its header. Its cards are loaded by {@code cardLoader} when they are first needed,
+     * and until then {@code cardCount} is taken as the number of cards.
+     */
+    public Deck(Title title, Set<Tag> tags, CardLoader cardLoader, int cardCount) {
+        this(title, tags);
+        requireNonNull(cardLoader);
+        this.cardLoader = cardLoader;
+        this.unloadedCardCount = cardCount;
+    }
+
     public Deck() {
         title = new Title("");
     }
@@ -78,17 +97,83 @@ public class Deck {
     }
 
     public List<Card> getFlashcards() {
-        return Collections.unmodifiableList(flashcards);
+        load();
+        return flashcards.asUnmodifiableObservableList();
+    }
+
+    /**
+     * Returns true if the cards of this deck are in memory.
+     * Only a deck created with only its header may not have its cards loaded.
+     */
+    public boolean isLoaded() {
+        return cardLoader == null;
+    }
+
+    /**
+     * Returns the number of cards in this deck, without loading them.
+     */
+    public int getCardCount() {
+        return isLoaded() ? flashcards.asUnmodifiableObservableList().size() : unloadedCardCount;
+    }
+
+    /**
+     * Returns the loader of the cards of this deck, or null if they are loaded.
+     * A copy of the deck that is not loaded either can share it.
+     */
+    public CardLoader getCardLoader() {
+        return cardLoader;
+    }
+
+    /**
+     * Returns the cards this deck held when they were loaded by its card loader, loading them first if needed.
+     * Used to bring back the state the deck was in before its cards were ever loaded, e.g. on undo.
+     * Must only be called on a deck created with only its header.
+     */
+    public List<Card> getFlashcardsAsLoaded() {
+        load();
+        requireNonNull(cardsAsLoaded, "Deck was not created with only its header");
+        return cardsAsLoaded;
+    }
+
+    /**
+     * Loads the cards of this deck if it was created with only its header and they are not loaded yet.
+     * Loading is not a change to the cards, so the version of the deck stays the same.
+     *
+     * @throws DeckNotLoadedException if the cards could not be loaded.
+     */
+    private void load() {
+        if (cardLoader == null) {
+            return;
+        }
+
+        List<Card> loadedCards;
+        try {
+            loadedCards = cardLoader.loadCards(this);
+        } catch (DataConversionException dce) {
+            throw new DeckNotLoadedException("Could not load the cards of deck " + title + ": "
+                    + dce.getMessage(), dce);
+        }
+        for (Card card : loadedCards) {
+            if (!flashcards.contains(card)) {
+                flashcards.add(card);
+            }
+        }
+        cardLoader = null;
+        cardsAsLoaded = List.copyOf(flashcards.asUnmodifiableObservableList());
+        logger.fine("Loaded " + cardsAsLoaded.size() + " cards of deck " + title);
     }
 
     /**
-     * Delete card from the flashcards and filteredFlashcards list.
+     * Delete card from the flashcards list. The filtered view updates itself.
+     * Does nothing if the card is not in the deck.
      * @param card to be deleted.
      */
     public void deleteCard(Card card) {
-        flashcards.remove(card);
-        filteredFlashcards = new FilteredList<>(FXCollections.observableList(flashcards));
-        filteredFlashcards.setPredicate(predicate);
+        load();
+        if (flashcards.contains(card)) {
+            flashcards.remove(card);
+            version = versionStamps.incrementAndGet();
+        }
     }
 
     public Statistics getStatistics() {
@@ -101,29 +186,57 @@ public class Deck {
 
     /**
      * Adds a Card to a Deck.
+     * A card whose question already exists in the Deck is ignored.
      * @param card
      * @return the set of Cards from the Deck.
      */
     public List<Card> addCard(Card card) throws DuplicateFlashcardException {
-        try {
+        load();
+        if (!flashcards.contains(card)) {
             flashcards.add(card);
-            UniqueFlashcardList flashcardList = new UniqueFlashcardList();
-            flashcardList.setFlashcards(flashcards);
-        } catch (DuplicateFlashcardException e) {
-            flashcards.remove(card);
+            version = versionStamps.incrementAndGet();
         }
-        filteredFlashcards = new FilteredList<>(FXCollections.observableList(flashcards));
-        return Collections.unmodifiableList(flashcards);
+        return getFlashcards();
     }
 
+    /**
+     * Inserts {@code card} at position {@code index} of this deck.
+     * The card must not already exist in the deck.
+     */
+    public void insertCard(int index, Card card) {
+        load();
+        flashcards.add(index, card);
+        version = versionStamps.incrementAndGet();
+    }
+
+    /**
+     * Replaces {@code cardToEdit} with {@code editedCard}.
+     * Does nothing if {@code cardToEdit} is not in the deck.
+     */
     public void setFlashcard(Card cardToEdit, Card editedCard) {
+        load();
         if (flashcards.contains(cardToEdit)) {
-            int index = flashcards.indexOf(cardToEdit);
-            flashcards.set(index, editedCard);
+            flashcards.setFlashcard(cardToEdit, editedCard);
+            version = versionStamps.incrementAndGet();
         }
+    }
 
-        filteredFlashcards = new FilteredList<>(FXCollections.observableList(flashcards));
-        //filteredFlashcards.setPredicate(predicate);
+    /**
+     * Returns a stamp that changes whenever the cards in this deck change.
+     * Two calls return the same stamp only if the cards were not modified in between.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Replaces the cards in this deck with {@code flashcards}, as they were when the deck had {@code version}.
+     * Used to bring the deck back to an earlier state, e.g. on undo.
+     */
+    public void restoreFlashcards(List<Card> flashcards, long version) {
+        load();
+        this.flashcards.setFlashcards(flashcards);
+        this.version = version;
     }
 
     /**
@@ -140,27 +253,40 @@ public class Deck {
                 && otherDeck.getTitle().equals(getTitle());
     }
 
+    /**
+     * Returns an unmodifiable view of all the cards in this deck.
+     * The same list is returned on every call and reflects later changes to the deck.
+     */
     public ObservableList<Card> getFlashcardList() {
-        UniqueFlashcardList flashcardList = new UniqueFlashcardList();
-        flashcardList.setFlashcards(flashcards);
-        return flashcardList.asUnmodifiableObservableList();
+        load();
+        return flashcards.asUnmodifiableObservableList();
     }
 
     /**
-     * Returns an unmodifiable view of the list of {@code Flashcard} backed by the internal list of
-     * {@code versionedCardiBuddy}
+     * Returns an unmodifiable view of the cards in this deck that match the current predicate.
+     * The same list is returned on every call and reflects later changes to the deck.
      */
     public ObservableList<Card> getFilteredFlashcardList() {
+        load();
         return filteredFlashcards;
     }
 
+    /**
+     * Returns the cards in this deck whose questions contain every term of any group of {@code query},
+     * ignoring case, looked up in an index of the words of the questions rather than by scanning every card.
+     * The set tests membership by identity.
+     */
+    public Set<Card> searchFlashcards(KeywordQuery query) {
+        load();
+        return flashcards.search(query);
+    }
+
     /**
      * Updates the filtered flashcards in a deck.
      * @param predicate SearchCardPredicate or FilterCardPredicate.
      */
     public void updateFilteredFlashcardList(Predicate<Card> predicate) {
         requireNonNull(predicate);
-        this.predicate = predicate;
         filteredFlashcards.setPredicate(predicate);
     }
 
@@ -170,14 +296,8 @@ public class Deck {
      * @return true if card's question already exists.
      */
     public boolean hasFlashcard(Card card) {
-        Question cardQuestion = card.getQuestion();
-        for (Card c : flashcards) {
-            if (cardQuestion.equals(c.getQuestion())) {
-                System.out.println(c.getQuestion().toString());
-                return true;
-            }
-        }
-        return false;
+        load();
+        return flashcards.contains(card);
     }
 
     @Override
@@ -198,6 +318,7 @@ public class Deck {
 
     @Override
     public int hashCode() {
+        load();
         // use this method for custom fields hashing instead of implementing your own
         return Objects.hash(title, flashcards, tags);
     }
@@ -213,7 +334,7 @@ public class Deck {
             builder.append("None");
         }
 
-        builder.append("\nNo. of Cards: ").append(flashcards.size());
+        builder.append("\nNo. of Cards: ").append(getCardCount());
 
         return builder.toString();
     }
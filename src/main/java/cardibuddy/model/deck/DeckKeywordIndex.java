@@ -0,0 +1,71 @@
+package cardibuddy.model.deck;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.KeywordPostings;
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * Inverted indexes from the words of the titles of decks, and from the names of their tags, to the decks,
+ * for deck searches and filters. Words and tag names are compared ignoring case, as
+ * {@link SearchDeckKeywordsPredicate} and {@link FilterDeckKeywordsPredicate} compare them.
+ * The title and tags of a deck never change, so a deck only has to be indexed when it is added and removed.
+ * See {@link KeywordPostings} for how searches are cached and decks are held.
+ */
+class DeckKeywordIndex {
+
+    private final KeywordPostings<Deck> titleWords = new KeywordPostings<>();
+    private final KeywordPostings<Deck> tagNames = new KeywordPostings<>();
+
+    /**
+     * Returns the words of the title of {@code deck}, with the case folded.
+     */
+    private static List<String> titleWordsOf(Deck deck) {
+        List<String> words = new ArrayList<>();
+        for (String word : deck.getTitle().toString().split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(StringUtil.foldCase(word));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the names of the tags of {@code deck}, with the case folded.
+     */
+    private static List<String> tagNamesOf(Deck deck) {
+        List<String> names = new ArrayList<>(deck.getTags().size());
+        for (Tag tag : deck.getTags()) {
+            names.add(StringUtil.foldCase(tag.tagName));
+        }
+        return names;
+    }
+
+    void add(Deck deck) {
+        titleWords.add(titleWordsOf(deck), deck);
+        tagNames.add(tagNamesOf(deck), deck);
+    }
+
+    void remove(Deck deck) {
+        titleWords.remove(titleWordsOf(deck), deck);
+        tagNames.remove(tagNamesOf(deck), deck);
+    }
+
+    /**
+     * Returns the decks whose titles contain every term of any group of {@code query}.
+     */
+    Set<Deck> searchTitles(KeywordQuery query) {
+        return titleWords.search(query);
+    }
+
+    /**
+     * Returns the decks tagged with every term of any group of {@code query}.
+     */
+    Set<Deck> searchTags(KeywordQuery query) {
+        return tagNames.search(query);
+    }
+}
@@ -0,0 +1,22 @@
+package cardibuddy.model.deck;
+
+import java.util.HashMap;
+import java.util.List;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+
+/**
+ * Loads the correct percentage history of a {@code Statistics} that was created without it.
+ * A loader may be called from more than one thread, for copies of the same statistics.
+ */
+@FunctionalInterface
+public interface HistoryLoader {
+
+    /**
+     * Returns the correct percentage history, as a list of correct percentages for every deck tested.
+     * Each call returns a new map, which the caller may change.
+     *
+     * @throws DataConversionException if the history could not be read.
+     */
+    HashMap<String, List<Double>> loadHistory() throws DataConversionException;
+}
@@ -1,21 +1,25 @@
 package cardibuddy.model.deck;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.function.Predicate;
 
-import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.ReadOnlyCardiBuddy;
 
 
 /**
- * Tests that a {@code Deck or Card}'s {@code Title} matches any of the keywords given.
+ * Tests that a {@code Deck}'s {@code Title} matches any of the keywords given.
+ * Keywords joined by {@code &} must all be in the title for the group they form to match.
  */
 public class SearchDeckKeywordsPredicate implements Predicate<Deck> {
-    private final List<String> keywords;
+    private final KeywordQuery query;
+
+    public SearchDeckKeywordsPredicate(KeywordQuery query) {
+        this.query = query;
+    }
 
     public SearchDeckKeywordsPredicate(List<String> keywords) {
-        this.keywords = keywords;
+        this(KeywordQuery.compile(keywords));
     }
 
     /**
@@ -27,94 +31,30 @@ public class SearchDeckKeywordsPredicate implements Predicate<Deck> {
      */
     @Override
     public boolean test(Deck deck) {
-        boolean anyMatch = false;
-        if (checkAnd(keywords)) {
-            anyMatch = searchAnd(deck, keywords);
-        } else {
-            anyMatch = searchOr(deck, keywords);
-        }
-        return anyMatch;
-    }
-
-    /**
-     * Checks if deck contains either of the keywords.
-     * @param keywords list of keywords from SearchDeckCommand.
-     * @return true if deck's title contains any of the keywords.
-     */
-    private boolean searchOr(Deck deck, List<String> keywords) {
-        boolean anyMatch = false;
-        anyMatch = new ArrayList<>(keywords).stream()
-                .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(deck.getTitle().toString(), keyword));
-        return anyMatch;
-    }
-
-    /**
-     * Checks if deck contains all of the keywords with &.
-     * @param keywords list of keywords from SearchDeckCommand.
-     * @return true if deck's title contains all of the keywords with &.
-     */
-    private boolean searchAnd(Deck deck, List<String> keywords) {
-        boolean anyMatch = false;
-        List<List<String>> filteredKeywords = filterKeywords(keywords);
-
-        for (List<String> keywordList : filteredKeywords) {
-            boolean prevMatch = true;
-            for (String keyword : keywordList) {
-                if (!anyMatch && prevMatch) {
-                    prevMatch = Arrays.stream(deck.getTitle().toString().split(" "))
-                            .anyMatch(titleWord -> StringUtil.containsWordIgnoreCase(titleWord, keyword));
-                } else {
-                    break;
-                }
-            }
-
-            if (prevMatch) {
-                anyMatch = true;
-            }
-        }
-        return anyMatch;
+        return query.matchesWords(deck.getTitle().toString());
     }
 
     /**
-     * Filters keywords to remove & symbol and to group keywords together as List objects.
-     * @param keywords list of keywords from SearchDeckCommand.
-     * @return a List of Lists of keywords that are grouped accordingly.
+     * Returns a predicate that matches the same decks of {@code cardiBuddy} as this one,
+     * looking them up in the keyword index of its decks instead of going through the title of each deck.
+     * Only decks in {@code cardiBuddy} are matched.
      */
-    private List<List<String>> filterKeywords(List<String> keywords) {
-        List<List<String>> newList = new ArrayList<>();
-        for (int i = 0; i < keywords.size(); i++) {
-            if (keywords.get(i).equals("&")) {
-                List<String> prev = newList.get(newList.size() - 1);
-                prev.add(keywords.get(i + 1));
-                i++;
-            } else {
-                List<String> temp = new ArrayList<>();
-                temp.add(keywords.get(i));
-                newList.add(temp);
-            }
-        }
-        return newList;
+    public Predicate<Deck> indexedIn(ReadOnlyCardiBuddy cardiBuddy) {
+        return deck -> cardiBuddy.searchDecksByTitle(query).contains(deck);
     }
 
     /**
-     * Checks if the symbol & is present in the SearchDeckCommand keywords.
-     * @param keywords list of keywords to be searched
-     * @return true if & is present
+     * Returns the compiled keywords this predicate tests for.
      */
-    private boolean checkAnd(List<String> keywords) {
-        for (String keyword : keywords) {
-            if (keyword.equals("&")) {
-                return true;
-            }
-        }
-        return false;
+    public KeywordQuery getQuery() {
+        return query;
     }
 
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
                 || (other instanceof SearchDeckKeywordsPredicate // instanceof handles nulls
-                && keywords.equals(((SearchDeckKeywordsPredicate) other).keywords)); // state check
+                && query.equals(((SearchDeckKeywordsPredicate) other).query)); // state check
     }
 
 }
@@ -1,5 +1,7 @@
 package cardibuddy.model.deck;
 
+import static java.util.Objects.requireNonNull;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -7,6 +9,8 @@ import java.util.Map;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.deck.exceptions.HistoryNotLoadedException;
 import cardibuddy.model.flashcard.Card;
 import cardibuddy.model.testsession.TestResult;
 import cardibuddy.model.testsession.TestSession;
@@ -30,6 +34,10 @@ public class Statistics {
     private double avgTriesToGetCorrect;
     // Keeps a list of correctPercentage for every recorded Deck
     private HashMap<String, List<Double>> correctPercentageHistory;
+    // set only while the correctPercentageHistory of statistics created without it is not loaded yet
+    private HistoryLoader historyLoader;
+    private long version;
+
     /**
      * Initialize everything to 0
      */
@@ -47,21 +55,47 @@ public class Statistics {
         logger.info("Created Statistics");
     }
 
+    /**
+     * Creates a copy of {@code toCopy} that is not affected by later changes to it.
+     */
+    public Statistics(Statistics toCopy) {
+        cardsAdded = toCopy.cardsAdded;
+        cardsDeleted = toCopy.cardsDeleted;
+        decksAdded = toCopy.decksAdded;
+        decksDeleted = toCopy.decksDeleted;
+        timesPlayed = toCopy.timesPlayed;
+        cardsPlayed = toCopy.cardsPlayed;
+        avgCorrectPercentage = toCopy.avgCorrectPercentage;
+        avgTriesToGetCorrect = toCopy.avgTriesToGetCorrect;
+        historyLoader = toCopy.historyLoader;
+        if (historyLoader == null) {
+            correctPercentageHistory = new HashMap<>();
+            toCopy.correctPercentageHistory.forEach((title, history) ->
+                    correctPercentageHistory.put(title, new ArrayList<>(history)));
+        }
+        testHistory.addAll(toCopy.testHistory);
+        version = toCopy.version;
+    }
+
     // Edit exceptions ========================================================================
 
     public void trackCardAdded() {
+        version++;
         cardsAdded++;
     }
 
     public void trackCardDeleted() {
+        version++;
         cardsDeleted++;
     }
 
     public void trackDeckAdded() {
+        version++;
         decksAdded++;
     }
 
     public void trackDeckDeleted() {
+        version++;
         decksDeleted++;
     }
 
@@ -70,6 +104,7 @@ public class Statistics {
      * @param testSession history of testSession to record
      */
     public void recordHistory(TestSession testSession) {
+        loadHistory();
         HashMap<Card, TestResult> testResults = testSession.getTestResults();
 
         int totalTries = 0;
@@ -96,6 +131,7 @@ public class Statistics {
 
         timesPlayed++;
         testHistory.add(testSession);
+        version++;
     }
 
 
@@ -134,45 +170,112 @@ public class Statistics {
     }
 
     public void setCardsAdded(int cardsAdded) {
+        version++;
         this.cardsAdded = cardsAdded;
     }
 
     public void setCardsDeleted(int cardsDeleted) {
+        version++;
         this.cardsDeleted = cardsDeleted;
     }
 
     public void setDecksAdded(int decksAdded) {
+        version++;
         this.decksAdded = decksAdded;
     }
 
     public void setDecksDeleted(int decksDeleted) {
+        version++;
         this.decksDeleted = decksDeleted;
     }
 
     public void setCardsPlayed(int cardsPlayed) {
+        version++;
         this.cardsPlayed = cardsPlayed;
     }
 
     public void setTimesPlayed(int timesPlayed) {
+        version++;
         this.timesPlayed = timesPlayed;
     }
 
     public void setAvgCorrectPercentage(double avgCorrectPercentage) {
+        version++;
         this.avgCorrectPercentage = avgCorrectPercentage;
     }
 
     public void setAvgTriesToGetCorrect(double avgTriesToGetCorrect) {
+        version++;
         this.avgTriesToGetCorrect = avgTriesToGetCorrect;
     }
 
+    /**
+     * Returns the correct percentage history, loading it first if these statistics were created without it.
+     *
+     * @throws HistoryNotLoadedException if the history could not be loaded.
+     */
     public HashMap<String, List<Double>> getCorrectPercentageHistory() {
+        loadHistory();
         return correctPercentageHistory;
     }
 
     public void setCorrectPercentageHistory(HashMap<String, List<Double>> correctPercentageHistory) {
+        version++;
+        historyLoader = null;
         this.correctPercentageHistory = correctPercentageHistory;
     }
 
+    /**
+     * Leaves the correct percentage history to be loaded by {@code historyLoader} when it is first needed,
+     * so that statistics can be read without the history of every test session ever played.
+     * The history is not changed by this, so the version of these statistics stays the same.
+     */
+    public void setHistoryLoader(HistoryLoader historyLoader) {
+        requireNonNull(historyLoader);
+        this.historyLoader = historyLoader;
+        correctPercentageHistory = null;
+    }
+
+    /**
+     * Returns true if the correct percentage history is in memory.
+     */
+    public boolean isHistoryLoaded() {
+        return historyLoader == null;
+    }
+
+    /**
+     * Returns the loader of the correct percentage history, or null if it is loaded.
+     * A copy of these statistics that is not loaded either can share it.
+     */
+    public HistoryLoader getHistoryLoader() {
+        return historyLoader;
+    }
+
+    /**
+     * Loads the correct percentage history if these statistics were created without it and it is not loaded yet.
+     *
+     * @throws HistoryNotLoadedException if the history could not be loaded.
+     */
+    private void loadHistory() {
+        if (historyLoader == null) {
+            return;
+        }
+
+        try {
+            correctPercentageHistory = historyLoader.loadHistory();
+        } catch (DataConversionException dce) {
+            throw new HistoryNotLoadedException("Could not load the test history: " + dce.getMessage(), dce);
+        }
+        historyLoader = null;
+    }
+
+    /**
+     * Returns a counter that changes whenever these statistics change.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public Statistics getSessionStatistic(int index) {
         Statistics sessionStatistics = new Statistics();
         sessionStatistics.recordHistory(testHistory.get(index));
@@ -35,6 +35,11 @@ public class Title {
         }
     }
 
+    @Override
+    public int hashCode() {
+        return titleString.hashCode();
+    }
+
     /**
      * Returns true if a given string is a valid name.
      */
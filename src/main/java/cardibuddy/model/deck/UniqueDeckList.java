@@ -3,9 +3,15 @@ package cardibuddy.model.deck;
 import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.PositionIndex;
 import cardibuddy.model.deck.exceptions.DeckNotFoundException;
 import cardibuddy.model.deck.exceptions.DuplicateDeckException;
 import javafx.collections.FXCollections;
@@ -18,6 +24,15 @@ import javafx.collections.ObservableList;
  * unique in terms of identity in the UniqueDeckList. However, the removal of a deck uses Deck#equals(Object) so
  * as to ensure that the deck with exactly the same fields will be removed.
  *
+ * Decks are also indexed by their {@code Title}, which is the identity used by Deck#isSameDeck(Deck),
+ * so that duplicate checks do not need to scan the whole list.
+ * Their positions in the backing list are kept by title too, see {@code PositionIndex},
+ * so that decks are edited and removed without scanning the list for them.
+ * The indexes are updated by every operation that modifies the backing list.
+ * Once searched or filtered, they are also indexed by the words of their titles and by their tags,
+ * see {@code DeckKeywordIndex}, which is likewise updated before the backing list is,
+ * so searches made while its listeners run see the change.
+ *
  * Supports a minimal set of list operations.
  *
  * @see Deck#isSameDeck(Deck)
@@ -27,13 +42,16 @@ public class UniqueDeckList implements Iterable<Deck> {
     private final ObservableList<Deck> internalList = FXCollections.observableArrayList();
     private final ObservableList<Deck> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private final Map<Title, Deck> titleIndex = new HashMap<>();
+    private final PositionIndex<Title, Deck> positionIndex = new PositionIndex<>(internalList, Deck::getTitle);
+    private DeckKeywordIndex keywordIndex; // built on the first search
 
     /**
      * Returns true if the list contains an equivalent deck as the given argument.
      */
     public boolean contains(Deck toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSameDeck);
+        return titleIndex.containsKey(toCheck.getTitle());
     }
 
     /**
@@ -45,9 +63,31 @@ public class UniqueDeckList implements Iterable<Deck> {
         if (contains(toAdd)) {
             throw new DuplicateDeckException();
         }
+        titleIndex.put(toAdd.getTitle(), toAdd);
+        positionIndex.add(internalList.size(), toAdd.getTitle());
+        if (keywordIndex != null) {
+            keywordIndex.add(toAdd);
+        }
         internalList.add(toAdd);
     }
 
+    /**
+     * Adds a deck to the list at position {@code index}.
+     * The deck must not already exist in the list.
+     */
+    public void add(int index, Deck toAdd) {
+        requireNonNull(toAdd);
+        if (contains(toAdd)) {
+            throw new DuplicateDeckException();
+        }
+        titleIndex.put(toAdd.getTitle(), toAdd);
+        positionIndex.add(index, toAdd.getTitle());
+        if (keywordIndex != null) {
+            keywordIndex.add(toAdd);
+        }
+        internalList.add(index, toAdd);
+    }
+
     /**
      * Replaces the deck {@code target} in the list with {@code editedDeck}.
      * {@code target} must exist in the list.
@@ -56,7 +96,7 @@ public class UniqueDeckList implements Iterable<Deck> {
     public void setDeck(Deck target, Deck editedDeck) {
         requireAllNonNull(target, editedDeck);
 
-        int index = internalList.indexOf(target);
+        int index = indexOf(target);
         if (index == -1) {
             throw new DeckNotFoundException();
         }
@@ -65,6 +105,14 @@ public class UniqueDeckList implements Iterable<Deck> {
             throw new DuplicateDeckException();
         }
 
+        Deck replaced = internalList.get(index);
+        titleIndex.remove(replaced.getTitle());
+        titleIndex.put(editedDeck.getTitle(), editedDeck);
+        positionIndex.set(index, replaced.getTitle(), editedDeck.getTitle());
+        if (keywordIndex != null) {
+            keywordIndex.remove(replaced);
+            keywordIndex.add(editedDeck);
+        }
         internalList.set(index, editedDeck);
     }
 
@@ -74,13 +122,25 @@ public class UniqueDeckList implements Iterable<Deck> {
      */
     public void remove(Deck toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        int index = indexOf(toRemove);
+        if (index == -1) {
             throw new DeckNotFoundException();
         }
+        Deck removed = internalList.get(index);
+        titleIndex.remove(removed.getTitle());
+        positionIndex.remove(index, removed.getTitle());
+        if (keywordIndex != null) {
+            keywordIndex.remove(removed);
+        }
+        internalList.remove(index);
     }
 
     public void setDecks(UniqueDeckList replacement) {
         requireNonNull(replacement);
+        titleIndex.clear();
+        titleIndex.putAll(replacement.titleIndex);
+        positionIndex.clear();
+        keywordIndex = null;
         internalList.setAll(replacement.internalList);
     }
 
@@ -94,9 +154,49 @@ public class UniqueDeckList implements Iterable<Deck> {
             throw new DuplicateDeckException();
         }
 
+        titleIndex.clear();
+        for (Deck deck : decks) {
+            titleIndex.put(deck.getTitle(), deck);
+        }
+        positionIndex.clear();
+        keywordIndex = null;
         internalList.setAll(decks);
     }
 
+    /**
+     * Returns the position of the deck equal to {@code deck}, or -1 if there is none.
+     */
+    private int indexOf(Deck deck) {
+        Deck stored = titleIndex.get(deck.getTitle());
+        return deck.equals(stored) ? positionIndex.indexOf(deck.getTitle()) : -1;
+    }
+
+    /**
+     * Returns the decks whose titles contain every term of any group of {@code query}, ignoring case.
+     * The set holds the decks of this list themselves, and tests membership by identity.
+     */
+    public Set<Deck> searchByTitle(KeywordQuery query) {
+        requireNonNull(query);
+        return getKeywordIndex().searchTitles(query);
+    }
+
+    /**
+     * Returns the decks tagged with every term of any group of {@code query}, ignoring case.
+     * The set holds the decks of this list themselves, and tests membership by identity.
+     */
+    public Set<Deck> searchByTag(KeywordQuery query) {
+        requireNonNull(query);
+        return getKeywordIndex().searchTags(query);
+    }
+
+    private DeckKeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            keywordIndex = new DeckKeywordIndex();
+            internalList.forEach(keywordIndex::add);
+        }
+        return keywordIndex;
+    }
+
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -125,11 +225,10 @@ public class UniqueDeckList implements Iterable<Deck> {
      * Returns true if {@code decks} contains only unique decks.
      */
     private boolean decksAreUnique(List<Deck> decks) {
-        for (int i = 0; i < decks.size() - 1; i++) {
-            for (int j = i + 1; j < decks.size(); j++) {
-                if (decks.get(i).isSameDeck(decks.get(j))) {
-                    return false;
-                }
+        Set<Title> seenTitles = new HashSet<>();
+        for (Deck deck : decks) {
+            if (!seenTitles.add(deck.getTitle())) {
+                return false;
             }
         }
         return true;
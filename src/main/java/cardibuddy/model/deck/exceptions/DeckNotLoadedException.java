@@ -0,0 +1,10 @@
+package cardibuddy.model.deck.exceptions;
+
+/**
+ * Signals that the cards of a deck created with only its header could not be loaded.
+ */
+public class DeckNotLoadedException extends RuntimeException {
+    public DeckNotLoadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
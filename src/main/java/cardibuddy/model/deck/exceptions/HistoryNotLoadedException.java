@@ -0,0 +1,10 @@
+package cardibuddy.model.deck.exceptions;
+
+/**
+ * Signals that the correct percentage history of a {@code Statistics} created without it could not be loaded.
+ */
+public class HistoryNotLoadedException extends RuntimeException {
+    public HistoryNotLoadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,100 @@
+package cardibuddy.model.flashcard;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.logic.parser.exceptions.ParseException;
+import cardibuddy.model.deck.Deck;
+
+/**
+ * Converts cards to and from the plain values they are stored as outside of json: the type of the card,
+ * its question, the kind of its answer, the text of its answer and the path of its image.
+ * Card types and answer kinds are stored by their ordinals in binary formats and by their names in tables,
+ * so the order and names of their constants are part of those formats.
+ */
+public class CardCodec {
+
+    /**
+     * The kinds of {@code Answer} a card can have. New kinds must be added at the end.
+     */
+    public enum AnswerKind {
+        SHORT,
+        TF,
+        MCQ
+    }
+
+    /**
+     * Returns the kind of {@code answer}.
+     */
+    public static AnswerKind answerKindOf(Answer answer) {
+        if (answer instanceof McqAnswer) {
+            return AnswerKind.MCQ;
+        } else if (answer instanceof TfAnswer) {
+            return AnswerKind.TF;
+        } else {
+            return AnswerKind.SHORT;
+        }
+    }
+
+    /**
+     * Returns the answer kind with the ordinal {@code code}, or {@code SHORT} if there is none.
+     */
+    public static AnswerKind answerKindOf(int code) {
+        AnswerKind[] kinds = AnswerKind.values();
+        return code >= 0 && code < kinds.length ? kinds[code] : AnswerKind.SHORT;
+    }
+
+    /**
+     * Returns the answer kind named {@code name}, or {@code SHORT} if there is none.
+     */
+    public static AnswerKind answerKindOf(String name) {
+        for (AnswerKind kind : AnswerKind.values()) {
+            if (kind.name().equals(name)) {
+                return kind;
+            }
+        }
+        return AnswerKind.SHORT;
+    }
+
+    /**
+     * Returns the card type with the ordinal {@code code}, or {@code FLASHCARD} if there is none.
+     */
+    public static CardType cardTypeOf(int code) {
+        return code == CardType.IMAGECARD.ordinal() ? CardType.IMAGECARD : CardType.FLASHCARD;
+    }
+
+    /**
+     * Returns the card type named {@code name}, or {@code FLASHCARD} if there is none.
+     */
+    public static CardType cardTypeOf(String name) {
+        return CardType.IMAGECARD.name().equals(name) ? CardType.IMAGECARD : CardType.FLASHCARD;
+    }
+
+    /**
+     * Returns a card of {@code deck} made from its stored values.
+     *
+     * @throws IllegalValueException if {@code answer} is not a valid answer of {@code answerKind}.
+     */
+    public static Card toCard(Deck deck, CardType cardType, String question, AnswerKind answerKind, String answer,
+                              String path) throws IllegalValueException {
+        Answer cardAnswer;
+        switch (answerKind) {
+        case MCQ:
+            try {
+                cardAnswer = new McqAnswer(answer);
+            } catch (ParseException | IllegalArgumentException e) {
+                throw new IllegalValueException(e.getMessage());
+            }
+            break;
+        case TF:
+            cardAnswer = new TfAnswer(answer);
+            break;
+        case SHORT:
+        default:
+            cardAnswer = new ShortAnswer(answer);
+        }
+
+        Question cardQuestion = new Question(question);
+        return cardType == CardType.IMAGECARD
+                ? new Imagecard(deck, cardQuestion, cardAnswer, path)
+                : new Flashcard(deck, cardQuestion, cardAnswer, path);
+    }
+}
@@ -0,0 +1,57 @@
+package cardibuddy.model.flashcard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.KeywordPostings;
+import cardibuddy.model.KeywordQuery;
+
+/**
+ * An inverted index from the words of the questions of cards to the cards, for keyword searches.
+ * Words are compared ignoring case, as {@link SearchCardKeywordsPredicate} compares them.
+ * See {@link KeywordPostings} for how searches are cached and cards are held.
+ */
+class CardKeywordIndex {
+
+    private final KeywordPostings<Card> postings = new KeywordPostings<>();
+
+    /**
+     * Returns the words of the question of {@code card}, with the case folded.
+     * A question mark or full stop ending the question is not part of its last word.
+     */
+    static List<String> wordsOf(Card card) {
+        String question = card.getQuestion().toString();
+        List<String> words = new ArrayList<>();
+        for (String word : question.substring(0, endOfWords(question)).split("\\s+")) {
+            if (!word.isEmpty()) {
+                words.add(StringUtil.foldCase(word));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns the index in {@code question} at which its words end,
+     * leaving out a question mark or full stop ending it.
+     */
+    static int endOfWords(String question) {
+        return question.endsWith("?") || question.endsWith(".") ? question.length() - 1 : question.length();
+    }
+
+    void add(Card card) {
+        postings.add(wordsOf(card), card);
+    }
+
+    void remove(Card card) {
+        postings.remove(wordsOf(card), card);
+    }
+
+    /**
+     * Returns the cards whose questions contain every term of any group of {@code query}.
+     */
+    Set<Card> search(KeywordQuery query) {
+        return postings.search(query);
+    }
+}
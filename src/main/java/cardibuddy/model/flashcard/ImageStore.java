@@ -0,0 +1,43 @@
+package cardibuddy.model.flashcard;
+
+import java.io.IOException;
+
+/**
+ * Keeps the images of image cards, and scaled-down thumbnails of them in the sizes they are shown at.
+ */
+public interface ImageStore {
+
+    /**
+     * The sizes images are shown at.
+     */
+    enum ThumbnailSize {
+        LIST(360),
+        TEST(400);
+
+        private final int width;
+
+        ThumbnailSize(int width) {
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+    }
+
+    /**
+     * Copies the image at {@code imageUrl} into the store and makes its thumbnails.
+     * This reads the whole image and decodes it once for each thumbnail, on the calling thread.
+     *
+     * @param imageUrl a {@code file:} URL, as image cards hold them.
+     * @return the URL of the copy in the store.
+     * @throws IOException if the image could not be read, or the copy could not be written.
+     */
+    String storeImage(String imageUrl) throws IOException;
+
+    /**
+     * Returns the URL of the thumbnail of {@code imageUrl} in the given size, or {@code imageUrl} itself
+     * if the image has no thumbnail.
+     */
+    String getThumbnailUrl(String imageUrl, ThumbnailSize size);
+}
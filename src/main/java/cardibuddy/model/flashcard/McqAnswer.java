@@ -17,9 +17,11 @@ public class McqAnswer extends Answer {
     public static final String MESSAGE_CONSTRAINTS = "MCQ answers should be a single letter corresponding to answer.";
     private static final String MCQ_REGEX = "[A][)].*|[B][)].*|[C][)].*";
     private static final String ANS_REGEX = "(?=.{1}$)^[ABC]";
+    private static final String OPTION_LETTERS = "ABC";
 
     protected ArrayList<String> answerList;
 
+    private List<String> options; // the choices in the order they were given, the correct one first
     private String original;
     private String correctAnswer; // should be "A" or "B" or "C"
 
@@ -34,6 +36,33 @@ public class McqAnswer extends Answer {
 
     }
 
+    /**
+     * Creates an {@code McqAnswer} from choices already split apart, in the order they were given.
+     * The first choice is the correct one, and together the choices must make up a valid MCQ answer.
+     */
+    public McqAnswer(List<String> options) throws ParseException {
+        requireNonNull(options);
+        if (options.size() != OPTION_LETTERS.length()) {
+            throw new WrongMcqAnswerTypeException(MESSAGE_CONSTRAINTS);
+        }
+
+        String[] byLetter = new String[OPTION_LETTERS.length()];
+        for (String option : options) {
+            int letter = option.length() > 1 && option.charAt(1) == ')'
+                    ? OPTION_LETTERS.indexOf(option.charAt(0))
+                    : -1;
+            if (letter < 0 || byLetter[letter] != null) {
+                throw new WrongMcqAnswerTypeException(MESSAGE_CONSTRAINTS);
+            }
+            byLetter[letter] = option;
+        }
+
+        this.options = List.copyOf(options);
+        answerList = new ArrayList<>(List.of(byLetter));
+        correctAnswer = options.get(0).substring(0, 1);
+        original = String.join("", options);
+    }
+
     /**
      * Separates indexes to be inserted into the list.
      * @param answer
@@ -65,6 +94,8 @@ public class McqAnswer extends Answer {
             }
 
             assignToList(indexA, indexB, indexC, first, second, third, answer);
+            options = List.of(answer.substring(first, second), answer.substring(second, third),
+                    answer.substring(third));
         } catch (Exception e) {
             throw new WrongMcqAnswerTypeException(e.getMessage());
         }
@@ -112,6 +143,13 @@ public class McqAnswer extends Answer {
         return this.answerList;
     }
 
+    /**
+     * Returns the choices in the order they were given, starting with the correct one.
+     */
+    public List<String> getOptions() {
+        return options;
+    }
+
     /**
      * Checks if test length is valid.
      * @param test
@@ -3,9 +3,15 @@ package cardibuddy.model.flashcard;
 import static cardibuddy.commons.util.CollectionUtil.requireAllNonNull;
 import static java.util.Objects.requireNonNull;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.PositionIndex;
 import cardibuddy.model.flashcard.exceptions.DuplicateFlashcardException;
 import cardibuddy.model.flashcard.exceptions.FlashcardNotFoundException;
 import javafx.collections.FXCollections;
@@ -20,6 +26,14 @@ import javafx.collections.ObservableList;
  * identity in the UniqueFlashcardList. However, the removal of a flashcard uses Flashcard#equals(Object) so
  * as to ensure that the flashcard with exactly the same fields will be removed.
  *
+ * Flashcards are also indexed by their {@code Question}, which is the identity used by
+ * Card#isSameFlashcard(Object), so that duplicate checks do not need to scan the whole list.
+ * Their positions in the backing list are kept by question too, see {@code PositionIndex},
+ * so that flashcards are edited and removed without scanning the list for them.
+ * The indexes are updated by every operation that modifies the backing list.
+ * Once searched by keyword, they are also indexed by the words of their questions, see {@code CardKeywordIndex},
+ * which is likewise updated before the backing list is, so searches made while its listeners run see the change.
+ *
  * Supports a minimal set of list operations.
  *
  * @see Card#isSameFlashcard(Object) (Flashcard)
@@ -29,13 +43,16 @@ public class UniqueFlashcardList implements Iterable<Card> {
     private final ObservableList<Card> internalList = FXCollections.observableArrayList();
     private final ObservableList<Card> internalUnmodifiableList =
             FXCollections.unmodifiableObservableList(internalList);
+    private final Map<Question, Card> questionIndex = new HashMap<>();
+    private final PositionIndex<Question, Card> positionIndex = new PositionIndex<>(internalList, Card::getQuestion);
+    private CardKeywordIndex keywordIndex; // built on the first search
 
     /**
      * Returns true if the list contains an equivalent person as the given argument.
      */
     public boolean contains(Card toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSameFlashcard);
+        return questionIndex.containsKey(toCheck.getQuestion());
     }
 
     /**
@@ -47,9 +64,31 @@ public class UniqueFlashcardList implements Iterable<Card> {
         if (contains(toAdd)) {
             throw new DuplicateFlashcardException();
         }
+        questionIndex.put(toAdd.getQuestion(), toAdd);
+        positionIndex.add(internalList.size(), toAdd.getQuestion());
+        if (keywordIndex != null) {
+            keywordIndex.add(toAdd);
+        }
         internalList.add(toAdd);
     }
 
+    /**
+     * Adds a flashcard to the list at position {@code index}.
+     * The flashcard must not already exist in the list.
+     */
+    public void add(int index, Card toAdd) {
+        requireNonNull(toAdd);
+        if (contains(toAdd)) {
+            throw new DuplicateFlashcardException();
+        }
+        questionIndex.put(toAdd.getQuestion(), toAdd);
+        positionIndex.add(index, toAdd.getQuestion());
+        if (keywordIndex != null) {
+            keywordIndex.add(toAdd);
+        }
+        internalList.add(index, toAdd);
+    }
+
     /**
      * Replaces the person {@code target} in the list with {@code editedFlashcard}.
      * {@code target} must exist in the list.
@@ -58,15 +97,23 @@ public class UniqueFlashcardList implements Iterable<Card> {
     public void setFlashcard(Card target, Card editedFlashcard) {
         requireAllNonNull(target, editedFlashcard);
 
-        int index = internalUnmodifiableList.indexOf(target);
+        int index = indexOf(target);
         if (index == -1) {
             throw new FlashcardNotFoundException();
         }
 
-        if (!target.isSameFlashcard(editedFlashcard) && internalList.contains(editedFlashcard)) {
+        if (!target.isSameFlashcard(editedFlashcard) && contains(editedFlashcard)) {
             throw new DuplicateFlashcardException();
         }
 
+        Card replaced = internalList.get(index);
+        questionIndex.remove(replaced.getQuestion());
+        questionIndex.put(editedFlashcard.getQuestion(), editedFlashcard);
+        positionIndex.set(index, replaced.getQuestion(), editedFlashcard.getQuestion());
+        if (keywordIndex != null) {
+            keywordIndex.remove(replaced);
+            keywordIndex.add(editedFlashcard);
+        }
         internalList.set(index, editedFlashcard);
     }
 
@@ -76,13 +123,25 @@ public class UniqueFlashcardList implements Iterable<Card> {
      */
     public void remove(Card toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        int index = indexOf(toRemove);
+        if (index == -1) {
             throw new FlashcardNotFoundException();
         }
+        Card removed = internalList.get(index);
+        questionIndex.remove(removed.getQuestion());
+        positionIndex.remove(index, removed.getQuestion());
+        if (keywordIndex != null) {
+            keywordIndex.remove(removed);
+        }
+        internalList.remove(index);
     }
 
     public void setFlashcards(UniqueFlashcardList replacement) {
         requireNonNull(replacement);
+        questionIndex.clear();
+        questionIndex.putAll(replacement.questionIndex);
+        positionIndex.clear();
+        keywordIndex = null;
         internalList.setAll(replacement.internalList);
     }
 
@@ -96,9 +155,36 @@ public class UniqueFlashcardList implements Iterable<Card> {
             throw new DuplicateFlashcardException();
         }
 
+        questionIndex.clear();
+        for (Card flashcard : flashcards) {
+            questionIndex.put(flashcard.getQuestion(), flashcard);
+        }
+        positionIndex.clear();
+        keywordIndex = null;
         internalList.setAll(flashcards);
     }
 
+    /**
+     * Returns the position of the flashcard equal to {@code card}, or -1 if there is none.
+     */
+    private int indexOf(Card card) {
+        Card stored = questionIndex.get(card.getQuestion());
+        return stored != null && stored.equals(card) ? positionIndex.indexOf(card.getQuestion()) : -1;
+    }
+
+    /**
+     * Returns the flashcards whose questions contain every term of any group of {@code query},
+     * ignoring case. The set holds the flashcards of this list themselves, and tests membership by identity.
+     */
+    public Set<Card> search(KeywordQuery query) {
+        requireNonNull(query);
+        if (keywordIndex == null) {
+            keywordIndex = new CardKeywordIndex();
+            internalList.forEach(keywordIndex::add);
+        }
+        return keywordIndex.search(query);
+    }
+
     /**
      * Returns the backing list as an unmodifiable {@code ObservableList}.
      */
@@ -127,11 +213,10 @@ public class UniqueFlashcardList implements Iterable<Card> {
      * Returns true if {@code flashcards} contains only unique flashcards.
      */
     private boolean flashcardsAreUnique(List<Card> flashcards) {
-        for (int i = 0; i < flashcards.size() - 1; i++) {
-            for (int j = i + 1; j < flashcards.size(); j++) {
-                if (flashcards.get(i).isSameFlashcard(flashcards.get(j))) {
-                    return false;
-                }
+        Set<Question> seenQuestions = new HashSet<>();
+        for (Card flashcard : flashcards) {
+            if (!seenQuestions.add(flashcard.getQuestion())) {
+                return false;
             }
         }
         return true;
@@ -0,0 +1,142 @@
+package cardibuddy.storage;
+
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+
+/**
+ * Saves CardiBuddy data on a background thread.
+ * A burst of submitted copies is written once, after no new copy has arrived for the quiet period,
+ * but never later than the maximum delay after the first copy of the burst.
+ * Only the latest copy is written; it must not be modified after it is submitted.
+ */
+public class AutosaveService {
+
+    public static final long DEFAULT_QUIET_PERIOD_MILLIS = 200;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 2000;
+
+    private static final Logger logger = LogsCenter.getLogger(AutosaveService.class);
+
+    private final CardiBuddyStorage storage;
+    private final long quietPeriodNanos;
+    private final long maxDelayNanos;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autosave");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    private ReadOnlyCardiBuddy pending;
+    private long pendingSince;
+    private ScheduledFuture<?> scheduledWrite;
+    private volatile Consumer<IOException> errorHandler = ioe -> { };
+
+    public AutosaveService(CardiBuddyStorage storage) {
+        this(storage, DEFAULT_QUIET_PERIOD_MILLIS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Creates an {@code AutosaveService} that writes to {@code storage}
+     * with the given quiet period and maximum delay, in milliseconds.
+     */
+    public AutosaveService(CardiBuddyStorage storage, long quietPeriodMillis, long maxDelayMillis) {
+        requireNonNull(storage);
+        checkArgument(quietPeriodMillis >= 0 && maxDelayMillis >= quietPeriodMillis,
+                "Quiet period must not be negative or longer than the maximum delay.");
+        this.storage = storage;
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMillis);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * Sets the handler told about failed saves. It is called on the background thread.
+     */
+    public void setErrorHandler(Consumer<IOException> errorHandler) {
+        requireNonNull(errorHandler);
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Queues {@code cardiBuddy} to be saved, replacing any copy that is still waiting to be written.
+     */
+    public void submit(ReadOnlyCardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+        synchronized (lock) {
+            long now = System.nanoTime();
+            if (pending == null) {
+                pendingSince = now;
+            }
+            pending = cardiBuddy;
+
+            if (scheduledWrite != null) {
+                scheduledWrite.cancel(false);
+            }
+            long delay = Math.min(quietPeriodNanos, Math.max(0, pendingSince + maxDelayNanos - now));
+            scheduledWrite = executor.schedule(this::writePending, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Writes the copy waiting to be saved, if any, and waits until it is written.
+     */
+    public void flush() {
+        try {
+            executor.submit(this::writePending).get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ee) {
+            logger.warning("Autosave failed: " + StringUtil.getDetails(ee.getCause()));
+        }
+    }
+
+    /**
+     * Writes the copy waiting to be saved, if any, and stops the background thread.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+    }
+
+    /**
+     * Writes the latest submitted copy.
+     * If the write fails, the copy is kept and written again with the next submission or flush,
+     * unless a newer copy has arrived in the meantime.
+     */
+    private void writePending() {
+        ReadOnlyCardiBuddy toWrite;
+        synchronized (lock) {
+            toWrite = pending;
+            pending = null;
+            scheduledWrite = null;
+        }
+        if (toWrite == null) {
+            return;
+        }
+
+        try {
+            storage.saveCardiBuddy(toWrite);
+        } catch (IOException ioe) {
+            logger.warning("Autosave failed: " + StringUtil.getDetails(ioe));
+            synchronized (lock) {
+                if (pending == null) {
+                    pending = toWrite;
+                    pendingSince = System.nanoTime();
+                }
+            }
+            errorHandler.accept(ioe);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+
+/**
+ * A class to access CardiBuddy data stored in the compact binary format of {@code BinarySerializableCardiBuddy}.
+ */
+public class BinaryCardiBuddyStorage implements CardiBuddyStorage {
+
+    public static final String FILE_EXTENSION = ".bin";
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryCardiBuddyStorage.class);
+
+    private Path filePath;
+
+    public BinaryCardiBuddyStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    public Path getCardiBuddyFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy() throws DataConversionException {
+        return readCardiBuddy(filePath);
+    }
+
+    /**
+     * Similar to {@link #readCardiBuddy()}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Binary file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(filePath))) {
+            return Optional.of(BinarySerializableCardiBuddy.read(in));
+        } catch (IOException ioe) {
+            logger.warning("Error reading from binary file " + filePath + ": " + ioe);
+            throw new DataConversionException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        saveCardiBuddy(cardiBuddy, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
+        requireNonNull(cardiBuddy);
+        requireNonNull(filePath);
+
+        FileUtil.writeAtomically(filePath, out -> BinarySerializableCardiBuddy.write(cardiBuddy, out));
+    }
+
+}
@@ -0,0 +1,325 @@
+package cardibuddy.storage;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Answer;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.CardCodec;
+import cardibuddy.model.flashcard.CardType;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * Reads and writes CardiBuddy data in a compact binary format.
+ * After a magic number and a format version, the data starts with a table of the distinct deck titles,
+ * tag names and statistics history keys, which the rest of the data refers to by index.
+ * Other strings are written in place as length-prefixed UTF-8.
+ * Counts, indexes and statistics counters are varints, so small numbers take a single byte.
+ */
+class BinarySerializableCardiBuddy {
+
+    public static final int MAGIC = 0x43424459; // "CBDY"
+    public static final int FORMAT_VERSION = 1;
+    public static final String MESSAGE_NOT_BINARY = "Not a CardiBuddy binary file.";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Unsupported CardiBuddy binary format version %1$d.";
+
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Writes {@code source} into {@code out} in the binary format. {@code out} is flushed but not closed.
+     */
+    static void write(ReadOnlyCardiBuddy source, OutputStream out) throws IOException {
+        StringTable table = new StringTable();
+        for (Deck deck : source.getDeckList()) {
+            table.add(deck.getTitle().toString());
+            deck.getTags().forEach(tag -> table.add(tag.tagName));
+            deck.getStatistics().getCorrectPercentageHistory().keySet().forEach(table::add);
+        }
+        source.getStatistics().getCorrectPercentageHistory().keySet().forEach(table::add);
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        writeVarint(data, FORMAT_VERSION);
+        table.write(data);
+
+        writeVarint(data, source.getDeckList().size());
+        for (Deck deck : source.getDeckList()) {
+            writeDeck(data, deck, table);
+        }
+        writeStatistics(data, source.getStatistics(), table);
+        data.flush();
+    }
+
+    /**
+     * Reads CardiBuddy data in the binary format from {@code in}.
+     * Decks are added in the same way as {@link JsonSerializableCardiBuddy#toModelType()} adds them.
+     *
+     * @throws IOException if {@code in} does not hold data in the binary format.
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    static CardiBuddy read(InputStream in) throws IOException, IllegalValueException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException(MESSAGE_NOT_BINARY);
+        }
+        int version = readVarint(data);
+        if (version != FORMAT_VERSION) {
+            throw new IOException(String.format(MESSAGE_UNSUPPORTED_VERSION, version));
+        }
+        List<String> table = readStringTable(data);
+
+        CardiBuddy cardibuddy = new CardiBuddy();
+        int deckCount = readVarint(data);
+        for (int i = 0; i < deckCount; i++) {
+            Deck deck = readDeck(data, table);
+            if (cardibuddy.hasDeck(deck)) {
+                throw new IllegalValueException(JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK);
+            }
+            cardibuddy.addDeck(deck);
+        }
+        cardibuddy.setStatistics(readStatistics(data, table));
+        return cardibuddy;
+    }
+
+    private static void writeDeck(DataOutputStream data, Deck deck, StringTable table) throws IOException {
+        writeVarint(data, table.indexOf(deck.getTitle().toString()));
+        writeVarint(data, deck.getTags().size());
+        for (Tag tag : deck.getTags()) {
+            writeVarint(data, table.indexOf(tag.tagName));
+        }
+
+        writeVarint(data, deck.getFlashcards().size());
+        for (Card card : deck.getFlashcards()) {
+            writeCard(data, card);
+        }
+        writeStatistics(data, deck.getStatistics(), table);
+    }
+
+    private static Deck readDeck(DataInputStream data, List<String> table) throws IOException, IllegalValueException {
+        String title = readTableString(data, table);
+        if (!Title.isValidTitle(title)) {
+            throw new IllegalValueException(Title.MESSAGE_CONSTRAINTS);
+        }
+        int tagCount = readVarint(data);
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            String tagName = readTableString(data, table);
+            if (!Tag.isValidTagName(tagName)) {
+                throw new IllegalValueException(Tag.MESSAGE_CONSTRAINTS);
+            }
+            tags.add(new Tag(tagName));
+        }
+
+        Deck deck = new Deck(new Title(title), tags);
+        int cardCount = readVarint(data);
+        for (int i = 0; i < cardCount; i++) {
+            deck.addCard(readCard(data, deck));
+        }
+        deck.setStatistics(readStatistics(data, table));
+        return deck;
+    }
+
+    private static void writeCard(DataOutputStream data, Card card) throws IOException {
+        data.writeByte(card.getCardType().ordinal());
+        writeString(data, card.getQuestion().toString());
+        data.writeByte(CardCodec.answerKindOf(card.getAnswer()).ordinal());
+        writeString(data, card.getAnswer().toString());
+        writeString(data, card.getPath());
+    }
+
+    private static Card readCard(DataInputStream data, Deck deck) throws IOException, IllegalValueException {
+        CardType cardType = CardCodec.cardTypeOf(data.readByte());
+        String questionString = readString(data);
+        CardCodec.AnswerKind answerKind = CardCodec.answerKindOf(data.readByte());
+        String answerString = readString(data);
+        if (questionString == null || answerString == null) {
+            throw new IllegalValueException(String.format(JsonAdaptedFlashcard.MISSING_FIELD_MESSAGE_FORMAT,
+                    questionString == null ? Question.class.getSimpleName() : Answer.class.getSimpleName()));
+        }
+        return CardCodec.toCard(deck, cardType, questionString, answerKind, answerString, readString(data));
+    }
+
+    private static void writeStatistics(DataOutputStream data, Statistics statistics, StringTable table)
+            throws IOException {
+        writeSignedVarint(data, statistics.getCardsAdded());
+        writeSignedVarint(data, statistics.getCardsDeleted());
+        writeSignedVarint(data, statistics.getDecksAdded());
+        writeSignedVarint(data, statistics.getDecksDeleted());
+        writeSignedVarint(data, statistics.getTimesPlayed());
+        writeSignedVarint(data, statistics.getCardsPlayed());
+        data.writeDouble(statistics.getAvgCorrectPercentage());
+        data.writeDouble(statistics.getAvgTriesToGetCorrect());
+
+        Map<String, List<Double>> history = statistics.getCorrectPercentageHistory();
+        writeVarint(data, history.size());
+        for (Map.Entry<String, List<Double>> entry : history.entrySet()) {
+            writeVarint(data, table.indexOf(entry.getKey()));
+            writeVarint(data, entry.getValue().size());
+            for (double correctPercentage : entry.getValue()) {
+                data.writeDouble(correctPercentage);
+            }
+        }
+    }
+
+    private static Statistics readStatistics(DataInputStream data, List<String> table) throws IOException {
+        Statistics statistics = new Statistics();
+        statistics.setCardsAdded(readSignedVarint(data));
+        statistics.setCardsDeleted(readSignedVarint(data));
+        statistics.setDecksAdded(readSignedVarint(data));
+        statistics.setDecksDeleted(readSignedVarint(data));
+        statistics.setTimesPlayed(readSignedVarint(data));
+        statistics.setCardsPlayed(readSignedVarint(data));
+        statistics.setAvgCorrectPercentage(data.readDouble());
+        statistics.setAvgTriesToGetCorrect(data.readDouble());
+
+        HashMap<String, List<Double>> history = new HashMap<>();
+        int historyCount = readVarint(data);
+        for (int i = 0; i < historyCount; i++) {
+            String title = readTableString(data, table);
+            int size = readVarint(data);
+            List<Double> correctPercentages = new ArrayList<>(Math.min(size, 1024));
+            for (int j = 0; j < size; j++) {
+                correctPercentages.add(data.readDouble());
+            }
+            history.put(title, correctPercentages);
+        }
+        statistics.setCorrectPercentageHistory(history);
+        return statistics;
+    }
+
+    private static List<String> readStringTable(DataInputStream data) throws IOException {
+        int size = readVarint(data);
+        List<String> table = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            table.add(readString(data));
+        }
+        return table;
+    }
+
+    private static String readTableString(DataInputStream data, List<String> table) throws IOException {
+        int index = readVarint(data);
+        if (index >= table.size() || table.get(index) == null) {
+            throw new IOException("String table index " + index + " is not valid.");
+        }
+        return table.get(index);
+    }
+
+    /**
+     * Writes {@code value} as its UTF-8 length plus one, followed by its bytes. Null is written as length 0.
+     */
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            writeVarint(data, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(data, bytes.length + 1);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int size = readVarint(data);
+        if (size == 0) {
+            return null;
+        }
+        if (size - 1 > MAX_STRING_BYTES) {
+            throw new IOException("String of " + (size - 1) + " bytes is too long.");
+        }
+        byte[] bytes = new byte[size - 1];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a non-negative {@code value} seven bits at a time, lowest bits first.
+     */
+    private static void writeVarint(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarint(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Negative count or index " + value + ".");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    /**
+     * Writes {@code value} zigzag-encoded, so values close to zero take few bytes whatever their sign.
+     */
+    private static void writeSignedVarint(DataOutputStream data, int value) throws IOException {
+        int zigzag = (value << 1) ^ (value >> 31);
+        while ((zigzag & ~0x7F) != 0) {
+            data.writeByte((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        data.writeByte(zigzag);
+    }
+
+    private static int readSignedVarint(DataInputStream data) throws IOException {
+        int zigzag = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = data.readUnsignedByte();
+            zigzag |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    /**
+     * The distinct strings of the data, each written once and referred to by its index.
+     */
+    private static class StringTable {
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private void add(String value) {
+            if (!indexes.containsKey(value)) {
+                indexes.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+
+        private int indexOf(String value) {
+            return indexes.get(value);
+        }
+
+        private void write(DataOutputStream data) throws IOException {
+            writeVarint(data, strings.size());
+            for (String value : strings) {
+                writeString(data, value);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package cardibuddy.storage;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -10,7 +11,7 @@ import cardibuddy.model.ReadOnlyCardiBuddy;
 /**
  * Represents a storage for {@link cardibuddy.model.CardiBuddy}.
  */
-public interface CardiBuddyStorage {
+public interface CardiBuddyStorage extends Closeable {
 
     /**
      * Returns the file path of the data file.
@@ -42,4 +43,20 @@ public interface CardiBuddyStorage {
      */
     void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException;
 
+    /**
+     * Tells the storage that {@code cardiBuddy} holds the same data as it last read or saved at its file path,
+     * so the next save works out what changed from {@code cardiBuddy} instead.
+     * Storages that do not save only what changed ignore this.
+     * {@code cardiBuddy} must not be modified afterwards.
+     */
+    default void markSaved(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+    }
+
+    /**
+     * Releases the threads and files the storage holds. Storages that hold none ignore this.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+
 }
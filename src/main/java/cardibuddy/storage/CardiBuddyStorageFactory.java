@@ -0,0 +1,101 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.StorageFormat;
+import cardibuddy.model.UserPrefs;
+
+/**
+ * Creates the {@code CardiBuddyStorage} for a {@code StorageFormat}.
+ */
+public class CardiBuddyStorageFactory {
+
+    /**
+     * Returns a storage that keeps CardiBuddy data at {@code filePath}.
+     * The format is the one the extension of {@code filePath} stands for, if any, or {@code format} otherwise.
+     */
+    public static CardiBuddyStorage create(StorageFormat format, Path filePath) {
+        return create(format, filePath, false);
+    }
+
+    /**
+     * Returns a storage that keeps CardiBuddy data at {@code filePath}, as {@link #create(StorageFormat, Path)}.
+     * If {@code isLazy} is true and the format keeps each deck in a file of its own, the storage reads
+     * the cards of each deck only when they are needed.
+     */
+    public static CardiBuddyStorage create(StorageFormat format, Path filePath, boolean isLazy) {
+        return create(format, filePath, isLazy, UserPrefs.DEFAULT_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * Returns a storage that keeps CardiBuddy data at {@code filePath},
+     * as {@link #create(StorageFormat, Path, boolean)}.
+     * If the format is compressed, the data is compressed at {@code compressionLevel}.
+     */
+    public static CardiBuddyStorage create(StorageFormat format, Path filePath, boolean isLazy,
+                                           int compressionLevel) {
+        requireNonNull(format);
+        requireNonNull(filePath);
+
+        switch (getFormat(format, filePath)) {
+        case BINARY:
+            return new BinaryCardiBuddyStorage(filePath);
+        case JOURNAL:
+            return new JournalCardiBuddyStorage(filePath);
+        case SHARDED:
+            return new ShardedCardiBuddyStorage(filePath, isLazy);
+        case GZIP_JSON:
+            return new GzipJsonCardiBuddyStorage(filePath, compressionLevel);
+        case SQL:
+            return new SqlCardiBuddyStorage(filePath);
+        case JSON:
+        default:
+            return new JsonCardiBuddyStorage(filePath);
+        }
+    }
+
+    /**
+     * Returns the CardiBuddy data at {@code filePath}, in the format {@link #create(StorageFormat, Path)} picks,
+     * or an empty {@code Optional} if there is none. A journal checkpoint is read without changing it or any
+     * file next to it, see {@link JournalCardiBuddyStorage#readWithoutChanges(Path)}; the other formats are read
+     * as their storage reads them.
+     */
+    public static Optional<ReadOnlyCardiBuddy> readWithoutChanges(StorageFormat format, Path filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(format);
+        requireNonNull(filePath);
+
+        if (getFormat(format, filePath) == StorageFormat.JOURNAL) {
+            return JournalCardiBuddyStorage.readWithoutChanges(filePath);
+        }
+        try (CardiBuddyStorage storage = create(format, filePath)) {
+            return storage.readCardiBuddy();
+        }
+    }
+
+    /**
+     * Returns the format the extension of {@code filePath} stands for, or {@code format} if it stands for none.
+     * Only binary files, gzip-compressed files and databases have an extension of their own,
+     * since json files, journal checkpoints and shard manifests are all json.
+     */
+    public static StorageFormat getFormat(StorageFormat format, Path filePath) {
+        Path fileName = filePath.getFileName();
+        String name = fileName == null ? "" : fileName.toString().toLowerCase();
+        if (name.endsWith(BinaryCardiBuddyStorage.FILE_EXTENSION)) {
+            return StorageFormat.BINARY;
+        }
+        if (name.endsWith(GzipJsonCardiBuddyStorage.FILE_EXTENSION)) {
+            return StorageFormat.GZIP_JSON;
+        }
+        if (name.endsWith(SqlCardiBuddyStorage.FILE_EXTENSION)) {
+            return StorageFormat.SQL;
+        }
+        return format;
+    }
+}
@@ -0,0 +1,131 @@
+package cardibuddy.storage;
+
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.UserPrefs;
+
+/**
+ * A class to access CardiBuddy data stored as a gzip-compressed json file on the hard disk.
+ * The json is the same as that of a {@code JsonCardiBuddyStorage}, streamed through gzip as it is read and written,
+ * and holds the history of the statistics itself.
+ */
+public class GzipJsonCardiBuddyStorage implements CardiBuddyStorage {
+
+    public static final String FILE_EXTENSION = ".json.gz";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(GzipJsonCardiBuddyStorage.class);
+
+    private final Path filePath;
+    private final int compressionLevel;
+
+    public GzipJsonCardiBuddyStorage(Path filePath) {
+        this(filePath, UserPrefs.DEFAULT_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * Creates a {@code GzipJsonCardiBuddyStorage} that compresses at {@code compressionLevel},
+     * from 0 for no compression to 9 for the smallest files.
+     */
+    public GzipJsonCardiBuddyStorage(Path filePath, int compressionLevel) {
+        checkArgument(compressionLevel >= 0 && compressionLevel <= 9, "Compression level must be from 0 to 9.");
+        this.filePath = filePath;
+        this.compressionLevel = compressionLevel;
+    }
+
+    public Path getCardiBuddyFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy() throws DataConversionException {
+        return readCardiBuddy(filePath);
+    }
+
+    /**
+     * Similar to {@link #readCardiBuddy()}.
+     * A file saved in an older schema version is upgraded as it is read.
+     *
+     * @param filePath location of the data. Cannot be null.
+     * @throws DataConversionException if the file is not gzip-compressed json in the correct format.
+     */
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("Gzip file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(filePath), BUFFER_SIZE)) {
+            return Optional.of(JsonUtil.parseJson(in, JsonSerializableCardiBuddy::read));
+        } catch (IOException ioe) {
+            logger.warning("Error reading from gzip file " + filePath + ": " + ioe);
+            throw new DataConversionException(ioe);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    @Override
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        saveCardiBuddy(cardiBuddy, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
+        requireNonNull(cardiBuddy);
+        requireNonNull(filePath);
+
+        FileUtil.writeAtomically(filePath, out -> {
+            LeveledGzipOutputStream gzip = new LeveledGzipOutputStream(out, compressionLevel);
+            try {
+                JsonUtil.writeJson(gzip, generator -> JsonSerializableCardiBuddy.write(cardiBuddy, generator, true));
+                // finished rather than closed, since the file is forced to the disk before it is closed
+                gzip.finish();
+            } finally {
+                gzip.end();
+            }
+        });
+    }
+
+    /**
+     * A {@code GZIPOutputStream} that compresses at a given level rather than the default one.
+     */
+    private static class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(level);
+        }
+
+        /**
+         * Releases the native memory of the compressor, which closing the stream would otherwise do.
+         */
+        void end() {
+            def.end();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
+
+/**
+ * Keeps copies of the images of image cards in a directory next to the data file, each named after
+ * the SHA-256 hash of its content, so the same image added twice is only stored once.
+ * Scaled-down thumbnails in the sizes the UI shows images at are made once, when an image is added,
+ * so showing a card never has to decode the full-size image.
+ */
+public class ImageAssetStore {
+
+    public static final String ASSETS_DIRECTORY = "images";
+    public static final String THUMBNAILS_DIRECTORY = "thumbnails";
+    public static final String MESSAGE_NOT_A_FILE = "Only images in files can be added: %1$s";
+
+    private static final Logger logger = LogsCenter.getLogger(ImageAssetStore.class);
+
+    private final Path directory;
+
+    public ImageAssetStore(Path directory) {
+        requireNonNull(directory);
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the store kept next to the data file at {@code cardiBuddyFilePath}.
+     */
+    public static ImageAssetStore forDataFile(Path cardiBuddyFilePath) {
+        return new ImageAssetStore(cardiBuddyFilePath.toAbsolutePath().getParent().resolve(ASSETS_DIRECTORY));
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Copies the image at {@code imageUrl} into this store, unless an identical image is already in it,
+     * and makes its thumbnails if they are missing.
+     *
+     * @param imageUrl a {@code file:} URL, as image cards hold them.
+     * @return the {@code file:} URL of the copy in this store.
+     * @throws IOException if {@code imageUrl} is not a readable file, or the copy could not be written.
+     */
+    public String add(String imageUrl) throws IOException {
+        requireNonNull(imageUrl);
+        Path source = toPath(imageUrl);
+        if (source == null || !Files.isRegularFile(source)) {
+            throw new IOException(String.format(MESSAGE_NOT_A_FILE, imageUrl));
+        }
+
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, "adding", ".tmp");
+        Path asset;
+        try {
+            MessageDigest sha256 = newSha256();
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new DigestOutputStream(Files.newOutputStream(temporaryFile), sha256)) {
+                in.transferTo(out);
+            }
+            asset = directory.resolve(toHex(sha256.digest()) + getExtension(source));
+            if (Files.exists(asset)) {
+                logger.fine("Image " + imageUrl + " is already stored as " + asset.getFileName());
+            } else {
+                moveIntoPlace(temporaryFile, asset);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            Path thumbnail = getThumbnailPath(asset, size);
+            if (!Files.exists(thumbnail)) {
+                writeThumbnail(asset, thumbnail, size);
+            }
+        }
+        return asset.toUri().toString();
+    }
+
+    /**
+     * Returns the URL of the thumbnail of {@code imageUrl} in the given size if it is an image in a store
+     * and its thumbnail was made, or {@code imageUrl} itself otherwise.
+     */
+    public static String getThumbnailUrl(String imageUrl, ThumbnailSize size) {
+        requireNonNull(size);
+        Path asset = toPath(imageUrl);
+        if (asset == null || asset.getParent() == null
+                || !ASSETS_DIRECTORY.equals(String.valueOf(asset.getParent().getFileName()))) {
+            return imageUrl;
+        }
+        Path thumbnail = getThumbnailPath(asset, size);
+        return Files.exists(thumbnail) ? thumbnail.toUri().toString() : imageUrl;
+    }
+
+    /**
+     * Returns where the thumbnail of the stored image {@code asset} in the given size is kept.
+     */
+    static Path getThumbnailPath(Path asset, ThumbnailSize size) {
+        String fileName = asset.getFileName().toString();
+        String extension = getExtension(asset);
+        String hash = fileName.substring(0, fileName.length() - extension.length());
+        return asset.resolveSibling(THUMBNAILS_DIRECTORY)
+                .resolve(hash + "-" + size.name().toLowerCase(Locale.ROOT) + extension);
+    }
+
+    /**
+     * Writes a copy of {@code asset} scaled down to the width of {@code size} into {@code thumbnail}.
+     * Images narrower than that are kept at their size. Nothing is written for files that are not
+     * an image format Java can read, which are then shown at full size.
+     */
+    private static void writeThumbnail(Path asset, Path thumbnail, ThumbnailSize size) throws IOException {
+        BufferedImage image = ImageIO.read(asset.toFile());
+        String format = getExtension(asset).isEmpty() ? "png" : getExtension(asset).substring(1);
+        if (image == null || !ImageIO.getImageWritersBySuffix(format).hasNext()) {
+            logger.info("Cannot make thumbnails of " + asset.getFileName());
+            return;
+        }
+
+        BufferedImage scaled = scaleToWidth(image, Math.min(size.getWidth(), image.getWidth()),
+                isJpeg(format) ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        FileUtil.createParentDirsOfFile(thumbnail);
+        FileUtil.writeAtomically(thumbnail, out -> ImageIO.write(scaled, format, out));
+    }
+
+    /**
+     * Scales {@code image} down to {@code width}, halving it while it is more than twice as wide,
+     * which keeps the detail bilinear scaling loses when it shrinks an image a lot in one step.
+     */
+    private static BufferedImage scaleToWidth(BufferedImage image, int width, int type) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight;
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(1,
+                    (int) Math.round((double) image.getHeight() * currentWidth / image.getWidth()));
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            graphics.dispose();
+            current = next;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private static void moveIntoPlace(Path temporaryFile, Path asset) throws IOException {
+        try {
+            Files.move(temporaryFile, asset, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, asset);
+        } catch (FileAlreadyExistsException e) {
+            // added at the same time by another thread, with the same content
+        }
+    }
+
+    /**
+     * Returns the file {@code imageUrl} points to, or null if it is not a {@code file:} URL.
+     */
+    private static Path toPath(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith("file:")) {
+            return null;
+        }
+        try {
+            return Paths.get(URI.create(imageUrl));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the extension of {@code file} in lower case, with its dot, or an empty string if it has none.
+     */
+    private static String getExtension(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isJpeg(String format) {
+        return format.equals("jpg") || format.equals("jpeg");
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("SHA-256 is available in every Java platform", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,487 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.deck.exceptions.HistoryNotLoadedException;
+
+/**
+ * A class to access CardiBuddy data stored as a json checkpoint file plus a journal of the saves made since.
+ * Each save appends one line to the journal, holding only the decks and statistics that changed,
+ * so the cost of a save grows with the edit rather than with the library.
+ * Reading replays the journal over the checkpoint; a last line cut short by a crash is ignored.
+ * Once the journal grows past the compaction threshold, it is folded into a fresh checkpoint in the background.
+ */
+public class JournalCardiBuddyStorage implements CardiBuddyStorage {
+
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+    public static final String JOURNAL_SUFFIX = ".journal";
+    public static final String COMPACTING_SUFFIX = ".journal.compacting";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final Logger logger = LogsCenter.getLogger(JournalCardiBuddyStorage.class);
+
+    private final Path filePath;
+    private final long compactionThreshold;
+    private ExecutorService compactor; // started on the first compaction
+    private boolean isClosed;
+
+    // what the checkpoint and journal of filePath hold, as of the last save or read
+    private final JournalRecorder journalRecorder = new JournalRecorder();
+    private long journalSize = -1;
+    private Future<?> compaction;
+
+    public JournalCardiBuddyStorage(Path filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a {@code JournalCardiBuddyStorage} for the checkpoint at {@code filePath}
+     * that compacts its journal once it is at least {@code compactionThreshold} bytes long.
+     */
+    public JournalCardiBuddyStorage(Path filePath, long compactionThreshold) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public Path getCardiBuddyFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the journal kept next to the checkpoint at {@code filePath}.
+     */
+    static Path getJournalPath(Path filePath) {
+        return Paths.get(filePath.toString() + JOURNAL_SUFFIX);
+    }
+
+    /**
+     * Returns the journal being folded into the checkpoint at {@code filePath}.
+     */
+    static Path getCompactingPath(Path filePath) {
+        return Paths.get(filePath.toString() + COMPACTING_SUFFIX);
+    }
+
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy() throws DataConversionException, IOException {
+        return readCardiBuddy(filePath);
+    }
+
+    /**
+     * Similar to {@link #readCardiBuddy()}.
+     *
+     * @param filePath location of the checkpoint. Cannot be null.
+     * @throws DataConversionException if the checkpoint or the journal is not in the correct format.
+     */
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException, IOException {
+        requireNonNull(filePath);
+        return read(filePath, filePath.equals(this.filePath));
+    }
+
+    /**
+     * Returns the data in the checkpoint at {@code filePath} with its journal replayed in memory, and the history
+     * of its statistics read from any session history file next to it, without changing any of those files.
+     * Unlike reading the file of a storage, the checkpoint is not upgraded, an incomplete last record is
+     * skipped rather than dropped, and the history is neither compacted nor folded into the checkpoint.
+     *
+     * @throws DataConversionException if the checkpoint, the journal or the history is not in the correct format.
+     */
+    public static Optional<ReadOnlyCardiBuddy> readWithoutChanges(Path filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+        return new JournalCardiBuddyStorage(filePath).read(filePath, false);
+    }
+
+    /**
+     * Reads the checkpoint at {@code filePath} and replays its journal. Only if {@code isOwnFile} is the checkpoint
+     * upgraded, the journal cut back to its last complete record and the history file folded into the checkpoint,
+     * and this storage told what the files hold.
+     */
+    private synchronized Optional<ReadOnlyCardiBuddy> read(Path filePath, boolean isOwnFile)
+            throws DataConversionException, IOException {
+        Path journalPath = getJournalPath(filePath);
+        Path compactingPath = getCompactingPath(filePath);
+        if (!Files.exists(filePath) && !Files.exists(journalPath) && !Files.exists(compactingPath)) {
+            return Optional.empty();
+        }
+
+        if (isOwnFile) {
+            JsonCardiBuddyStorage.migrate(filePath);
+        }
+        // the journal being compacted is read before the checkpoint, since a compaction running in the background
+        // may fold it into the checkpoint and delete it in between; applying it again changes nothing
+        List<JsonJournalRecord> compacting = new ArrayList<>();
+        replayJournal(compactingPath, compacting::add);
+        JournalReplay replay = new JournalReplay(
+                JsonUtil.readJsonFile(filePath, JsonSerializableCardiBuddy.class).orElse(null));
+        compacting.forEach(replay::apply);
+        long validLength = replayJournal(journalPath, replay::apply);
+
+        CardiBuddy cardiBuddy;
+        try {
+            cardiBuddy = replay.toSerializable().toModelType();
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+
+        // a checkpoint last saved by a JsonCardiBuddyStorage keeps the history of its statistics apart; the
+        // statistics the journal put since hold their own, even when it is empty
+        Path historyPath = SessionHistoryFile.getHistoryPath(filePath);
+        if (Files.exists(historyPath) && !isOwnFile) {
+            new SessionHistoryFile(historyPath).copyTo(cardiBuddy, replay::isFromCheckpoint);
+        } else if (Files.exists(historyPath)) {
+            new SessionHistoryFile(historyPath).attachTo(cardiBuddy, replay::isFromCheckpoint);
+            if (foldHistory(cardiBuddy, historyPath)) {
+                validLength = 0;
+            }
+        }
+
+        if (isOwnFile) {
+            if (Files.exists(journalPath) && Files.size(journalPath) > validLength) {
+                try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+                    journal.truncate(validLength);
+                }
+            }
+            journalSize = validLength;
+            journalRecorder.markSaved(cardiBuddy);
+        }
+        return Optional.of(cardiBuddy);
+    }
+
+    /**
+     * Saves {@code cardiBuddy}, read from the file of this storage, as its checkpoint with the history of its
+     * statistics inline, then deletes the journal and the session history file at {@code historyPath}.
+     * The history file is only kept up to date by a {@code JsonCardiBuddyStorage}, so it would go stale as this
+     * storage appends to the journal. Every history is loaded to do so, but only once after switching formats.
+     *
+     * @return true if the history was folded into the checkpoint; if it was not, it is still read from the file.
+     */
+    private boolean foldHistory(ReadOnlyCardiBuddy cardiBuddy, Path historyPath) throws IOException {
+        if (compaction != null && !compaction.isDone()) {
+            return false; // the compaction would save its older checkpoint over the folded one
+        }
+        JsonSerializableCardiBuddy checkpoint;
+        try {
+            checkpoint = new JsonSerializableCardiBuddy(cardiBuddy);
+        } catch (HistoryNotLoadedException hnle) {
+            logger.warning("Could not fold the test history into " + filePath + ": " + hnle.getMessage());
+            return false;
+        }
+        JsonUtil.saveJsonFile(checkpoint, filePath);
+        Files.deleteIfExists(getCompactingPath(filePath));
+        Files.deleteIfExists(getJournalPath(filePath));
+        Files.delete(historyPath);
+        logger.info("Folded the test history of " + historyPath + " into " + filePath);
+        return true;
+    }
+
+    @Override
+    public synchronized void markSaved(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        requireNonNull(cardiBuddy);
+        journalRecorder.markSaved(cardiBuddy);
+    }
+
+    @Override
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        saveCardiBuddy(cardiBuddy, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     * Saving to a location other than this storage's own writes a full checkpoint there, with no journal.
+     *
+     * @param filePath location of the checkpoint. Cannot be null.
+     */
+    @Override
+    public synchronized void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
+        requireNonNull(cardiBuddy);
+        requireNonNull(filePath);
+
+        if (!filePath.equals(this.filePath)) {
+            Files.deleteIfExists(getJournalPath(filePath));
+            Files.deleteIfExists(getCompactingPath(filePath));
+            JsonUtil.writeJsonFile(filePath, generator -> JsonSerializableCardiBuddy.write(cardiBuddy, generator));
+            return;
+        }
+
+        JsonJournalRecord record = journalRecorder.recordChanges(cardiBuddy);
+        if (!record.isEmpty()) {
+            append(JsonUtil.toJsonLine(record) + "\n");
+        }
+        journalRecorder.commit();
+
+        compactIfNeeded();
+    }
+
+    /**
+     * Waits until the compaction running in the background, if any, has finished.
+     */
+    void awaitCompaction() throws InterruptedException, ExecutionException {
+        Future<?> running;
+        synchronized (this) {
+            running = compaction;
+        }
+        if (running != null) {
+            running.get();
+        }
+    }
+
+    /**
+     * Waits for the compaction running in the background, if any, then stops the thread compactions run on.
+     * Later saves still append to the journal, but no longer compact it.
+     */
+    @Override
+    public void close() throws IOException {
+        ExecutorService toStop;
+        synchronized (this) {
+            isClosed = true;
+            toStop = compactor;
+        }
+        if (toStop == null) {
+            return;
+        }
+        toStop.shutdown();
+        try {
+            toStop.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends {@code line} to the journal and forces it to the disk.
+     */
+    private void append(String line) throws IOException {
+        Path journalPath = getJournalPath(filePath);
+        if (journalSize < 0) {
+            journalSize = dropIncompleteTail(journalPath);
+        }
+
+        FileUtil.createParentDirsOfFile(journalPath);
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+        }
+        journalSize += bytes.length;
+    }
+
+    /**
+     * Cuts off anything after the last complete line of {@code journalPath}, left behind by an interrupted save.
+     *
+     * @return the length of the journal afterwards.
+     */
+    static long dropIncompleteTail(Path journalPath) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return 0;
+        }
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long end = journal.size();
+            ByteBuffer oneByte = ByteBuffer.allocate(1);
+            while (end > 0) {
+                oneByte.clear();
+                journal.read(oneByte, end - 1);
+                if (oneByte.get(0) == '\n') {
+                    break;
+                }
+                end--;
+            }
+            if (end < journal.size()) {
+                logger.warning("Dropping incomplete record at the end of " + journalPath);
+                journal.truncate(end);
+            }
+            return end;
+        }
+    }
+
+    /**
+     * Starts folding the journal into a fresh checkpoint if it has grown past the compaction threshold,
+     * or if an earlier compaction was interrupted.
+     */
+    private void compactIfNeeded() {
+        if (isClosed || (compaction != null && !compaction.isDone())) {
+            return;
+        }
+
+        Path compactingPath = getCompactingPath(filePath);
+        try {
+            if (!Files.exists(compactingPath)) {
+                if (journalSize < compactionThreshold) {
+                    return;
+                }
+                // later saves go to a new journal while the old one is compacted
+                Files.move(getJournalPath(filePath), compactingPath, StandardCopyOption.ATOMIC_MOVE);
+                journalSize = 0;
+            }
+        } catch (IOException ioe) {
+            logger.warning("Could not start journal compaction: " + StringUtil.getDetails(ioe));
+            return;
+        }
+        if (compactor == null) {
+            compactor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "journal-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        compaction = compactor.submit(this::compact);
+    }
+
+    /**
+     * Writes a checkpoint that includes the journal being compacted, then deletes that journal.
+     * Records of the compacted journal replayed again over the new checkpoint do not change it,
+     * so a crash at any point leaves readable data.
+     */
+    private void compact() {
+        Path compactingPath = getCompactingPath(filePath);
+        try {
+            JournalReplay replay = new JournalReplay(
+                    JsonUtil.readJsonFile(filePath, JsonSerializableCardiBuddy.class).orElse(null));
+            replayJournal(compactingPath, replay::apply);
+            JsonUtil.saveJsonFile(replay.toSerializable(), filePath);
+            Files.delete(compactingPath);
+            logger.fine("Compacted journal of " + filePath);
+        } catch (IOException | DataConversionException e) {
+            logger.warning("Journal compaction failed: " + StringUtil.getDetails(e));
+        }
+    }
+
+    /**
+     * Passes the records in {@code journalPath} to {@code replay}, ignoring a last line that was cut short.
+     *
+     * @return the length of the journal up to the end of its last complete line.
+     * @throws DataConversionException if a complete line is not a valid record.
+     */
+    static long replayJournal(Path journalPath, Consumer<JsonJournalRecord> replay)
+            throws IOException, DataConversionException {
+        if (!Files.exists(journalPath)) {
+            return 0;
+        }
+
+        byte[] bytes = Files.readAllBytes(journalPath);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != '\n') {
+                end++;
+            }
+            if (end == bytes.length) {
+                logger.warning("Ignoring incomplete record at the end of " + journalPath);
+                break;
+            }
+
+            String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            if (!line.isBlank()) {
+                try {
+                    replay.accept(JsonUtil.fromJsonString(line, JsonJournalRecord.class));
+                } catch (IOException ioe) {
+                    logger.warning("Error reading journal " + journalPath + ": " + ioe);
+                    throw new DataConversionException(ioe);
+                }
+            }
+            start = end + 1;
+        }
+        return start;
+    }
+
+    /**
+     * The data of a checkpoint with journal records applied on top of it, keyed by deck title.
+     * Every record overwrites whole decks, the whole order and the whole statistics, so applying
+     * a record twice has the same effect as applying it once.
+     */
+    private static class JournalReplay {
+        private final Map<String, JsonAdaptedDeck> decks = new HashMap<>();
+        private List<String> order = new ArrayList<>();
+        private JsonAdaptedStatistic statistics;
+        // the titles of the decks the journal put, and null if it put the statistics of the library
+        private final Set<String> journalOwners = new HashSet<>();
+
+        private JournalReplay(JsonSerializableCardiBuddy checkpoint) throws DataConversionException {
+            if (checkpoint == null) {
+                return;
+            }
+            for (JsonAdaptedDeck deck : checkpoint.getDecks()) {
+                if (decks.put(deck.getTitle(), deck) != null) {
+                    throw new DataConversionException(
+                            new IllegalValueException(JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK));
+                }
+                order.add(deck.getTitle());
+            }
+            statistics = checkpoint.getStatistics();
+        }
+
+        private void apply(JsonJournalRecord record) {
+            record.getRemoved().forEach(decks::remove);
+            record.getPut().forEach(deck -> decks.put(deck.getTitle(), deck));
+            record.getPut().forEach(deck -> journalOwners.add(deck.getTitle()));
+            if (record.getOrder() != null) {
+                order = record.getOrder();
+            }
+            if (record.getStatistics() != null) {
+                statistics = record.getStatistics();
+                journalOwners.add(null);
+            }
+        }
+
+        /**
+         * Returns true if the statistics of the deck titled {@code owner}, or of the whole library if it is null,
+         * are the ones in the checkpoint rather than ones the journal put since.
+         */
+        private boolean isFromCheckpoint(String owner) {
+            return !journalOwners.contains(owner);
+        }
+
+        private JsonSerializableCardiBuddy toSerializable() {
+            List<JsonAdaptedDeck> orderedDecks = order.stream()
+                    .map(decks::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            return new JsonSerializableCardiBuddy(orderedDecks,
+                    statistics != null ? statistics : new JsonAdaptedStatistic(new Statistics()));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package cardibuddy.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+
+/**
+ * Remembers the CardiBuddy data last recorded somewhere, so the next record only has to hold what changed since.
+ * Changes are worked out with {@link #recordChanges(ReadOnlyCardiBuddy)} and only remembered once
+ * {@link #commit()} is called, after the record was written, so a record that failed to be written
+ * is recorded again with the next one.
+ */
+class JournalRecorder {
+
+    private Map<String, SavedDeck> savedDecks = new HashMap<>();
+    private List<String> savedOrder;
+    private Statistics savedStatistics;
+    private long savedStatisticsVersion;
+    private byte[] savedStatisticsDigest;
+
+    // what recordChanges found, remembered by commit
+    private Map<String, SavedDeck> nextSavedDecks;
+    private List<String> nextOrder;
+    private Statistics nextStatistics;
+    private byte[] nextStatisticsDigest;
+
+    /**
+     * Returns a record of the changes from the data last recorded to {@code cardiBuddy}.
+     */
+    JsonJournalRecord recordChanges(ReadOnlyCardiBuddy cardiBuddy) throws JsonProcessingException {
+        Map<String, SavedDeck> decks = new HashMap<>();
+        List<JsonAdaptedDeck> put = new ArrayList<>();
+        List<String> order = new ArrayList<>(cardiBuddy.getDeckList().size());
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            String title = deck.getTitle().toString();
+            order.add(title);
+
+            SavedDeck saved = savedDecks.get(title);
+            if (saved != null && saved.isSameUnmodified(deck)) {
+                decks.put(title, saved);
+                continue;
+            }
+            if (saved != null && saved.isSameUnloaded(deck)) {
+                decks.put(title, saved.heldBy(deck));
+                continue;
+            }
+            JsonAdaptedDeck adaptedDeck = new JsonAdaptedDeck(deck);
+            byte[] digest = SavedDeck.digestOf(adaptedDeck);
+            if (saved == null || !saved.hasDigest(digest)) {
+                put.add(adaptedDeck);
+            }
+            decks.put(title, new SavedDeck(deck, digest));
+        }
+
+        List<String> removed = savedDecks.keySet().stream()
+                .filter(title -> !decks.containsKey(title))
+                .collect(Collectors.toList());
+
+        Statistics statistics = cardiBuddy.getStatistics();
+        JsonAdaptedStatistic changedStatistics = null;
+        byte[] statisticsDigest = savedStatisticsDigest;
+        if (statistics != savedStatistics || statistics.getVersion() != savedStatisticsVersion) {
+            JsonAdaptedStatistic adaptedStatistics = new JsonAdaptedStatistic(statistics);
+            statisticsDigest = SavedDeck.digestOf(adaptedStatistics);
+            if (!Arrays.equals(statisticsDigest, savedStatisticsDigest)) {
+                changedStatistics = adaptedStatistics;
+            }
+        }
+
+        nextSavedDecks = decks;
+        nextOrder = order;
+        nextStatistics = statistics;
+        nextStatisticsDigest = statisticsDigest;
+        return new JsonJournalRecord(put, removed, order.equals(savedOrder) ? null : order, changedStatistics);
+    }
+
+    /**
+     * Remembers the data passed to the last call of {@link #recordChanges(ReadOnlyCardiBuddy)} as recorded.
+     */
+    void commit() {
+        if (nextSavedDecks == null) {
+            return;
+        }
+        savedDecks = nextSavedDecks;
+        savedOrder = nextOrder;
+        savedStatistics = nextStatistics;
+        savedStatisticsVersion = nextStatistics.getVersion();
+        savedStatisticsDigest = nextStatisticsDigest;
+        nextSavedDecks = null;
+    }
+
+    /**
+     * Remembers {@code cardiBuddy} as the data last recorded.
+     * Only the versions of its decks and statistics are remembered, so nothing is converted to json and
+     * no deck is loaded; a deck or the statistics are converted once they change, and then always recorded.
+     */
+    void markSaved(ReadOnlyCardiBuddy cardiBuddy) throws JsonProcessingException {
+        savedDecks = new HashMap<>();
+        savedOrder = new ArrayList<>();
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            String title = deck.getTitle().toString();
+            savedDecks.put(title, SavedDeck.stamped(deck));
+            savedOrder.add(title);
+        }
+        savedStatistics = cardiBuddy.getStatistics();
+        savedStatisticsVersion = savedStatistics.getVersion();
+        savedStatisticsDigest = null;
+        nextSavedDecks = null;
+    }
+}
@@ -12,6 +12,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import cardibuddy.commons.exceptions.IllegalValueException;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
 import cardibuddy.model.flashcard.exceptions.DuplicateFlashcardException;
 import cardibuddy.model.tag.Tag;
 /**
@@ -53,6 +54,14 @@ public class JsonAdaptedDeck extends JsonAdaptedView {
      * Converts a given {@code Deck} into this class for Jackson use.
      */
     public JsonAdaptedDeck(Deck source) {
+        this(source, true);
+    }
+
+    /**
+     * Converts a given {@code Deck} into this class for Jackson use,
+     * leaving out the correct percentage history of its statistics unless {@code includeHistory} is true.
+     */
+    public JsonAdaptedDeck(Deck source, boolean includeHistory) {
         this.title = source.getTitle().toString();
         flashcards.addAll(source.getFlashcards().stream()
                 .map(cardibuddy.storage.JsonAdaptedFlashcard::new)
@@ -60,7 +69,11 @@ public class JsonAdaptedDeck extends JsonAdaptedView {
         tagged.addAll(source.getTags().stream()
                 .map(cardibuddy.storage.JsonAdaptedTag::new)
                 .collect(Collectors.toList()));
-        this.statistics = new JsonAdaptedStatistic(source.getStatistics());
+        this.statistics = new JsonAdaptedStatistic(source.getStatistics(), includeHistory);
+    }
+
+    String getTitle() {
+        return title;
     }
 
     /**
@@ -85,9 +98,9 @@ public class JsonAdaptedDeck extends JsonAdaptedView {
         final Set<Tag> modelTags = new HashSet<>(deckTags);
         Deck newDeck = new Deck(modelTitle, modelTags);
 
-        for (JsonAdaptedFlashcard flashcard : flashcards) {
+        for (Card card : toModelCards(newDeck)) {
             try {
-                newDeck.addCard(flashcard.toModelType(newDeck));
+                newDeck.addCard(card);
             } catch (DuplicateFlashcardException e) {
                 continue;
             }
@@ -99,4 +112,17 @@ public class JsonAdaptedDeck extends JsonAdaptedView {
         return newDeck; // TODO: to replace params with actual values
     }
 
+    /**
+     * Converts the adapted flashcards of this deck into the model's {@code Card} objects of {@code deck}.
+     *
+     * @throws IllegalValueException if there were any data constraints violated in the adapted flashcards.
+     */
+    public List<Card> toModelCards(Deck deck) throws IllegalValueException {
+        List<Card> cards = new ArrayList<>(flashcards.size());
+        for (JsonAdaptedFlashcard flashcard : flashcards) {
+            cards.add(flashcard.toModelType(deck));
+        }
+        return cards;
+    }
+
 }
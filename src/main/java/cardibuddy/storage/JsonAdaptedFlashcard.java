@@ -1,6 +1,10 @@
 package cardibuddy.storage;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import cardibuddy.commons.exceptions.IllegalValueException;
@@ -16,59 +20,141 @@ import cardibuddy.model.flashcard.TfAnswer;
 
 /**
  * Jackson-friendly version of {@link Flashcard}.
+ * The type of the answer is stored with it, and the choices of an MCQ answer are stored already split,
+ * so loading a card never has to work out what kind of answer it has.
+ * Cards saved before schema version 2 have neither, and are upgraded with {@link #upgrade()}.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 class JsonAdaptedFlashcard extends JsonAdaptedView {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Flashcard's %s field is missing!";
 
-    private final String deck;
+    /**
+     * Type of the answer of a card, as stored.
+     */
+    enum AnswerType {
+        SHORT,
+        TF,
+        MCQ
+    }
+
     private final String question;
+    private final AnswerType type;
     private final String answer;
+    private final List<String> options;
     private final String path;
 
+    // only found in cards saved before schema version 2, and never written
+    private final String deck;
+
     /**
      * Constructs a {@code JsonAdaptedFlashcard} with the given flashcard details.
      */
     @JsonCreator
-    public JsonAdaptedFlashcard(@JsonProperty("deck") String deck, @JsonProperty("question") String question,
-                                @JsonProperty("answer") String answer, @JsonProperty("path") String path) {
-        this.deck = deck;
+    public JsonAdaptedFlashcard(@JsonProperty("question") String question, @JsonProperty("type") AnswerType type,
+                                @JsonProperty("answer") String answer, @JsonProperty("options") List<String> options,
+                                @JsonProperty("path") String path, @JsonProperty("deck") String deck) {
         this.question = question;
+        this.type = type;
         this.answer = answer;
+        this.options = options;
         this.path = path;
+        this.deck = deck;
+    }
+
+    /**
+     * Constructs a {@code JsonAdaptedFlashcard} in the format used before schema version 2,
+     * where the type of the answer is not known.
+     */
+    public JsonAdaptedFlashcard(String deck, String question, String answer, String path) {
+        this(question, null, answer, null, path, deck);
     }
 
     /**
      * Converts a given {@code Flashcard} into this class for Jackson use.
      */
     public JsonAdaptedFlashcard(Card source) {
-        deck = source.getDeck().toString();
         question = source.getQuestion().toString();
-        answer = source.getAnswer().toString();
-        path = source.getPath();
+        Answer sourceAnswer = source.getAnswer();
+        if (sourceAnswer instanceof McqAnswer) {
+            type = AnswerType.MCQ;
+            answer = null;
+            options = new ArrayList<>(((McqAnswer) sourceAnswer).getOptions());
+        } else {
+            type = sourceAnswer instanceof TfAnswer ? AnswerType.TF : AnswerType.SHORT;
+            answer = sourceAnswer.toString();
+            options = null;
+        }
+        path = source.getPath().isEmpty() ? null : source.getPath();
+        deck = null;
+    }
+
+    /**
+     * Returns whether this card was saved before schema version 2, and does not say what type its answer is.
+     */
+    boolean isLegacy() {
+        return type == null;
+    }
+
+    /**
+     * Returns this card in the current format, working out the type of its answer from the answer itself
+     * if it was saved before schema version 2.
+     *
+     * @throws IllegalValueException if the answer of a card saved before schema version 2 is invalid.
+     */
+    JsonAdaptedFlashcard upgrade() throws IllegalValueException {
+        if (!isLegacy()) {
+            return this;
+        }
+        if (answer == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT,
+                    Answer.class.getSimpleName()));
+        }
+
+        String upgradedPath = path == null || path.isEmpty() ? null : path;
+        if (Answer.isTrueFalseAnswer(answer)) {
+            return new JsonAdaptedFlashcard(question, AnswerType.TF, answer, null, upgradedPath, null);
+        } else if (Answer.isMcqAnswer(answer)) {
+            List<String> split = new ArrayList<>(new McqAnswer(answer).getOptions());
+            return new JsonAdaptedFlashcard(question, AnswerType.MCQ, null, split, upgradedPath, null);
+        } else {
+            return new JsonAdaptedFlashcard(question, AnswerType.SHORT, answer, null, upgradedPath, null);
+        }
     }
-    //
 
     /**
      * Converts this Jackson-friendly adapted flashcard object into the model's {@code Flashcard} object.
      * @throws IllegalValueException if there were any data constraints violated in the adapted flashcard.
      */
     public Card toModelType(Deck modelDeck) throws IllegalValueException {
-        if (deck == null || question == null || answer == null) {
+        if (isLegacy()) {
+            return upgrade().toModelType(modelDeck);
+        }
+        if (question == null) {
+            throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT,
+                    Question.class.getSimpleName()));
+        }
+        if (type == AnswerType.MCQ ? options == null : answer == null) {
             throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT,
-                    Deck.class.getSimpleName()));
+                    Answer.class.getSimpleName()));
         }
+
         Question modelQuestion = new Question(question);
         Answer modelAnswer;
-        if (Answer.isTrueFalseAnswer(answer)) {
+        switch (type) {
+        case MCQ:
+            modelAnswer = new McqAnswer(options);
+            break;
+        case TF:
             modelAnswer = new TfAnswer(answer);
-        } else if (Answer.isMcqAnswer(answer)) {
-            modelAnswer = new McqAnswer(answer);
-        } else {
+            break;
+        default:
             modelAnswer = new ShortAnswer(answer);
+            break;
         }
-        if (path.equals("")) {
-            return new Flashcard(modelDeck, modelQuestion, modelAnswer, path);
+
+        if (path == null || path.isEmpty()) {
+            return new Flashcard(modelDeck, modelQuestion, modelAnswer, "");
         } else {
             return new Imagecard(modelDeck, modelQuestion, modelAnswer, path);
         }
@@ -1,42 +1,46 @@
 package cardibuddy.storage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import cardibuddy.model.deck.Statistics;
 
 /**
  * Jackson-friendly version of {@link Statistics}
+ * The correct percentage history may be left out, for storages that keep it in a file of its own.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonAdaptedStatistic {
 
-    private final String cardsAdded;
-    private final String cardsDeleted;
-    private final String decksAdded;
-    private final String decksDeleted;
-    private final String timesPlayed;
-    private final String cardsPlayed;
-    private final String avgCorrectPercentage;
-    private final String avgTriesToGetCorrect;
-    private final HashMap<String, List<Double>> correctPercentageHistory = new HashMap<>();
+    private final int cardsAdded;
+    private final int cardsDeleted;
+    private final int decksAdded;
+    private final int decksDeleted;
+    private final int timesPlayed;
+    private final int cardsPlayed;
+    private final double avgCorrectPercentage;
+    private final double avgTriesToGetCorrect;
+    private final HashMap<String, List<Double>> correctPercentageHistory;
 
     /**
      * Constructs a {@code JsonAdaptedStatistic} with the given json Statistic details.
+     * Statistics saved before they were typed hold their values as strings, which are read as numbers.
      */
     @JsonCreator
     public JsonAdaptedStatistic(
-                        @JsonProperty("cardsAdded") String cardsAdded,
-                        @JsonProperty("cardsDeleted") String cardsDeleted,
-                        @JsonProperty("decksAdded") String decksAdded,
-                        @JsonProperty("decksDeleted") String decksDeleted,
-                        @JsonProperty("timesPlayed") String timesPlayed,
-                        @JsonProperty("cardsPlayed") String cardsPlayed,
-                        @JsonProperty("avgCorrectPercentage") String avgCorrectPercentage,
-                        @JsonProperty("avgTriesToGetCorrect") String avgTriesToGetCorrect,
+                        @JsonProperty("cardsAdded") int cardsAdded,
+                        @JsonProperty("cardsDeleted") int cardsDeleted,
+                        @JsonProperty("decksAdded") int decksAdded,
+                        @JsonProperty("decksDeleted") int decksDeleted,
+                        @JsonProperty("timesPlayed") int timesPlayed,
+                        @JsonProperty("cardsPlayed") int cardsPlayed,
+                        @JsonProperty("avgCorrectPercentage") double avgCorrectPercentage,
+                        @JsonProperty("avgTriesToGetCorrect") double avgTriesToGetCorrect,
                         @JsonProperty("correctPercentageHistory")
                                 HashMap<String, List<Double>> correctPercentageHistory) {
         this.cardsAdded = cardsAdded;
@@ -47,41 +51,58 @@ public class JsonAdaptedStatistic {
         this.cardsPlayed = cardsPlayed;
         this.avgCorrectPercentage = avgCorrectPercentage;
         this.avgTriesToGetCorrect = avgTriesToGetCorrect;
-        if (correctPercentageHistory != null) {
-            this.correctPercentageHistory.putAll(correctPercentageHistory);
-        }
+        this.correctPercentageHistory = correctPercentageHistory;
     }
 
     /**
      * Converts a given {@code Statistics} into this class for Jackson use.
      */
     public JsonAdaptedStatistic(Statistics source) {
-        cardsAdded = String.valueOf(source.getCardsAdded());
-        cardsDeleted = String.valueOf(source.getCardsDeleted());
-        decksAdded = String.valueOf(source.getDecksAdded());
-        decksDeleted = String.valueOf(source.getDecksAdded());
-        timesPlayed = String.valueOf(source.getTimesPlayed());
-        cardsPlayed = String.valueOf(source.getCardsPlayed());
-        avgCorrectPercentage = String.valueOf(source.getAvgCorrectPercentage());
-        avgTriesToGetCorrect = String.valueOf(source.getAvgTriesToGetCorrect());
-        correctPercentageHistory.putAll(source.getCorrectPercentageHistory());
+        this(source, true);
+    }
+
+    /**
+     * Converts a given {@code Statistics} into this class for Jackson use,
+     * leaving out the correct percentage history unless {@code includeHistory} is true.
+     */
+    public JsonAdaptedStatistic(Statistics source, boolean includeHistory) {
+        cardsAdded = source.getCardsAdded();
+        cardsDeleted = source.getCardsDeleted();
+        decksAdded = source.getDecksAdded();
+        decksDeleted = source.getDecksDeleted();
+        timesPlayed = source.getTimesPlayed();
+        cardsPlayed = source.getCardsPlayed();
+        avgCorrectPercentage = source.getAvgCorrectPercentage();
+        avgTriesToGetCorrect = source.getAvgTriesToGetCorrect();
+        correctPercentageHistory = includeHistory ? new HashMap<>(source.getCorrectPercentageHistory()) : null;
+    }
+
+    /**
+     * Returns true if the correct percentage history was saved with these statistics.
+     */
+    boolean hasHistory() {
+        return correctPercentageHistory != null;
     }
 
     /**
      * Converts this Jackson-friendly adapted statistics object into the model's {@code Statistics} object.
+     * Statistics saved without their correct percentage history are created with an empty one.
      */
-    public Statistics toModeltype() throws NumberFormatException {
+    public Statistics toModeltype() {
         Statistics toReturn = new Statistics();
-        toReturn.setCardsAdded(Integer.parseInt(cardsAdded));
-        toReturn.setCardsDeleted(Integer.parseInt(cardsDeleted));
-        toReturn.setDecksAdded(Integer.parseInt(decksAdded));
-        toReturn.setDecksDeleted(Integer.parseInt(decksDeleted));
-        toReturn.setTimesPlayed(Integer.parseInt(timesPlayed));
-        toReturn.setCardsPlayed(Integer.parseInt(cardsPlayed));
-        toReturn.setAvgCorrectPercentage(Double.parseDouble(avgCorrectPercentage));
-        toReturn.setAvgTriesToGetCorrect(Double.parseDouble(avgTriesToGetCorrect));
-        ObjectMapper mapper = new ObjectMapper();
-        toReturn.setCorrectPercentageHistory(correctPercentageHistory);
+        toReturn.setCardsAdded(cardsAdded);
+        toReturn.setCardsDeleted(cardsDeleted);
+        toReturn.setDecksAdded(decksAdded);
+        toReturn.setDecksDeleted(decksDeleted);
+        toReturn.setTimesPlayed(timesPlayed);
+        toReturn.setCardsPlayed(cardsPlayed);
+        toReturn.setAvgCorrectPercentage(avgCorrectPercentage);
+        toReturn.setAvgTriesToGetCorrect(avgTriesToGetCorrect);
+        HashMap<String, List<Double>> history = new HashMap<>();
+        if (correctPercentageHistory != null) {
+            correctPercentageHistory.forEach((title, percentages) -> history.put(title, new ArrayList<>(percentages)));
+        }
+        toReturn.setCorrectPercentageHistory(history);
 
         return toReturn;
     }
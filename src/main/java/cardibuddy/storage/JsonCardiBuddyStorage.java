@@ -10,21 +10,24 @@ import java.util.logging.Logger;
 import cardibuddy.commons.core.LogsCenter;
 import cardibuddy.commons.exceptions.DataConversionException;
 import cardibuddy.commons.exceptions.IllegalValueException;
-import cardibuddy.commons.util.FileUtil;
 import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 
 /**
  * A class to access CardiBuddy data stored as a json file on the hard disk.
+ * The correct percentage history of the statistics is kept apart, in a {@code SessionHistoryFile} next to it,
+ * and only read when it is first needed.
  */
 public class JsonCardiBuddyStorage implements CardiBuddyStorage {
 
     private static final Logger logger = LogsCenter.getLogger(JsonCardiBuddyStorage.class);
 
     private Path filePath;
+    private final SessionHistoryFile sessionHistory;
 
     public JsonCardiBuddyStorage(Path filePath) {
         this.filePath = filePath;
+        sessionHistory = new SessionHistoryFile(SessionHistoryFile.getHistoryPath(filePath));
     }
 
     public Path getCardiBuddyFilePath() {
@@ -38,6 +41,10 @@ public class JsonCardiBuddyStorage implements CardiBuddyStorage {
 
     /**
      * Similar to {@link #readCardiBuddy()}.
+     * If {@code filePath} is the file of this storage and was saved in an older schema version,
+     * it is upgraded to the current one first, and the history of its statistics is left to be read
+     * from its session history file when needed. Other files are only upgraded as they are read,
+     * and hold the history of their statistics themselves.
      *
      * @param filePath location of the data. Cannot be null.
      * @throws DataConversionException if the file is not in the correct format.
@@ -45,18 +52,38 @@ public class JsonCardiBuddyStorage implements CardiBuddyStorage {
     public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableCardiBuddy> jsonCardiBuddy = JsonUtil.readJsonFile(
-                filePath, JsonSerializableCardiBuddy.class);
-        if (!jsonCardiBuddy.isPresent()) {
-            return Optional.empty();
+        boolean isOwnFile = filePath.equals(this.filePath);
+        if (isOwnFile) {
+            migrate(filePath);
         }
-
+        Optional<ReadOnlyCardiBuddy> cardiBuddy;
         try {
-            return Optional.of(jsonCardiBuddy.get().toModelType());
+            cardiBuddy = JsonUtil.parseJsonFile(filePath, JsonSerializableCardiBuddy::read);
         } catch (IllegalValueException ive) {
             logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
             throw new DataConversionException(ive);
         }
+
+        if (isOwnFile && cardiBuddy.isPresent()) {
+            try {
+                sessionHistory.attachTo(cardiBuddy.get());
+            } catch (IOException ioe) {
+                throw new DataConversionException(ioe);
+            }
+        }
+        return cardiBuddy;
+    }
+
+    /**
+     * Upgrades the file at {@code filePath} to the current schema version if it is older.
+     * If the upgraded file cannot be written, the file is still read, by upgrading each card as it is loaded.
+     */
+    static void migrate(Path filePath) throws DataConversionException {
+        try {
+            JsonSchema.migrateIfNeeded(filePath);
+        } catch (IOException ioe) {
+            logger.warning("Could not save the upgraded " + filePath + ", reading it as it is: " + ioe);
+        }
     }
 
     @Override
@@ -66,6 +93,8 @@ public class JsonCardiBuddyStorage implements CardiBuddyStorage {
 
     /**
      * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     * The history of the statistics is appended to the session history file if {@code filePath} is the file
+     * of this storage, and saved in the file itself otherwise.
      *
      * @param filePath location of the data. Cannot be null.
      */
@@ -73,8 +102,12 @@ public class JsonCardiBuddyStorage implements CardiBuddyStorage {
         requireNonNull(cardiBuddy);
         requireNonNull(filePath);
 
-        FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new cardibuddy.storage.JsonSerializableCardiBuddy(cardiBuddy), filePath);
+        boolean isOwnFile = filePath.equals(this.filePath);
+        if (isOwnFile) {
+            sessionHistory.save(cardiBuddy);
+        }
+        JsonUtil.writeJsonFile(filePath, generator ->
+                JsonSerializableCardiBuddy.write(cardiBuddy, generator, !isOwnFile));
     }
 
 }
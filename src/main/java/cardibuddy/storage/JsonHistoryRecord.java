@@ -0,0 +1,65 @@
+package cardibuddy.storage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One line of a session history file: either the correct percentage of one test session of a deck,
+ * recorded in the statistics of {@code owner}, or a reset that clears the history of {@code owner}.
+ * The owner is the title of the deck the statistics belong to, or absent for the statistics of the whole library.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+class JsonHistoryRecord {
+
+    private final long time;
+    private final String owner;
+    private final String deck;
+    private final Double correctPercentage;
+    private final Boolean reset;
+
+    /**
+     * Constructs a {@code JsonHistoryRecord} with the given details.
+     */
+    @JsonCreator
+    public JsonHistoryRecord(@JsonProperty("time") long time, @JsonProperty("owner") String owner,
+                             @JsonProperty("deck") String deck,
+                             @JsonProperty("correctPercentage") Double correctPercentage,
+                             @JsonProperty("reset") Boolean reset) {
+        this.time = time;
+        this.owner = owner;
+        this.deck = deck;
+        this.correctPercentage = correctPercentage;
+        this.reset = reset;
+    }
+
+    /**
+     * Returns a record of one test session of {@code deck} with the given correct percentage.
+     */
+    static JsonHistoryRecord session(long time, String owner, String deck, double correctPercentage) {
+        return new JsonHistoryRecord(time, owner, deck, correctPercentage, null);
+    }
+
+    /**
+     * Returns a record that clears the history of {@code owner}.
+     */
+    static JsonHistoryRecord reset(long time, String owner) {
+        return new JsonHistoryRecord(time, owner, null, null, true);
+    }
+
+    String getOwner() {
+        return owner;
+    }
+
+    String getDeck() {
+        return deck;
+    }
+
+    Double getCorrectPercentage() {
+        return correctPercentage;
+    }
+
+    boolean isReset() {
+        return Boolean.TRUE.equals(reset);
+    }
+}
@@ -0,0 +1,62 @@
+package cardibuddy.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One save recorded in the journal of a {@code JournalCardiBuddyStorage}, serializable to a single line of JSON.
+ * It holds the decks that were added or changed, the titles of the decks that were removed,
+ * the titles of all decks in their new order if the order changed, and the statistics if they changed.
+ */
+class JsonJournalRecord {
+
+    private final List<JsonAdaptedDeck> put = new ArrayList<>();
+    private final List<String> removed = new ArrayList<>();
+    private final List<String> order;
+    private final JsonAdaptedStatistic statistics;
+
+    /**
+     * Constructs a {@code JsonJournalRecord} with the given changes.
+     * {@code order} and {@code statistics} may be null if they did not change.
+     */
+    @JsonCreator
+    public JsonJournalRecord(@JsonProperty("put") List<JsonAdaptedDeck> put,
+                             @JsonProperty("removed") List<String> removed,
+                             @JsonProperty("order") List<String> order,
+                             @JsonProperty("statistics") JsonAdaptedStatistic statistics) {
+        if (put != null) {
+            this.put.addAll(put);
+        }
+        if (removed != null) {
+            this.removed.addAll(removed);
+        }
+        this.order = order;
+        this.statistics = statistics;
+    }
+
+    List<JsonAdaptedDeck> getPut() {
+        return put;
+    }
+
+    List<String> getRemoved() {
+        return removed;
+    }
+
+    List<String> getOrder() {
+        return order;
+    }
+
+    JsonAdaptedStatistic getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns true if this record does not change anything.
+     */
+    boolean isEmpty() {
+        return put.isEmpty() && removed.isEmpty() && order == null && statistics == null;
+    }
+}
@@ -0,0 +1,161 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.JsonUtil;
+
+/**
+ * Versions of the Json format CardiBuddy data is saved in, and the migrations that upgrade a file
+ * from one version to the next.
+ * A file saved in an older version is upgraded in place the first time it is loaded, after a copy of it
+ * is kept next to it, so every later load reads the current version directly.
+ */
+class JsonSchema {
+
+    /** Version of the files written by this version of CardiBuddy. */
+    public static final int CURRENT_VERSION = 2;
+
+    /** Version of the files saved before the format was versioned, which have no version field. */
+    public static final int UNVERSIONED = 1;
+
+    public static final String VERSION_FIELD = "version";
+    public static final String MESSAGE_NEWER_VERSION =
+            "Data file was saved in schema version %d, but this version of CardiBuddy only reads up to version %d.";
+
+    private static final Logger logger = LogsCenter.getLogger(JsonSchema.class);
+
+    // the migration at index i upgrades a file from version i + 1 to version i + 2
+    private static final List<Migration> MIGRATIONS = List.of(JsonSchema::migrateToVersion2);
+
+    /**
+     * Upgrades the file at {@code filePath} to the current version if it was saved in an older one,
+     * keeping the original in the file returned by {@link #getBackupPath(Path, int)}.
+     * Does nothing if there is no such file.
+     *
+     * @return whether the file was upgraded.
+     * @throws DataConversionException if the file is not valid Json, was saved in a newer version,
+     *     or holds data the migrations cannot upgrade. The file is left as it was.
+     * @throws IOException if the upgraded file could not be written.
+     */
+    static boolean migrateIfNeeded(Path filePath) throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        Optional<Integer> leadingVersion;
+        try {
+            leadingVersion = JsonUtil.parseJsonFile(filePath, JsonSchema::readLeadingVersion);
+        } catch (IllegalValueException ive) {
+            throw new DataConversionException(ive);
+        }
+        if (leadingVersion.isEmpty() || leadingVersion.get() == CURRENT_VERSION) {
+            return false;
+        }
+
+        ObjectNode root;
+        int version;
+        try {
+            root = (ObjectNode) JsonUtil.readJsonTree(filePath);
+            version = root.path(VERSION_FIELD).asInt(UNVERSIONED);
+            checkVersion(version);
+            if (version == CURRENT_VERSION) {
+                return false;
+            }
+            for (int from = version; from < CURRENT_VERSION; from++) {
+                MIGRATIONS.get(from - 1).apply(root);
+            }
+        } catch (IOException | IllegalValueException e) {
+            logger.warning("Cannot upgrade " + filePath + " from an older schema version: " + e);
+            throw new DataConversionException(e);
+        }
+
+        ObjectNode upgraded = JsonNodeFactory.instance.objectNode();
+        upgraded.put(VERSION_FIELD, CURRENT_VERSION);
+        root.remove(VERSION_FIELD);
+        upgraded.setAll(root);
+
+        Files.copy(filePath, getBackupPath(filePath, version), StandardCopyOption.REPLACE_EXISTING);
+        JsonUtil.writeJsonFile(filePath, generator -> JsonUtil.writeValue(generator, upgraded));
+        logger.info("Upgraded " + filePath + " from schema version " + version + " to " + CURRENT_VERSION);
+        return true;
+    }
+
+    /**
+     * Returns the file a data file saved in schema version {@code version} is copied to before it is upgraded.
+     */
+    static Path getBackupPath(Path filePath, int version) {
+        return filePath.resolveSibling(filePath.getFileName() + ".v" + version + ".bak");
+    }
+
+    /**
+     * Checks that a file saved in schema version {@code version} can be read.
+     *
+     * @throws IllegalValueException if the version is newer than {@code CURRENT_VERSION}.
+     */
+    static void checkVersion(int version) throws IllegalValueException {
+        if (version > CURRENT_VERSION) {
+            throw new IllegalValueException(String.format(MESSAGE_NEWER_VERSION, version, CURRENT_VERSION));
+        }
+    }
+
+    /**
+     * Reads the version from the first field of the file, where it is always written,
+     * so files in the current version are not read any further.
+     * Returns {@code UNVERSIONED} if the first field is something else.
+     */
+    private static Integer readLeadingVersion(JsonParser parser) throws IOException, IllegalValueException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "CardiBuddy data must be a Json object");
+        }
+        if (parser.nextToken() == JsonToken.FIELD_NAME && VERSION_FIELD.equals(parser.getCurrentName())
+                && parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+            checkVersion(parser.getIntValue());
+            return parser.getIntValue();
+        }
+        return UNVERSIONED;
+    }
+
+    /**
+     * Records the type of every answer and splits MCQ answers into their choices,
+     * drops the title of the deck that was stored with every card, and drops the unused list of flashcards.
+     */
+    private static void migrateToVersion2(ObjectNode root) throws IOException, IllegalValueException {
+        root.remove("flashcards");
+        for (JsonNode deck : root.path("decks")) {
+            JsonNode flashcards = deck.path("flashcards");
+            if (!flashcards.isArray()) {
+                continue;
+            }
+            ArrayNode cards = (ArrayNode) flashcards;
+            for (int i = 0; i < cards.size(); i++) {
+                JsonAdaptedFlashcard card = JsonUtil.treeToValue(cards.get(i), JsonAdaptedFlashcard.class);
+                cards.set(i, JsonUtil.valueToTree(card.upgrade()));
+            }
+        }
+    }
+
+    /**
+     * Upgrades the Json tree of a file by one schema version.
+     */
+    @FunctionalInterface
+    private interface Migration {
+        void apply(ObjectNode root) throws IOException, IllegalValueException;
+    }
+}
@@ -1,47 +1,154 @@
 package cardibuddy.storage;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 
 import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.CardiBuddy;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
 
 /**
  * An Immutable CardiBuddy that is serializable to JSON format.
  */
 @JsonRootName(value = "cardibuddy")
+@JsonPropertyOrder({JsonSchema.VERSION_FIELD, "decks", "statistics"})
 class JsonSerializableCardiBuddy {
 
     public static final String MESSAGE_DUPLICATE_DECK = "Decks list contains duplicate deck(s).";
+    public static final String MESSAGE_MISSING_STATISTICS = "CardiBuddy's statistics field is missing!";
 
+    private final int version;
     private final List<JsonAdaptedDeck> decks = new ArrayList<>();
-    private final List<JsonAdaptedFlashcard> flashcards = new ArrayList<>();
     private final JsonAdaptedStatistic statistics;
+
     /**
-     * Constructs a {@code JsonSerializableCardiBuddy} with the given flashcards.
+     * Constructs a {@code JsonSerializableCardiBuddy} with the given decks, saved in schema version {@code version}.
+     * Data saved before the schema was versioned has no version.
      */
     @JsonCreator
-    public JsonSerializableCardiBuddy(@JsonProperty("decks") List<JsonAdaptedDeck> decks,
+    public JsonSerializableCardiBuddy(@JsonProperty(JsonSchema.VERSION_FIELD) Integer version,
+                                      @JsonProperty("decks") List<JsonAdaptedDeck> decks,
                                       @JsonProperty("statistics") JsonAdaptedStatistic statistics) {
+        this.version = version != null ? version : JsonSchema.UNVERSIONED;
         this.decks.addAll(decks);
         this.statistics = statistics;
     }
 
+    /**
+     * Constructs a {@code JsonSerializableCardiBuddy} in the current schema version with the given decks.
+     */
+    public JsonSerializableCardiBuddy(List<JsonAdaptedDeck> decks, JsonAdaptedStatistic statistics) {
+        this(JsonSchema.CURRENT_VERSION, decks, statistics);
+    }
+
     /**
      * Converts a given {@code ReadOnlyCardiBuddy} into this class for Jackson use.
      * @param source future changes to this will not affect the created {@code JsonSerializableCardiBuddy}.
      */
     public JsonSerializableCardiBuddy(ReadOnlyCardiBuddy source) {
+        this(source, true);
+    }
+
+    /**
+     * Converts a given {@code ReadOnlyCardiBuddy} into this class for Jackson use,
+     * leaving out the correct percentage history of every statistics unless {@code includeHistory} is true.
+     * @param source future changes to this will not affect the created {@code JsonSerializableCardiBuddy}.
+     */
+    public JsonSerializableCardiBuddy(ReadOnlyCardiBuddy source, boolean includeHistory) {
+        version = JsonSchema.CURRENT_VERSION;
         decks.addAll(source.getDeckList().stream()
-            .map(JsonAdaptedDeck::new).collect(Collectors.toList()));
-        statistics = new JsonAdaptedStatistic(source.getStatistics());
+            .map(deck -> new JsonAdaptedDeck(deck, includeHistory)).collect(Collectors.toList()));
+        statistics = new JsonAdaptedStatistic(source.getStatistics(), includeHistory);
+    }
+
+    /**
+     * Streams {@code source} into {@code generator} in the same format as this class,
+     * converting one deck at a time so the whole library is never held in its Json-friendly form.
+     */
+    static void write(ReadOnlyCardiBuddy source, JsonGenerator generator) throws IOException {
+        write(source, generator, true);
+    }
+
+    /**
+     * Similar to {@link #write(ReadOnlyCardiBuddy, JsonGenerator)}, but leaves out the correct percentage history
+     * of every statistics unless {@code includeHistory} is true.
+     */
+    static void write(ReadOnlyCardiBuddy source, JsonGenerator generator, boolean includeHistory)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField(JsonSchema.VERSION_FIELD, JsonSchema.CURRENT_VERSION);
+        generator.writeArrayFieldStart("decks");
+        for (Deck deck : source.getDeckList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedDeck(deck, includeHistory));
+        }
+        generator.writeEndArray();
+        generator.writeFieldName("statistics");
+        JsonUtil.writeValue(generator, new JsonAdaptedStatistic(source.getStatistics(), includeHistory));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reads CardiBuddy data in the format of this class from {@code parser}.
+     * Each deck starts being converted into the model's {@code Deck} as soon as it has been read,
+     * on the threads of the default {@code ParallelDeckConverter}, so the Json-friendly form of only
+     * the few decks being converted is held at a time.
+     *
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    static CardiBuddy read(JsonParser parser) throws IOException, IllegalValueException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "CardiBuddy data must be a Json object");
+        }
+
+        CardiBuddy cardibuddy = new CardiBuddy();
+        Statistics statistics = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken valueToken = parser.nextToken();
+            if (JsonSchema.VERSION_FIELD.equals(fieldName) && valueToken == JsonToken.VALUE_NUMBER_INT) {
+                JsonSchema.checkVersion(parser.getIntValue());
+            } else if ("decks".equals(fieldName) && valueToken == JsonToken.START_ARRAY) {
+                try (ParallelDeckConverter.Conversion conversion =
+                             ParallelDeckConverter.getDefault().into(cardibuddy)) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        conversion.add(JsonUtil.readValue(parser, JsonAdaptedDeck.class));
+                    }
+                    conversion.finish();
+                }
+            } else if ("statistics".equals(fieldName) && valueToken == JsonToken.START_OBJECT) {
+                statistics = JsonUtil.readValue(parser, JsonAdaptedStatistic.class).toModeltype();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (statistics == null) {
+            throw new IllegalValueException(MESSAGE_MISSING_STATISTICS);
+        }
+        cardibuddy.setStatistics(statistics);
+        return cardibuddy;
+    }
+
+    List<JsonAdaptedDeck> getDecks() {
+        return decks;
+    }
+
+    JsonAdaptedStatistic getStatistics() {
+        return statistics;
     }
 
 
@@ -51,13 +158,13 @@ class JsonSerializableCardiBuddy {
     * @throws IllegalValueException if there were any data constraints violated.
     * */
     public CardiBuddy toModelType() throws IllegalValueException {
+        JsonSchema.checkVersion(version);
         CardiBuddy cardibuddy = new CardiBuddy();
-        for (JsonAdaptedDeck jsonAdaptedDeck : decks) {
-            Deck deck = jsonAdaptedDeck.toModelType();
-            if (cardibuddy.hasDeck(deck)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_DECK);
+        try (ParallelDeckConverter.Conversion conversion = ParallelDeckConverter.getDefault().into(cardibuddy)) {
+            for (JsonAdaptedDeck jsonAdaptedDeck : decks) {
+                conversion.add(jsonAdaptedDeck);
             }
-            cardibuddy.addDeck(deck);
+            conversion.finish();
         }
         cardibuddy.setStatistics(statistics.toModeltype());
         return cardibuddy;
@@ -0,0 +1,132 @@
+package cardibuddy.storage;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.deck.CardLoader;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * The manifest of a {@code ShardedCardiBuddyStorage}, serializable to json.
+ * It lists the decks in their order with the file each is kept in, and holds the statistics of the CardiBuddy.
+ * Each deck is listed with its header too, so that the decks can be shown before their files are read.
+ * The generation is raised on every save that writes deck files, so new files never overwrite files in use.
+ */
+class JsonShardManifest {
+
+    private final long generation;
+    private final List<Entry> decks = new ArrayList<>();
+    private final JsonAdaptedStatistic statistics;
+
+    /**
+     * Constructs a {@code JsonShardManifest} with the given generation, deck entries and statistics.
+     */
+    @JsonCreator
+    public JsonShardManifest(@JsonProperty("generation") long generation,
+                             @JsonProperty("decks") List<Entry> decks,
+                             @JsonProperty("statistics") JsonAdaptedStatistic statistics) {
+        this.generation = generation;
+        if (decks != null) {
+            this.decks.addAll(decks);
+        }
+        this.statistics = statistics;
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    List<Entry> getDecks() {
+        return decks;
+    }
+
+    JsonAdaptedStatistic getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * The header of a deck and the name of the file it is kept in.
+     * The tags, card count and statistics are null in manifests written before headers were kept.
+     */
+    static class Entry {
+        private final String title;
+        private final String file;
+        private final List<JsonAdaptedTag> tagged = new ArrayList<>();
+        private final Integer cardCount;
+        private final JsonAdaptedStatistic statistics;
+
+        /**
+         * Constructs an {@code Entry} with the given deck header and file name.
+         */
+        @JsonCreator
+        public Entry(@JsonProperty("title") String title, @JsonProperty("file") String file,
+                     @JsonProperty("tagged") List<JsonAdaptedTag> tagged,
+                     @JsonProperty("cardCount") Integer cardCount,
+                     @JsonProperty("statistics") JsonAdaptedStatistic statistics) {
+            this.title = title;
+            this.file = file;
+            if (tagged != null) {
+                this.tagged.addAll(tagged);
+            }
+            this.cardCount = cardCount;
+            this.statistics = statistics;
+        }
+
+        /**
+         * Converts the header of {@code source} into an {@code Entry} for the deck kept in {@code file},
+         * without loading its cards.
+         */
+        public Entry(Deck source, String file) {
+            this(source.getTitle().toString(), file,
+                    source.getTags().stream().map(JsonAdaptedTag::new).collect(Collectors.toList()),
+                    source.getCardCount(), new JsonAdaptedStatistic(source.getStatistics()));
+        }
+
+        String getTitle() {
+            return title;
+        }
+
+        String getFile() {
+            return file;
+        }
+
+        /**
+         * Returns true if this entry holds the header of its deck.
+         */
+        boolean hasHeader() {
+            return cardCount != null && statistics != null;
+        }
+
+        /**
+         * Converts the header in this entry into a model {@code Deck} whose cards are loaded by {@code cardLoader}.
+         *
+         * @throws IllegalValueException if there were any data constraints violated in the header.
+         */
+        Deck toModelType(CardLoader cardLoader) throws IllegalValueException {
+            if (title == null) {
+                throw new IllegalValueException(String.format(JsonAdaptedDeck.MISSING_FIELD_MESSAGE_FORMAT,
+                        Title.class.getSimpleName()));
+            }
+            if (!Title.isValidTitle(title)) {
+                throw new IllegalValueException(Title.MESSAGE_CONSTRAINTS);
+            }
+            final Set<Tag> modelTags = new HashSet<>();
+            for (JsonAdaptedTag tag : tagged) {
+                modelTags.add(tag.toModelType());
+            }
+
+            Deck deck = new Deck(new Title(title), modelTags, cardLoader, cardCount);
+            deck.setStatistics(statistics.toModeltype());
+            return deck;
+        }
+    }
+}
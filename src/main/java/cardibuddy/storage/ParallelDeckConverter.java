@@ -0,0 +1,184 @@
+package cardibuddy.storage;
+
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.deck.Deck;
+
+/**
+ * Converts Jackson-friendly decks into the model's {@code Deck} objects on a bounded fork-join pool.
+ * Converting a deck validates every card in it, so converting several decks at once makes loading
+ * scale with the number of cores.
+ * The converted decks are still added to the {@code CardiBuddy} one at a time, in the order they were read,
+ * with the same duplicate check, so the result and the first error reported are those of converting
+ * the decks one after the other.
+ */
+public class ParallelDeckConverter {
+
+    public static final int MAX_PARALLELISM = 16;
+    public static final String MESSAGE_INTERRUPTED = "Interrupted while converting decks.";
+
+    // how many decks per thread may wait to be added, which bounds the memory held by decks read ahead
+    private static final int MAX_PENDING_PER_THREAD = 4;
+
+    private static final ParallelDeckConverter DEFAULT = new ParallelDeckConverter(
+            Math.min(MAX_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+
+    private final ForkJoinPool pool;
+    private final int maxPending;
+
+    /**
+     * Creates a {@code ParallelDeckConverter} that converts up to {@code parallelism} decks at once.
+     * With a parallelism of 1, decks are converted on the calling thread.
+     */
+    public ParallelDeckConverter(int parallelism) {
+        checkArgument(parallelism > 0 && parallelism <= MAX_PARALLELISM,
+                "Parallelism must be between 1 and " + MAX_PARALLELISM + ".");
+        pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        maxPending = parallelism * MAX_PENDING_PER_THREAD;
+    }
+
+    /**
+     * Returns the converter shared by the storages, which uses one thread per core, up to {@code MAX_PARALLELISM}.
+     */
+    public static ParallelDeckConverter getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Starts converting decks into {@code cardiBuddy}.
+     */
+    public Conversion into(CardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+        return new Conversion(cardiBuddy);
+    }
+
+    /**
+     * Stops the threads of this converter once the decks being converted are done.
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Decks being converted into one {@code CardiBuddy}.
+     * Decks are added to the {@code CardiBuddy} as soon as every deck before them has been added,
+     * and all of them once {@link #finish()} returns. Closing the conversion cancels any deck not added yet.
+     */
+    public class Conversion implements AutoCloseable {
+        private final CardiBuddy cardiBuddy;
+        private final Deque<Future<Converted>> pending = new ArrayDeque<>();
+
+        private Conversion(CardiBuddy cardiBuddy) {
+            this.cardiBuddy = cardiBuddy;
+        }
+
+        /**
+         * Starts converting {@code deck}.
+         *
+         * @throws IllegalValueException if {@code deck}, or a deck added before it, violates any data constraints
+         *     or is a duplicate.
+         */
+        public void add(JsonAdaptedDeck deck) throws IllegalValueException {
+            requireNonNull(deck);
+            if (pool == null) {
+                addToCardiBuddy(Converted.of(deck));
+                return;
+            }
+
+            pending.add(pool.submit(() -> Converted.of(deck)));
+            while (!pending.isEmpty() && (pending.peek().isDone() || pending.size() > maxPending)) {
+                addToCardiBuddy(take(pending.poll()));
+            }
+        }
+
+        /**
+         * Waits for every deck to be converted and adds the rest of them to the {@code CardiBuddy}.
+         *
+         * @throws IllegalValueException if a deck violates any data constraints or is a duplicate.
+         */
+        public void finish() throws IllegalValueException {
+            while (!pending.isEmpty()) {
+                addToCardiBuddy(take(pending.poll()));
+            }
+        }
+
+        @Override
+        public void close() {
+            pending.forEach(future -> future.cancel(true));
+            pending.clear();
+        }
+
+        private Converted take(Future<Converted> future) throws IllegalValueException {
+            try {
+                return future.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalValueException(MESSAGE_INTERRUPTED, ie);
+            } catch (CancellationException ce) {
+                throw new IllegalValueException(MESSAGE_INTERRUPTED, ce);
+            } catch (ExecutionException ee) {
+                // only errors escape Converted.of
+                if (ee.getCause() instanceof Error) {
+                    throw (Error) ee.getCause();
+                }
+                throw new IllegalStateException(ee.getCause());
+            }
+        }
+
+        private void addToCardiBuddy(Converted converted) throws IllegalValueException {
+            Deck deck = converted.get();
+            if (cardiBuddy.hasDeck(deck)) {
+                throw new IllegalValueException(JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK);
+            }
+            cardiBuddy.addDeck(deck);
+        }
+    }
+
+    /**
+     * The outcome of converting one deck: the deck, or the exception converting it threw.
+     * Exceptions are kept as they are rather than rethrown by the pool, which would wrap them.
+     */
+    private static class Converted {
+        private final Deck deck;
+        private final IllegalValueException illegalValue;
+        private final RuntimeException runtimeException;
+
+        private Converted(Deck deck, IllegalValueException illegalValue, RuntimeException runtimeException) {
+            this.deck = deck;
+            this.illegalValue = illegalValue;
+            this.runtimeException = runtimeException;
+        }
+
+        private static Converted of(JsonAdaptedDeck deck) {
+            try {
+                return new Converted(deck.toModelType(), null, null);
+            } catch (IllegalValueException ive) {
+                return new Converted(null, ive, null);
+            } catch (RuntimeException re) {
+                return new Converted(null, null, re);
+            }
+        }
+
+        private Deck get() throws IllegalValueException {
+            if (illegalValue != null) {
+                throw illegalValue;
+            }
+            if (runtimeException != null) {
+                throw runtimeException;
+            }
+            return deck;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package cardibuddy.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.DeckStamp;
+import cardibuddy.model.deck.CardLoader;
+import cardibuddy.model.deck.Deck;
+
+/**
+ * A deck as last saved by a storage: the object saved, its versions at the time and a digest of its json form.
+ * A deck that is the same object with the same versions is unchanged without having to be converted to json;
+ * any other deck is unchanged only if its json form has the same digest.
+ * A deck saved without its cards loaded can also remember its loader and a digest of its header, so that
+ * a copy of it that was not loaded either is found unchanged without loading its cards.
+ */
+class SavedDeck {
+    private final Deck deck;
+    private final DeckStamp stamp;
+    private final byte[] digest;
+    private final CardLoader loader;
+    private final byte[] headerDigest;
+
+    SavedDeck(Deck deck, byte[] digest) {
+        this(deck, digest, null, null);
+    }
+
+    private SavedDeck(Deck deck, byte[] digest, CardLoader loader, byte[] headerDigest) {
+        this.deck = deck;
+        this.stamp = new DeckStamp(deck);
+        this.digest = digest;
+        this.loader = loader;
+        this.headerDigest = headerDigest;
+    }
+
+    /**
+     * Returns {@code deck} as saved, remembered by its versions without converting it to json.
+     * If its cards are not loaded, its loader and the digest of its header are remembered as well.
+     */
+    static SavedDeck stamped(Deck deck) throws JsonProcessingException {
+        if (deck.isLoaded()) {
+            return new SavedDeck(deck, null);
+        }
+        return new SavedDeck(deck, null, deck.getCardLoader(), headerDigestOf(deck));
+    }
+
+    /**
+     * Returns true if {@code deck} is a copy of the deck saved, neither of them loaded, with the same header.
+     */
+    boolean isSameUnloaded(Deck deck) throws JsonProcessingException {
+        return loader != null && !deck.isLoaded() && deck.getCardLoader() == loader
+                && Arrays.equals(headerDigest, headerDigestOf(deck));
+    }
+
+    /**
+     * Returns this saved deck as held by {@code copy}, found the same by {@link #isSameUnloaded(Deck)}.
+     */
+    SavedDeck heldBy(Deck copy) {
+        return new SavedDeck(copy, digest, loader, headerDigest);
+    }
+
+    /**
+     * Returns true if {@code deck} is the deck saved and was not modified since.
+     */
+    boolean isSameUnmodified(Deck deck) {
+        return this.deck == deck && stamp.matches(deck);
+    }
+
+    /**
+     * Returns the digest of the json form of the deck saved, or null if it was not converted to json.
+     */
+    byte[] getDigest() {
+        return digest;
+    }
+
+    /**
+     * Returns true if the json form of the deck saved had the given digest.
+     */
+    boolean hasDigest(byte[] digest) {
+        return this.digest != null && Arrays.equals(this.digest, digest);
+    }
+
+    /**
+     * Returns a digest of the json form of {@code adapted}, used to tell whether it changed.
+     */
+    static byte[] digestOf(Object adapted) throws JsonProcessingException {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(JsonUtil.toJsonLine(adapted).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException("SHA-256 is not available", nsae);
+        }
+    }
+
+    /**
+     * Returns a digest of the header of {@code deck}: everything but its cards, which are not loaded for it.
+     */
+    static byte[] headerDigestOf(Deck deck) throws JsonProcessingException {
+        return digestOf(new JsonShardManifest.Entry(deck, null));
+    }
+}
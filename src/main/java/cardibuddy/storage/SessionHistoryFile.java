@@ -0,0 +1,372 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.HistoryLoader;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.deck.exceptions.HistoryNotLoadedException;
+
+/**
+ * The correct percentage history of the statistics of a CardiBuddy and of each of its decks,
+ * kept as an append-only time series of test sessions next to the main data file,
+ * so that the main file does not grow with every test session.
+ * The file is only read when a history is first needed, e.g. to show it, and saving appends only
+ * the sessions recorded since the last save.
+ * A history that no longer follows on from the saved one, e.g. after an undo or when a deck is renamed,
+ * is saved as a reset followed by all of its sessions.
+ */
+class SessionHistoryFile {
+
+    public static final String HISTORY_SUFFIX = ".history";
+
+    // files larger than this are compacted when read, before any history in them is handed out
+    static final long DEFAULT_COMPACTION_THRESHOLD = 256 * 1024;
+
+    private static final Logger logger = LogsCenter.getLogger(SessionHistoryFile.class);
+
+    private final Path filePath;
+    private final long compactionThreshold;
+
+    // the history of each owner as saved, keyed by deck title, or by null for the whole library
+    private Map<String, HashMap<String, List<Double>>> savedHistories;
+    // the end of the last record saved for each owner
+    private final Map<String, Long> lastRecordEnds = new HashMap<>();
+    private long validLength = -1;
+    private boolean hasHandedOutLoaders;
+
+    SessionHistoryFile(Path filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    SessionHistoryFile(Path filePath, long compactionThreshold) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Returns the session history file kept next to the data file at {@code dataFilePath}.
+     */
+    static Path getHistoryPath(Path dataFilePath) {
+        return Paths.get(dataFilePath.toString() + HISTORY_SUFFIX);
+    }
+
+    /**
+     * Leaves the history of the statistics of {@code cardiBuddy} and of its decks to be loaded from this file
+     * when it is first needed. Statistics read with a history of their own, from files saved before
+     * the history was kept apart, keep it.
+     *
+     * @throws IOException if an incomplete record left behind by an interrupted save could not be dropped,
+     *     or the file could not be compacted.
+     */
+    void attachTo(ReadOnlyCardiBuddy cardiBuddy) throws IOException, DataConversionException {
+        attachTo(cardiBuddy, owner -> true);
+    }
+
+    /**
+     * Similar to {@link #attachTo(ReadOnlyCardiBuddy)}, but only to the statistics of the decks whose titles
+     * pass {@code isSaved}, and to those of the whole library if null passes it.
+     */
+    synchronized void attachTo(ReadOnlyCardiBuddy cardiBuddy, Predicate<String> isSaved)
+            throws IOException, DataConversionException {
+        if (validLength < 0) {
+            validLength = JournalCardiBuddyStorage.dropIncompleteTail(filePath);
+        }
+        if (!hasHandedOutLoaders && validLength > compactionThreshold) {
+            compact(cardiBuddy);
+        }
+
+        attach(cardiBuddy.getStatistics(), null, isSaved);
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            attach(deck.getStatistics(), deck.getTitle().toString(), isSaved);
+        }
+    }
+
+    /**
+     * Sets the history of the statistics of {@code cardiBuddy} and of its decks, as {@link #attachTo} would
+     * attach it, to the one saved in this file. The file is read at once and left as it is: an incomplete record
+     * left behind by an interrupted save is skipped, and the file is not compacted.
+     */
+    synchronized void copyTo(ReadOnlyCardiBuddy cardiBuddy, Predicate<String> isSaved)
+            throws IOException, DataConversionException {
+        Replay saved = replay(Files.exists(filePath) ? Files.size(filePath) : 0);
+        copy(saved, cardiBuddy.getStatistics(), null, isSaved);
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            copy(saved, deck.getStatistics(), deck.getTitle().toString(), isSaved);
+        }
+    }
+
+    private static void copy(Replay saved, Statistics statistics, String owner, Predicate<String> isSaved) {
+        if (isSaved.test(owner) && statistics.isHistoryLoaded() && statistics.getCorrectPercentageHistory().isEmpty()) {
+            statistics.setCorrectPercentageHistory(copyOf(saved.histories.getOrDefault(owner, new HashMap<>())));
+        }
+    }
+
+    private void attach(Statistics statistics, String owner, Predicate<String> isSaved) {
+        if (isSaved.test(owner) && statistics.isHistoryLoaded() && statistics.getCorrectPercentageHistory().isEmpty()) {
+            statistics.setHistoryLoader(new OwnerLoader(owner, validLength));
+            hasHandedOutLoaders = true;
+        }
+    }
+
+    /**
+     * Appends the test sessions recorded in the statistics of {@code cardiBuddy} and of its decks since
+     * they were last saved or loaded. Statistics whose history was never loaded are not read.
+     *
+     * @throws IOException if the file could not be read or written,
+     *     or a history that has to be saved could not be loaded.
+     */
+    synchronized void save(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        long time = System.currentTimeMillis();
+        List<JsonHistoryRecord> records = new ArrayList<>();
+        List<String> changedOwners = new ArrayList<>();
+
+        Map<String, Statistics> owners = new HashMap<>();
+        owners.put(null, cardiBuddy.getStatistics());
+        cardiBuddy.getDeckList().forEach(deck -> owners.put(deck.getTitle().toString(), deck.getStatistics()));
+        for (Map.Entry<String, Statistics> entry : owners.entrySet()) {
+            String owner = entry.getKey();
+            Statistics statistics = entry.getValue();
+            if (!statistics.isHistoryLoaded() && isUpToDate(statistics.getHistoryLoader(), owner)) {
+                continue;
+            }
+
+            HashMap<String, List<Double>> history;
+            try {
+                readIfNeeded();
+                history = statistics.getCorrectPercentageHistory();
+            } catch (DataConversionException | HistoryNotLoadedException e) {
+                throw new IOException("Could not read the test history to save: " + e.getMessage(), e);
+            }
+
+            HashMap<String, List<Double>> saved = savedHistories.getOrDefault(owner, new HashMap<>());
+            boolean followsOn = saved.entrySet().stream().allMatch(savedEntry ->
+                    startsWith(history.get(savedEntry.getKey()), savedEntry.getValue()));
+            if (!followsOn) {
+                records.add(JsonHistoryRecord.reset(time, owner));
+            }
+            int recordsBefore = records.size();
+            history.forEach((deck, percentages) -> {
+                int from = followsOn ? saved.getOrDefault(deck, List.of()).size() : 0;
+                percentages.subList(from, percentages.size()).forEach(correctPercentage ->
+                        records.add(JsonHistoryRecord.session(time, owner, deck, correctPercentage)));
+            });
+            if (!followsOn || records.size() > recordsBefore) {
+                savedHistories.put(owner, copyOf(history));
+                changedOwners.add(owner);
+            }
+        }
+
+        if (!records.isEmpty()) {
+            append(records);
+            changedOwners.forEach(owner -> lastRecordEnds.put(owner, validLength));
+        }
+    }
+
+    /**
+     * Returns true if {@code loader} reads the history of {@code owner} from this file as it is saved now.
+     */
+    private boolean isUpToDate(HistoryLoader loader, String owner) {
+        if (!(loader instanceof OwnerLoader) || ((OwnerLoader) loader).getFile() != this) {
+            return false;
+        }
+        OwnerLoader ownerLoader = (OwnerLoader) loader;
+        return Objects.equals(ownerLoader.owner, owner)
+                && ownerLoader.end >= lastRecordEnds.getOrDefault(owner, 0L);
+    }
+
+    /**
+     * Returns the history of {@code owner} as it was saved in the first {@code end} bytes of the file.
+     */
+    private synchronized HashMap<String, List<Double>> load(String owner, long end) throws DataConversionException {
+        readIfNeeded();
+        if (end >= lastRecordEnds.getOrDefault(owner, 0L)) {
+            return copyOf(savedHistories.getOrDefault(owner, new HashMap<>()));
+        }
+        // the history was saved again after the loader was created, so only the part before that is read
+        return copyOf(replay(end).histories.getOrDefault(owner, new HashMap<>()));
+    }
+
+    private void readIfNeeded() throws DataConversionException {
+        if (savedHistories != null) {
+            return;
+        }
+        try {
+            if (validLength < 0) {
+                validLength = JournalCardiBuddyStorage.dropIncompleteTail(filePath);
+            }
+        } catch (IOException ioe) {
+            throw new DataConversionException(ioe);
+        }
+
+        Replay replay = replay(validLength);
+        savedHistories = replay.histories;
+        lastRecordEnds.clear();
+        lastRecordEnds.putAll(replay.lastRecordEnds);
+        logger.fine("Read the test history of " + savedHistories.size() + " statistics from " + filePath);
+    }
+
+    /**
+     * Reads the records in the first {@code end} bytes of the file.
+     */
+    private Replay replay(long end) throws DataConversionException {
+        Replay replay = new Replay();
+        if (end <= 0 || !Files.exists(filePath)) {
+            return replay;
+        }
+
+        byte[] bytes;
+        try (InputStream in = Files.newInputStream(filePath)) {
+            bytes = in.readNBytes((int) end);
+        } catch (IOException ioe) {
+            throw new DataConversionException(ioe);
+        }
+
+        int lineStart = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') {
+                continue;
+            }
+            String line = new String(bytes, lineStart, i - lineStart, StandardCharsets.UTF_8);
+            lineStart = i + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                replay.apply(JsonUtil.fromJsonString(line, JsonHistoryRecord.class), lineStart);
+            } catch (IOException ioe) {
+                logger.warning("Invalid record in " + filePath + ": " + line);
+                throw new DataConversionException(ioe);
+            }
+        }
+        return replay;
+    }
+
+    /**
+     * Appends {@code records} to the file and forces them to the disk.
+     */
+    private void append(List<JsonHistoryRecord> records) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (JsonHistoryRecord record : records) {
+            lines.append(JsonUtil.toJsonLine(record)).append('\n');
+        }
+
+        FileUtil.createParentDirsOfFile(filePath);
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        validLength += bytes.length;
+    }
+
+    /**
+     * Rewrites the file with only the current history of {@code cardiBuddy} and of its decks,
+     * dropping resets and the history of decks that are gone.
+     */
+    private void compact(ReadOnlyCardiBuddy cardiBuddy) throws IOException, DataConversionException {
+        readIfNeeded();
+        Map<String, HashMap<String, List<Double>>> live = new HashMap<>();
+        live.put(null, savedHistories.getOrDefault(null, new HashMap<>()));
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            String owner = deck.getTitle().toString();
+            live.put(owner, savedHistories.getOrDefault(owner, new HashMap<>()));
+        }
+
+        long time = System.currentTimeMillis();
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, HashMap<String, List<Double>>> entry : live.entrySet()) {
+            for (Map.Entry<String, List<Double>> deckHistory : entry.getValue().entrySet()) {
+                for (double correctPercentage : deckHistory.getValue()) {
+                    lines.append(JsonUtil.toJsonLine(JsonHistoryRecord.session(
+                            time, entry.getKey(), deckHistory.getKey(), correctPercentage))).append('\n');
+                }
+            }
+        }
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        FileUtil.writeAtomically(filePath, out -> out.write(bytes));
+        logger.info("Compacted " + filePath + " from " + validLength + " to " + bytes.length + " bytes");
+
+        savedHistories = live;
+        validLength = bytes.length;
+        lastRecordEnds.clear();
+        live.keySet().forEach(owner -> lastRecordEnds.put(owner, validLength));
+    }
+
+    private static boolean startsWith(List<Double> list, List<Double> prefix) {
+        return list != null && list.size() >= prefix.size() && list.subList(0, prefix.size()).equals(prefix);
+    }
+
+    private static HashMap<String, List<Double>> copyOf(Map<String, List<Double>> history) {
+        HashMap<String, List<Double>> copy = new HashMap<>();
+        history.forEach((deck, percentages) -> copy.put(deck, new ArrayList<>(percentages)));
+        return copy;
+    }
+
+    /**
+     * The histories read from the records of the file.
+     */
+    private static class Replay {
+        private final Map<String, HashMap<String, List<Double>>> histories = new HashMap<>();
+        private final Map<String, Long> lastRecordEnds = new HashMap<>();
+
+        private void apply(JsonHistoryRecord record, long end) {
+            HashMap<String, List<Double>> history = histories.computeIfAbsent(record.getOwner(), o -> new HashMap<>());
+            if (record.isReset()) {
+                history.clear();
+            } else if (record.getDeck() != null && record.getCorrectPercentage() != null) {
+                history.computeIfAbsent(record.getDeck(), deck -> new ArrayList<>()).add(record.getCorrectPercentage());
+            }
+            lastRecordEnds.put(record.getOwner(), end);
+        }
+    }
+
+    /**
+     * Loads the history of one owner as it was saved in the first {@code end} bytes of the file.
+     */
+    private class OwnerLoader implements HistoryLoader {
+        private final String owner;
+        private final long end;
+
+        private OwnerLoader(String owner, long end) {
+            this.owner = owner;
+            this.end = end;
+        }
+
+        private SessionHistoryFile getFile() {
+            return SessionHistoryFile.this;
+        }
+
+        @Override
+        public HashMap<String, List<Double>> loadHistory() throws DataConversionException {
+            return load(owner, end);
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.CardLoader;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.flashcard.Card;
+
+/**
+ * A class to access CardiBuddy data stored as one json file per deck, listed by a small json manifest.
+ * A save only writes the files of the decks whose cards or statistics changed, followed by the manifest,
+ * so editing one card rewrites one deck rather than the whole library.
+ * Changed decks are written to new files and the manifest is replaced in one step before the files it no longer
+ * lists are deleted, so a save interrupted at any point leaves either the old or the new data readable.
+ * In lazy mode, reading only builds the decks from the headers in the manifest, and the cards of a deck are read
+ * from its file when they are first needed; the files of the first few decks are read ahead in the background.
+ */
+public class ShardedCardiBuddyStorage implements CardiBuddyStorage {
+
+    public static final String DECKS_DIRECTORY_SUFFIX = ".decks";
+    public static final String MESSAGE_MISSING_DECK_FILE = "The file of deck %1$s is missing.";
+    public static final int DEFAULT_PREFETCH_COUNT = 8;
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedCardiBuddyStorage.class);
+    private static final int MAX_FILE_NAME_TITLE_LENGTH = 32;
+
+    private final Path filePath;
+    private final boolean isLazy;
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deck-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Future<?> prefetch;
+
+    // what the manifest and deck files of filePath hold, as of the last save or read
+    private Map<String, SavedShard> savedShards;
+    private List<String> savedOrder;
+    private Statistics savedStatistics;
+    private long savedStatisticsVersion;
+    private byte[] savedStatisticsDigest;
+    private long generation;
+
+    public ShardedCardiBuddyStorage(Path filePath) {
+        this(filePath, false);
+    }
+
+    /**
+     * Creates a {@code ShardedCardiBuddyStorage} for the manifest at {@code filePath}
+     * that reads the cards of each deck only when they are needed if {@code isLazy} is true.
+     */
+    public ShardedCardiBuddyStorage(Path filePath, boolean isLazy) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+        this.isLazy = isLazy;
+    }
+
+    @Override
+    public Path getCardiBuddyFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the directory that holds the deck files listed by the manifest at {@code filePath}.
+     */
+    public static Path getDecksDirectory(Path filePath) {
+        return Paths.get(filePath.toString() + DECKS_DIRECTORY_SUFFIX);
+    }
+
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy() throws DataConversionException, IOException {
+        return readCardiBuddy(filePath);
+    }
+
+    /**
+     * Similar to {@link #readCardiBuddy()}.
+     *
+     * @param filePath location of the manifest. Cannot be null.
+     * @throws DataConversionException if the manifest or a deck file is not in the correct format, or is missing.
+     */
+    @Override
+    public synchronized Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath)
+            throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        Optional<JsonShardManifest> manifest = JsonUtil.readJsonFile(filePath, JsonShardManifest.class);
+        if (!manifest.isPresent()) {
+            return Optional.empty();
+        }
+
+        Path decksDirectory = getDecksDirectory(filePath);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        List<DeckFileLoader> loaders = new ArrayList<>();
+        try {
+            for (JsonShardManifest.Entry entry : manifest.get().getDecks()) {
+                Path deckFile = decksDirectory.resolve(entry.getFile());
+                Deck deck;
+                if (isLazy && entry.hasHeader()) {
+                    DeckFileLoader loader = new DeckFileLoader(deckFile, entry.getTitle());
+                    loaders.add(loader);
+                    deck = entry.toModelType(loader);
+                } else {
+                    deck = DeckFileLoader.readDeckFile(deckFile, entry.getTitle()).toModelType();
+                }
+                if (cardiBuddy.hasDeck(deck)) {
+                    throw new IllegalValueException(JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK);
+                }
+                cardiBuddy.addDeck(deck);
+            }
+
+            JsonAdaptedStatistic statistics = manifest.get().getStatistics();
+            cardiBuddy.setStatistics(statistics != null ? statistics.toModeltype() : new Statistics());
+        } catch (IllegalValueException | NumberFormatException e) {
+            logger.info("Illegal values found in " + filePath + ": " + e.getMessage());
+            throw new DataConversionException(e);
+        }
+
+        if (filePath.equals(this.filePath)) {
+            markSaved(cardiBuddy, manifest.get());
+            prefetch(loaders);
+        }
+        return Optional.of(cardiBuddy);
+    }
+
+    @Override
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        saveCardiBuddy(cardiBuddy, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     * Saving to a location other than this storage's own writes every deck there.
+     *
+     * @param filePath location of the manifest. Cannot be null.
+     */
+    @Override
+    public synchronized void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
+        requireNonNull(cardiBuddy);
+        requireNonNull(filePath);
+
+        if (!filePath.equals(this.filePath)) {
+            new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+            return;
+        }
+
+        // nothing is known about the files on the disk yet, so every deck is written and leftovers are swept
+        boolean isFirstSave = savedShards == null;
+        if (isFirstSave) {
+            savedShards = new HashMap<>();
+            generation = readGeneration();
+        }
+        long nextGeneration = generation + 1;
+
+        Path decksDirectory = getDecksDirectory(filePath);
+        Map<String, SavedShard> nextSavedShards = new HashMap<>();
+        List<JsonShardManifest.Entry> entries = new ArrayList<>();
+        List<String> order = new ArrayList<>(cardiBuddy.getDeckList().size());
+        int decksWritten = 0;
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            String title = deck.getTitle().toString();
+            order.add(title);
+
+            SavedShard saved = savedShards.get(title);
+            SavedShard next;
+            if (saved != null && saved.deck.isSameUnmodified(deck)) {
+                next = saved;
+            } else if (saved != null && saved.isSameUnloaded(deck)) {
+                // a copy of a deck that was never loaded, whose header did not change either
+                next = new SavedShard(new SavedDeck(deck, saved.deck.getDigest()), saved.file, saved.loader,
+                        saved.headerDigest);
+            } else {
+                CardLoader loader = deck.getCardLoader();
+                JsonAdaptedDeck adaptedDeck = new JsonAdaptedDeck(deck);
+                byte[] digest = SavedDeck.digestOf(adaptedDeck);
+                String file = saved != null && saved.deck.hasDigest(digest)
+                        ? saved.file
+                        : getDeckFileName(title, nextGeneration);
+                if (saved == null || !file.equals(saved.file)) {
+                    JsonUtil.saveJsonFile(adaptedDeck, decksDirectory.resolve(file));
+                    decksWritten++;
+                }
+                DeckFileLoader fileLoader = null;
+                if (saved != null && saved.loader != null && loader == saved.loader) {
+                    // the deck still had the cards in the old file, which are in the new file too
+                    fileLoader = saved.loader;
+                    fileLoader.moveTo(decksDirectory.resolve(file));
+                }
+                next = new SavedShard(new SavedDeck(deck, digest), file, fileLoader, null);
+            }
+            nextSavedShards.put(title, next);
+            entries.add(new JsonShardManifest.Entry(deck, next.file));
+        }
+
+        Statistics statistics = cardiBuddy.getStatistics();
+        byte[] statisticsDigest = savedStatisticsDigest;
+        if (statistics != savedStatistics || statistics.getVersion() != savedStatisticsVersion) {
+            statisticsDigest = SavedDeck.digestOf(new JsonAdaptedStatistic(statistics));
+        }
+
+        if (isFirstSave || decksWritten > 0 || !order.equals(savedOrder)
+                || !Arrays.equals(statisticsDigest, savedStatisticsDigest)) {
+            if (decksWritten > 0) {
+                generation = nextGeneration;
+            }
+            JsonUtil.saveJsonFile(new JsonShardManifest(generation, entries, new JsonAdaptedStatistic(statistics)),
+                    filePath);
+            logger.fine("Saved " + decksWritten + " of " + entries.size() + " decks to " + decksDirectory);
+        }
+
+        Set<String> filesInUse = new HashSet<>();
+        nextSavedShards.values().forEach(shard -> filesInUse.add(shard.file));
+        if (isFirstSave) {
+            deleteUnlistedFiles(decksDirectory, filesInUse);
+        } else {
+            for (SavedShard shard : savedShards.values()) {
+                if (!filesInUse.contains(shard.file)) {
+                    deleteDeckFile(decksDirectory.resolve(shard.file));
+                }
+            }
+        }
+
+        savedShards = nextSavedShards;
+        savedOrder = order;
+        savedStatistics = statistics;
+        savedStatisticsVersion = statistics.getVersion();
+        savedStatisticsDigest = statisticsDigest;
+    }
+
+    /**
+     * Returns the name of the file that {@code title} is written to in {@code generation}.
+     * It starts with the title, made safe for any file system, and carries a hash of the full title
+     * so that titles that look the same once made safe still get files of their own.
+     */
+    static String getDeckFileName(String title, long generation) {
+        StringBuilder name = new StringBuilder();
+        for (char c : title.toCharArray()) {
+            if (name.length() == MAX_FILE_NAME_TITLE_LENGTH) {
+                break;
+            }
+            name.append(Character.isLetterOrDigit(c) && c < 128 ? Character.toLowerCase(c) : '_');
+        }
+        return String.format("%s-%08x-%d.json", name, title.hashCode(), generation);
+    }
+
+    /**
+     * Remembers {@code cardiBuddy} as the data held by the manifest and deck files, so the next save
+     * only writes what changed since.
+     */
+    private void markSaved(CardiBuddy cardiBuddy, JsonShardManifest manifest) throws JsonProcessingException {
+        Map<String, String> files = new HashMap<>();
+        manifest.getDecks().forEach(entry -> files.put(entry.getTitle(), entry.getFile()));
+
+        savedShards = new HashMap<>();
+        savedOrder = new ArrayList<>();
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            String title = deck.getTitle().toString();
+            savedOrder.add(title);
+            if (!files.containsKey(title)) {
+                continue;
+            }
+            if (deck.isLoaded()) {
+                savedShards.put(title, new SavedShard(
+                        new SavedDeck(deck, SavedDeck.digestOf(new JsonAdaptedDeck(deck))), files.get(title), null,
+                        null));
+            } else {
+                savedShards.put(title, new SavedShard(new SavedDeck(deck, null), files.get(title),
+                        (DeckFileLoader) deck.getCardLoader(), SavedDeck.headerDigestOf(deck)));
+            }
+        }
+        savedStatistics = cardiBuddy.getStatistics();
+        savedStatisticsVersion = savedStatistics.getVersion();
+        savedStatisticsDigest = SavedDeck.digestOf(new JsonAdaptedStatistic(savedStatistics));
+        generation = manifest.getGeneration();
+    }
+
+    /**
+     * Waits until the files being read ahead in the background, if any, have been read.
+     */
+    void awaitPrefetch() throws InterruptedException, ExecutionException {
+        Future<?> running;
+        synchronized (this) {
+            running = prefetch;
+        }
+        if (running != null) {
+            running.get();
+        }
+    }
+
+    /**
+     * Starts reading the files of the first few decks of {@code loaders} in the background,
+     * so that the decks at the top of the list open without waiting for them.
+     */
+    private void prefetch(List<DeckFileLoader> loaders) {
+        if (loaders.isEmpty()) {
+            return;
+        }
+        List<DeckFileLoader> toPrefetch = new ArrayList<>(
+                loaders.subList(0, Math.min(DEFAULT_PREFETCH_COUNT, loaders.size())));
+        prefetch = prefetcher.submit(() -> toPrefetch.forEach(DeckFileLoader::prefetch));
+    }
+
+    /**
+     * Returns the generation of the manifest on the disk, or 0 if there is none that can be read.
+     */
+    private long readGeneration() {
+        try {
+            return JsonUtil.readJsonFile(filePath, JsonShardManifest.class)
+                    .map(JsonShardManifest::getGeneration)
+                    .orElse(0L);
+        } catch (DataConversionException dce) {
+            logger.warning("Could not read the generation of " + filePath + ": " + StringUtil.getDetails(dce));
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes the json files in {@code decksDirectory} that are not in {@code filesInUse},
+     * left behind by saves that were interrupted or made by another storage.
+     */
+    private static void deleteUnlistedFiles(Path decksDirectory, Set<String> filesInUse) throws IOException {
+        if (!Files.isDirectory(decksDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(decksDirectory, "*.json")) {
+            for (Path file : files) {
+                if (!filesInUse.contains(file.getFileName().toString())) {
+                    deleteDeckFile(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes a deck file that is no longer listed by the manifest.
+     * A file that cannot be deleted is only logged, since the data saved is complete without it.
+     */
+    private static void deleteDeckFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioe) {
+            logger.warning("Could not delete unused deck file " + file + ": " + StringUtil.getDetails(ioe));
+        }
+    }
+
+    /**
+     * A deck as last saved, with the name of the file it was saved to.
+     * A deck read in lazy mode and not loaded since also has the loader of its file and a digest of its header.
+     */
+    private static class SavedShard {
+        private final SavedDeck deck;
+        private final String file;
+        private final DeckFileLoader loader;
+        private final byte[] headerDigest;
+
+        private SavedShard(SavedDeck deck, String file, DeckFileLoader loader, byte[] headerDigest) {
+            this.deck = deck;
+            this.file = file;
+            this.loader = loader;
+            this.headerDigest = headerDigest;
+        }
+
+        /**
+         * Returns true if {@code deck} has still not loaded the cards of the saved deck and has the same header.
+         */
+        private boolean isSameUnloaded(Deck deck) throws JsonProcessingException {
+            return loader != null && headerDigest != null && !deck.isLoaded() && deck.getCardLoader() == loader
+                    && Arrays.equals(headerDigest, SavedDeck.headerDigestOf(deck));
+        }
+    }
+
+    /**
+     * Loads the cards of a deck read in lazy mode from the file of the deck.
+     * The file may be read ahead of time; its content is then kept until the cards are first loaded.
+     */
+    private static class DeckFileLoader implements CardLoader {
+        private final String title;
+        private Path file;
+        private JsonAdaptedDeck prefetched;
+        private boolean isLoaded;
+
+        private DeckFileLoader(Path file, String title) {
+            this.file = file;
+            this.title = title;
+        }
+
+        @Override
+        public synchronized List<Card> loadCards(Deck deck) throws DataConversionException {
+            JsonAdaptedDeck adaptedDeck = prefetched != null ? prefetched : readDeckFile(file, title);
+            prefetched = null;
+            isLoaded = true;
+            try {
+                return adaptedDeck.toModelCards(deck);
+            } catch (IllegalValueException ive) {
+                logger.info("Illegal values found in " + file + ": " + ive.getMessage());
+                throw new DataConversionException(ive);
+            }
+        }
+
+        /**
+         * Reads the file of the deck ahead of time, unless its cards were loaded already.
+         * A file that cannot be read is left to be reported when the cards are loaded.
+         */
+        private synchronized void prefetch() {
+            if (isLoaded || prefetched != null) {
+                return;
+            }
+            try {
+                prefetched = readDeckFile(file, title);
+            } catch (DataConversionException dce) {
+                logger.warning("Could not read ahead " + file + ": " + StringUtil.getDetails(dce));
+            }
+        }
+
+        /**
+         * Points this loader at {@code file}, which holds the same cards as the file it was pointed at.
+         */
+        private synchronized void moveTo(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Reads the deck titled {@code title} from {@code file}.
+         *
+         * @throws DataConversionException if the file is not in the correct format, or is missing.
+         */
+        private static JsonAdaptedDeck readDeckFile(Path file, String title) throws DataConversionException {
+            Optional<JsonAdaptedDeck> deck = JsonUtil.readJsonFile(file, JsonAdaptedDeck.class);
+            if (!deck.isPresent()) {
+                logger.info("Missing deck file " + file);
+                throw new DataConversionException(
+                        new IllegalValueException(String.format(MESSAGE_MISSING_DECK_FILE, title)));
+            }
+            return deck.get();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package cardibuddy.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+
+/**
+ * A class to access CardiBuddy data stored in an embedded H2 database file, see {@code SqlCardiBuddyTables}.
+ * Once the data was read or saved, each save only writes the rows of the decks that changed,
+ * so editing a single card updates a single row however many cards there are.
+ */
+public class SqlCardiBuddyStorage implements CardiBuddyStorage {
+
+    public static final String FILE_EXTENSION = ".mv.db";
+
+    private static final Logger logger = LogsCenter.getLogger(SqlCardiBuddyStorage.class);
+
+    private Path filePath;
+    private Connection connection;
+    private final JournalRecorder journalRecorder = new JournalRecorder();
+    private final SqlCardiBuddyTables.SavedCards savedCards = new SqlCardiBuddyTables.SavedCards();
+    private boolean isInSync;
+    private int lastRowsWritten;
+
+    public SqlCardiBuddyStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    public Path getCardiBuddyFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the file the database at {@code filePath} is kept in, which always ends in {@code .mv.db}.
+     */
+    public static Path getDatabaseFile(Path filePath) {
+        return filePath.toString().toLowerCase().endsWith(FILE_EXTENSION)
+                ? filePath
+                : Paths.get(filePath.toString() + FILE_EXTENSION);
+    }
+
+    @Override
+    public Optional<ReadOnlyCardiBuddy> readCardiBuddy() throws DataConversionException {
+        return readCardiBuddy(filePath);
+    }
+
+    /**
+     * Similar to {@link #readCardiBuddy()}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     * @throws DataConversionException if the database is not in the correct format.
+     */
+    public synchronized Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(getDatabaseFile(filePath))) {
+            logger.info("Database file " + getDatabaseFile(filePath) + " not found");
+            return Optional.empty();
+        }
+
+        boolean isOwnFile = filePath.equals(this.filePath);
+        Connection readFrom = null;
+        try {
+            readFrom = isOwnFile ? getConnection() : open(filePath);
+            SqlCardiBuddyTables.createSchema(readFrom);
+            CardiBuddy cardiBuddy = SqlCardiBuddyTables.read(readFrom,
+                    isOwnFile ? savedCards : new SqlCardiBuddyTables.SavedCards());
+            if (isOwnFile) {
+                journalRecorder.markSaved(cardiBuddy);
+                isInSync = true;
+            }
+            return Optional.of(cardiBuddy);
+        } catch (SQLException | IOException e) {
+            logger.warning("Error reading from database file " + filePath + ": " + e);
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        } finally {
+            if (!isOwnFile) {
+                close(readFrom);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void markSaved(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        requireNonNull(cardiBuddy);
+        if (isInSync) {
+            journalRecorder.markSaved(cardiBuddy);
+        }
+    }
+
+    @Override
+    public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        saveCardiBuddy(cardiBuddy, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveCardiBuddy(ReadOnlyCardiBuddy)}.
+     * Only the changes since the data was last read or saved are written to the database at the file path
+     * of this storage; the database at any other {@code filePath} is written in full.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    public synchronized void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
+        requireNonNull(cardiBuddy);
+        requireNonNull(filePath);
+
+        if (!filePath.equals(this.filePath)) {
+            try (Connection writeTo = open(filePath)) {
+                SqlCardiBuddyTables.createSchema(writeTo);
+                lastRowsWritten = inTransaction(writeTo, () -> SqlCardiBuddyTables.writeAll(writeTo, cardiBuddy,
+                        new SqlCardiBuddyTables.SavedCards()));
+            } catch (SQLException sqle) {
+                throw new IOException(sqle);
+            }
+            return;
+        }
+
+        try {
+            Connection writeTo = getConnection();
+            SqlCardiBuddyTables.createSchema(writeTo);
+            JsonJournalRecord changes = journalRecorder.recordChanges(cardiBuddy);
+            if (isInSync) {
+                lastRowsWritten = inTransaction(writeTo,
+                        () -> SqlCardiBuddyTables.writeChanges(writeTo, cardiBuddy, changes, savedCards));
+            } else {
+                lastRowsWritten = inTransaction(writeTo,
+                        () -> SqlCardiBuddyTables.writeAll(writeTo, cardiBuddy, savedCards));
+            }
+            // only remembered as saved once the transaction went through; savedCards may have been changed by a
+            // failed one, but is replaced by the full write that follows it
+            journalRecorder.commit();
+            isInSync = true;
+        } catch (SQLException sqle) {
+            isInSync = false;
+            throw new IOException(sqle);
+        }
+    }
+
+    /**
+     * Closes the connection to the database at the file path of this storage. A later read or save opens it again.
+     */
+    @Override
+    public synchronized void close() {
+        close(connection);
+        connection = null;
+    }
+
+    /**
+     * Returns the number of rows the last save wrote.
+     */
+    int getLastRowsWritten() {
+        return lastRowsWritten;
+    }
+
+    private Connection getConnection() throws SQLException, IOException {
+        if (connection == null || connection.isClosed()) {
+            connection = open(filePath);
+        }
+        return connection;
+    }
+
+    private static Connection open(Path filePath) throws SQLException, IOException {
+        Path databaseFile = getDatabaseFile(filePath).toAbsolutePath();
+        FileUtil.createParentDirsOfFile(databaseFile);
+        String databaseName = databaseFile.toString();
+        databaseName = databaseName.substring(0, databaseName.length() - FILE_EXTENSION.length());
+        return DriverManager.getConnection("jdbc:h2:file:" + databaseName);
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException sqle) {
+            logger.warning("Could not close database connection: " + sqle);
+        }
+    }
+
+    /**
+     * Runs {@code work} as a single transaction on {@code connection}, rolling it back if it fails.
+     */
+    private static int inTransaction(Connection connection, SqlWork work) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            int rows = work.run();
+            connection.commit();
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Statements run against the database, returning the number of rows written.
+     */
+    @FunctionalInterface
+    private interface SqlWork {
+        int run() throws SQLException;
+    }
+}
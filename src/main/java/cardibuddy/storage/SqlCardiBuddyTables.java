@@ -0,0 +1,494 @@
+package cardibuddy.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.CardCodec;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * Reads and writes CardiBuddy data as rows of the tables of a {@code SqlCardiBuddyStorage}.
+ * Decks are keyed by their title, and cards by the title of their deck and their question, which is unique in it.
+ * Cards are kept in the order of their {@code card_order}, which only has to increase along the deck, so removing
+ * a card leaves the rows of the other cards as they are.
+ * The statistics of a deck are owned by its title, and the statistics of the whole library by an empty owner;
+ * each entry of their correct percentage history is a row of {@code session_result}.
+ */
+class SqlCardiBuddyTables {
+
+    public static final int SCHEMA_VERSION = 1;
+    public static final String MESSAGE_NEWER_SCHEMA =
+            "The database was saved by a newer version of CardiBuddy (schema version %1$d).";
+
+    private static final String LIBRARY_OWNER = "";
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS schema_version (version INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS deck (title VARCHAR PRIMARY KEY, deck_index INT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS deck_tag (deck_title VARCHAR NOT NULL, tag_name VARCHAR NOT NULL, "
+                    + "PRIMARY KEY (deck_title, tag_name))",
+            "CREATE TABLE IF NOT EXISTS card (deck_title VARCHAR NOT NULL, card_order INT NOT NULL, "
+                    + "card_type VARCHAR NOT NULL, question VARCHAR NOT NULL, answer_type VARCHAR NOT NULL, "
+                    + "answer VARCHAR NOT NULL, path VARCHAR, PRIMARY KEY (deck_title, question))",
+            // lets keyword searches be answered by the database later on
+            "CREATE INDEX IF NOT EXISTS card_question ON card (question)",
+            "CREATE TABLE IF NOT EXISTS statistics (owner VARCHAR PRIMARY KEY, cards_added INT NOT NULL, "
+                    + "cards_deleted INT NOT NULL, decks_added INT NOT NULL, decks_deleted INT NOT NULL, "
+                    + "times_played INT NOT NULL, cards_played INT NOT NULL, "
+                    + "avg_correct_percentage DOUBLE NOT NULL, avg_tries_to_get_correct DOUBLE NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS session_result (owner VARCHAR NOT NULL, deck_title VARCHAR NOT NULL, "
+                    + "session_index INT NOT NULL, correct_percentage DOUBLE NOT NULL, "
+                    + "PRIMARY KEY (owner, deck_title, session_index))");
+
+    private static final List<String> TABLES = List.of("session_result", "statistics", "card", "deck_tag", "deck");
+
+    /**
+     * Creates the tables that do not exist yet.
+     *
+     * @throws SQLException if the tables were made by a newer version of CardiBuddy.
+     */
+    static void createSchema(Connection connection) throws SQLException {
+        int version;
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            try (ResultSet result = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                result.next();
+                version = result.getInt(1);
+            }
+            if (version == 0) {
+                statement.executeUpdate("INSERT INTO schema_version (version) VALUES (" + SCHEMA_VERSION + ")");
+            }
+        }
+        if (version > SCHEMA_VERSION) {
+            throw new SQLException(String.format(MESSAGE_NEWER_SCHEMA, version));
+        }
+    }
+
+    /**
+     * Reads the CardiBuddy data held by the tables, and replaces what {@code savedCards} holds with the rows of
+     * their cards.
+     *
+     * @throws IllegalValueException if there were any data constraints violated.
+     */
+    static CardiBuddy read(Connection connection, SavedCards savedCards) throws SQLException, IllegalValueException {
+        Map<String, Set<Tag>> tags = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT deck_title, tag_name FROM deck_tag")) {
+            while (result.next()) {
+                String tagName = result.getString(2);
+                if (!Tag.isValidTagName(tagName)) {
+                    throw new IllegalValueException(Tag.MESSAGE_CONSTRAINTS);
+                }
+                tags.computeIfAbsent(result.getString(1), title -> new HashSet<>()).add(new Tag(tagName));
+            }
+        }
+
+        List<Deck> decks = new ArrayList<>();
+        Map<String, Deck> decksByTitle = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT title FROM deck ORDER BY deck_index")) {
+            while (result.next()) {
+                String title = result.getString(1);
+                if (!Title.isValidTitle(title)) {
+                    throw new IllegalValueException(Title.MESSAGE_CONSTRAINTS);
+                }
+                Deck deck = new Deck(new Title(title), tags.getOrDefault(title, new HashSet<>()));
+                decks.add(deck);
+                decksByTitle.put(title, deck);
+            }
+        }
+
+        savedCards.clear();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT deck_title, card_type, question, answer_type, "
+                     + "answer, path, card_order FROM card ORDER BY deck_title, card_order")) {
+            while (result.next()) {
+                String title = result.getString(1);
+                Deck deck = decksByTitle.get(title);
+                if (deck == null) {
+                    continue;
+                }
+                List<String> row = Arrays.asList(result.getString(2), result.getString(3), result.getString(4),
+                        result.getString(5), result.getString(6));
+                deck.addCard(CardCodec.toCard(deck, CardCodec.cardTypeOf(row.get(0)), row.get(1),
+                        CardCodec.answerKindOf(row.get(2)), row.get(3), row.get(4)));
+                savedCards.put(title, row.get(1), new SavedCard(result.getInt(7), row));
+            }
+        }
+
+        Map<String, Statistics> statistics = readStatistics(connection);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        for (Deck deck : decks) {
+            deck.setStatistics(statistics.getOrDefault(deck.getTitle().toString(), new Statistics()));
+            if (cardiBuddy.hasDeck(deck)) {
+                throw new IllegalValueException(JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK);
+            }
+            cardiBuddy.addDeck(deck);
+        }
+        cardiBuddy.setStatistics(statistics.getOrDefault(LIBRARY_OWNER, new Statistics()));
+        return cardiBuddy;
+    }
+
+    /**
+     * Replaces everything in the tables with {@code cardiBuddy}, and what {@code savedCards} holds with the rows
+     * of its cards.
+     *
+     * @return the number of rows written.
+     */
+    static int writeAll(Connection connection, ReadOnlyCardiBuddy cardiBuddy, SavedCards savedCards)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.executeUpdate("DELETE FROM " + table);
+            }
+        }
+        savedCards.clear();
+        int rows = 0;
+        List<Deck> decks = cardiBuddy.getDeckList();
+        for (int i = 0; i < decks.size(); i++) {
+            rows += writeDeck(connection, decks.get(i), i, savedCards);
+        }
+        return rows + writeStatistics(connection, LIBRARY_OWNER, cardiBuddy.getStatistics());
+    }
+
+    /**
+     * Writes the changes in {@code changes}, made to get {@code cardiBuddy}, into the tables.
+     * Only the rows that differ from {@code cardiBuddy} are written, as told by {@code savedCards}, which must
+     * hold the rows of the cards in the tables and is kept up to date.
+     *
+     * @return the number of rows written.
+     */
+    static int writeChanges(Connection connection, ReadOnlyCardiBuddy cardiBuddy, JsonJournalRecord changes,
+                            SavedCards savedCards) throws SQLException {
+        int rows = 0;
+        for (String title : changes.getRemoved()) {
+            rows += deleteDeck(connection, title);
+            savedCards.remove(title);
+        }
+
+        List<Deck> decks = cardiBuddy.getDeckList();
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < decks.size(); i++) {
+            indexes.put(decks.get(i).getTitle().toString(), i);
+        }
+        for (JsonAdaptedDeck changed : changes.getPut()) {
+            int index = indexes.get(changed.getTitle());
+            rows += writeDeck(connection, decks.get(index), index, savedCards);
+        }
+
+        if (changes.getOrder() != null) {
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE deck SET deck_index = ? WHERE title = ?")) {
+                for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+                    update.setInt(1, entry.getValue());
+                    update.setString(2, entry.getKey());
+                    update.addBatch();
+                }
+                rows += sum(update.executeBatch());
+            }
+        }
+        if (changes.getStatistics() != null) {
+            rows += writeStatistics(connection, LIBRARY_OWNER, cardiBuddy.getStatistics());
+        }
+        return rows;
+    }
+
+    /**
+     * Writes {@code deck} at {@code index}, whether or not it is in the tables yet.
+     */
+    private static int writeDeck(Connection connection, Deck deck, int index, SavedCards savedCards)
+            throws SQLException {
+        String title = deck.getTitle().toString();
+        int rows = upsert(connection, "UPDATE deck SET deck_index = ? WHERE title = ?",
+                "INSERT INTO deck (deck_index, title) VALUES (?, ?)", index, title);
+
+        executeUpdate(connection, "DELETE FROM deck_tag WHERE deck_title = ?", title);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO deck_tag (deck_title, tag_name) VALUES (?, ?)")) {
+            for (Tag tag : deck.getTags()) {
+                insert.setString(1, title);
+                insert.setString(2, tag.tagName);
+                insert.addBatch();
+            }
+            rows += sum(insert.executeBatch());
+        }
+
+        rows += writeCards(connection, title, deck.getFlashcards(), savedCards);
+        return rows + writeStatistics(connection, title, deck.getStatistics());
+    }
+
+    /**
+     * Writes the cards of the deck titled {@code title}, updating only the rows that differ from them.
+     * The row of a card that was removed is reused for a card that was added, so replacing a card writes one row.
+     */
+    private static int writeCards(Connection connection, String title, List<Card> cards, SavedCards savedCards)
+            throws SQLException {
+        Map<String, SavedCard> saved = savedCards.get(title);
+        Set<String> questions = new HashSet<>();
+        for (Card card : cards) {
+            questions.add(card.getQuestion().toString());
+        }
+        Deque<String> removed = new ArrayDeque<>();
+        for (String question : saved.keySet()) {
+            if (!questions.contains(question)) {
+                removed.add(question);
+            }
+        }
+
+        int rows = 0;
+        Map<String, SavedCard> written = new HashMap<>();
+        try (PreparedStatement update = connection.prepareStatement("UPDATE card SET card_order = ?, "
+                + "card_type = ?, question = ?, answer_type = ?, answer = ?, path = ? "
+                + "WHERE deck_title = ? AND question = ?");
+             PreparedStatement insert = connection.prepareStatement("INSERT INTO card (card_order, card_type, "
+                     + "question, answer_type, answer, path, deck_title) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            int previousOrder = -1;
+            for (Card card : cards) {
+                List<String> row = toRow(card);
+                String question = row.get(1);
+                SavedCard savedCard = saved.get(question);
+                int order = savedCard != null && savedCard.order > previousOrder ? savedCard.order : previousOrder + 1;
+                previousOrder = order;
+                written.put(question, new SavedCard(order, row));
+                if (savedCard != null && savedCard.order == order && savedCard.row.equals(row)) {
+                    continue;
+                }
+
+                String rowQuestion = savedCard != null ? question : removed.poll();
+                PreparedStatement statement = rowQuestion == null ? insert : update;
+                statement.setInt(1, order);
+                for (int column = 0; column < row.size(); column++) {
+                    statement.setString(column + 2, row.get(column));
+                }
+                statement.setString(row.size() + 2, title);
+                if (rowQuestion != null) {
+                    statement.setString(row.size() + 3, rowQuestion);
+                }
+                statement.addBatch();
+            }
+            rows += sum(update.executeBatch()) + sum(insert.executeBatch());
+        }
+
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM card WHERE deck_title = ? AND question = ?")) {
+            for (String question : removed) {
+                delete.setString(1, title);
+                delete.setString(2, question);
+                delete.addBatch();
+            }
+            rows += sum(delete.executeBatch());
+        }
+        savedCards.put(title, written);
+        return rows;
+    }
+
+    private static int deleteDeck(Connection connection, String title) throws SQLException {
+        return executeUpdate(connection, "DELETE FROM card WHERE deck_title = ?", title)
+                + executeUpdate(connection, "DELETE FROM deck_tag WHERE deck_title = ?", title)
+                + executeUpdate(connection, "DELETE FROM session_result WHERE owner = ?", title)
+                + executeUpdate(connection, "DELETE FROM statistics WHERE owner = ?", title)
+                + executeUpdate(connection, "DELETE FROM deck WHERE title = ?", title);
+    }
+
+    /**
+     * Writes {@code statistics} as owned by {@code owner}. Sessions already saved are kept,
+     * and the history of a deck is only written again if it no longer starts with the sessions saved.
+     */
+    private static int writeStatistics(Connection connection, String owner, Statistics statistics)
+            throws SQLException {
+        int rows = upsert(connection, "UPDATE statistics SET cards_added = ?, cards_deleted = ?, decks_added = ?, "
+                        + "decks_deleted = ?, times_played = ?, cards_played = ?, avg_correct_percentage = ?, "
+                        + "avg_tries_to_get_correct = ? WHERE owner = ?",
+                "INSERT INTO statistics (cards_added, cards_deleted, decks_added, decks_deleted, times_played, "
+                        + "cards_played, avg_correct_percentage, avg_tries_to_get_correct, owner) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                statistics.getCardsAdded(), statistics.getCardsDeleted(), statistics.getDecksAdded(),
+                statistics.getDecksDeleted(), statistics.getTimesPlayed(), statistics.getCardsPlayed(),
+                statistics.getAvgCorrectPercentage(), statistics.getAvgTriesToGetCorrect(), owner);
+
+        Map<String, List<Double>> saved = new HashMap<>();
+        try (PreparedStatement select = connection.prepareStatement("SELECT deck_title, correct_percentage "
+                + "FROM session_result WHERE owner = ? ORDER BY deck_title, session_index")) {
+            select.setString(1, owner);
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    saved.computeIfAbsent(result.getString(1), title -> new ArrayList<>()).add(result.getDouble(2));
+                }
+            }
+        }
+
+        Map<String, List<Double>> history = statistics.getCorrectPercentageHistory();
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO session_result "
+                + "(owner, deck_title, session_index, correct_percentage) VALUES (?, ?, ?, ?)")) {
+            for (String title : saved.keySet()) {
+                if (!history.containsKey(title)) {
+                    rows += deleteSessions(connection, owner, title);
+                }
+            }
+            for (Map.Entry<String, List<Double>> entry : history.entrySet()) {
+                List<Double> sessions = entry.getValue();
+                List<Double> savedSessions = saved.getOrDefault(entry.getKey(), List.of());
+                int start = savedSessions.size();
+                if (sessions.size() < start || !sessions.subList(0, start).equals(savedSessions)) {
+                    rows += deleteSessions(connection, owner, entry.getKey());
+                    start = 0;
+                }
+                for (int i = start; i < sessions.size(); i++) {
+                    insert.setString(1, owner);
+                    insert.setString(2, entry.getKey());
+                    insert.setInt(3, i);
+                    insert.setDouble(4, sessions.get(i));
+                    insert.addBatch();
+                }
+            }
+            rows += sum(insert.executeBatch());
+        }
+        return rows;
+    }
+
+    private static int deleteSessions(Connection connection, String owner, String title) throws SQLException {
+        try (PreparedStatement delete = connection.prepareStatement(
+                "DELETE FROM session_result WHERE owner = ? AND deck_title = ?")) {
+            delete.setString(1, owner);
+            delete.setString(2, title);
+            return delete.executeUpdate();
+        }
+    }
+
+    private static Map<String, Statistics> readStatistics(Connection connection) throws SQLException {
+        Map<String, Statistics> statistics = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT owner, cards_added, cards_deleted, decks_added, "
+                     + "decks_deleted, times_played, cards_played, avg_correct_percentage, "
+                     + "avg_tries_to_get_correct FROM statistics")) {
+            while (result.next()) {
+                Statistics owned = new Statistics();
+                owned.setCardsAdded(result.getInt(2));
+                owned.setCardsDeleted(result.getInt(3));
+                owned.setDecksAdded(result.getInt(4));
+                owned.setDecksDeleted(result.getInt(5));
+                owned.setTimesPlayed(result.getInt(6));
+                owned.setCardsPlayed(result.getInt(7));
+                owned.setAvgCorrectPercentage(result.getDouble(8));
+                owned.setAvgTriesToGetCorrect(result.getDouble(9));
+                statistics.put(result.getString(1), owned);
+            }
+        }
+
+        Map<String, HashMap<String, List<Double>>> histories = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT owner, deck_title, correct_percentage "
+                     + "FROM session_result ORDER BY owner, deck_title, session_index")) {
+            while (result.next()) {
+                histories.computeIfAbsent(result.getString(1), owner -> new HashMap<>())
+                        .computeIfAbsent(result.getString(2), title -> new ArrayList<>())
+                        .add(result.getDouble(3));
+            }
+        }
+        for (Map.Entry<String, HashMap<String, List<Double>>> entry : histories.entrySet()) {
+            statistics.computeIfAbsent(entry.getKey(), owner -> new Statistics())
+                    .setCorrectPercentageHistory(entry.getValue());
+        }
+        return statistics;
+    }
+
+    /**
+     * Returns the values of the columns of the row of {@code card}, from {@code card_type} to {@code path}.
+     */
+    private static List<String> toRow(Card card) {
+        return Arrays.asList(card.getCardType().name(), card.getQuestion().toString(),
+                CardCodec.answerKindOf(card.getAnswer()).name(), card.getAnswer().toString(), card.getPath());
+    }
+
+    /**
+     * Runs {@code update} with {@code values}, then {@code insert} with the same values if no row was updated.
+     * Both must take the values in the same order, with the key last.
+     */
+    private static int upsert(Connection connection, String update, String insert, Object... values)
+            throws SQLException {
+        int rows = executeUpdate(connection, update, values);
+        return rows > 0 ? rows : executeUpdate(connection, insert, values);
+    }
+
+    private static int executeUpdate(Connection connection, String sql, Object... values) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private static int sum(int[] counts) {
+        int sum = 0;
+        for (int count : counts) {
+            sum += Math.max(count, 0);
+        }
+        return sum;
+    }
+
+    /**
+     * The order and column values of the row of a card, from {@code card_type} to {@code path}.
+     */
+    static class SavedCard {
+        private final int order;
+        private final List<String> row;
+
+        SavedCard(int order, List<String> row) {
+            this.order = order;
+            this.row = row;
+        }
+    }
+
+    /**
+     * The rows of the cards in the tables, by the titles of their decks and their questions, so a save can tell
+     * which rows to write without reading them back.
+     */
+    static class SavedCards {
+        private final Map<String, Map<String, SavedCard>> decks = new HashMap<>();
+
+        /**
+         * Returns the rows of the cards of the deck titled {@code title}, by their questions.
+         */
+        Map<String, SavedCard> get(String title) {
+            return decks.getOrDefault(title, Map.of());
+        }
+
+        void put(String title, Map<String, SavedCard> cards) {
+            decks.put(title, cards);
+        }
+
+        void put(String title, String question, SavedCard card) {
+            decks.computeIfAbsent(title, unused -> new HashMap<>()).put(question, card);
+        }
+
+        void remove(String title) {
+            decks.remove(title);
+        }
+
+        void clear() {
+            decks.clear();
+        }
+    }
+}
@@ -3,16 +3,18 @@ package cardibuddy.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import cardibuddy.commons.exceptions.DataConversionException;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.ReadOnlyUserPrefs;
 import cardibuddy.model.UserPrefs;
+import cardibuddy.model.flashcard.ImageStore;
 
 /**
  * API of the Storage component
  */
-public interface Storage extends CardiBuddyStorage, UserPrefsStorage {
+public interface Storage extends CardiBuddyStorage, UserPrefsStorage, ImageStore {
 
     @Override
     Optional<UserPrefs> readUserPrefs() throws DataConversionException, IOException;
@@ -29,4 +31,33 @@ public interface Storage extends CardiBuddyStorage, UserPrefsStorage {
     @Override
     void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException;
 
+    /**
+     * Appends the changes from the CardiBuddy data last logged to {@code cardiBuddy} to the write-ahead log
+     * on a background thread, so they are recovered if CardiBuddy stops before they are saved.
+     * {@code cardiBuddy} must not be modified afterwards.
+     *
+     * @return a future completed once the changes are logged, and forced to the disk if the fsync policy
+     *     asks for it, or completed exceptionally with the exception that stopped them.
+     */
+    CompletableFuture<Void> logCardiBuddy(ReadOnlyCardiBuddy cardiBuddy);
+
+    /**
+     * Tells the storage that {@code cardiBuddy} holds the same data as the last read returned, so the next
+     * log and save only work out what changed from it, by the versions of its decks.
+     * Does nothing if the last read returned no data, or data was saved or logged since.
+     * {@code cardiBuddy} must not be modified afterwards.
+     */
+    void markCardiBuddyRead(ReadOnlyCardiBuddy cardiBuddy) throws IOException;
+
+    /**
+     * Forces what was logged to the disk and closes the write-ahead log.
+     */
+    void closeCardiBuddyLog() throws IOException;
+
+    /**
+     * Closes the write-ahead log, then the storage of the data.
+     */
+    @Override
+    void close() throws IOException;
+
 }
@@ -3,6 +3,7 @@ package cardibuddy.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.LogsCenter;
@@ -10,21 +11,36 @@ import cardibuddy.commons.exceptions.DataConversionException;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.ReadOnlyUserPrefs;
 import cardibuddy.model.UserPrefs;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
 
 /**
  * Manages storage of CardiBuddy data in local storage.
+ * If it has a {@code WriteAheadLog}, the changes logged since the last save are applied when the data is read,
+ * and the log is emptied once a save has caught up with it.
  */
 public class StorageManager implements Storage {
 
     private static final Logger logger = LogsCenter.getLogger(cardibuddy.storage.StorageManager.class);
     private CardiBuddyStorage cardiBuddyStorage;
     private UserPrefsStorage userPrefsStorage;
+    private WriteAheadLog writeAheadLog;
+    private boolean isReadUnchanged; // nothing was saved or logged since the data was last read
 
 
     public StorageManager(CardiBuddyStorage cardiBuddyStorage, UserPrefsStorage userPrefsStorage) {
+        this(cardiBuddyStorage, userPrefsStorage, null);
+    }
+
+    /**
+     * Creates a {@code StorageManager} that logs changes to {@code writeAheadLog}, or does not log them
+     * if it is null.
+     */
+    public StorageManager(CardiBuddyStorage cardiBuddyStorage, UserPrefsStorage userPrefsStorage,
+                          WriteAheadLog writeAheadLog) {
         super();
         this.cardiBuddyStorage = cardiBuddyStorage;
         this.userPrefsStorage = userPrefsStorage;
+        this.writeAheadLog = writeAheadLog;
     }
 
     // ================ UserPrefs methods ==============================
@@ -60,7 +76,23 @@ public class StorageManager implements Storage {
     @Override
     public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) throws DataConversionException, IOException {
         logger.fine("Attempting to read data from file: " + filePath);
-        return cardiBuddyStorage.readCardiBuddy(filePath);
+        boolean isOwnFile = filePath.equals(cardiBuddyStorage.getCardiBuddyFilePath());
+        if (isOwnFile) {
+            isReadUnchanged = false;
+        }
+        Optional<ReadOnlyCardiBuddy> snapshot = cardiBuddyStorage.readCardiBuddy(filePath);
+        if (writeAheadLog == null || !isOwnFile) {
+            isReadUnchanged = isOwnFile && snapshot.isPresent();
+            return snapshot;
+        }
+
+        Optional<ReadOnlyCardiBuddy> recovered = writeAheadLog.recover(snapshot);
+        if (recovered.isPresent() && recovered != snapshot) {
+            // keeps the recovered changes even if CardiBuddy stops again before the next command
+            saveCardiBuddy(recovered.get(), filePath);
+        }
+        isReadUnchanged = recovered.isPresent();
+        return recovered;
     }
 
     @Override
@@ -71,7 +103,67 @@ public class StorageManager implements Storage {
     @Override
     public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) throws IOException {
         logger.fine("Attempting to write to data file: " + filePath);
+        if (!filePath.equals(cardiBuddyStorage.getCardiBuddyFilePath())) {
+            cardiBuddyStorage.saveCardiBuddy(cardiBuddy, filePath);
+            return;
+        }
+        isReadUnchanged = false;
         cardiBuddyStorage.saveCardiBuddy(cardiBuddy, filePath);
+        if (writeAheadLog != null) {
+            writeAheadLog.checkpoint(cardiBuddy);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> logCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) {
+        if (writeAheadLog == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        isReadUnchanged = false;
+        return writeAheadLog.appendInBackground(cardiBuddy);
+    }
+
+    @Override
+    public void markCardiBuddyRead(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        if (!isReadUnchanged) {
+            return;
+        }
+        isReadUnchanged = false;
+        cardiBuddyStorage.markSaved(cardiBuddy);
+        if (writeAheadLog != null) {
+            writeAheadLog.markLogged(cardiBuddy);
+        }
+    }
+
+    @Override
+    public void closeCardiBuddyLog() throws IOException {
+        if (writeAheadLog != null) {
+            writeAheadLog.close();
+        }
+    }
+
+    // ================ Image methods ==============================
+
+    /**
+     * Copies the image into the {@code ImageAssetStore} kept next to the data file.
+     */
+    @Override
+    public String storeImage(String imageUrl) throws IOException {
+        return ImageAssetStore.forDataFile(cardiBuddyStorage.getCardiBuddyFilePath()).add(imageUrl);
+    }
+
+    @Override
+    public String getThumbnailUrl(String imageUrl, ThumbnailSize size) {
+        return ImageAssetStore.getThumbnailUrl(imageUrl, size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            closeCardiBuddyLog();
+        } finally {
+            cardiBuddyStorage.close();
+        }
     }
 
 }
@@ -0,0 +1,423 @@
+package cardibuddy.storage;
+
+import static cardibuddy.commons.util.AppUtil.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import cardibuddy.commons.core.LogsCenter;
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.FsyncPolicy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Statistics;
+
+/**
+ * A log of the changes made by each command since the data file was last saved, kept next to the data file.
+ * Each command appends one line holding the decks and statistics it changed, in the same form as the records
+ * of a {@code JournalCardiBuddyStorage}, so a command can report success without waiting for the full save.
+ * Once a save has written everything logged, the log is emptied.
+ * Reading applies the log over the data file, so commands logged but not yet saved when CardiBuddy stopped
+ * are recovered; a last line cut short by a crash is ignored.
+ * When the appended lines are forced to the disk is decided by the {@code FsyncPolicy}.
+ * Lines can be appended on a background thread, so that neither converting the changes nor forcing them
+ * to the disk holds up the thread that made them.
+ */
+public class WriteAheadLog implements Closeable {
+
+    public static final String WAL_SUFFIX = ".wal";
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final Logger logger = LogsCenter.getLogger(WriteAheadLog.class);
+
+    private final Path walPath;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncDelayMillis;
+    private final LogFile.Opener opener;
+    private final JournalRecorder journalRecorder = new JournalRecorder();
+
+    private LogFile logFile;
+    private ReadOnlyCardiBuddy lastLogged;
+    private boolean hasUnforcedChanges;
+    private ScheduledExecutorService worker; // appends and forces the log in the background, in order
+    private ScheduledFuture<?> scheduledSync;
+
+    public WriteAheadLog(Path walPath, FsyncPolicy fsyncPolicy, long fsyncDelayMillis) {
+        this(walPath, fsyncPolicy, fsyncDelayMillis, ChannelLogFile::open);
+    }
+
+    /**
+     * Creates a {@code WriteAheadLog} at {@code walPath} that appends through the files {@code opener} opens.
+     */
+    WriteAheadLog(Path walPath, FsyncPolicy fsyncPolicy, long fsyncDelayMillis, LogFile.Opener opener) {
+        requireNonNull(walPath);
+        requireNonNull(fsyncPolicy);
+        requireNonNull(opener);
+        checkArgument(fsyncDelayMillis >= 0, "Fsync delay must not be negative.");
+        this.walPath = walPath;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncDelayMillis = fsyncDelayMillis;
+        this.opener = opener;
+    }
+
+    /**
+     * Returns the log kept next to the data file at {@code filePath}.
+     */
+    public static Path getWalPath(Path filePath) {
+        return Paths.get(filePath.toString() + WAL_SUFFIX);
+    }
+
+    public Path getWalPath() {
+        return walPath;
+    }
+
+    /**
+     * Returns the data of {@code snapshot}, the data file as last saved, with the changes in the log applied.
+     * Nothing is converted or loaded to remember the result; until {@link #markLogged(ReadOnlyCardiBuddy)}
+     * is called with data holding the same, the next command logs every deck.
+     *
+     * @return {@code snapshot} itself if the log holds no changes.
+     * @throws DataConversionException if a complete line of the log is not a valid record.
+     */
+    public synchronized Optional<ReadOnlyCardiBuddy> recover(Optional<ReadOnlyCardiBuddy> snapshot)
+            throws DataConversionException, IOException {
+        requireNonNull(snapshot);
+        List<JsonJournalRecord> records = new ArrayList<>();
+        JournalCardiBuddyStorage.replayJournal(walPath, records::add);
+
+        Optional<ReadOnlyCardiBuddy> recovered = snapshot;
+        if (!records.isEmpty()) {
+            logger.info("Recovering " + records.size() + " logged changes from " + walPath);
+            try {
+                recovered = Optional.of(replay(snapshot.orElseGet(CardiBuddy::new), records));
+            } catch (IllegalValueException ive) {
+                logger.info("Illegal values found in " + walPath + ": " + ive.getMessage());
+                throw new DataConversionException(ive);
+            }
+        }
+
+        if (recovered.isPresent()) {
+            lastLogged = recovered.get();
+        }
+        return recovered;
+    }
+
+    /**
+     * Remembers {@code cardiBuddy}, which must hold the same data as the data last recovered or logged,
+     * as the data last logged, so the next command only logs what it changed from it.
+     * Only the versions of its decks are remembered, so no deck is converted or loaded.
+     * {@code cardiBuddy} must not be modified afterwards.
+     */
+    public synchronized void markLogged(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        requireNonNull(cardiBuddy);
+        journalRecorder.markSaved(cardiBuddy);
+        lastLogged = cardiBuddy;
+    }
+
+    /**
+     * Appends the changes from the data last logged to {@code cardiBuddy}, and forces them to the disk
+     * before returning if the fsync policy is {@code EVERY_COMMAND}.
+     * {@code cardiBuddy} must not be modified afterwards.
+     */
+    public synchronized void append(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        requireNonNull(cardiBuddy);
+        JsonJournalRecord record = journalRecorder.recordChanges(cardiBuddy);
+        if (!record.isEmpty()) {
+            byte[] line = (JsonUtil.toJsonLine(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            try {
+                getLogFile().append(line);
+            } catch (IOException ioe) {
+                closeLogFile(); // the line may have been cut short, which is dropped when the log is opened again
+                throw ioe;
+            }
+            hasUnforcedChanges = true;
+        }
+        journalRecorder.commit();
+        lastLogged = cardiBuddy;
+        if (!hasUnforcedChanges) {
+            return;
+        }
+
+        switch (fsyncPolicy) {
+        case INTERVAL:
+            if (scheduledSync == null || scheduledSync.isDone()) {
+                scheduleSync();
+            }
+            break;
+        case IDLE:
+            if (scheduledSync != null) {
+                scheduledSync.cancel(false);
+            }
+            scheduleSync();
+            break;
+        case EVERY_COMMAND:
+        default:
+            sync();
+        }
+    }
+
+    /**
+     * Appends the changes from the data last logged to {@code cardiBuddy} as {@link #append(ReadOnlyCardiBuddy)}
+     * does, but on a background thread, after the changes appended before.
+     * {@code cardiBuddy} must not be modified afterwards.
+     *
+     * @return a future completed once the changes are appended, and forced to the disk if the fsync policy is
+     *     {@code EVERY_COMMAND}, or completed exceptionally with the exception that stopped them.
+     */
+    public synchronized CompletableFuture<Void> appendInBackground(ReadOnlyCardiBuddy cardiBuddy) {
+        requireNonNull(cardiBuddy);
+        CompletableFuture<Void> appended = new CompletableFuture<>();
+        getWorker().execute(() -> {
+            try {
+                append(cardiBuddy);
+                appended.complete(null);
+            } catch (IOException | RuntimeException e) {
+                appended.completeExceptionally(e);
+            }
+        });
+        return appended;
+    }
+
+    /**
+     * Forces the changes appended so far to the disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (hasUnforcedChanges && logFile != null) {
+            logFile.force();
+        }
+        hasUnforcedChanges = false;
+    }
+
+    /**
+     * Empties the log if {@code saved}, just written to the data file, is the data last logged,
+     * since the data file then holds all the logged changes.
+     * Otherwise changes were logged during the save, and the log is kept until a later save catches up;
+     * applying it again over a data file that already holds some of its changes gives the same data.
+     */
+    public synchronized void checkpoint(ReadOnlyCardiBuddy saved) throws IOException {
+        if (saved != lastLogged || (logFile == null && !Files.exists(walPath))) {
+            return;
+        }
+        LogFile file = getLogFile();
+        file.truncate(0);
+        file.force();
+        hasUnforcedChanges = false;
+    }
+
+    /**
+     * Appends the changes still waiting to be appended in the background, forces everything appended
+     * to the disk and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        ScheduledExecutorService toStop;
+        synchronized (this) {
+            if (scheduledSync != null) {
+                scheduledSync.cancel(false);
+            }
+            toStop = worker;
+        }
+        if (toStop != null) {
+            // not holding the lock, which the appends still waiting need
+            toStop.shutdown();
+            try {
+                toStop.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                sync();
+            } finally {
+                closeLogFile();
+            }
+        }
+    }
+
+    private LogFile getLogFile() throws IOException {
+        if (logFile == null) {
+            FileUtil.createParentDirsOfFile(walPath);
+            JournalCardiBuddyStorage.dropIncompleteTail(walPath);
+            logFile = opener.open(walPath);
+        }
+        return logFile;
+    }
+
+    private void closeLogFile() {
+        if (logFile == null) {
+            return;
+        }
+        try {
+            logFile.close();
+        } catch (IOException ioe) {
+            logger.warning("Could not close " + walPath + ": " + StringUtil.getDetails(ioe));
+        }
+        logFile = null;
+    }
+
+    private ScheduledExecutorService getWorker() {
+        if (worker == null || worker.isShutdown()) {
+            worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "wal-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return worker;
+    }
+
+    private void scheduleSync() {
+        if (worker != null && worker.isShutdown()) {
+            return; // being closed, which forces the log itself
+        }
+        scheduledSync = getWorker().schedule(this::syncInBackground, fsyncDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void syncInBackground() {
+        try {
+            sync();
+        } catch (IOException ioe) {
+            logger.warning("Could not force " + walPath + " to the disk: " + StringUtil.getDetails(ioe));
+        }
+    }
+
+    /**
+     * Returns the data of {@code snapshot} with {@code records} applied in order.
+     * Decks the records do not mention are kept as they are in {@code snapshot}, so decks whose cards
+     * are not loaded yet stay unloaded.
+     */
+    private static CardiBuddy replay(ReadOnlyCardiBuddy snapshot, List<JsonJournalRecord> records)
+            throws IllegalValueException {
+        Map<String, Deck> decks = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        for (Deck deck : snapshot.getDeckList()) {
+            decks.put(deck.getTitle().toString(), deck);
+            order.add(deck.getTitle().toString());
+        }
+        Map<String, JsonAdaptedDeck> put = new HashMap<>();
+        JsonAdaptedStatistic statistics = null;
+        for (JsonJournalRecord record : records) {
+            for (String title : record.getRemoved()) {
+                decks.remove(title);
+                put.remove(title);
+            }
+            record.getPut().forEach(deck -> put.put(deck.getTitle(), deck));
+            if (record.getOrder() != null) {
+                order = record.getOrder();
+            }
+            if (record.getStatistics() != null) {
+                statistics = record.getStatistics();
+            }
+        }
+        for (JsonAdaptedDeck deck : put.values()) {
+            decks.put(deck.getTitle(), deck.toModelType());
+        }
+
+        List<Deck> orderedDecks = new ArrayList<>();
+        for (String title : order) {
+            Deck deck = decks.get(title);
+            if (deck != null) {
+                orderedDecks.add(deck);
+            }
+        }
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        cardiBuddy.setDecks(orderedDecks);
+        Statistics recoveredStatistics = statistics != null ? statistics.toModeltype() : snapshot.getStatistics();
+        cardiBuddy.setStatistics(recoveredStatistics);
+        return cardiBuddy;
+    }
+
+    /**
+     * The file the log is appended to.
+     */
+    interface LogFile extends Closeable {
+
+        /**
+         * Opens the {@code LogFile} at a path, creating it if it does not exist.
+         */
+        @FunctionalInterface
+        interface Opener {
+            LogFile open(Path path) throws IOException;
+        }
+
+        /**
+         * Writes {@code bytes} at the end of the file. They may not be on the disk until {@link #force()}.
+         */
+        void append(byte[] bytes) throws IOException;
+
+        /**
+         * Forces everything written so far to the disk.
+         */
+        void force() throws IOException;
+
+        /**
+         * Cuts the file down to {@code size} bytes.
+         */
+        void truncate(long size) throws IOException;
+    }
+
+    /**
+     * A {@code LogFile} kept open as a {@code FileChannel}.
+     */
+    private static class ChannelLogFile implements LogFile {
+        private final FileChannel channel;
+
+        private ChannelLogFile(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private static LogFile open(Path path) throws IOException {
+            return new ChannelLogFile(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND));
+        }
+
+        @Override
+        public void append(byte[] bytes) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void force() throws IOException {
+            channel.force(false);
+        }
+
+        @Override
+        public void truncate(long size) throws IOException {
+            channel.truncate(size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
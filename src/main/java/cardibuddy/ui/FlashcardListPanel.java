@@ -1,5 +1,6 @@
 package cardibuddy.ui;
 
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.LogsCenter;
@@ -22,8 +23,15 @@ public class FlashcardListPanel extends UiPart<Region> {
     @FXML
     private ListView<Card> flashcardListView;
 
-    public FlashcardListPanel(ObservableList<Card> flashcardList) {
+    private Function<String, String> listImageUrlOf = Function.identity();
+
+    /**
+     * Creates a panel listing {@code flashcardList}. The image of each image card is shown from the URL
+     * {@code listImageUrlOf} returns for its path, e.g. that of its thumbnail.
+     */
+    public FlashcardListPanel(ObservableList<Card> flashcardList, Function<String, String> listImageUrlOf) {
         super(FXML);
+        this.listImageUrlOf = listImageUrlOf;
         flashcardListView.setItems(flashcardList);
         flashcardListView.setCellFactory(listView -> new FlashcardListViewCell());
     }
@@ -48,7 +56,8 @@ public class FlashcardListPanel extends UiPart<Region> {
                 setGraphic(card.getRoot());
             } else {
                 try {
-                    ImagecardCard card = new ImagecardCard(flashcard, getIndex() + 1);
+                    ImagecardCard card = new ImagecardCard(flashcard, getIndex() + 1,
+                            listImageUrlOf.apply(flashcard.getPath()));
                     setGraphic(card.getRoot());
                 } catch (IllegalArgumentException exception) {
                     Flashcard newCard = new Flashcard(flashcard.getDeck(), flashcard.getQuestion(),
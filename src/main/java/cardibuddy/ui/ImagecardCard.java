@@ -1,6 +1,7 @@
 package cardibuddy.ui;
 
 import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
 import cardibuddy.model.flashcard.Imagecard;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -42,15 +43,19 @@ public class ImagecardCard extends CardUi {
     @FXML
     private FlowPane tags;
 
-    public ImagecardCard(Card card, int displayedIndex) {
+    /**
+     * Creates a card showing {@code card}, with its image shown from {@code imageUrl}, e.g. its thumbnail.
+     */
+    public ImagecardCard(Card card, int displayedIndex, String imageUrl) {
         super(FXML);
         Imagecard flashcard = new Imagecard(card.getDeck(), card.getQuestion(), card.getAnswer(), card.getPath());
         this.flashcard = flashcard;
         id.setText(displayedIndex + ". ");
         question.setText(flashcard.getQuestion().toString());
         question.setWrapText(true);
-        imageView.setImage(new Image(card.getPath()));
-        imageView.setFitWidth(360);
+        int width = ThumbnailSize.LIST.getWidth();
+        imageView.setImage(new Image(imageUrl, width, 0, true, true, true));
+        imageView.setFitWidth(width);
         imageView.setPreserveRatio(true);
         answer.setText(flashcard.getAnswer().toString());
     }
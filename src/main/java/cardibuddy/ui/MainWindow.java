@@ -1,6 +1,7 @@
 package cardibuddy.ui;
 
 import java.io.File;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
 import cardibuddy.commons.core.GuiSettings;
@@ -11,15 +12,19 @@ import cardibuddy.logic.commands.exceptions.CommandException;
 import cardibuddy.logic.parser.exceptions.ParseException;
 import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.exceptions.DeckCannotBeCardException;
+import cardibuddy.model.deck.exceptions.DeckNotLoadedException;
+import cardibuddy.model.deck.exceptions.HistoryNotLoadedException;
 import cardibuddy.model.deck.exceptions.InvalidDeckException;
 import cardibuddy.model.deck.exceptions.NotInDeckException;
 import cardibuddy.model.deck.exceptions.WrongDeckException;
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
 import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.flashcard.exceptions.InvalidFlashcardException;
 import cardibuddy.model.flashcard.exceptions.WrongMcqAnswerTypeException;
 import cardibuddy.model.flashcard.exceptions.WrongTfAnswerTypeException;
 import cardibuddy.model.testsession.AnswerType;
 import cardibuddy.model.testsession.TestResult;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
@@ -39,6 +44,7 @@ import javafx.stage.Stage;
 public class MainWindow extends UiPart<Stage> {
 
     private static final String FXML = "MainWindow.fxml";
+    private static final String SAVING_MESSAGE = "Saving...";
 
     private final Logger logger = LogsCenter.getLogger(getClass());
 
@@ -93,6 +99,8 @@ public class MainWindow extends UiPart<Stage> {
         setAccelerators();
 
         helpWindow = new HelpWindow();
+
+        logic.setSaveErrorHandler(message -> Platform.runLater(() -> setText(message)));
     }
 
     public void setCommandBox() {
@@ -171,7 +179,7 @@ public class MainWindow extends UiPart<Stage> {
     public void fillInnerPartsWithCards(int deckIndex) {
         flashcardListPanel = new FlashcardListPanel(logic.getFilteredDeckList()
                 .get(deckIndex)
-                .getFlashcardList());
+                .getFlashcardList(), this::getListImageUrl);
         flashcardListPanelPlaceholder.getChildren().addAll(flashcardListPanel.getRoot());
     }
 
@@ -181,15 +189,19 @@ public class MainWindow extends UiPart<Stage> {
      * @param deck currently opened deck.
      */
     public void updateCards(Deck deck) {
-        flashcardListPanel = new FlashcardListPanel(deck.getFilteredFlashcardList());
+        flashcardListPanel = new FlashcardListPanel(deck.getFilteredFlashcardList(), this::getListImageUrl);
         flashcardListPanelPlaceholder.getChildren().add(flashcardListPanel.getRoot());
     }
 
+    private String getListImageUrl(String imagePath) {
+        return logic.getThumbnailUrl(imagePath, ThumbnailSize.LIST);
+    }
+
     /**
      * Removes the flashcards in the Main Window.
      */
     public void removeFlashcards() {
-        flashcardListPanel = new FlashcardListPanel(null);
+        flashcardListPanel = new FlashcardListPanel(null, this::getListImageUrl);
         flashcardListPanelPlaceholder.getChildren().add(flashcardListPanel.getRoot());
     }
 
@@ -248,7 +260,8 @@ public class MainWindow extends UiPart<Stage> {
     public void fillInnerPartsWithQuestionAndImage(Question question, AnswerType answerType, String path) {
         clearDeckListPanel();
         clearFlashcardListPanel();
-        QuestionTestCardWithImage questionTestCardWithImage = new QuestionTestCardWithImage(question, answerType, path);
+        QuestionTestCardWithImage questionTestCardWithImage = new QuestionTestCardWithImage(question, answerType,
+                logic.getThumbnailUrl(path, ThumbnailSize.TEST));
         deckListPanelPlaceholder.getChildren().add(questionTestCardWithImage.getRoot());
     }
 
@@ -382,6 +395,25 @@ public class MainWindow extends UiPart<Stage> {
         return deckListPanel;
     }
 
+    /**
+     * Shows {@code feedback} once the changes of the last command are logged, or why they could not be.
+     * The changes are logged on a background thread, so this thread is not held up waiting for the disk.
+     * The feedback is dropped if another command ran, or anything else was shown, in the meantime.
+     */
+    private void showOnceLogged(String feedback) {
+        CompletableFuture<Void> logged = logic.getLastCommandLogged();
+        if (logged.isDone() && !logged.isCompletedExceptionally()) {
+            resultDisplay.setFeedbackToUser(feedback);
+            return;
+        }
+        resultDisplay.setFeedbackToUser(SAVING_MESSAGE);
+        logged.whenComplete((unused, failure) -> Platform.runLater(() -> {
+            if (logged == logic.getLastCommandLogged() && SAVING_MESSAGE.equals(resultDisplay.getFeedbackToUser())) {
+                resultDisplay.setFeedbackToUser(failure == null ? feedback : failure.getMessage());
+            }
+        }));
+    }
+
     /**
      * Executes the command and returns the result.
      *
@@ -391,7 +423,7 @@ public class MainWindow extends UiPart<Stage> {
         try {
             CommandResult commandResult = logic.execute(commandText);
             logger.info("Result: " + commandResult.getFeedbackToUser());
-            resultDisplay.setFeedbackToUser(commandResult.getFeedbackToUser());
+            showOnceLogged(commandResult.getFeedbackToUser());
 
             if (commandResult.isShowHelp()) {
                 handleHelp();
@@ -418,8 +450,9 @@ public class MainWindow extends UiPart<Stage> {
             resultDisplay.setFeedbackToUser("There needs to be three options for MCQ! Please type in capital letters as"
                     + " well. E.g. A)... B)... C)...");
             throw e;
-        } catch (CommandException | ParseException | DeckCannotBeCardException | InvalidDeckException
-                | InvalidFlashcardException | NotInDeckException | WrongDeckException e) {
+        } catch (CommandException | ParseException | DeckCannotBeCardException | DeckNotLoadedException
+                | HistoryNotLoadedException | InvalidDeckException | InvalidFlashcardException | NotInDeckException
+                | WrongDeckException e) {
             logger.info("Invalid command: " + commandText);
             resultDisplay.setFeedbackToUser(e.getMessage());
             throw e;
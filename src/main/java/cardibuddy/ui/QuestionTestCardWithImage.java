@@ -1,5 +1,6 @@
 package cardibuddy.ui;
 
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
 import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.testsession.AnswerType;
 import javafx.fxml.FXML;
@@ -31,13 +32,17 @@ public class QuestionTestCardWithImage extends UiPart<Region> {
     @FXML
     private ImageView imageView;
 
-    public QuestionTestCardWithImage(Question question, AnswerType answerType, String path) {
+    /**
+     * Creates a card showing {@code question}, with the image at {@code imageUrl}, e.g. its thumbnail.
+     */
+    public QuestionTestCardWithImage(Question question, AnswerType answerType, String imageUrl) {
         super(FXML);
         content.setText("Question:" + "\n" + question.toString() + "\n\n");
         answerHint.setText(answerType.toString());
-        imageView.setImage(new Image(path));
+        int width = ThumbnailSize.TEST.getWidth();
+        imageView.setImage(new Image(imageUrl, width, 0, true, true));
         imageView.setCache(true);
-        imageView.setFitWidth(400);
+        imageView.setFitWidth(width);
         imageView.setPreserveRatio(true);
     }
 
@@ -0,0 +1,46 @@
+package cardibuddy.benchmark;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Helpers shared by the micro-benchmarks in this package.
+ * Benchmarks are plain {@code main} programs run through the {@code benchmark} Gradle task, not JUnit tests.
+ */
+public class Benchmark {
+
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private Benchmark() {} // prevents instantiation
+
+    /**
+     * Runs {@code task} a few times to warm up, then returns the best wall-clock time of the measured runs,
+     * in milliseconds.
+     */
+    public static double timeMillis(Callable<?> task) throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            task.call();
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            task.call();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1_000_000.0;
+    }
+
+    /**
+     * Prints one formatted result row.
+     */
+    public static void report(String name, int size, double millis) {
+        System.out.println(String.format("%-45s n=%-8d %12.3f ms", name, size, millis));
+    }
+
+    /**
+     * Prints a row for a measurement that was skipped because it would take too long.
+     */
+    public static void reportSkipped(String name, int size) {
+        System.out.println(String.format("%-45s n=%-8d %15s", name, size, "skipped"));
+    }
+}
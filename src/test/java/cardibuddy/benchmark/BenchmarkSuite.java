@@ -0,0 +1,18 @@
+package cardibuddy.benchmark;
+
+/**
+ * Runs every benchmark in this package.
+ * Use {@code ./gradlew benchmark} to run the whole suite, or
+ * {@code ./gradlew benchmark -PbenchmarkClass=cardibuddy.benchmark.<Name>} to run a single benchmark.
+ */
+public class BenchmarkSuite {
+
+    public static void main(String[] args) throws Exception {
+        UniqueFlashcardListBenchmark.main(args);
+        UndoEngineBenchmark.main(args);
+        DeckConversionBenchmark.main(args);
+        CompressionBenchmark.main(args);
+        CardSearchBenchmark.main(args);
+        SearchPredicateBenchmark.main(args);
+    }
+}
@@ -0,0 +1,74 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.SearchCardKeywordsPredicate;
+import cardibuddy.model.flashcard.ShortAnswer;
+
+/**
+ * Compares searching the cards of a deck through its keyword index against testing every card.
+ */
+public class CardSearchBenchmark {
+
+    private static final int[] SIZES = {1_000, 20_000, 100_000};
+    private static final List<List<String>> SEARCHES = Arrays.asList(
+            Arrays.asList("java"),
+            Arrays.asList("binary", "&", "tree", "stack"),
+            Arrays.asList("what", "&", "is", "&", "polymorphism"));
+    private static final String[] WORDS = {"what", "is", "the", "time", "complexity", "of", "a", "binary", "search",
+        "tree", "define", "polymorphism", "in", "java", "stack", "queue", "heap", "explain", "thread", "class"};
+
+    /**
+     * Prints the timings of each search for each deck size in {@code SIZES}.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== Card search ==");
+        for (int size : SIZES) {
+            Deck deck = generateDeck(size);
+            for (List<String> keywords : SEARCHES) {
+                String name = String.join(" ", keywords);
+                report("search '" + name + "' (scan)", size, timeMillis(() -> {
+                    SearchCardKeywordsPredicate predicate = new SearchCardKeywordsPredicate(keywords);
+                    return deck.getFlashcards().stream().filter(predicate).count();
+                }));
+                // a new predicate each run, so the index does not return the matches of the run before
+                report("search '" + name + "' (indexed)", size, timeMillis(() -> {
+                    SearchCardKeywordsPredicate predicate = new SearchCardKeywordsPredicate(keywords);
+                    return deck.searchFlashcards(predicate.getQuery()).size();
+                }));
+            }
+        }
+    }
+
+    /**
+     * Returns a deck of {@code size} cards whose questions are made of words from a small vocabulary.
+     * The deck has been searched once, so its keyword index is built.
+     */
+    private static Deck generateDeck(int size) {
+        Random random = new Random(size);
+        Deck deck = new Deck(new Title("Benchmark"), new HashSet<>());
+        for (int i = 0; i < size; i++) {
+            StringBuilder question = new StringBuilder();
+            for (int j = 0; j < 8; j++) {
+                question.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            Card card = new Flashcard(deck, new Question(question.append(i).append('?').toString()),
+                    new ShortAnswer("Answer " + i), "");
+            deck.addCard(card);
+        }
+        deck.searchFlashcards(KeywordQuery.compile(List.of()));
+        return deck;
+    }
+}
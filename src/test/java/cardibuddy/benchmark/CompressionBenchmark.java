@@ -0,0 +1,106 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.McqAnswer;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+import cardibuddy.model.flashcard.TfAnswer;
+import cardibuddy.storage.CardiBuddyStorage;
+import cardibuddy.storage.GzipJsonCardiBuddyStorage;
+import cardibuddy.storage.JsonCardiBuddyStorage;
+
+/**
+ * Compares the size of the data file and the time to save and load it
+ * between plain json and gzip-compressed json at a few compression levels.
+ */
+public class CompressionBenchmark {
+
+    private static final int[][] LIBRARIES = {{10, 100}, {100, 200}, {200, 500}}; // decks, cards per deck
+    private static final int[] LEVELS = {1, 6, 9};
+    private static final String[] WORDS = {"what", "is", "the", "time", "complexity", "of", "a", "binary", "search",
+        "tree", "lookup", "define", "polymorphism", "in", "java", "which", "sorting", "algorithm", "stable",
+        "explain", "difference", "between", "process", "thread", "how", "does", "garbage", "collection", "work",
+        "when", "should", "you", "use", "an", "interface", "abstract", "class", "name", "three", "layers"};
+
+    /**
+     * Prints the size ratio and the save and load timings for each synthetic library.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== Compressed storage ==");
+        Path folder = Files.createTempDirectory("compression-benchmark");
+        for (int[] library : LIBRARIES) {
+            CardiBuddy cardiBuddy = generateLibrary(library[0], library[1]);
+            int cards = library[0] * library[1];
+
+            Path jsonPath = folder.resolve(cards + ".json");
+            long jsonSize = measure("json", new JsonCardiBuddyStorage(jsonPath), cardiBuddy, jsonPath, cards);
+            for (int level : LEVELS) {
+                Path gzipPath = folder.resolve(cards + "-" + level + GzipJsonCardiBuddyStorage.FILE_EXTENSION);
+                long gzipSize = measure("gzip level " + level, new GzipJsonCardiBuddyStorage(gzipPath, level),
+                        cardiBuddy, gzipPath, cards);
+                System.out.println(String.format("%-45s n=%-8d %12.2f %%", "gzip level " + level + " size of json",
+                        cards, 100.0 * gzipSize / jsonSize));
+            }
+        }
+    }
+
+    /**
+     * Reports the time {@code storage} takes to save and load {@code cardiBuddy}, and returns the size of the file.
+     */
+    private static long measure(String name, CardiBuddyStorage storage, CardiBuddy cardiBuddy, Path filePath,
+                                int cards) throws Exception {
+        report(name + " save", cards, timeMillis(() -> {
+            storage.saveCardiBuddy(cardiBuddy);
+            return null;
+        }));
+        report(name + " load", cards, timeMillis(storage::readCardiBuddy));
+        return Files.size(filePath);
+    }
+
+    /**
+     * Returns a library of made-up cards of every answer type, with questions and answers drawn from
+     * a small vocabulary, the way course notes repeat the same terms.
+     */
+    private static CardiBuddy generateLibrary(int decks, int cardsPerDeck) throws Exception {
+        Random random = new Random(decks * cardsPerDeck);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        for (int i = 0; i < decks; i++) {
+            Deck deck = new Deck(new Title("Deck " + i), new HashSet<>());
+            for (int j = 0; j < cardsPerDeck; j++) {
+                Question question = new Question(sentence(random, 8) + " " + j + "?");
+                switch (j % 3) {
+                case 0:
+                    deck.addCard(new Flashcard(deck, question, new ShortAnswer(sentence(random, 12)), ""));
+                    break;
+                case 1:
+                    deck.addCard(new Flashcard(deck, question, new McqAnswer("A) " + sentence(random, 3)
+                            + " B) " + sentence(random, 3) + " C) " + sentence(random, 3)), ""));
+                    break;
+                default:
+                    deck.addCard(new Flashcard(deck, question, new TfAnswer(random.nextBoolean() ? "T" : "F"), ""));
+                }
+            }
+            cardiBuddy.addDeck(deck);
+        }
+        return cardiBuddy;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+}
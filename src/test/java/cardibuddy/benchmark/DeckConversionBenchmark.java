@@ -0,0 +1,67 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.McqAnswer;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+import cardibuddy.storage.JsonAdaptedDeck;
+import cardibuddy.storage.ParallelDeckConverter;
+
+/**
+ * Measures how converting decks read from storage into the model scales with the number of threads.
+ */
+public class DeckConversionBenchmark {
+
+    private static final int DECKS = 200;
+    private static final int CARDS_PER_DECK = 500;
+
+    /**
+     * Prints the timings for each parallelism up to the number of cores.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== Deck conversion ==");
+        List<JsonAdaptedDeck> decks = generateDecks();
+        int cores = Math.min(ParallelDeckConverter.MAX_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        for (int parallelism = 1; parallelism <= cores; parallelism *= 2) {
+            ParallelDeckConverter converter = new ParallelDeckConverter(parallelism);
+            report("convert " + DECKS + " decks, " + parallelism + " threads", DECKS * CARDS_PER_DECK,
+                    timeMillis(() -> {
+                        CardiBuddy cardiBuddy = new CardiBuddy();
+                        try (ParallelDeckConverter.Conversion conversion = converter.into(cardiBuddy)) {
+                            for (JsonAdaptedDeck deck : decks) {
+                                conversion.add(deck);
+                            }
+                            conversion.finish();
+                        }
+                        return cardiBuddy;
+                    }));
+            converter.shutdown();
+        }
+    }
+
+    /**
+     * Returns decks with a mix of short answer and MCQ cards, in their Json-friendly form.
+     */
+    private static List<JsonAdaptedDeck> generateDecks() throws Exception {
+        List<JsonAdaptedDeck> decks = new ArrayList<>(DECKS);
+        for (int i = 0; i < DECKS; i++) {
+            Deck deck = new Deck(new Title("Deck " + i), new HashSet<>());
+            for (int j = 0; j < CARDS_PER_DECK; j++) {
+                deck.addCard(new Flashcard(deck, new Question("Question " + j),
+                        j % 2 == 0 ? new ShortAnswer("Answer " + j) : new McqAnswer("A) yes B) no C) maybe"), ""));
+            }
+            decks.add(new JsonAdaptedDeck(deck));
+        }
+        return decks;
+    }
+}
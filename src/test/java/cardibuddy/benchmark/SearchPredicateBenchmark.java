@@ -0,0 +1,159 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import cardibuddy.commons.util.StringUtil;
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.FilterDeckKeywordsPredicate;
+import cardibuddy.model.deck.SearchDeckKeywordsPredicate;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.SearchCardKeywordsPredicate;
+import cardibuddy.model.flashcard.ShortAnswer;
+import cardibuddy.model.tag.Tag;
+
+/**
+ * Compares the throughput of the search and filter predicates testing every item, before and after
+ * their keywords were compiled into a {@link KeywordQuery} once when the command is parsed.
+ * The "before" predicates group the keywords again, and split the text of the item, on every test.
+ */
+public class SearchPredicateBenchmark {
+
+    private static final int[] SIZES = {1_000, 20_000, 100_000};
+    private static final List<List<String>> SEARCHES = Arrays.asList(
+            Arrays.asList("java"),
+            Arrays.asList("binary", "&", "tree", "stack"),
+            Arrays.asList("what", "&", "is", "&", "polymorphism"));
+    private static final String[] WORDS = {"what", "is", "the", "time", "complexity", "of", "a", "binary", "search",
+        "tree", "define", "polymorphism", "in", "java", "stack", "queue", "heap", "explain", "thread", "class"};
+
+    /**
+     * Prints the time to test every card, deck title and deck tags once, for each search and size in {@code SIZES}.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== Search predicates ==");
+        for (int size : SIZES) {
+            Random random = new Random(size);
+            List<Card> cards = generateCards(random, size);
+            List<Deck> decks = generateDecks(random, size);
+            for (List<String> keywords : SEARCHES) {
+                String name = String.join(" ", keywords);
+                KeywordQuery query = KeywordQuery.compile(keywords);
+
+                report("card '" + name + "' (before)", size,
+                        count(cards, card -> searchCardBefore(card, keywords)));
+                report("card '" + name + "' (compiled)", size,
+                        count(cards, new SearchCardKeywordsPredicate(query)));
+                report("title '" + name + "' (before)", size,
+                        count(decks, deck -> searchDeckBefore(deck, keywords)));
+                report("title '" + name + "' (compiled)", size,
+                        count(decks, new SearchDeckKeywordsPredicate(query)));
+                report("tags '" + name + "' (before)", size,
+                        count(decks, deck -> filterDeckBefore(deck, keywords)));
+                report("tags '" + name + "' (compiled)", size,
+                        count(decks, new FilterDeckKeywordsPredicate(query)));
+            }
+        }
+    }
+
+    private static <T> double count(List<T> items, Predicate<T> predicate) throws Exception {
+        return timeMillis(() -> items.stream().filter(predicate).count());
+    }
+
+    private static List<Card> generateCards(Random random, int size) {
+        Deck deck = new Deck(new Title("Benchmark"), new HashSet<>());
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(new Flashcard(deck, new Question(sentence(random, 8) + " " + i + "?"),
+                    new ShortAnswer("Answer " + i), ""));
+        }
+        return cards;
+    }
+
+    private static List<Deck> generateDecks(Random random, int size) {
+        List<Deck> decks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Set<Tag> tags = new HashSet<>();
+            for (int j = 0; j < 3; j++) {
+                tags.add(new Tag(WORDS[random.nextInt(WORDS.length)]));
+            }
+            decks.add(new Deck(new Title(sentence(random, 4) + " " + i), tags));
+        }
+        return decks;
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < words; i++) {
+            sentence.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sentence.toString();
+    }
+
+    //// the predicates as they were before, checking for & and grouping the keywords on every test
+
+    private static boolean searchCardBefore(Card card, List<String> keywords) {
+        String question = card.getQuestion().toString();
+        if (question.charAt(question.length() - 1) == '?' || question.charAt(question.length() - 1) == '.') {
+            question = question.substring(0, question.length() - 1);
+        }
+        String filteredQuestion = question;
+        if (!keywords.contains("&")) {
+            return new ArrayList<>(keywords).stream()
+                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(filteredQuestion, keyword));
+        }
+        return anyGroupMatches(keywords, keyword -> Arrays.stream(filteredQuestion.split(" "))
+                .anyMatch(word -> StringUtil.containsWordIgnoreCase(word, keyword)));
+    }
+
+    private static boolean searchDeckBefore(Deck deck, List<String> keywords) {
+        String title = deck.getTitle().toString();
+        if (!keywords.contains("&")) {
+            return new ArrayList<>(keywords).stream()
+                    .anyMatch(keyword -> StringUtil.containsWordIgnoreCase(title, keyword));
+        }
+        return anyGroupMatches(keywords, keyword -> Arrays.stream(title.split(" "))
+                .anyMatch(word -> StringUtil.containsWordIgnoreCase(word, keyword)));
+    }
+
+    private static boolean filterDeckBefore(Deck deck, List<String> keywords) {
+        return anyGroupMatches(keywords, keyword -> new ArrayList<>(deck.getTags()).stream()
+                .anyMatch(tag -> StringUtil.containsWordIgnoreCase(tag.toString(), "[" + keyword + "]")));
+    }
+
+    private static boolean anyGroupMatches(List<String> keywords, Predicate<String> isInItem) {
+        for (List<String> group : groupKeywords(keywords)) {
+            if (group.stream().allMatch(isInItem)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<List<String>> groupKeywords(List<String> keywords) {
+        List<List<String>> groups = new ArrayList<>();
+        for (int i = 0; i < keywords.size(); i++) {
+            if (keywords.get(i).equals("&")) {
+                groups.get(groups.size() - 1).add(keywords.get(i + 1));
+                i++;
+            } else {
+                List<String> group = new ArrayList<>();
+                group.add(keywords.get(i));
+                groups.add(group);
+            }
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,66 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.util.HashSet;
+
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.Deltas;
+import cardibuddy.model.ModelManager;
+import cardibuddy.model.UndoMode;
+import cardibuddy.model.UserPrefs;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+
+/**
+ * Compares the snapshot undo history against the operation log on a command that deletes a card from a large deck.
+ */
+public class UndoEngineBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int EDITS = 100;
+
+    /**
+     * Prints the timings for each deck size in {@code SIZES}.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== Undo engines ==");
+        for (int size : SIZES) {
+            for (UndoMode undoMode : UndoMode.values()) {
+                Deck deck = generateDeck(size);
+                CardiBuddy cardiBuddy = new CardiBuddy();
+                cardiBuddy.addDeck(deck);
+                UserPrefs userPrefs = new UserPrefs();
+                userPrefs.setUndoMode(undoMode);
+                userPrefs.setUndoHeapBudget(Long.MAX_VALUE);
+                ModelManager model = new ModelManager(cardiBuddy, userPrefs);
+
+                report(EDITS + "x delete/commit/undo (" + undoMode + ")", size, timeMillis(() -> {
+                    for (int i = 0; i < EDITS; i++) {
+                        Card card = deck.getFlashcards().get(i);
+                        deck.deleteCard(card);
+                        model.commitCardiBuddy(Deltas.removeCard(deck, i, card));
+                        model.undo();
+                    }
+                    return model;
+                }));
+            }
+        }
+    }
+
+    /**
+     * Returns a deck of {@code size} flashcards with distinct questions.
+     */
+    private static Deck generateDeck(int size) {
+        Deck deck = new Deck(new Title("Benchmark"), new HashSet<>());
+        for (int i = 0; i < size; i++) {
+            deck.addCard(new Flashcard(deck, new Question("Question " + i), new ShortAnswer("Answer " + i), ""));
+        }
+        return deck;
+    }
+}
@@ -0,0 +1,80 @@
+package cardibuddy.benchmark;
+
+import static cardibuddy.benchmark.Benchmark.report;
+import static cardibuddy.benchmark.Benchmark.reportSkipped;
+import static cardibuddy.benchmark.Benchmark.timeMillis;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+import cardibuddy.model.flashcard.UniqueFlashcardList;
+
+/**
+ * Compares the question-indexed {@code UniqueFlashcardList} against the linear scans it replaced.
+ */
+public class UniqueFlashcardListBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int LOOKUPS = 1_000;
+    private static final int MAX_QUADRATIC_SIZE = 10_000;
+
+    /**
+     * Prints the timings for each library size in {@code SIZES}.
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("== UniqueFlashcardList ==");
+        for (int size : SIZES) {
+            List<Card> cards = generateCards(size);
+            List<Card> probes = cards.subList(cards.size() - Math.min(LOOKUPS, size), cards.size());
+            UniqueFlashcardList list = new UniqueFlashcardList();
+
+            report("setFlashcards (indexed)", size, timeMillis(() -> {
+                list.setFlashcards(cards);
+                return list;
+            }));
+            if (size <= MAX_QUADRATIC_SIZE) {
+                report("setFlashcards (pairwise scan)", size, timeMillis(() -> pairwiseUnique(cards)));
+            } else {
+                reportSkipped("setFlashcards (pairwise scan)", size);
+            }
+
+            report(LOOKUPS + "x contains (indexed)", size, timeMillis(() -> probes.stream()
+                    .filter(list::contains).count()));
+            report(LOOKUPS + "x contains (stream scan)", size, timeMillis(() -> probes.stream()
+                    .filter(probe -> cards.stream().anyMatch(probe::isSameFlashcard)).count()));
+        }
+    }
+
+    /**
+     * Returns {@code size} flashcards with distinct questions.
+     */
+    private static List<Card> generateCards(int size) {
+        Deck deck = new Deck(new Title("Benchmark"), new HashSet<>());
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cards.add(new Flashcard(deck, new Question("Question " + i), new ShortAnswer("Answer " + i), ""));
+        }
+        return cards;
+    }
+
+    /**
+     * The uniqueness check used by {@code UniqueFlashcardList} before it was indexed.
+     */
+    private static boolean pairwiseUnique(List<Card> cards) {
+        for (int i = 0; i < cards.size() - 1; i++) {
+            for (int j = i + 1; j < cards.size(); j++) {
+                if (cards.get(i).isSameFlashcard(cards.get(j))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -1,13 +1,23 @@
 package cardibuddy.commons.util;
 
 import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class FileUtilTest {
 
+    @TempDir
+    public Path testFolder;
+
     @Test
     public void isValidPath() {
         // valid path
@@ -20,4 +30,25 @@ public class FileUtilTest {
         assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void writeAtomically_newFileInMissingDirectory_writesContent() throws Exception {
+        Path file = testFolder.resolve("missing").resolve("file.txt");
+        FileUtil.writeAtomically(file, out -> out.write("content".getBytes(StandardCharsets.UTF_8)));
+        assertEquals("content", FileUtil.readFromFile(file));
+        assertEquals(1, Files.list(file.getParent()).count());
+    }
+
+    @Test
+    public void writeAtomically_writerFails_keepsOldContent() throws Exception {
+        Path file = testFolder.resolve("file.txt");
+        FileUtil.writeToFile(file, "old content");
+
+        assertThrows(IOException.class, () -> FileUtil.writeAtomically(file, out -> {
+            out.write("half of the new".getBytes(StandardCharsets.UTF_8));
+            throw new IOException("disk full");
+        }));
+        assertEquals("old content", FileUtil.readFromFile(file));
+        assertEquals(1, Files.list(testFolder).count());
+    }
+
 }
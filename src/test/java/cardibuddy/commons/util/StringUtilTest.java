@@ -1,6 +1,7 @@
 package cardibuddy.commons.util;
 
 import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -123,6 +124,28 @@ public class StringUtilTest {
         assertTrue(StringUtil.containsWordIgnoreCase("AAA bBb ccc  bbb", "bbB"));
     }
 
+    //---------------- Tests for foldCase --------------------------------------
+
+    @Test
+    public void foldCase_nullWord_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> StringUtil.foldCase(null));
+    }
+
+    @Test
+    public void foldCase() {
+        assertEquals("abc@1", StringUtil.foldCase("aBC@1"));
+        assertEquals(StringUtil.foldCase("stra\u00dfe"), StringUtil.foldCase("STRA\u00dfE"));
+
+        // folded forms are equal exactly when the words are equal ignoring case
+        String[] words = {"java", "JAVA", "Java?", "\u0130", "i", "I", "\u0131", "\u00df", "\u03c3", "\u03c2", ""};
+        for (String first : words) {
+            for (String second : words) {
+                assertEquals(first.equalsIgnoreCase(second),
+                        StringUtil.foldCase(first).equals(StringUtil.foldCase(second)));
+            }
+        }
+    }
+
     //---------------- Tests for getDetails --------------------------------------
 
     /*
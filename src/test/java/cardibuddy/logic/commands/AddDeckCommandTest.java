@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import cardibuddy.commons.core.GuiSettings;
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.Delta;
 import cardibuddy.model.Model;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 import cardibuddy.model.ReadOnlyUserPrefs;
@@ -20,6 +21,7 @@ import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.Statistics;
 import cardibuddy.model.flashcard.Card;
 import cardibuddy.model.flashcard.CardType;
+import cardibuddy.model.flashcard.ImageStore;
 import cardibuddy.model.flashcard.Question;
 import cardibuddy.model.testsession.AnswerType;
 import cardibuddy.model.testsession.TestResult;
@@ -87,6 +89,16 @@ public class AddDeckCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public void setImageStore(ImageStore imageStore) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public String storeImage(String imageUrl) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public void setCardiBuddyFilePath(Path cardiBuddyFilePath) {
             throw new AssertionError("This method should not be called.");
@@ -238,7 +250,7 @@ public class AddDeckCommandTest {
         }
 
         @Override
-        public void commitCardiBuddy() {
+        public void commitCardiBuddy(Delta delta) {
             throw new AssertionError("This method should not be called.");
         }
 
@@ -246,6 +258,26 @@ public class AddDeckCommandTest {
         public Statistics getStatistics() {
             throw new AssertionError("This method should not be called.");
         }
+
+        @Override
+        public boolean hasUnsavedChanges() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public boolean isDeckModified(Deck deck) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void markSaved() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public ReadOnlyCardiBuddy getDetachedCardiBuddy() {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
     /**
@@ -285,13 +317,15 @@ public class AddDeckCommandTest {
         }
 
         @Override
-        public void commitCardiBuddy() {
+        public void commitCardiBuddy(Delta delta) {
             // called by {@code AddCommand#execute()}
         }
 
         @Override
         public ReadOnlyCardiBuddy getCardiBuddy() {
-            return new CardiBuddy();
+            CardiBuddy cardiBuddy = new CardiBuddy();
+            cardiBuddy.setDecks(decksAdded);
+            return cardiBuddy;
         }
     }
 
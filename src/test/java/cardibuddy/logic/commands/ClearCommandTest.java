@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 
 import cardibuddy.logic.CommandHistory;
 import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.Deltas;
 import cardibuddy.model.Model;
 import cardibuddy.model.ModelManager;
 import cardibuddy.model.UserPrefs;
@@ -19,7 +20,7 @@ public class ClearCommandTest {
     public void execute_emptyAddressBook_success() {
         Model model = new ModelManager();
         Model expectedModel = new ModelManager();
-        expectedModel.commitCardiBuddy();
+        expectedModel.commitCardiBuddy(Deltas.resetData(new CardiBuddy(), new CardiBuddy()));
 
         assertCommandSuccess(new ClearCommand(), model, ClearCommand.MESSAGE_SUCCESS, expectedModel, commandHistory);
     }
@@ -29,7 +30,7 @@ public class ClearCommandTest {
         Model model = new ModelManager(getTypicalCardiBuddy(), new UserPrefs());
         Model expectedModel = new ModelManager(getTypicalCardiBuddy(), new UserPrefs());
         expectedModel.setCardiBuddy(new CardiBuddy());
-        expectedModel.commitCardiBuddy();
+        expectedModel.commitCardiBuddy(Deltas.resetData(new CardiBuddy(), new CardiBuddy()));
 
         assertCommandSuccess(new ClearCommand(), model, ClearCommand.MESSAGE_SUCCESS, expectedModel, commandHistory);
     }
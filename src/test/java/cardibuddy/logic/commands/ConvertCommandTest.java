@@ -0,0 +1,108 @@
+package cardibuddy.logic.commands;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.logic.CommandHistory;
+import cardibuddy.logic.commands.exceptions.CommandException;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.Model;
+import cardibuddy.model.ModelManager;
+import cardibuddy.storage.BinaryCardiBuddyStorage;
+import cardibuddy.storage.JournalCardiBuddyStorage;
+import cardibuddy.storage.JsonCardiBuddyStorage;
+
+public class ConvertCommandTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private final Model model = new ModelManager();
+    private final CommandHistory commandHistory = new CommandHistory();
+
+    @Test
+    public void execute_jsonToBinaryAndBack_sameData() throws Exception {
+        Path jsonPath = testFolder.resolve("cardibuddy.json");
+        Path binaryPath = testFolder.resolve("cardibuddy.bin");
+        Path convertedBackPath = testFolder.resolve("converted.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new JsonCardiBuddyStorage(jsonPath).saveCardiBuddy(original);
+
+        CommandResult result = new ConvertCommand(jsonPath, binaryPath).execute(model, commandHistory);
+        assertEquals(String.format(ConvertCommand.MESSAGE_SUCCESS, jsonPath, binaryPath,
+                original.getDeckList().size()), result.getFeedbackToUser());
+        assertEquals(original, new CardiBuddy(new BinaryCardiBuddyStorage(binaryPath).readCardiBuddy().get()));
+
+        new ConvertCommand(binaryPath, convertedBackPath).execute(model, commandHistory);
+        assertEquals(original, new CardiBuddy(new JsonCardiBuddyStorage(convertedBackPath).readCardiBuddy().get()));
+        assertFalse(model.hasUnsavedChanges());
+    }
+
+    @Test
+    public void execute_sourceWithSideFiles_filesLeftUnchanged() throws Exception {
+        Path jsonPath = testFolder.resolve("cardibuddy.json");
+        Path binaryPath = testFolder.resolve("converted").resolve("cardibuddy.bin");
+        CardiBuddy original = getTypicalCardiBuddy();
+        String title = original.getDeckList().get(0).getTitle().toString();
+        original.getStatistics().getCorrectPercentageHistory().computeIfAbsent(title, t -> new ArrayList<>()).add(0.5);
+        new JsonCardiBuddyStorage(jsonPath).saveCardiBuddy(original);
+        original.removeDeck(original.getDeckList().get(1));
+        new JournalCardiBuddyStorage(jsonPath).saveCardiBuddy(original);
+        // an incomplete record, as an interrupted save leaves it
+        Files.write(jsonPath.resolveSibling("cardibuddy.json.journal"), "{\"put".getBytes(),
+                StandardOpenOption.APPEND);
+        Map<Path, byte[]> before = readFiles(testFolder);
+        assertEquals(3, before.size()); // the checkpoint, its journal and its session history
+
+        new ConvertCommand(jsonPath, binaryPath).execute(model, commandHistory);
+
+        Map<Path, byte[]> after = readFiles(testFolder);
+        assertEquals(before.keySet(), after.keySet());
+        before.forEach((path, bytes) -> assertArrayEquals(bytes, after.get(path), path.toString()));
+        assertEquals(original, new CardiBuddy(new BinaryCardiBuddyStorage(binaryPath).readCardiBuddy().get()));
+    }
+
+    private static Map<Path, byte[]> readFiles(Path directory) throws IOException {
+        Map<Path, byte[]> files = new HashMap<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                files.put(path, Files.readAllBytes(path));
+            }
+        }
+        return files;
+    }
+
+    @Test
+    public void execute_missingSource_throwsCommandException() {
+        Path source = testFolder.resolve("missing.json");
+        ConvertCommand command = new ConvertCommand(source, testFolder.resolve("cardibuddy.bin"));
+        assertThrows(CommandException.class, String.format(ConvertCommand.MESSAGE_SOURCE_NOT_FOUND, source), ()
+            -> command.execute(model, commandHistory));
+    }
+
+    @Test
+    public void equals() {
+        ConvertCommand command = new ConvertCommand(testFolder.resolve("a.json"), testFolder.resolve("a.bin"));
+        assertTrue(command.equals(command));
+        assertTrue(command.equals(new ConvertCommand(testFolder.resolve("a.json"), testFolder.resolve("a.bin"))));
+        assertFalse(command.equals(new ConvertCommand(testFolder.resolve("a.bin"), testFolder.resolve("a.json"))));
+        assertFalse(command.equals(null));
+    }
+}
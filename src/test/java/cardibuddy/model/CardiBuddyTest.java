@@ -12,6 +12,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.Test;
 
@@ -110,6 +111,16 @@ public class CardiBuddyTest {
         public Statistics getStatistics() {
             return statistics;
         }
+
+        @Override
+        public Set<Deck> searchDecksByTitle(KeywordQuery query) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Set<Deck> searchDecksByTag(KeywordQuery query) {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
 }
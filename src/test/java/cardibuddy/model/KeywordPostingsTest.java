@@ -0,0 +1,73 @@
+package cardibuddy.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+public class KeywordPostingsTest {
+
+    private static final String FIRST = new String("first");
+    private static final String SECOND = new String("second");
+    private static final String THIRD = new String("third");
+
+    private static KeywordPostings<String> postings() {
+        KeywordPostings<String> postings = new KeywordPostings<>();
+        postings.add(List.of("java", "intro"), FIRST);
+        postings.add(List.of("python", "intro"), SECOND);
+        postings.add(List.of("java", "python"), THIRD);
+        return postings;
+    }
+
+    private static KeywordQuery compile(String... keywords) {
+        return KeywordQuery.compile(Arrays.asList(keywords));
+    }
+
+    @Test
+    public void search_groups_unionOfIntersections() {
+        KeywordPostings<String> postings = postings();
+
+        assertEquals(Set.of(FIRST, THIRD), postings.search(compile("java")));
+        assertEquals(Set.of(FIRST), postings.search(compile("java", "&", "intro")));
+        assertEquals(Set.of(FIRST, SECOND), postings.search(compile("java", "&", "intro", "python", "&", "intro")));
+        assertTrue(postings.search(compile("java", "&", "missing")).isEmpty());
+        assertTrue(postings.search(compile()).isEmpty());
+    }
+
+    @Test
+    public void search_sameQuery_cachedUntilChanged() {
+        KeywordPostings<String> postings = postings();
+        KeywordQuery query = compile("intro");
+
+        Set<String> matches = postings.search(query);
+        assertSame(matches, postings.search(query));
+
+        postings.remove(List.of("python", "intro"), SECOND);
+        assertEquals(Set.of(FIRST), postings.search(query));
+    }
+
+    @Test
+    public void search_changedAfterwards_resultUnchanged() {
+        KeywordPostings<String> postings = postings();
+        Set<String> matches = postings.search(compile("python"));
+
+        postings.add(List.of("python"), new String("fourth"));
+        postings.remove(List.of("python", "intro"), SECOND);
+        postings.remove(List.of("java", "python"), THIRD);
+
+        assertEquals(Set.of(SECOND, THIRD), matches);
+    }
+
+    @Test
+    public void remove_equalButNotSameItem_notRemoved() {
+        KeywordPostings<String> postings = postings();
+        postings.remove(List.of("java", "intro"), new String("first"));
+
+        assertEquals(Set.of(FIRST, THIRD), postings.search(compile("java")));
+    }
+}
@@ -0,0 +1,89 @@
+package cardibuddy.model;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.model.util.SampleDataUtil;
+
+public class KeywordQueryTest {
+
+    private static KeywordQuery compile(String... keywords) {
+        return KeywordQuery.compile(Arrays.asList(keywords));
+    }
+
+    @Test
+    public void compile_null_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> KeywordQuery.compile(null));
+    }
+
+    @Test
+    public void compile_keywords_groupedAndNormalized() {
+        // each keyword is a group of its own
+        assertEquals(Arrays.asList(List.of("java"), List.of("python")), compile("Java", "PYTHON").getGroups());
+
+        // keywords joined by & form a group
+        assertEquals(Arrays.asList(List.of("what", "is", "java"), List.of("python")),
+                compile("what", "&", "is", "&", "java", "python").getGroups());
+
+        // a stray & is ignored
+        assertEquals(Collections.singletonList(List.of("java")), compile("&", "java", "&").getGroups());
+        assertEquals(Collections.singletonList(List.of("a", "b")), compile("a", "&", "&", "b").getGroups());
+
+        // repeated terms and groups implied by other groups are dropped
+        assertEquals(Collections.singletonList(List.of("java")), compile("java", "JAVA", "java", "&", "x")
+                .getGroups());
+        assertEquals(Collections.singletonList(List.of("a", "b")), compile("a", "&", "b", "b", "&", "a")
+                .getGroups());
+
+        assertTrue(compile().isEmpty());
+        assertTrue(compile("&").isEmpty());
+    }
+
+    @Test
+    public void matchesWords() {
+        KeywordQuery query = compile("what", "&", "java", "python");
+
+        assertTrue(query.matchesWords("What is JAVA"));
+        assertTrue(query.matchesWords("Who wrote  python\tand java"));
+        assertFalse(query.matchesWords("Why java"));
+        // a full word match is required
+        assertFalse(query.matchesWords("what is javascript"));
+        assertFalse(query.matchesWords("pyth"));
+        // only the words before the end are matched
+        assertTrue(query.matchesWords("What is java?", 12));
+        assertFalse(query.matchesWords("What is java?", 11));
+        assertFalse(query.matchesWords("What is java?"));
+
+        assertFalse(compile().matchesWords("what java"));
+    }
+
+    @Test
+    public void matchesTags() {
+        KeywordQuery query = compile("hard", "&", "java", "python");
+
+        assertTrue(query.matchesTags(SampleDataUtil.getTagSet("Java", "HARD")));
+        assertTrue(query.matchesTags(SampleDataUtil.getTagSet("python")));
+        assertFalse(query.matchesTags(SampleDataUtil.getTagSet("java", "easy")));
+        assertFalse(query.matchesTags(SampleDataUtil.getTagSet()));
+    }
+
+    @Test
+    public void equals() {
+        KeywordQuery query = compile("a", "&", "b");
+
+        assertTrue(query.equals(query));
+        assertTrue(query.equals(compile("A", "&", "b", "&", "a")));
+        assertEquals(query.hashCode(), compile("A", "&", "b").hashCode());
+        assertFalse(query.equals(compile("a", "b")));
+        assertFalse(query.equals(1));
+        assertFalse(query.equals(null));
+    }
+}
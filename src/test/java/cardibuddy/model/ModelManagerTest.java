@@ -15,8 +15,11 @@ import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 
 import cardibuddy.commons.core.GuiSettings;
+import cardibuddy.model.deck.Deck;
 import cardibuddy.model.deck.SearchDeckKeywordsPredicate;
 import cardibuddy.testutil.CardiBuddyBuilder;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
 
 public class ModelManagerTest {
 
@@ -93,6 +96,61 @@ public class ModelManagerTest {
         assertThrows(UnsupportedOperationException.class, () -> modelManager.getFilteredDeckList().remove(0));
     }
 
+    @Test
+    public void hasUnsavedChanges_readOnlyOperations_returnsFalse() {
+        modelManager.updateFilteredDeckList(PREDICATE_SHOW_ALL_DECKS);
+        assertFalse(modelManager.hasUnsavedChanges());
+    }
+
+    @Test
+    public void hasUnsavedChanges_deckAdded_returnsTrueUntilSaved() {
+        Deck deck = new DeckBuilder().build();
+        modelManager.addDeck(deck);
+        assertTrue(modelManager.hasUnsavedChanges());
+        assertTrue(modelManager.isDeckModified(deck));
+
+        modelManager.markSaved();
+        assertFalse(modelManager.hasUnsavedChanges());
+        assertFalse(modelManager.isDeckModified(deck));
+    }
+
+    @Test
+    public void hasUnsavedChanges_cardAddedInDeck_onlyThatDeckModified() {
+        Deck deck = new DeckBuilder().build();
+        Deck otherDeck = new DeckBuilder(ASYNCHRONOUS).build();
+        modelManager.addDeck(deck);
+        modelManager.addDeck(otherDeck);
+        modelManager.markSaved();
+
+        deck.addCard(new FlashcardBuilder().build());
+        assertTrue(modelManager.hasUnsavedChanges());
+        assertTrue(modelManager.isDeckModified(deck));
+        assertFalse(modelManager.isDeckModified(otherDeck));
+    }
+
+    @Test
+    public void hasUnsavedChanges_statisticsChanged_returnsTrue() {
+        modelManager.getCardiBuddy().getStatistics().trackCardAdded();
+        assertTrue(modelManager.hasUnsavedChanges());
+    }
+
+    @Test
+    public void getDetachedCardiBuddy_laterChanges_copyUnaffected() {
+        Deck deck = new DeckBuilder().build();
+        Deck otherDeck = new DeckBuilder(ASYNCHRONOUS).build();
+        modelManager.addDeck(deck);
+        modelManager.addDeck(otherDeck);
+        ReadOnlyCardiBuddy copy = modelManager.getDetachedCardiBuddy();
+
+        deck.addCard(new FlashcardBuilder().build());
+        assertEquals(0, copy.getDeckList().get(0).getFlashcards().size());
+
+        // unchanged decks are shared with the previous copy
+        ReadOnlyCardiBuddy nextCopy = modelManager.getDetachedCardiBuddy();
+        assertEquals(1, nextCopy.getDeckList().get(0).getFlashcards().size());
+        assertTrue(nextCopy.getDeckList().get(1) == copy.getDeckList().get(1));
+    }
+
     @Test
     public void equals() {
         CardiBuddy cardiBuddy = new CardiBuddyBuilder().withDeck(ASYNCHRONOUS).withDeck(POSTGRESQL).build();
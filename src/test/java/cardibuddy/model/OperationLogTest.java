@@ -0,0 +1,95 @@
+package cardibuddy.model;
+
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE;
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE2;
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.DJANGO;
+import static cardibuddy.testutil.TypicalDecks.REACT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class OperationLogTest {
+
+    private final Flashcard firstCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+    private final Flashcard secondCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE2).build();
+    private final OperationLog operationLog = new OperationLog(10);
+    private final CardiBuddy cardiBuddy = new CardiBuddy();
+
+    @Test
+    public void undo_nothingRecorded_throwsNoUndoableStateException() {
+        assertFalse(operationLog.canUndo());
+        assertThrows(VersionedCardiBuddy.NoUndoableStateException.class, () -> operationLog.undo(cardiBuddy));
+    }
+
+    @Test
+    public void undoRedo_removeDeck_restoresPosition() {
+        Deck django = new DeckBuilder(DJANGO).build();
+        Deck react = new DeckBuilder(REACT).build();
+        cardiBuddy.setDecks(Arrays.asList(django, react));
+
+        cardiBuddy.removeDeck(django);
+        operationLog.record(Deltas.removeDeck(0, django));
+
+        operationLog.undo(cardiBuddy);
+        assertEquals(Arrays.asList(django, react), cardiBuddy.getDeckList());
+        operationLog.redo(cardiBuddy);
+        assertEquals(Collections.singletonList(react), cardiBuddy.getDeckList());
+        assertFalse(operationLog.canRedo());
+    }
+
+    @Test
+    public void undoRedo_cardChangesInDeck_restoresCards() {
+        Deck deck = new DeckBuilder().build();
+        deck.addCard(firstCard);
+        deck.addCard(secondCard);
+        operationLog.record(Deltas.insertCard(deck, 1, secondCard));
+        deck.deleteCard(firstCard);
+        operationLog.record(Deltas.removeCard(deck, 0, firstCard));
+
+        operationLog.undo(cardiBuddy);
+        assertEquals(Arrays.asList(firstCard, secondCard), deck.getFlashcards());
+        operationLog.undo(cardiBuddy);
+        assertEquals(Collections.singletonList(firstCard), deck.getFlashcards());
+
+        operationLog.redo(cardiBuddy);
+        operationLog.redo(cardiBuddy);
+        assertEquals(Collections.singletonList(secondCard), deck.getFlashcards());
+    }
+
+    @Test
+    public void record_afterUndo_discardsRedoDeltas() {
+        Deck deck = new DeckBuilder(DJANGO).build();
+        cardiBuddy.addDeck(deck);
+        operationLog.record(Deltas.insertDeck(0, deck));
+        operationLog.undo(cardiBuddy);
+
+        operationLog.record(Deltas.insertCard(deck, 0, firstCard));
+        assertFalse(operationLog.canRedo());
+        assertTrue(operationLog.canUndo());
+    }
+
+    @Test
+    public void record_beyondHistoryLimit_dropsOldestDeltas() {
+        OperationLog shortLog = new OperationLog(1);
+        Deck deck = new DeckBuilder().build();
+        deck.addCard(firstCard);
+        shortLog.record(Deltas.insertCard(deck, 0, firstCard));
+        deck.addCard(secondCard);
+        shortLog.record(Deltas.insertCard(deck, 1, secondCard));
+
+        shortLog.undo(cardiBuddy);
+        assertEquals(Collections.singletonList(firstCard), deck.getFlashcards());
+        assertFalse(shortLog.canUndo());
+    }
+}
@@ -0,0 +1,73 @@
+package cardibuddy.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class UndoHistorySpillFileTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private final Deck deck = new DeckBuilder().build();
+
+    private static List<Card> cards(String prefix, int count) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(new FlashcardBuilder().withQuestion(prefix + " question " + i + "?")
+                    .withAnswer(prefix + " answer " + i).build());
+        }
+        return cards;
+    }
+
+    @Test
+    public void free_mostOfFileFreed_rewrittenWithLiveSlotsOnly() throws Exception {
+        UndoHistorySpillFile spillFile = new UndoHistorySpillFile(testFolder, 0);
+        List<Card> first = cards("First", 1);
+        List<Card> large = cards("Large", 200);
+        List<Card> last = cards("Last", 1);
+        UndoHistorySpillFile.Slot firstSlot = spillFile.write(first);
+        UndoHistorySpillFile.Slot largeSlot = spillFile.write(large);
+        UndoHistorySpillFile.Slot lastSlot = spillFile.write(last);
+        long fullLength = spillFile.getLength();
+
+        spillFile.free(largeSlot);
+        assertEquals(spillFile.getLiveBytes(), spillFile.getLength());
+        assertTrue(spillFile.getLength() < fullLength);
+        assertEquals(first, spillFile.read(firstSlot, deck));
+        assertEquals(last, spillFile.read(lastSlot, deck));
+        try (Stream<Path> spillFiles = Files.list(testFolder)) {
+            assertEquals(1, spillFiles.count());
+        }
+
+        spillFile.free(firstSlot);
+        spillFile.free(lastSlot);
+        assertEquals(0, spillFile.getLength());
+    }
+
+    @Test
+    public void free_littleFreed_fileKeptAsItIs() throws Exception {
+        UndoHistorySpillFile spillFile = new UndoHistorySpillFile(testFolder, 0);
+        UndoHistorySpillFile.Slot smallSlot = spillFile.write(cards("Small", 1));
+        List<Card> large = cards("Large", 200);
+        UndoHistorySpillFile.Slot largeSlot = spillFile.write(large);
+        long fullLength = spillFile.getLength();
+
+        spillFile.free(smallSlot);
+        assertEquals(fullLength, spillFile.getLength());
+        assertEquals(large, spillFile.read(largeSlot, deck));
+    }
+}
@@ -18,4 +18,10 @@ public class UserPrefsTest {
         assertThrows(NullPointerException.class, () -> userPrefs.setCardiBuddyFilePath(null));
     }
 
+    @Test
+    public void setUndoHistoryLimit_nonPositiveLimit_throwsIllegalArgumentException() {
+        UserPrefs userPrefs = new UserPrefs();
+        assertThrows(IllegalArgumentException.class, () -> userPrefs.setUndoHistoryLimit(0));
+    }
+
 }
@@ -0,0 +1,176 @@
+package cardibuddy.model;
+
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE;
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE2;
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.DJANGO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class VersionedCardiBuddyTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private final Flashcard firstCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+    private final Flashcard secondCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE2).build();
+
+    @Test
+    public void undo_noCommits_throwsNoUndoableStateException() {
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(new CardiBuddy());
+        assertFalse(versionedCardiBuddy.canUndo());
+        assertThrows(VersionedCardiBuddy.NoUndoableStateException.class, versionedCardiBuddy::undo);
+    }
+
+    @Test
+    public void undoRedo_addDeck_restoresDeckList() {
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(new CardiBuddy());
+        Deck deck = new DeckBuilder(DJANGO).build();
+        versionedCardiBuddy.addDeck(deck);
+        versionedCardiBuddy.commit();
+
+        versionedCardiBuddy.undo();
+        assertEquals(Collections.emptyList(), versionedCardiBuddy.getDeckList());
+        assertFalse(versionedCardiBuddy.hasDeck(deck));
+
+        versionedCardiBuddy.redo();
+        assertEquals(Collections.singletonList(deck), versionedCardiBuddy.getDeckList());
+        assertTrue(versionedCardiBuddy.hasDeck(deck));
+    }
+
+    @Test
+    public void undoRedo_cardChangesInDeck_restoresCards() {
+        Deck deck = new DeckBuilder().build();
+        deck.addCard(firstCard);
+        CardiBuddy initialState = new CardiBuddy();
+        initialState.addDeck(deck);
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(initialState);
+
+        deck.addCard(secondCard);
+        versionedCardiBuddy.commit();
+        deck.deleteCard(firstCard);
+        versionedCardiBuddy.commit();
+
+        versionedCardiBuddy.undo();
+        assertEquals(Arrays.asList(firstCard, secondCard), deck.getFlashcards());
+        versionedCardiBuddy.undo();
+        assertEquals(Collections.singletonList(firstCard), deck.getFlashcards());
+        assertFalse(versionedCardiBuddy.canUndo());
+
+        versionedCardiBuddy.redo();
+        versionedCardiBuddy.redo();
+        assertEquals(Collections.singletonList(secondCard), deck.getFlashcards());
+        assertFalse(versionedCardiBuddy.canRedo());
+    }
+
+    @Test
+    public void undo_cardChangesInDeckNotLoadedAtFirst_restoresLoadedCards() {
+        Deck deck = new Deck(new Title("Lazy"), new HashSet<>(), ignored -> List.of(firstCard), 1);
+        CardiBuddy initialState = new CardiBuddy();
+        initialState.addDeck(deck);
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(initialState);
+        assertFalse(deck.isLoaded());
+
+        deck.addCard(secondCard);
+        versionedCardiBuddy.commit();
+
+        versionedCardiBuddy.undo();
+        assertEquals(Collections.singletonList(firstCard), deck.getFlashcards());
+    }
+
+    @Test
+    public void commit_afterUndo_discardsRedoStates() {
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(new CardiBuddy());
+        versionedCardiBuddy.addDeck(new DeckBuilder(DJANGO).build());
+        versionedCardiBuddy.commit();
+        versionedCardiBuddy.undo();
+
+        versionedCardiBuddy.addDeck(new DeckBuilder().build());
+        versionedCardiBuddy.commit();
+
+        assertFalse(versionedCardiBuddy.canRedo());
+        assertTrue(versionedCardiBuddy.canUndo());
+    }
+
+    @Test
+    public void commit_beyondHistoryLimit_dropsOldestStates() {
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(new CardiBuddy(), 1, Long.MAX_VALUE, null);
+        Deck deck = new DeckBuilder(DJANGO).build();
+        versionedCardiBuddy.addDeck(deck);
+        versionedCardiBuddy.commit();
+        versionedCardiBuddy.addDeck(new DeckBuilder().build());
+        versionedCardiBuddy.commit();
+
+        versionedCardiBuddy.undo();
+        assertEquals(Collections.singletonList(deck), versionedCardiBuddy.getDeckList());
+        assertFalse(versionedCardiBuddy.canUndo());
+    }
+
+    @Test
+    public void undo_statesSpilledToDisk_restoresCards() throws Exception {
+        Deck deck = new DeckBuilder().build();
+        deck.addCard(firstCard);
+        CardiBuddy initialState = new CardiBuddy();
+        initialState.addDeck(deck);
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(initialState, 10, 0, testFolder);
+
+        deck.addCard(secondCard);
+        versionedCardiBuddy.commit();
+        deck.deleteCard(firstCard);
+        versionedCardiBuddy.commit();
+        try (Stream<Path> spillFiles = Files.list(testFolder)) {
+            assertEquals(1, spillFiles.count());
+        }
+
+        versionedCardiBuddy.undo();
+        versionedCardiBuddy.undo();
+        assertEquals(Collections.singletonList(firstCard), deck.getFlashcards());
+        assertTrue(deck.getFlashcards().get(0).getDeck() == deck);
+
+        versionedCardiBuddy.redo();
+        assertEquals(Arrays.asList(firstCard, secondCard), deck.getFlashcards());
+    }
+
+    @Test
+    public void undo_spilledStateUnreadable_leavesStateAndHistoryUnchanged() throws Exception {
+        Deck deck = new DeckBuilder().build();
+        deck.addCard(firstCard);
+        CardiBuddy initialState = new CardiBuddy();
+        initialState.addDeck(deck);
+        VersionedCardiBuddy versionedCardiBuddy = new VersionedCardiBuddy(initialState, 10, 0, testFolder);
+
+        deck.addCard(secondCard);
+        versionedCardiBuddy.commit();
+        deck.deleteCard(firstCard);
+        versionedCardiBuddy.commit();
+        try (Stream<Path> spillFiles = Files.list(testFolder)) {
+            for (Path spillFile : (Iterable<Path>) spillFiles::iterator) {
+                Files.delete(spillFile);
+            }
+        }
+
+        assertThrows(UncheckedIOException.class, versionedCardiBuddy::undo);
+        assertEquals(Collections.singletonList(secondCard), deck.getFlashcards());
+        assertTrue(versionedCardiBuddy.canUndo());
+        assertFalse(versionedCardiBuddy.canRedo());
+    }
+}
@@ -1,16 +1,29 @@
 package cardibuddy.model.deck;
 
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_ANSWER_CODE;
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE;
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE2;
 import static cardibuddy.logic.commands.CommandTestUtil.VALID_TAG_HARD;
 import static cardibuddy.logic.commands.CommandTestUtil.VALID_TITLE_REACT;
 import static cardibuddy.testutil.Assert.assertThrows;
 import static cardibuddy.testutil.TypicalDecks.ASYNCHRONOUS;
 import static cardibuddy.testutil.TypicalDecks.REACT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.deck.exceptions.DeckNotLoadedException;
+import cardibuddy.model.flashcard.Flashcard;
 import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
 
 public class DeckTest {
 
@@ -20,6 +33,62 @@ public class DeckTest {
         assertThrows(UnsupportedOperationException.class, () -> deck.getTags().remove(0));
     }
 
+    @Test
+    public void addCard_duplicateQuestion_ignored() {
+        Deck deck = new DeckBuilder().build();
+        Flashcard card = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+        Flashcard sameQuestion = new FlashcardBuilder(card).withAnswer(VALID_ANSWER_CODE).build();
+
+        deck.addCard(card);
+        deck.addCard(sameQuestion);
+
+        assertEquals(1, deck.getFlashcards().size());
+        assertTrue(deck.hasFlashcard(sameQuestion));
+    }
+
+    @Test
+    public void setFlashcard_editedQuestion_updatesIndex() {
+        Deck deck = new DeckBuilder().build();
+        Flashcard card = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+        Flashcard editedCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE2).build();
+        deck.addCard(card);
+
+        deck.setFlashcard(card, editedCard);
+
+        assertFalse(deck.hasFlashcard(card));
+        assertTrue(deck.hasFlashcard(editedCard));
+        deck.deleteCard(editedCard);
+        assertTrue(deck.getFlashcards().isEmpty());
+    }
+
+    @Test
+    public void getFlashcardList_repeatedCalls_returnSameLiveList() {
+        Deck deck = new DeckBuilder().build();
+        assertSame(deck.getFlashcardList(), deck.getFlashcardList());
+        assertSame(deck.getFilteredFlashcardList(), deck.getFilteredFlashcardList());
+
+        deck.addCard(new FlashcardBuilder().build());
+        assertEquals(1, deck.getFlashcardList().size());
+        assertEquals(1, deck.getFilteredFlashcardList().size());
+    }
+
+    @Test
+    public void deleteCard_activePredicate_predicateKept() {
+        Deck deck = new DeckBuilder().build();
+        Flashcard first = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+        Flashcard second = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE2).build();
+        Flashcard third = new FlashcardBuilder().build();
+        deck.addCard(first);
+        deck.addCard(second);
+        deck.addCard(third);
+        deck.updateFilteredFlashcardList(card -> card.getQuestion().toString().contains("module"));
+
+        deck.deleteCard(first);
+
+        assertEquals(1, deck.getFilteredFlashcardList().size());
+        assertEquals(second, deck.getFilteredFlashcardList().get(0));
+    }
+
     @Test
     public void isSameDeck() {
         // same object -> returns true
@@ -82,4 +151,36 @@ public class DeckTest {
     }
 
 
+
+    @Test
+    public void getFlashcards_deckWithOnlyHeader_loadsCardsOnceWithoutChangingVersion() {
+        Flashcard card = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE).build();
+        Flashcard otherCard = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE2).build();
+        int[] loads = {0};
+        Deck deck = new Deck(new Title(VALID_TITLE_REACT), new HashSet<>(), ignored -> {
+            loads[0]++;
+            return List.of(card, otherCard, card);
+        }, 2);
+        long version = deck.getVersion();
+
+        assertFalse(deck.isLoaded());
+        assertEquals(2, deck.getCardCount());
+        assertEquals(0, loads[0]);
+
+        assertEquals(List.of(card, otherCard), deck.getFlashcards());
+        assertTrue(deck.isLoaded());
+        assertEquals(List.of(card, otherCard), deck.getFilteredFlashcardList());
+        assertEquals(List.of(card, otherCard), deck.getFlashcardsAsLoaded());
+        assertEquals(1, loads[0]);
+        assertEquals(version, deck.getVersion());
+    }
+
+    @Test
+    public void getFlashcards_loaderFails_throwsDeckNotLoadedException() {
+        Deck deck = new Deck(new Title(VALID_TITLE_REACT), new HashSet<>(), ignored -> {
+            throw new DataConversionException(new IOException("missing"));
+        }, 1);
+        assertThrows(DeckNotLoadedException.class, deck::getFlashcards);
+        assertFalse(deck.isLoaded());
+    }
 }
@@ -1,18 +1,39 @@
 package cardibuddy.model.deck;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
+import cardibuddy.model.CardiBuddy;
 import cardibuddy.testutil.DeckBuilder;
+import javafx.collections.transformation.FilteredList;
 
 public class FilterDeckKeywordsPredicateTest {
 
+    private static final List<List<String>> SEARCHES = Arrays.asList(
+            Collections.singletonList("java"),
+            Arrays.asList("JAVA", "python"),
+            Arrays.asList("intro", "&", "java"),
+            Arrays.asList("intro", "&", "hard", "&", "java", "python"),
+            Arrays.asList("&", "java", "&"),
+            Arrays.asList("missing"));
+
+    private static CardiBuddy cardiBuddy() {
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        cardiBuddy.addDeck(new DeckBuilder().withTitle("First").withTags("Intro", "Java").build());
+        cardiBuddy.addDeck(new DeckBuilder().withTitle("Second").withTags("intro", "Python").build());
+        cardiBuddy.addDeck(new DeckBuilder().withTitle("Third").withTags("java", "hard", "intro").build());
+        cardiBuddy.addDeck(new DeckBuilder().withTitle("Fourth").withTags().build());
+        return cardiBuddy;
+    }
+
     @Test
     public void equals() {
         List<String> firstPredicateKeywordList = Collections.singletonList("first");
@@ -68,5 +89,38 @@ public class FilterDeckKeywordsPredicateTest {
         predicate = new FilterDeckKeywordsPredicate(Arrays.asList("Java"));
         assertFalse(predicate.test(new DeckBuilder().withTags("Asynchronous", "Programming").build()));
     }
-}
 
+    @Test
+    public void indexedIn_sameDecksAsTest() {
+        CardiBuddy cardiBuddy = cardiBuddy();
+        for (List<String> keywords : SEARCHES) {
+            FilterDeckKeywordsPredicate predicate = new FilterDeckKeywordsPredicate(keywords);
+            Predicate<Deck> indexed = predicate.indexedIn(cardiBuddy);
+            for (Deck deck : cardiBuddy.getDeckList()) {
+                assertEquals(predicate.test(deck), indexed.test(deck), keywords + " on " + deck.getTitle());
+            }
+        }
+    }
+
+    @Test
+    public void indexedIn_decksChanged_indexKeptUpToDate() {
+        CardiBuddy cardiBuddy = cardiBuddy();
+        FilterDeckKeywordsPredicate predicate = new FilterDeckKeywordsPredicate(Arrays.asList("kotlin"));
+        FilteredList<Deck> filteredDecks = new FilteredList<>(cardiBuddy.getDeckList(),
+                predicate.indexedIn(cardiBuddy));
+        assertEquals(0, filteredDecks.size());
+
+        Deck kotlin = new DeckBuilder().withTitle("Kotlin Basics").withTags("Kotlin").build();
+        cardiBuddy.addDeck(kotlin);
+        assertEquals(Collections.singletonList(kotlin), filteredDecks);
+
+        cardiBuddy.setDeck(kotlin, new DeckBuilder().withTitle("Kotlin Basics").withTags("Scala").build());
+        assertEquals(0, filteredDecks.size());
+
+        Deck kotlinAgain = new DeckBuilder().withTitle("Kotlin Coroutines").withTags("kotlin").build();
+        cardiBuddy.addDeck(kotlinAgain);
+        assertEquals(Collections.singletonList(kotlinAgain), filteredDecks);
+        cardiBuddy.removeDeck(kotlinAgain);
+        assertEquals(0, filteredDecks.size());
+    }
+}
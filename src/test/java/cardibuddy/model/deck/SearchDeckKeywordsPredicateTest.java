@@ -1,18 +1,38 @@
 package cardibuddy.model.deck;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 import org.junit.jupiter.api.Test;
 
+import cardibuddy.model.CardiBuddy;
 import cardibuddy.testutil.DeckBuilder;
+import javafx.collections.transformation.FilteredList;
 
 public class SearchDeckKeywordsPredicateTest {
 
+    private static final List<List<String>> SEARCHES = Arrays.asList(
+            Collections.singletonList("java"),
+            Arrays.asList("JAVA", "python"),
+            Arrays.asList("intro", "&", "java"),
+            Arrays.asList("intro", "&", "to", "&", "java", "python"),
+            Arrays.asList("&", "java", "&"),
+            Arrays.asList("missing"));
+
+    private static CardiBuddy cardiBuddy() {
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        for (String title : Arrays.asList("Intro to Java", "Intro to Python", "java  Streams", "Python and Java")) {
+            cardiBuddy.addDeck(new DeckBuilder().withTitle(title).build());
+        }
+        return cardiBuddy;
+    }
+
     @Test
     public void equals() {
         List<String> firstPredicateKeywordList = Collections.singletonList("first");
@@ -68,5 +88,38 @@ public class SearchDeckKeywordsPredicateTest {
         predicate = new SearchDeckKeywordsPredicate(Arrays.asList("Java"));
         assertFalse(predicate.test(new DeckBuilder().withTitle("Asynchronous Programming").build()));
     }
-}
 
+    @Test
+    public void indexedIn_sameDecksAsTest() {
+        CardiBuddy cardiBuddy = cardiBuddy();
+        for (List<String> keywords : SEARCHES) {
+            SearchDeckKeywordsPredicate predicate = new SearchDeckKeywordsPredicate(keywords);
+            Predicate<Deck> indexed = predicate.indexedIn(cardiBuddy);
+            for (Deck deck : cardiBuddy.getDeckList()) {
+                assertEquals(predicate.test(deck), indexed.test(deck), keywords + " on " + deck.getTitle());
+            }
+        }
+    }
+
+    @Test
+    public void indexedIn_decksChanged_indexKeptUpToDate() {
+        CardiBuddy cardiBuddy = cardiBuddy();
+        SearchDeckKeywordsPredicate predicate = new SearchDeckKeywordsPredicate(Arrays.asList("kotlin"));
+        FilteredList<Deck> filteredDecks = new FilteredList<>(cardiBuddy.getDeckList(),
+                predicate.indexedIn(cardiBuddy));
+        assertEquals(0, filteredDecks.size());
+
+        Deck kotlin = new DeckBuilder().withTitle("Kotlin Basics").build();
+        cardiBuddy.addDeck(kotlin);
+        assertEquals(Collections.singletonList(kotlin), filteredDecks);
+
+        cardiBuddy.setDeck(kotlin, new DeckBuilder().withTitle("Scala Basics").build());
+        assertEquals(0, filteredDecks.size());
+
+        Deck kotlinAgain = new DeckBuilder().withTitle("kotlin Coroutines").build();
+        cardiBuddy.addDeck(kotlinAgain);
+        assertEquals(Collections.singletonList(kotlinAgain), filteredDecks);
+        cardiBuddy.removeDeck(kotlinAgain);
+        assertEquals(0, filteredDecks.size());
+    }
+}
@@ -8,9 +8,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -101,6 +103,20 @@ public class UniqueDeckListTest {
         assertEquals(expectedUniqueDeckList, uniqueDeckList);
     }
 
+    @Test
+    public void setDeck_editedDeckHasDifferentIdentity_releasesOldTitle() {
+        uniqueDeckList.add(DJANGO);
+        uniqueDeckList.setDeck(DJANGO, REACT);
+        assertFalse(uniqueDeckList.contains(DJANGO));
+        assertTrue(uniqueDeckList.contains(REACT));
+
+        uniqueDeckList.add(DJANGO);
+        UniqueDeckList expectedUniqueDeckList = new UniqueDeckList();
+        expectedUniqueDeckList.add(REACT);
+        expectedUniqueDeckList.add(DJANGO);
+        assertEquals(expectedUniqueDeckList, uniqueDeckList);
+    }
+
     @Test
     public void setDeck_editedDeckHasNonUniqueIdentity_throwsDuplicateDeckException() {
         uniqueDeckList.add(DJANGO);
@@ -108,6 +124,32 @@ public class UniqueDeckListTest {
         assertThrows(DuplicateDeckException.class, () -> uniqueDeckList.setDeck(DJANGO, REACT));
     }
 
+    @Test
+    public void setDeckAndRemove_afterInsertionsAndRemovals_changeTheRightPositions() {
+        List<Deck> expected = new ArrayList<>();
+        Random random = new Random(2);
+        for (int i = 0; i < 200; i++) {
+            Deck deck = new DeckBuilder().withTitle("Deck " + i).build();
+            int choice = random.nextInt(4);
+            if (choice == 0 && !expected.isEmpty()) {
+                Deck removed = expected.remove(random.nextInt(expected.size()));
+                uniqueDeckList.remove(removed);
+            } else if (choice == 1 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                uniqueDeckList.setDeck(expected.get(index), deck);
+                expected.set(index, deck);
+            } else if (choice == 2) {
+                int index = random.nextInt(expected.size() + 1);
+                uniqueDeckList.add(index, deck);
+                expected.add(index, deck);
+            } else {
+                uniqueDeckList.add(deck);
+                expected.add(deck);
+            }
+            assertEquals(expected, uniqueDeckList.asUnmodifiableObservableList());
+        }
+    }
+
     @Test
     public void remove_nullDeck_throwsNullPointerException() {
         assertThrows(NullPointerException.class, () -> uniqueDeckList.remove(null));
@@ -124,6 +166,7 @@ public class UniqueDeckListTest {
         uniqueDeckList.remove(DJANGO);
         UniqueDeckList expectedUniqueDeckList = new UniqueDeckList();
         assertEquals(expectedUniqueDeckList, uniqueDeckList);
+        assertFalse(uniqueDeckList.contains(DJANGO));
     }
 
     @Test
@@ -153,6 +196,7 @@ public class UniqueDeckListTest {
         UniqueDeckList expectedUniqueDeckList = new UniqueDeckList();
         expectedUniqueDeckList.add(REACT);
         assertEquals(expectedUniqueDeckList, uniqueDeckList);
+        assertFalse(uniqueDeckList.contains(DJANGO));
     }
 
     @Test
@@ -0,0 +1,51 @@
+package cardibuddy.model.flashcard;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.CardCodec.AnswerKind;
+import cardibuddy.testutil.DeckBuilder;
+
+public class CardCodecTest {
+
+    private final Deck deck = new DeckBuilder().build();
+
+    @Test
+    public void codes_storedFormats_unchanged() {
+        // the ordinals and names are written to the binary formats and the database
+        assertEquals(0, AnswerKind.SHORT.ordinal());
+        assertEquals(1, AnswerKind.TF.ordinal());
+        assertEquals(2, AnswerKind.MCQ.ordinal());
+        assertEquals(CardType.IMAGECARD, CardCodec.cardTypeOf(1));
+        assertEquals(CardType.FLASHCARD, CardCodec.cardTypeOf(7));
+        assertEquals(CardType.IMAGECARD, CardCodec.cardTypeOf("IMAGECARD"));
+        assertEquals(AnswerKind.TF, CardCodec.answerKindOf("TF"));
+        assertEquals(AnswerKind.SHORT, CardCodec.answerKindOf("unknown"));
+        assertEquals(AnswerKind.SHORT, CardCodec.answerKindOf(-1));
+    }
+
+    @Test
+    public void toCard_storedValues_sameCard() throws Exception {
+        Card mcq = new Flashcard(deck, new Question("Which one?"), new McqAnswer("B) two A) one C) three"), "");
+        Card restored = CardCodec.toCard(deck, mcq.getCardType(), mcq.getQuestion().toString(),
+                CardCodec.answerKindOf(mcq.getAnswer()), mcq.getAnswer().toString(), mcq.getPath());
+        assertEquals(mcq, restored);
+        assertTrue(restored.getAnswer() instanceof McqAnswer);
+        assertEquals(mcq.getAnswer().toString(), restored.getAnswer().toString());
+
+        Card image = CardCodec.toCard(deck, CardType.IMAGECARD, "What is this?", AnswerKind.TF, "T", "image.png");
+        assertTrue(image instanceof Imagecard);
+        assertTrue(image.getAnswer() instanceof TfAnswer);
+    }
+
+    @Test
+    public void toCard_invalidMcqAnswer_throwsIllegalValueException() {
+        assertThrows(IllegalValueException.class, () -> CardCodec.toCard(deck, CardType.FLASHCARD, "Which one?",
+                AnswerKind.MCQ, "not a choice", ""));
+    }
+}
@@ -0,0 +1,114 @@
+package cardibuddy.model.flashcard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.model.KeywordQuery;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class SearchCardKeywordsPredicateTest {
+
+    private static final List<List<String>> SEARCHES = Arrays.asList(
+            Collections.singletonList("java"),
+            Arrays.asList("JAVA", "python"),
+            Arrays.asList("what", "&", "java"),
+            Arrays.asList("what", "&", "is", "&", "java", "python"),
+            Arrays.asList("python", "what", "&", "java"),
+            Arrays.asList("java?"),
+            Arrays.asList("&", "java", "&"),
+            Arrays.asList("missing"));
+
+    private static Deck deck() {
+        Deck deck = new DeckBuilder().withTitle("Languages").build();
+        for (String question : Arrays.asList("What is Java?", "What is Python?", "Is Java?  fun.", "Why java",
+                "what IS java.", "Who wrote Python and Java")) {
+            deck.addCard(new FlashcardBuilder().withQuestion(question).build());
+        }
+        return deck;
+    }
+
+    @Test
+    public void equals() {
+        SearchCardKeywordsPredicate firstPredicate = new SearchCardKeywordsPredicate(Collections.singletonList("a"));
+        SearchCardKeywordsPredicate secondPredicate = new SearchCardKeywordsPredicate(Arrays.asList("a", "b"));
+
+        assertTrue(firstPredicate.equals(firstPredicate));
+        assertTrue(firstPredicate.equals(new SearchCardKeywordsPredicate(Collections.singletonList("a"))));
+        assertFalse(firstPredicate.equals(1));
+        assertFalse(firstPredicate.equals(null));
+        assertFalse(firstPredicate.equals(secondPredicate));
+    }
+
+    @Test
+    public void test_keywordGroups_matchesQuestions() {
+        Card whatIsJava = new FlashcardBuilder().withQuestion("What is Java?").build();
+        Card whyJava = new FlashcardBuilder().withQuestion("Why java").build();
+
+        assertTrue(new SearchCardKeywordsPredicate(Arrays.asList("JAVA")).test(whatIsJava));
+        assertTrue(new SearchCardKeywordsPredicate(Arrays.asList("what", "&", "java")).test(whatIsJava));
+        assertFalse(new SearchCardKeywordsPredicate(Arrays.asList("what", "&", "java")).test(whyJava));
+        assertTrue(new SearchCardKeywordsPredicate(Arrays.asList("what", "&", "java", "why")).test(whyJava));
+        // a full word match is required
+        assertFalse(new SearchCardKeywordsPredicate(Arrays.asList("jav")).test(whatIsJava));
+    }
+
+    @Test
+    public void indexedIn_sameCardsAsTest() {
+        Deck deck = deck();
+        for (List<String> keywords : SEARCHES) {
+            SearchCardKeywordsPredicate predicate = new SearchCardKeywordsPredicate(keywords);
+            Predicate<Card> indexed = predicate.indexedIn(deck);
+            for (Card card : deck.getFlashcards()) {
+                assertEquals(predicate.test(card), indexed.test(card), keywords + " on " + card.getQuestion());
+            }
+        }
+    }
+
+    @Test
+    public void indexedIn_deckChanged_indexKeptUpToDate() {
+        Deck deck = deck();
+        SearchCardKeywordsPredicate predicate = new SearchCardKeywordsPredicate(Arrays.asList("kotlin"));
+        deck.updateFilteredFlashcardList(predicate.indexedIn(deck));
+        assertEquals(0, deck.getFilteredFlashcardList().size());
+
+        Card kotlin = new FlashcardBuilder().withQuestion("What is Kotlin?").build();
+        deck.addCard(kotlin);
+        assertEquals(Collections.singletonList(kotlin), deck.getFilteredFlashcardList());
+
+        Card edited = new FlashcardBuilder().withQuestion("What is Scala?").build();
+        deck.setFlashcard(kotlin, edited);
+        assertEquals(0, deck.getFilteredFlashcardList().size());
+
+        Card kotlinAgain = new FlashcardBuilder().withQuestion("Is kotlin fun?").build();
+        deck.addCard(kotlinAgain);
+        deck.deleteCard(new FlashcardBuilder().withQuestion("Is kotlin fun?").withAnswer("Other").build());
+        assertEquals(0, deck.getFilteredFlashcardList().size());
+    }
+
+    @Test
+    public void searchFlashcards_deckChangedAfterwards_resultUnchanged() {
+        Deck deck = deck();
+        KeywordQuery query = KeywordQuery.compile(Arrays.asList("python"));
+        Set<Card> matches = deck.searchFlashcards(query);
+        assertEquals(2, matches.size());
+
+        deck.addCard(new FlashcardBuilder().withQuestion("Is Python typed?").build());
+        for (Card card : new ArrayList<>(deck.getFlashcardList())) {
+            deck.deleteCard(card);
+        }
+        assertEquals(2, matches.size());
+        assertEquals(0, deck.searchFlashcards(query).size());
+    }
+}
@@ -0,0 +1,161 @@
+package cardibuddy.model.flashcard;
+
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_ANSWER_CODE;
+import static cardibuddy.logic.commands.CommandTestUtil.VALID_QUESTION_MODULECODE;
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalFlashcards.HELLOWORLD;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.model.flashcard.exceptions.DuplicateFlashcardException;
+import cardibuddy.model.flashcard.exceptions.FlashcardNotFoundException;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class UniqueFlashcardListTest {
+
+    private static final Flashcard MODULE_CODE = new FlashcardBuilder().withQuestion(VALID_QUESTION_MODULECODE)
+            .withAnswer(VALID_ANSWER_CODE).build();
+
+    private final UniqueFlashcardList uniqueFlashcardList = new UniqueFlashcardList();
+
+    @Test
+    public void contains_nullFlashcard_throwsNullPointerException() {
+        assertThrows(NullPointerException.class, () -> uniqueFlashcardList.contains(null));
+    }
+
+    @Test
+    public void contains_flashcardNotInList_returnsFalse() {
+        assertFalse(uniqueFlashcardList.contains(HELLOWORLD));
+    }
+
+    @Test
+    public void contains_flashcardInList_returnsTrue() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        assertTrue(uniqueFlashcardList.contains(HELLOWORLD));
+    }
+
+    @Test
+    public void contains_flashcardWithSameQuestionInList_returnsTrue() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        Flashcard editedHelloWorld = new FlashcardBuilder(HELLOWORLD).withAnswer(VALID_ANSWER_CODE).build();
+        assertTrue(uniqueFlashcardList.contains(editedHelloWorld));
+    }
+
+    @Test
+    public void add_duplicateFlashcard_throwsDuplicateFlashcardException() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        assertThrows(DuplicateFlashcardException.class, () -> uniqueFlashcardList.add(HELLOWORLD));
+    }
+
+    @Test
+    public void setFlashcard_targetFlashcardNotInList_throwsFlashcardNotFoundException() {
+        assertThrows(FlashcardNotFoundException.class, () -> uniqueFlashcardList.setFlashcard(HELLOWORLD,
+                HELLOWORLD));
+    }
+
+    @Test
+    public void setFlashcard_editedFlashcardHasDifferentQuestion_updatesIndex() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        uniqueFlashcardList.setFlashcard(HELLOWORLD, MODULE_CODE);
+        assertFalse(uniqueFlashcardList.contains(HELLOWORLD));
+        assertTrue(uniqueFlashcardList.contains(MODULE_CODE));
+
+        // the freed question can be added again
+        uniqueFlashcardList.add(HELLOWORLD);
+        UniqueFlashcardList expectedUniqueFlashcardList = new UniqueFlashcardList();
+        expectedUniqueFlashcardList.add(MODULE_CODE);
+        expectedUniqueFlashcardList.add(HELLOWORLD);
+        assertEquals(expectedUniqueFlashcardList, uniqueFlashcardList);
+    }
+
+    @Test
+    public void setFlashcard_editedFlashcardHasNonUniqueQuestion_throwsDuplicateFlashcardException() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        uniqueFlashcardList.add(MODULE_CODE);
+        assertThrows(DuplicateFlashcardException.class, () -> uniqueFlashcardList.setFlashcard(HELLOWORLD,
+                MODULE_CODE));
+    }
+
+    @Test
+    public void remove_flashcardDoesNotExist_throwsFlashcardNotFoundException() {
+        assertThrows(FlashcardNotFoundException.class, () -> uniqueFlashcardList.remove(HELLOWORLD));
+    }
+
+    @Test
+    public void remove_existingFlashcard_removesFlashcard() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        uniqueFlashcardList.remove(HELLOWORLD);
+        assertFalse(uniqueFlashcardList.contains(HELLOWORLD));
+        assertEquals(new UniqueFlashcardList(), uniqueFlashcardList);
+    }
+
+    @Test
+    public void setFlashcardAndRemove_afterInsertionsAndRemovals_changeTheRightPositions() {
+        List<Card> expected = new ArrayList<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            Card card = new FlashcardBuilder().withQuestion("Question " + i).build();
+            int choice = random.nextInt(4);
+            if (choice == 0 && !expected.isEmpty()) {
+                Card removed = expected.remove(random.nextInt(expected.size()));
+                uniqueFlashcardList.remove(removed);
+            } else if (choice == 1 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                uniqueFlashcardList.setFlashcard(expected.get(index), card);
+                expected.set(index, card);
+            } else if (choice == 2) {
+                int index = random.nextInt(expected.size() + 1);
+                uniqueFlashcardList.add(index, card);
+                expected.add(index, card);
+            } else {
+                uniqueFlashcardList.add(card);
+                expected.add(card);
+            }
+            assertEquals(expected, uniqueFlashcardList.asUnmodifiableObservableList());
+        }
+    }
+
+    @Test
+    public void setFlashcards_uniqueFlashcardList_replacesIndex() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        UniqueFlashcardList replacement = new UniqueFlashcardList();
+        replacement.add(MODULE_CODE);
+        uniqueFlashcardList.setFlashcards(replacement);
+        assertFalse(uniqueFlashcardList.contains(HELLOWORLD));
+        assertTrue(uniqueFlashcardList.contains(MODULE_CODE));
+    }
+
+    @Test
+    public void setFlashcards_list_replacesOwnListWithProvidedList() {
+        uniqueFlashcardList.add(HELLOWORLD);
+        List<Card> flashcardList = Collections.singletonList(MODULE_CODE);
+        uniqueFlashcardList.setFlashcards(flashcardList);
+        UniqueFlashcardList expectedUniqueFlashcardList = new UniqueFlashcardList();
+        expectedUniqueFlashcardList.add(MODULE_CODE);
+        assertEquals(expectedUniqueFlashcardList, uniqueFlashcardList);
+        assertFalse(uniqueFlashcardList.contains(HELLOWORLD));
+    }
+
+    @Test
+    public void setFlashcards_listWithDuplicateFlashcards_throwsDuplicateFlashcardException() {
+        Flashcard editedHelloWorld = new FlashcardBuilder(HELLOWORLD).withAnswer(VALID_ANSWER_CODE).build();
+        List<Card> listWithDuplicateFlashcards = Arrays.asList(HELLOWORLD, editedHelloWorld);
+        assertThrows(DuplicateFlashcardException.class, () -> uniqueFlashcardList
+                .setFlashcards(listWithDuplicateFlashcards));
+    }
+
+    @Test
+    public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
+        assertThrows(UnsupportedOperationException.class, ()
+            -> uniqueFlashcardList.asUnmodifiableObservableList().remove(0));
+    }
+}
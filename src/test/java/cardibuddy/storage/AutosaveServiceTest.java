@@ -0,0 +1,105 @@
+package cardibuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+
+public class AutosaveServiceTest {
+
+    private static final long LONG_DELAY_MILLIS = 60_000;
+
+    @Test
+    public void flush_burstOfSubmissions_writesLatestOnce() {
+        StorageStub storage = new StorageStub();
+        AutosaveService autosaveService = new AutosaveService(storage, LONG_DELAY_MILLIS, LONG_DELAY_MILLIS);
+        CardiBuddy latest = new CardiBuddy();
+
+        autosaveService.submit(new CardiBuddy());
+        autosaveService.submit(new CardiBuddy());
+        autosaveService.submit(latest);
+        autosaveService.flush();
+
+        assertEquals(1, storage.saved.size());
+        assertTrue(storage.saved.get(0) == latest);
+    }
+
+    @Test
+    public void submit_noQuietPeriod_writesInBackground() throws Exception {
+        StorageStub storage = new StorageStub();
+        AutosaveService autosaveService = new AutosaveService(storage, 0, 0);
+        autosaveService.submit(new CardiBuddy());
+
+        for (int i = 0; i < 100 && storage.saved.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, storage.saved.size());
+        autosaveService.shutdown();
+    }
+
+    @Test
+    public void flush_saveFails_reportsErrorAndRetries() {
+        StorageStub storage = new StorageStub();
+        storage.failuresLeft = 1;
+        AutosaveService autosaveService = new AutosaveService(storage, LONG_DELAY_MILLIS, LONG_DELAY_MILLIS);
+        List<IOException> errors = new ArrayList<>();
+        autosaveService.setErrorHandler(errors::add);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+
+        autosaveService.submit(cardiBuddy);
+        autosaveService.flush();
+        assertEquals(1, errors.size());
+        assertTrue(storage.saved.isEmpty());
+
+        autosaveService.flush();
+        assertEquals(1, storage.saved.size());
+        assertTrue(storage.saved.get(0) == cardiBuddy);
+    }
+
+    /**
+     * A storage stub that records the data it is asked to save.
+     */
+    private static class StorageStub implements CardiBuddyStorage {
+        private final List<ReadOnlyCardiBuddy> saved = Collections.synchronizedList(new ArrayList<>());
+        private int failuresLeft;
+
+        @Override
+        public Path getCardiBuddyFilePath() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<ReadOnlyCardiBuddy> readCardiBuddy() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<ReadOnlyCardiBuddy> readCardiBuddy(Path filePath) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+            if (failuresLeft > 0) {
+                failuresLeft--;
+                throw new IOException("Disk full");
+            }
+            saved.add(cardiBuddy);
+        }
+
+        @Override
+        public void saveCardiBuddy(ReadOnlyCardiBuddy cardiBuddy, Path filePath) {
+            throw new AssertionError("This method should not be called.");
+        }
+    }
+}
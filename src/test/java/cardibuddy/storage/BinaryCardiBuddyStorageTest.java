@@ -0,0 +1,140 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.HOON;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.StorageFormat;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Imagecard;
+import cardibuddy.model.flashcard.McqAnswer;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+import cardibuddy.model.flashcard.TfAnswer;
+
+public class BinaryCardiBuddyStorageTest {
+    private static final Path TYPICAL_DECKS_FILE = Paths.get("src", "test", "data",
+            "JsonSerializableCardiBuddyTest", "typicalDecksCardiBuddy.json");
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readCardiBuddy_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryCardiBuddyStorage(testFolder.resolve("NonExistentFile.bin")).readCardiBuddy()
+                .isPresent());
+    }
+
+    @Test
+    public void readCardiBuddy_jsonFile_throwsDataConversionException() {
+        assertThrows(DataConversionException.class, () -> new BinaryCardiBuddyStorage(TYPICAL_DECKS_FILE)
+                .readCardiBuddy());
+    }
+
+    @Test
+    public void readCardiBuddy_truncatedFile_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.bin");
+        BinaryCardiBuddyStorage storage = new BinaryCardiBuddyStorage(filePath);
+        storage.saveCardiBuddy(getTypicalCardiBuddy());
+        try (FileChannel file = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+            file.truncate(file.size() - 1);
+        }
+        assertThrows(DataConversionException.class, storage::readCardiBuddy);
+    }
+
+    @Test
+    public void readAndSave_typicalDecksFile_sameAsJson() throws Exception {
+        ReadOnlyCardiBuddy fromJson = JsonUtil.parseJsonFile(TYPICAL_DECKS_FILE, JsonSerializableCardiBuddy::read)
+                .get();
+        assertBinaryRoundTripSameAsJson(fromJson);
+    }
+
+    @Test
+    public void readAndSave_typicalCardiBuddy_sameAsJson() throws Exception {
+        CardiBuddy original = getTypicalCardiBuddy();
+        original.addDeck(HOON);
+        assertBinaryRoundTripSameAsJson(original);
+    }
+
+    @Test
+    public void readAndSave_allCardAndAnswerTypes_sameAsJson() throws Exception {
+        Deck deck = new Deck(new Title("Mixed"), new HashSet<>());
+        deck.addCard(new Flashcard(deck, new Question("Is this true?"), new TfAnswer("T"), ""));
+        deck.addCard(new Flashcard(deck, new Question("Which one?"), new McqAnswer("B) two A) one C) three"), ""));
+        deck.addCard(new Flashcard(deck, new Question("What is it?"), new ShortAnswer("Nothing"), ""));
+        deck.addCard(new Imagecard(deck, new Question("What is shown?"), new ShortAnswer("A cat"), "images/cat.png"));
+        deck.getStatistics().getCorrectPercentageHistory().put("Mixed", List.of(50.0, 100.0));
+        CardiBuddy original = new CardiBuddy();
+        original.addDeck(deck);
+
+        assertBinaryRoundTripSameAsJson(original);
+    }
+
+    @Test
+    public void saveCardiBuddy_typicalDecksFile_smallerThanJson() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.bin");
+        ReadOnlyCardiBuddy fromJson = JsonUtil.parseJsonFile(TYPICAL_DECKS_FILE, JsonSerializableCardiBuddy::read)
+                .get();
+        new BinaryCardiBuddyStorage(filePath).saveCardiBuddy(fromJson);
+        assertTrue(Files.size(filePath) * 3 < Files.size(TYPICAL_DECKS_FILE));
+    }
+
+    @Test
+    public void create_binaryExtension_binaryStorageWhateverTheFormat() {
+        assertTrue(CardiBuddyStorageFactory.create(StorageFormat.JSON, Paths.get("data", "cardibuddy.bin"))
+                instanceof BinaryCardiBuddyStorage);
+        assertTrue(CardiBuddyStorageFactory.create(StorageFormat.BINARY, Paths.get("data", "cardibuddy.json"))
+                instanceof BinaryCardiBuddyStorage);
+        assertTrue(CardiBuddyStorageFactory.create(StorageFormat.JSON, Paths.get("data", "cardibuddy.json"))
+                instanceof JsonCardiBuddyStorage);
+    }
+
+    /**
+     * Saves {@code original} through the json and the binary storage, and checks that both read back the same data.
+     */
+    private void assertBinaryRoundTripSameAsJson(ReadOnlyCardiBuddy original) throws Exception {
+        Path jsonPath = testFolder.resolve("TempCardiBuddy.json");
+        Path binaryPath = testFolder.resolve("TempCardiBuddy.bin");
+        new JsonCardiBuddyStorage(jsonPath).saveCardiBuddy(original);
+        new BinaryCardiBuddyStorage(binaryPath).saveCardiBuddy(original);
+
+        ReadOnlyCardiBuddy fromJson = new JsonCardiBuddyStorage(jsonPath).readCardiBuddy().get();
+        ReadOnlyCardiBuddy fromBinary = new BinaryCardiBuddyStorage(binaryPath).readCardiBuddy().get();
+
+        assertEquals(fromJson, fromBinary);
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableCardiBuddy(fromJson)),
+                JsonUtil.toJsonString(new JsonSerializableCardiBuddy(fromBinary)));
+        for (int i = 0; i < fromJson.getDeckList().size(); i++) {
+            List<Card> jsonCards = fromJson.getDeckList().get(i).getFlashcards();
+            List<Card> binaryCards = fromBinary.getDeckList().get(i).getFlashcards();
+            assertEquals(jsonCards.size(), binaryCards.size());
+            for (int j = 0; j < jsonCards.size(); j++) {
+                assertEquals(jsonCards.get(j).getClass(), binaryCards.get(j).getClass());
+                assertEquals(jsonCards.get(j).getAnswer().getClass(), binaryCards.get(j).getAnswer().getClass());
+                assertEquals(jsonCards.get(j).getAnswer().toString(), binaryCards.get(j).getAnswer().toString());
+                assertEquals(jsonCards.get(j).getPath(), binaryCards.get(j).getPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package cardibuddy.storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A {@code WriteAheadLog.LogFile} on a simulated disk that can lose power.
+ * Bytes appended are only sure to be on the disk once they are forced; a crash leaves the file on the disk
+ * holding what was forced plus any number of the bytes appended after it, the way a write cut short would.
+ * Appends can also be made to fail part way through.
+ */
+class CrashingLogFile implements WriteAheadLog.LogFile {
+
+    private final Path path;
+    private byte[] forced;
+    private byte[] written;
+    private int appendsUntilFailure = -1;
+    private int forces;
+
+    private CrashingLogFile(Path path) throws IOException {
+        this.path = path;
+        forced = Files.exists(path) ? Files.readAllBytes(path) : new byte[0];
+        written = forced;
+    }
+
+    /**
+     * Returns an {@code Opener} that opens a {@code CrashingLogFile} and hands it to {@code onOpen}.
+     */
+    static WriteAheadLog.LogFile.Opener opener(OpenListener onOpen) {
+        return path -> {
+            CrashingLogFile file = new CrashingLogFile(path);
+            onOpen.opened(file);
+            return file;
+        };
+    }
+
+    /**
+     * Makes the append after the next {@code appends} appends write only half of its bytes and fail.
+     */
+    void failAfter(int appends) {
+        appendsUntilFailure = appends;
+    }
+
+    int getForces() {
+        return forces;
+    }
+
+    /**
+     * Simulates a power failure: writes what the disk would hold to the file, keeping {@code unforcedBytes}
+     * of the bytes that were appended but not forced.
+     */
+    void crash(int unforcedBytes) throws IOException {
+        byte[] onDisk = forced;
+        if (written.length >= forced.length && Arrays.equals(written, 0, forced.length, forced, 0, forced.length)) {
+            onDisk = Arrays.copyOf(written, forced.length + Math.min(unforcedBytes, written.length - forced.length));
+        }
+        Files.write(path, onDisk);
+    }
+
+    /**
+     * Returns the number of bytes appended but not forced.
+     */
+    int getUnforcedBytes() {
+        return Math.max(0, written.length - forced.length);
+    }
+
+    @Override
+    public synchronized void append(byte[] bytes) throws IOException {
+        if (appendsUntilFailure == 0) {
+            appendsUntilFailure = -1;
+            written = concat(written, Arrays.copyOf(bytes, bytes.length / 2));
+            throw new IOException("Injected failure");
+        }
+        if (appendsUntilFailure > 0) {
+            appendsUntilFailure--;
+        }
+        written = concat(written, bytes);
+    }
+
+    @Override
+    public synchronized void force() {
+        forced = written;
+        forces++;
+    }
+
+    @Override
+    public synchronized void truncate(long size) {
+        written = Arrays.copyOf(written, (int) Math.min(size, written.length));
+    }
+
+    @Override
+    public void close() {
+        // nothing is lost on closing, only on crashing
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] both = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, both, first.length, second.length);
+        return both;
+    }
+
+    /**
+     * Told about each {@code CrashingLogFile} opened.
+     */
+    @FunctionalInterface
+    interface OpenListener {
+        void opened(CrashingLogFile file);
+    }
+}
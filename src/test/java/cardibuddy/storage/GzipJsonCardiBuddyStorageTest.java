@@ -0,0 +1,77 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.HOON;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.StorageFormat;
+
+public class GzipJsonCardiBuddyStorageTest {
+    private static final Path TYPICAL_DECKS_FILE = Paths.get("src", "test", "data",
+            "JsonSerializableCardiBuddyTest", "typicalDecksCardiBuddy.json");
+
+    @TempDir
+    public Path testFolder;
+
+    private static String describe(ReadOnlyCardiBuddy cardiBuddy) throws Exception {
+        return JsonUtil.toJsonLine(new JsonSerializableCardiBuddy(cardiBuddy));
+    }
+
+    @Test
+    public void constructor_invalidCompressionLevel_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new GzipJsonCardiBuddyStorage(testFolder, 10));
+        assertThrows(IllegalArgumentException.class, () -> new GzipJsonCardiBuddyStorage(testFolder, -1));
+    }
+
+    @Test
+    public void readCardiBuddy_missingFile_emptyResult() throws Exception {
+        assertFalse(new GzipJsonCardiBuddyStorage(testFolder.resolve("NonExistentFile.json.gz")).readCardiBuddy()
+                .isPresent());
+    }
+
+    @Test
+    public void readCardiBuddy_uncompressedFile_throwsDataConversionException() {
+        assertThrows(DataConversionException.class, () -> new GzipJsonCardiBuddyStorage(TYPICAL_DECKS_FILE)
+                .readCardiBuddy());
+    }
+
+    @Test
+    public void getFormat_gzipFile_gzipJson() {
+        assertEquals(StorageFormat.GZIP_JSON,
+                CardiBuddyStorageFactory.getFormat(StorageFormat.JSON, Paths.get("data", "cardibuddy.json.gz")));
+    }
+
+    @Test
+    public void readAndSave_typicalCardiBuddy_sameAsJson() throws Exception {
+        CardiBuddy original = getTypicalCardiBuddy();
+        original.addDeck(HOON);
+        Path jsonPath = testFolder.resolve("cardibuddy.json");
+        new JsonCardiBuddyStorage(jsonPath).saveCardiBuddy(original, jsonPath);
+        ReadOnlyCardiBuddy fromJson = new JsonCardiBuddyStorage(jsonPath).readCardiBuddy(jsonPath).get();
+
+        for (int level = 0; level <= 9; level++) {
+            Path filePath = testFolder.resolve("cardibuddy-" + level + ".json.gz");
+            GzipJsonCardiBuddyStorage storage = new GzipJsonCardiBuddyStorage(filePath, level);
+            storage.saveCardiBuddy(original);
+
+            assertEquals(describe(fromJson), describe(storage.readCardiBuddy().get()));
+            if (level > 0) {
+                assertTrue(Files.size(filePath) < Files.size(jsonPath));
+            }
+        }
+    }
+}
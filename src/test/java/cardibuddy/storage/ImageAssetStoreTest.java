@@ -0,0 +1,107 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.model.flashcard.ImageStore.ThumbnailSize;
+
+public class ImageAssetStoreTest {
+
+    @TempDir
+    public Path testFolder;
+
+    private Path writeImage(String fileName, int width, int height, int colour) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, colour);
+            }
+        }
+        Path file = testFolder.resolve(fileName);
+        ImageIO.write(image, "png", file.toFile());
+        return file;
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static int readWidth(String url) throws IOException {
+        return ImageIO.read(Paths.get(URI.create(url)).toFile()).getWidth();
+    }
+
+    @Test
+    public void add_sameImageTwice_storedOnce() throws Exception {
+        ImageAssetStore store = ImageAssetStore.forDataFile(testFolder.resolve("cardibuddy.json"));
+        Path image = writeImage("cat.png", 20, 10, 0xff0000);
+        Path copy = testFolder.resolve("copy of cat.png");
+        Files.copy(image, copy);
+
+        String stored = store.add(image.toUri().toString());
+        assertEquals(stored, store.add(copy.toUri().toString()));
+        assertEquals(1, countFiles(store.getDirectory()));
+
+        store.add(writeImage("dog.png", 20, 10, 0x00ff00).toUri().toString());
+        assertEquals(2, countFiles(store.getDirectory()));
+    }
+
+    @Test
+    public void add_largeImage_thumbnailsScaledDown() throws Exception {
+        ImageAssetStore store = new ImageAssetStore(testFolder.resolve("images"));
+        String stored = store.add(writeImage("wide.png", 1000, 500, 0x0000ff).toUri().toString());
+
+        String listThumbnail = ImageAssetStore.getThumbnailUrl(stored, ThumbnailSize.LIST);
+        String testThumbnail = ImageAssetStore.getThumbnailUrl(stored, ThumbnailSize.TEST);
+        assertEquals(ThumbnailSize.LIST.getWidth(), readWidth(listThumbnail));
+        assertEquals(ThumbnailSize.TEST.getWidth(), readWidth(testThumbnail));
+        assertEquals(1000, readWidth(stored));
+    }
+
+    @Test
+    public void add_smallImage_thumbnailsKeepSize() throws Exception {
+        ImageAssetStore store = new ImageAssetStore(testFolder.resolve("images"));
+        String stored = store.add(writeImage("small.png", 30, 30, 0x0000ff).toUri().toString());
+        assertEquals(30, readWidth(ImageAssetStore.getThumbnailUrl(stored, ThumbnailSize.LIST)));
+    }
+
+    @Test
+    public void getThumbnailUrl_imageNotInStore_returnsImage() throws Exception {
+        String image = writeImage("cat.png", 20, 10, 0xff0000).toUri().toString();
+        assertEquals(image, ImageAssetStore.getThumbnailUrl(image, ThumbnailSize.LIST));
+        assertEquals("http://example.com/cat.png",
+                ImageAssetStore.getThumbnailUrl("http://example.com/cat.png", ThumbnailSize.LIST));
+    }
+
+    @Test
+    public void add_missingFile_throwsIoException() {
+        ImageAssetStore store = new ImageAssetStore(testFolder.resolve("images"));
+        assertThrows(IOException.class, () -> store.add(testFolder.resolve("missing.png").toUri().toString()));
+        assertThrows(IOException.class, () -> store.add("http://example.com/cat.png"));
+    }
+
+    @Test
+    public void add_notAnImage_storedWithoutThumbnails() throws Exception {
+        ImageAssetStore store = new ImageAssetStore(testFolder.resolve("images"));
+        Path file = testFolder.resolve("notes.txt");
+        Files.writeString(file, "not an image");
+        String stored = store.add(file.toUri().toString());
+        assertTrue(Files.exists(Paths.get(URI.create(stored))));
+        assertEquals(stored, ImageAssetStore.getThumbnailUrl(stored, ThumbnailSize.TEST));
+    }
+}
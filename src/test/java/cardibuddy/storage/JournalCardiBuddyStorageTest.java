@@ -0,0 +1,186 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.TypicalDecks.ASYNCHRONOUS;
+import static cardibuddy.testutil.TypicalDecks.HOON;
+import static cardibuddy.testutil.TypicalDecks.IDA;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ModelManager;
+import cardibuddy.model.UserPrefs;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class JournalCardiBuddyStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readCardiBuddy_missingFiles_emptyResult() throws Exception {
+        Path filePath = testFolder.resolve("NonExistentFile.json");
+        assertFalse(new JournalCardiBuddyStorage(filePath).readCardiBuddy().isPresent());
+    }
+
+    @Test
+    public void readAndSaveCardiBuddy_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath);
+
+        storage.saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+
+        original.addDeck(HOON);
+        original.removeDeck(ASYNCHRONOUS);
+        storage.saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_oneDeckChanged_recordsOnlyThatDeck() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        Deck deck = new DeckBuilder().withTitle("Journal").build();
+        original.addDeck(deck);
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath);
+        storage.saveCardiBuddy(original);
+
+        // a card added to a deck in place is still noticed
+        deck.addCard(new FlashcardBuilder().build());
+        storage.saveCardiBuddy(original);
+
+        JsonJournalRecord record = readLastRecord(filePath);
+        assertEquals(1, record.getPut().size());
+        assertEquals("Journal", record.getPut().get(0).getTitle());
+        assertTrue(record.getRemoved().isEmpty());
+        assertEquals(null, record.getOrder());
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_unchangedData_appendsNothing() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        new JournalCardiBuddyStorage(filePath).saveCardiBuddy(getTypicalCardiBuddy());
+        long journalSize = Files.size(JournalCardiBuddyStorage.getJournalPath(filePath));
+
+        // a detached copy of the data read back has different deck objects, but once it is marked as saved,
+        // as LogicManager does, the later copies reusing its decks are not written again
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath);
+        ModelManager model = new ModelManager(storage.readCardiBuddy().get(), new UserPrefs());
+        storage.markSaved(model.getDetachedCardiBuddy());
+        storage.saveCardiBuddy(model.getDetachedCardiBuddy());
+        assertEquals(journalSize, Files.size(JournalCardiBuddyStorage.getJournalPath(filePath)));
+    }
+
+    @Test
+    public void readCardiBuddy_truncatedTail_ignoresIncompleteRecord() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        Path journalPath = JournalCardiBuddyStorage.getJournalPath(filePath);
+        CardiBuddy original = getTypicalCardiBuddy();
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath);
+        storage.saveCardiBuddy(original);
+        long completeSize = Files.size(journalPath);
+
+        // simulate a crash half way through appending the next record
+        CardiBuddy edited = new CardiBuddy(original);
+        edited.addDeck(HOON);
+        storage.saveCardiBuddy(edited);
+        try (FileChannel journal = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            journal.truncate(completeSize + (Files.size(journalPath) - completeSize) / 2);
+        }
+
+        JournalCardiBuddyStorage restarted = new JournalCardiBuddyStorage(filePath);
+        assertEquals(original, new CardiBuddy(restarted.readCardiBuddy().get()));
+        assertEquals(completeSize, Files.size(journalPath));
+
+        // later records are appended after the last complete one
+        original.addDeck(IDA);
+        restarted.saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_incompleteTailWithoutRead_dropsTailBeforeAppending() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        Path journalPath = JournalCardiBuddyStorage.getJournalPath(filePath);
+        CardiBuddy original = getTypicalCardiBuddy();
+        new JournalCardiBuddyStorage(filePath).saveCardiBuddy(original);
+        Files.writeString(journalPath, "{\"put\":[{\"tit", StandardOpenOption.APPEND);
+
+        original.addDeck(HOON);
+        new JournalCardiBuddyStorage(filePath).saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_journalPastThreshold_compactsIntoCheckpoint() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath, 1);
+
+        storage.saveCardiBuddy(original);
+        storage.awaitCompaction();
+        original.addDeck(HOON);
+        storage.saveCardiBuddy(original);
+        storage.awaitCompaction();
+
+        assertFalse(Files.exists(JournalCardiBuddyStorage.getJournalPath(filePath)));
+        assertFalse(Files.exists(JournalCardiBuddyStorage.getCompactingPath(filePath)));
+        assertEquals(original, new CardiBuddy(new JsonCardiBuddyStorage(filePath).readCardiBuddy().get()));
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void close_compactionStarted_waitsForItAndStopsCompacting() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath, 1);
+
+        storage.saveCardiBuddy(original);
+        storage.close();
+        assertFalse(Files.exists(JournalCardiBuddyStorage.getCompactingPath(filePath)));
+
+        original.addDeck(HOON);
+        storage.saveCardiBuddy(original);
+        assertTrue(Files.exists(JournalCardiBuddyStorage.getJournalPath(filePath)));
+        assertFalse(Files.exists(JournalCardiBuddyStorage.getCompactingPath(filePath)));
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void readCardiBuddy_compactionInterruptedAfterCheckpoint_sameData() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        Path journalPath = JournalCardiBuddyStorage.getJournalPath(filePath);
+        CardiBuddy original = getTypicalCardiBuddy();
+        JournalCardiBuddyStorage storage = new JournalCardiBuddyStorage(filePath);
+        storage.saveCardiBuddy(original);
+        original.removeDeck(ASYNCHRONOUS);
+        storage.saveCardiBuddy(original);
+
+        // the checkpoint already holds the compacted journal, which was not deleted yet
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(original);
+        Files.move(journalPath, JournalCardiBuddyStorage.getCompactingPath(filePath));
+
+        assertEquals(original, new CardiBuddy(new JournalCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    private JsonJournalRecord readLastRecord(Path filePath) throws Exception {
+        List<String> lines = Files.readAllLines(JournalCardiBuddyStorage.getJournalPath(filePath));
+        return JsonUtil.fromJsonString(lines.get(lines.size() - 1), JsonJournalRecord.class);
+    }
+}
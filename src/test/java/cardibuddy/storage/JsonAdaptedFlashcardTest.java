@@ -4,11 +4,23 @@ import static cardibuddy.storage.JsonAdaptedFlashcard.MISSING_FIELD_MESSAGE_FORM
 import static cardibuddy.testutil.Assert.assertThrows;
 import static cardibuddy.testutil.TypicalFlashcards.HELLOWORLD;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Answer;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.McqAnswer;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.TfAnswer;
+import cardibuddy.storage.JsonAdaptedFlashcard.AnswerType;
 import cardibuddy.testutil.DeckBuilder;
 
 
@@ -17,37 +29,88 @@ public class JsonAdaptedFlashcardTest {
     private static final String VALID_QUESTION = HELLOWORLD.getQuestion().toString();
     private static final String VALID_ANSWER = HELLOWORLD.getAnswer().toString();
     private static final String VALID_PATH = HELLOWORLD.getPath();
+    private static final String VALID_MCQ_ANSWER = "B) Paris A) London C) Rome";
 
     @Test
     public void toModelType_validFlashcardDetails_returnsFlashcard() throws Exception {
-        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_DECK, VALID_QUESTION, VALID_ANSWER, VALID_PATH);
+        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(HELLOWORLD);
         // The Deck to be input doesn't have to be the same as the one used for JsonAdaptedFlashcard constructor
         Deck deck = new DeckBuilder().build();
         assertEquals(HELLOWORLD, flashcard.toModelType(deck));
     }
 
     @Test
-    public void toModelType_nullDeck_throwsIllegalValueException() {
-        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(null, VALID_QUESTION, VALID_ANSWER, VALID_PATH);
+    public void toModelType_legacyFlashcardDetails_returnsFlashcard() throws Exception {
+        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_DECK, VALID_QUESTION, VALID_ANSWER, VALID_PATH);
+        assertTrue(flashcard.isLegacy());
         Deck deck = new DeckBuilder().build();
-        assertThrows(IllegalValueException.class, String.format(MISSING_FIELD_MESSAGE_FORMAT,
-                Deck.class.getSimpleName()), () -> flashcard.toModelType(deck));
+        assertEquals(HELLOWORLD, flashcard.toModelType(deck));
+    }
+
+    @Test
+    public void toModelType_mcqAnswer_keepsChoicesInOrder() throws Exception {
+        Deck deck = new DeckBuilder().build();
+        Card card = new Flashcard(deck, new Question(VALID_QUESTION), new McqAnswer(VALID_MCQ_ANSWER), "");
+        JsonAdaptedFlashcard adapted = JsonUtil.fromJsonString(
+                JsonUtil.toJsonString(new JsonAdaptedFlashcard(card)), JsonAdaptedFlashcard.class);
+
+        McqAnswer answer = (McqAnswer) adapted.toModelType(deck).getAnswer();
+        assertEquals(VALID_MCQ_ANSWER, answer.toString());
+        assertEquals(List.of("B) Paris ", "A) London ", "C) Rome"), answer.getOptions());
+        assertEquals("B", answer.getCorrectAnswer());
+        assertEquals(List.of("A) London ", "B) Paris ", "C) Rome"), answer.getAnswerList());
+    }
+
+    @Test
+    public void upgrade_legacyAnswers_recordsAnswerType() throws Exception {
+        Deck deck = new DeckBuilder().build();
+        JsonAdaptedFlashcard trueFalse = new JsonAdaptedFlashcard(VALID_DECK, VALID_QUESTION, "T", "").upgrade();
+        assertFalse(trueFalse.isLegacy());
+        assertTrue(trueFalse.toModelType(deck).getAnswer() instanceof TfAnswer);
+
+        JsonAdaptedFlashcard mcq = new JsonAdaptedFlashcard(VALID_DECK, VALID_QUESTION, VALID_MCQ_ANSWER, "").upgrade();
+        assertEquals(new JsonAdaptedFlashcard(VALID_QUESTION, AnswerType.MCQ, null,
+                List.of("B) Paris ", "A) London ", "C) Rome"), null, null).toModelType(deck),
+                mcq.toModelType(deck));
+
+        // neither the deck nor an empty path are written
+        String upgraded = JsonUtil.toJsonLine(mcq);
+        assertFalse(upgraded.contains("deck"));
+        assertFalse(upgraded.contains("path"));
+    }
+
+    @Test
+    public void toModelType_invalidMcqOptions_throwsIllegalValueException() {
+        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_QUESTION, AnswerType.MCQ, null,
+                List.of("A) London", "A) Paris", "C) Rome"), null, null);
+        Deck deck = new DeckBuilder().build();
+        assertThrows(IllegalValueException.class, McqAnswer.MESSAGE_CONSTRAINTS, () -> flashcard.toModelType(deck));
     }
 
     @Test
     public void toModelType_nullQuestion_throwsIllegalValueException() {
-        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_DECK, null, VALID_ANSWER, VALID_PATH);
+        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(null, AnswerType.SHORT, VALID_ANSWER, null,
+                VALID_PATH, null);
         Deck deck = new DeckBuilder().build();
         assertThrows(IllegalValueException.class, String.format(MISSING_FIELD_MESSAGE_FORMAT,
-                Deck.class.getSimpleName()), () -> flashcard.toModelType(deck));
+                Question.class.getSimpleName()), () -> flashcard.toModelType(deck));
     }
 
     @Test
     public void toModelType_nullAnswer_throwsIllegalValueException() {
+        JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_QUESTION, AnswerType.SHORT, null, null,
+                VALID_PATH, null);
+        Deck deck = new DeckBuilder().build();
+        assertThrows(IllegalValueException.class, String.format(MISSING_FIELD_MESSAGE_FORMAT,
+                Answer.class.getSimpleName()), () -> flashcard.toModelType(deck));
+    }
+
+    @Test
+    public void toModelType_legacyNullAnswer_throwsIllegalValueException() {
         JsonAdaptedFlashcard flashcard = new JsonAdaptedFlashcard(VALID_DECK, VALID_QUESTION, null, VALID_PATH);
         Deck deck = new DeckBuilder().build();
         assertThrows(IllegalValueException.class, String.format(MISSING_FIELD_MESSAGE_FORMAT,
-                Deck.class.getSimpleName()), () -> flashcard.toModelType(deck));
+                Answer.class.getSimpleName()), () -> flashcard.toModelType(deck));
     }
 
 }
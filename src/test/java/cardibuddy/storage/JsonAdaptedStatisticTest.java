@@ -2,19 +2,23 @@ package cardibuddy.storage;
 
 import static cardibuddy.testutil.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.deck.Statistics;
 
 public class JsonAdaptedStatisticTest {
     public static final String INVALID_NUM = "BABA YAGA";
 
-    public static final String VALID_INT = "0";
-    public static final String VALID_DOUBLE = "0.0";
+    public static final int VALID_INT = 0;
+    public static final double VALID_DOUBLE = 0.0;
     public static final HashMap<String, List<Double>> VALID_HISTORY = new HashMap<>();
 
     @Test
@@ -26,16 +30,39 @@ public class JsonAdaptedStatisticTest {
     }
 
     @Test
-    public void toModelType_invalidInt_throwsNumberFormatException() {
-        JsonAdaptedStatistic statistic = new JsonAdaptedStatistic(INVALID_NUM, VALID_INT, VALID_INT, VALID_INT,
-                VALID_INT, VALID_INT, VALID_DOUBLE, VALID_DOUBLE, VALID_HISTORY);
-        assertThrows(NumberFormatException.class, statistic::toModeltype);
+    public void toModelType_statisticsSavedAsStrings_readAsNumbers() throws Exception {
+        JsonAdaptedStatistic statistic = JsonUtil.fromJsonString("{\"cardsAdded\" : \"3\", \"timesPlayed\" : \"2\", "
+                + "\"avgCorrectPercentage\" : \"0.5\", \"correctPercentageHistory\" : {\"CS2103\" : [0.25, 0.75]}}",
+                JsonAdaptedStatistic.class);
+        Statistics statistics = statistic.toModeltype();
+        assertEquals(3, statistics.getCardsAdded());
+        assertEquals(2, statistics.getTimesPlayed());
+        assertEquals(0.5, statistics.getAvgCorrectPercentage());
+        assertEquals(List.of(0.25, 0.75), statistics.getCorrectPercentageHistory().get("CS2103"));
     }
 
     @Test
-    public void toModelType_invalidDouble_throwsNumberFormatException() {
-        JsonAdaptedStatistic statistic = new JsonAdaptedStatistic(VALID_INT, VALID_INT, VALID_INT, VALID_INT, VALID_INT,
-                VALID_INT, INVALID_NUM, VALID_DOUBLE, VALID_HISTORY);
-        assertThrows(NumberFormatException.class, statistic::toModeltype);
+    public void toModelType_invalidInt_throwsIoException() {
+        assertThrows(IOException.class, () -> JsonUtil.fromJsonString(
+                "{\"cardsAdded\" : \"" + INVALID_NUM + "\"}", JsonAdaptedStatistic.class));
+    }
+
+    @Test
+    public void toModelType_invalidDouble_throwsIoException() {
+        assertThrows(IOException.class, () -> JsonUtil.fromJsonString(
+                "{\"avgCorrectPercentage\" : \"" + INVALID_NUM + "\"}", JsonAdaptedStatistic.class));
+    }
+
+    @Test
+    public void constructor_withoutHistory_historyLeftOut() throws Exception {
+        Statistics statistics = new Statistics();
+        statistics.getCorrectPercentageHistory().put("CS2103", List.of(0.5));
+
+        JsonAdaptedStatistic withHistory = new JsonAdaptedStatistic(statistics);
+        assertTrue(withHistory.hasHistory());
+        JsonAdaptedStatistic withoutHistory = new JsonAdaptedStatistic(statistics, false);
+        assertFalse(withoutHistory.hasHistory());
+        assertFalse(JsonUtil.toJsonLine(withoutHistory).contains("correctPercentageHistory"));
+        assertTrue(withoutHistory.toModeltype().getCorrectPercentageHistory().isEmpty());
     }
 }
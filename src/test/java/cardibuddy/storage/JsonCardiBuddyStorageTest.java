@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -18,6 +19,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.CardiBuddy;
 import cardibuddy.model.ReadOnlyCardiBuddy;
 
@@ -83,6 +86,17 @@ public class JsonCardiBuddyStorageTest {
 
     }
 
+    @Test
+    public void saveCardiBuddyStreamedSameAsSerializedCardiBuddy() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(original);
+
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableCardiBuddy(original, false)),
+                FileUtil.readFromFile(filePath));
+        assertEquals(1, Files.list(testFolder).count()); // no temporary file is left behind
+    }
+
     @Test
     public void saveCardiBuddyNullCardiBuddyThrowsNullPointerException() {
         assertThrows(NullPointerException.class, () -> saveCardiBuddy(null, "SomeFile.json"));
@@ -0,0 +1,84 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+
+public class JsonSchemaTest {
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonSchemaTest");
+    private static final Path UNVERSIONED_FILE = Paths.get("src", "test", "data",
+            "JsonSerializableCardiBuddyTest", "typicalDecksCardiBuddy.json");
+    private static final Path NEWER_VERSION_FILE = TEST_DATA_FOLDER.resolve("newerVersionCardiBuddy.json");
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void migrateIfNeeded_unversionedFile_upgradedAndBackedUp() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Files.copy(UNVERSIONED_FILE, filePath);
+        CardiBuddy beforeMigration = JsonUtil.parseJsonFile(filePath, JsonSerializableCardiBuddy::read).get();
+
+        assertTrue(JsonSchema.migrateIfNeeded(filePath));
+        Path backupPath = JsonSchema.getBackupPath(filePath, JsonSchema.UNVERSIONED);
+        assertEquals(FileUtil.readFromFile(UNVERSIONED_FILE), FileUtil.readFromFile(backupPath));
+
+        String migrated = FileUtil.readFromFile(filePath);
+        assertTrue(migrated.startsWith("{\n  \"version\" : " + JsonSchema.CURRENT_VERSION));
+        assertFalse(migrated.contains("\"deck\""));
+        assertTrue(migrated.length() < Files.size(UNVERSIONED_FILE));
+
+        CardiBuddy afterMigration = JsonUtil.parseJsonFile(filePath, JsonSerializableCardiBuddy::read).get();
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableCardiBuddy(beforeMigration)),
+                JsonUtil.toJsonString(new JsonSerializableCardiBuddy(afterMigration)));
+
+        // files in the current version are left alone
+        assertFalse(JsonSchema.migrateIfNeeded(filePath));
+        assertEquals(migrated, FileUtil.readFromFile(filePath));
+    }
+
+    @Test
+    public void migrateIfNeeded_savedFile_notMigrated() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        ReadOnlyCardiBuddy cardiBuddy = JsonUtil.parseJsonFile(UNVERSIONED_FILE, JsonSerializableCardiBuddy::read)
+                .get();
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+
+        assertFalse(JsonSchema.migrateIfNeeded(filePath));
+        assertFalse(JsonSchema.migrateIfNeeded(testFolder.resolve("missing.json")));
+    }
+
+    @Test
+    public void readCardiBuddy_unversionedFile_upgradedOnFirstLoad() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Files.copy(UNVERSIONED_FILE, filePath);
+        new JsonCardiBuddyStorage(filePath).readCardiBuddy();
+
+        assertTrue(Files.exists(JsonSchema.getBackupPath(filePath, JsonSchema.UNVERSIONED)));
+        assertFalse(JsonSchema.migrateIfNeeded(filePath));
+    }
+
+    @Test
+    public void migrateIfNeeded_newerVersion_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Files.copy(NEWER_VERSION_FILE, filePath);
+
+        assertThrows(DataConversionException.class, () -> JsonSchema.migrateIfNeeded(filePath));
+        assertThrows(DataConversionException.class, () -> new JsonCardiBuddyStorage(filePath).readCardiBuddy());
+        assertEquals(FileUtil.readFromFile(NEWER_VERSION_FILE), FileUtil.readFromFile(filePath));
+    }
+}
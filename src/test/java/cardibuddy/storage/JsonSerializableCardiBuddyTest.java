@@ -7,13 +7,19 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import cardibuddy.commons.exceptions.DataConversionException;
 import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.FileUtil;
 import cardibuddy.commons.util.JsonUtil;
 import cardibuddy.model.CardiBuddy;
 import cardibuddy.testutil.TypicalDecks;
 
 public class JsonSerializableCardiBuddyTest {
+
+    @TempDir
+    public Path testFolder;
     private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonSerializableCardiBuddyTest");
     private static final Path TYPICAL_DECKS_FILE = TEST_DATA_FOLDER.resolve("typicalDecksCardiBuddy.json");
     private static final Path DUPLICATE_DECK_FILE = TEST_DATA_FOLDER.resolve("duplicateDeckCardiBuddy.json");
@@ -35,4 +41,29 @@ public class JsonSerializableCardiBuddyTest {
                 dataFromFile::toModelType);
     }
 
+    @Test
+    public void read_typicalDecksFile_sameAsToModelType() throws Exception {
+        CardiBuddy streamedFromFile = JsonUtil.parseJsonFile(TYPICAL_DECKS_FILE, JsonSerializableCardiBuddy::read)
+                .get();
+        CardiBuddy boundFromFile = JsonUtil.readJsonFile(TYPICAL_DECKS_FILE, JsonSerializableCardiBuddy.class).get()
+                .toModelType();
+        assertEquals(boundFromFile, streamedFromFile);
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableCardiBuddy(boundFromFile)),
+                JsonUtil.toJsonString(new JsonSerializableCardiBuddy(streamedFromFile)));
+    }
+
+    @Test
+    public void read_duplicateDecks_throwsIllegalValueException() {
+        assertThrows(IllegalValueException.class, JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK, () ->
+                JsonUtil.parseJsonFile(DUPLICATE_DECK_FILE, JsonSerializableCardiBuddy::read));
+    }
+
+    @Test
+    public void read_notJsonObject_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("array.json");
+        FileUtil.writeToFile(filePath, "[ ]");
+        assertThrows(DataConversionException.class, () ->
+                JsonUtil.parseJsonFile(filePath, JsonSerializableCardiBuddy::read));
+    }
+
 }
@@ -0,0 +1,98 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import cardibuddy.commons.exceptions.IllegalValueException;
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.Title;
+import cardibuddy.model.flashcard.Flashcard;
+import cardibuddy.model.flashcard.Question;
+import cardibuddy.model.flashcard.ShortAnswer;
+
+public class ParallelDeckConverterTest {
+
+    private static final int DECK_COUNT = 200;
+
+    private final ParallelDeckConverter converter = new ParallelDeckConverter(4);
+
+    @AfterEach
+    public void shutdown() {
+        converter.shutdown();
+    }
+
+    @Test
+    public void constructor_invalidParallelism_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelDeckConverter(0));
+        assertThrows(IllegalArgumentException.class, () ->
+                new ParallelDeckConverter(ParallelDeckConverter.MAX_PARALLELISM + 1));
+    }
+
+    @Test
+    public void finish_manyDecks_sameOrderAsSequential() throws Exception {
+        List<JsonAdaptedDeck> decks = generateDecks();
+        CardiBuddy parallel = convert(converter, decks);
+        CardiBuddy sequential = convert(new ParallelDeckConverter(1), decks);
+
+        assertEquals(DECK_COUNT, parallel.getDeckList().size());
+        assertEquals(sequential.getDeckList(), parallel.getDeckList());
+        assertEquals(JsonUtil.toJsonString(new JsonSerializableCardiBuddy(sequential)),
+                JsonUtil.toJsonString(new JsonSerializableCardiBuddy(parallel)));
+    }
+
+    @Test
+    public void finish_duplicateDeck_throwsIllegalValueException() {
+        List<JsonAdaptedDeck> decks = generateDecks();
+        decks.add(decks.get(DECK_COUNT / 2));
+        assertThrows(IllegalValueException.class, JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK, () ->
+                convert(converter, decks));
+    }
+
+    @Test
+    public void finish_invalidDecks_throwsErrorOfFirstInvalidDeck() {
+        List<JsonAdaptedDeck> decks = generateDecks();
+        // a duplicate before an invalid deck is reported first, as it is when converting one deck at a time
+        decks.add(DECK_COUNT / 2, decks.get(0));
+        decks.add(new JsonAdaptedDeck(null, Collections.emptyList(), Collections.emptyList(), null));
+        assertThrows(IllegalValueException.class, JsonSerializableCardiBuddy.MESSAGE_DUPLICATE_DECK, () ->
+                convert(converter, decks));
+
+        decks.remove(DECK_COUNT / 2);
+        assertThrows(IllegalValueException.class, String.format(JsonAdaptedDeck.MISSING_FIELD_MESSAGE_FORMAT,
+                Title.class.getSimpleName()), () -> convert(converter, decks));
+    }
+
+    private static CardiBuddy convert(ParallelDeckConverter converter, List<JsonAdaptedDeck> decks)
+            throws IllegalValueException {
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        try (ParallelDeckConverter.Conversion conversion = converter.into(cardiBuddy)) {
+            for (JsonAdaptedDeck deck : decks) {
+                conversion.add(deck);
+            }
+            conversion.finish();
+        }
+        return cardiBuddy;
+    }
+
+    private static List<JsonAdaptedDeck> generateDecks() {
+        List<JsonAdaptedDeck> decks = new ArrayList<>();
+        for (int i = 0; i < DECK_COUNT; i++) {
+            Deck deck = new Deck(new Title("Deck " + i), new HashSet<>());
+            for (int j = 0; j < 10; j++) {
+                deck.addCard(new Flashcard(deck, new Question("Question " + j), new ShortAnswer("Answer " + j), ""));
+            }
+            decks.add(new JsonAdaptedDeck(deck));
+        }
+        return decks;
+    }
+}
@@ -0,0 +1,180 @@
+package cardibuddy.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.util.FileUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.deck.Statistics;
+import cardibuddy.testutil.DeckBuilder;
+
+public class SessionHistoryFileTest {
+
+    private static final String DECK_TITLE = "Spanish";
+
+    @TempDir
+    public Path testFolder;
+
+    private static CardiBuddy newCardiBuddy() {
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        cardiBuddy.addDeck(new DeckBuilder().withTitle(DECK_TITLE).build());
+        return cardiBuddy;
+    }
+
+    private static void recordSession(ReadOnlyCardiBuddy cardiBuddy, double correctPercentage) {
+        cardiBuddy.getStatistics().getCorrectPercentageHistory()
+                .computeIfAbsent(DECK_TITLE, title -> new ArrayList<>()).add(correctPercentage);
+        cardiBuddy.getDeckList().get(0).getStatistics().getCorrectPercentageHistory()
+                .computeIfAbsent(DECK_TITLE, title -> new ArrayList<>()).add(correctPercentage);
+    }
+
+    private static long countLines(Path path) throws Exception {
+        return Files.readAllLines(path).size();
+    }
+
+    @Test
+    public void saveCardiBuddy_historyKeptApartAndReadLazily() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Path historyPath = SessionHistoryFile.getHistoryPath(filePath);
+        JsonCardiBuddyStorage storage = new JsonCardiBuddyStorage(filePath);
+
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        storage.saveCardiBuddy(cardiBuddy);
+        assertFalse(Files.exists(historyPath)); // nothing to record yet
+
+        recordSession(cardiBuddy, 0.5);
+        storage.saveCardiBuddy(cardiBuddy);
+        recordSession(cardiBuddy, 0.75);
+        storage.saveCardiBuddy(cardiBuddy);
+        // one record per session for the library and one for the deck, only the new ones appended each time
+        assertEquals(4, countLines(historyPath));
+        assertFalse(FileUtil.readFromFile(filePath).contains("correctPercentageHistory"));
+
+        ReadOnlyCardiBuddy readBack = new JsonCardiBuddyStorage(filePath).readCardiBuddy().get();
+        Statistics statistics = readBack.getStatistics();
+        assertFalse(statistics.isHistoryLoaded());
+        assertEquals(List.of(0.5, 0.75), statistics.getCorrectPercentageHistory().get(DECK_TITLE));
+        assertEquals(List.of(0.5, 0.75),
+                readBack.getDeckList().get(0).getStatistics().getCorrectPercentageHistory().get(DECK_TITLE));
+    }
+
+    @Test
+    public void saveCardiBuddy_unloadedHistory_notReadOrWritten() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Path historyPath = SessionHistoryFile.getHistoryPath(filePath);
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        recordSession(cardiBuddy, 0.5);
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+        String history = FileUtil.readFromFile(historyPath);
+
+        JsonCardiBuddyStorage storage = new JsonCardiBuddyStorage(filePath);
+        ReadOnlyCardiBuddy readBack = storage.readCardiBuddy().get();
+        storage.saveCardiBuddy(readBack);
+        assertFalse(readBack.getStatistics().isHistoryLoaded());
+        assertEquals(history, FileUtil.readFromFile(historyPath));
+    }
+
+    @Test
+    public void saveCardiBuddy_historyNoLongerFollowsOn_resetSaved() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        recordSession(cardiBuddy, 0.5);
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+
+        JsonCardiBuddyStorage storage = new JsonCardiBuddyStorage(filePath);
+        CardiBuddy readBack = (CardiBuddy) storage.readCardiBuddy().get();
+        // a copy made before the next session, e.g. for undo, still reads the history as it was
+        Statistics copy = new Statistics(readBack.getStatistics());
+        recordSession(readBack, 0.75);
+        storage.saveCardiBuddy(readBack);
+        assertEquals(List.of(0.5), copy.getCorrectPercentageHistory().get(DECK_TITLE));
+
+        // bringing the copy back replaces the saved history
+        readBack.setStatistics(copy);
+        storage.saveCardiBuddy(readBack);
+        assertEquals(List.of(0.5), new JsonCardiBuddyStorage(filePath).readCardiBuddy().get().getStatistics()
+                .getCorrectPercentageHistory().get(DECK_TITLE));
+    }
+
+    @Test
+    public void readCardiBuddy_historySavedInMainFile_movedToHistoryFile() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        recordSession(cardiBuddy, 0.5);
+        // files saved elsewhere, and files saved before the history was kept apart, hold the history themselves
+        new JsonCardiBuddyStorage(testFolder.resolve("other.json")).saveCardiBuddy(cardiBuddy, filePath);
+        assertTrue(FileUtil.readFromFile(filePath).contains("correctPercentageHistory"));
+
+        JsonCardiBuddyStorage storage = new JsonCardiBuddyStorage(filePath);
+        ReadOnlyCardiBuddy readBack = storage.readCardiBuddy().get();
+        assertTrue(readBack.getStatistics().isHistoryLoaded());
+        storage.saveCardiBuddy(readBack);
+
+        assertFalse(FileUtil.readFromFile(filePath).contains("correctPercentageHistory"));
+        assertEquals(List.of(0.5), new JsonCardiBuddyStorage(filePath).readCardiBuddy().get().getStatistics()
+                .getCorrectPercentageHistory().get(DECK_TITLE));
+    }
+
+    @Test
+    public void readCardiBuddy_journalStorage_readsHistoryFile() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        recordSession(cardiBuddy, 0.5);
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+
+        ReadOnlyCardiBuddy readBack = new JournalCardiBuddyStorage(filePath).readCardiBuddy().get();
+        assertEquals(List.of(0.5), readBack.getStatistics().getCorrectPercentageHistory().get(DECK_TITLE));
+
+        // folded into the checkpoint, where the journal storage keeps it up to date
+        assertFalse(Files.exists(SessionHistoryFile.getHistoryPath(filePath)));
+        ReadOnlyCardiBuddy checkpoint = new JsonCardiBuddyStorage(filePath).readCardiBuddy().get();
+        assertEquals(List.of(0.5), checkpoint.getStatistics().getCorrectPercentageHistory().get(DECK_TITLE));
+    }
+
+    @Test
+    public void readCardiBuddy_deckRecreatedInJournal_historyFileNotAttached() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        recordSession(cardiBuddy, 0.5);
+        new JsonCardiBuddyStorage(filePath).saveCardiBuddy(cardiBuddy);
+
+        // the journal puts the deck and the statistics of the library again, with no history
+        new JournalCardiBuddyStorage(filePath).saveCardiBuddy(newCardiBuddy());
+
+        ReadOnlyCardiBuddy readBack = new JournalCardiBuddyStorage(filePath).readCardiBuddy().get();
+        assertTrue(readBack.getDeckList().get(0).getStatistics().getCorrectPercentageHistory().isEmpty());
+        assertTrue(readBack.getStatistics().getCorrectPercentageHistory().isEmpty());
+    }
+
+    @Test
+    public void attachTo_largeFile_compacted() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Path historyPath = SessionHistoryFile.getHistoryPath(filePath);
+        CardiBuddy cardiBuddy = newCardiBuddy();
+        SessionHistoryFile sessionHistory = new SessionHistoryFile(historyPath, 0);
+        for (int i = 0; i < 5; i++) {
+            HashMap<String, List<Double>> history = new HashMap<>();
+            history.put(DECK_TITLE, List.of((double) i));
+            cardiBuddy.getStatistics().setCorrectPercentageHistory(history);
+            sessionHistory.save(cardiBuddy);
+        }
+        assertEquals(9, countLines(historyPath)); // a reset and a session for each save but the first
+
+        CardiBuddy fresh = newCardiBuddy();
+        fresh.getStatistics().setCorrectPercentageHistory(new HashMap<>());
+        new SessionHistoryFile(historyPath, 0).attachTo(fresh);
+        assertEquals(1, countLines(historyPath));
+        assertEquals(List.of(4.0), fresh.getStatistics().getCorrectPercentageHistory().get(DECK_TITLE));
+    }
+}
@@ -0,0 +1,205 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.ASYNCHRONOUS;
+import static cardibuddy.testutil.TypicalDecks.HOON;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.exceptions.DataConversionException;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ModelManager;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.UserPrefs;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.deck.exceptions.DeckNotLoadedException;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class ShardedCardiBuddyStorageTest {
+
+    @TempDir
+    public Path testFolder;
+
+    @Test
+    public void readCardiBuddy_missingManifest_emptyResult() throws Exception {
+        Path filePath = testFolder.resolve("NonExistentFile.json");
+        assertFalse(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().isPresent());
+    }
+
+    @Test
+    public void readAndSaveCardiBuddy_allInOrder_success() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        ShardedCardiBuddyStorage storage = new ShardedCardiBuddyStorage(filePath);
+
+        storage.saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().get()));
+        assertEquals(original.getDeckList().size(), listDeckFiles(filePath).size());
+
+        original.addDeck(HOON);
+        original.removeDeck(ASYNCHRONOUS);
+        storage.saveCardiBuddy(original);
+        assertEquals(original, new CardiBuddy(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().get()));
+        assertEquals(original.getDeckList().size(), listDeckFiles(filePath).size());
+    }
+
+    @Test
+    public void saveCardiBuddy_oneDeckChanged_rewritesOnlyThatDeck() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        Deck deck = new DeckBuilder().withTitle("Sharded").build();
+        original.addDeck(deck);
+        ShardedCardiBuddyStorage storage = new ShardedCardiBuddyStorage(filePath);
+        storage.saveCardiBuddy(original);
+        Set<String> filesBefore = listDeckFiles(filePath);
+
+        deck.addCard(new FlashcardBuilder().build());
+        storage.saveCardiBuddy(original);
+
+        Set<String> filesAfter = listDeckFiles(filePath);
+        Set<String> added = new HashSet<>(filesAfter);
+        added.removeAll(filesBefore);
+        Set<String> removed = new HashSet<>(filesBefore);
+        removed.removeAll(filesAfter);
+        assertEquals(1, added.size());
+        assertEquals(1, removed.size());
+        assertTrue(added.iterator().next().startsWith("sharded-"));
+        assertEquals(original, new CardiBuddy(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_unchangedData_writesNothing() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(getTypicalCardiBuddy());
+
+        // a detached copy of the data read back has different deck objects, but is not written again
+        ShardedCardiBuddyStorage storage = new ShardedCardiBuddyStorage(filePath);
+        ModelManager model = new ModelManager(storage.readCardiBuddy().get(), new UserPrefs());
+        Set<String> filesBefore = listDeckFiles(filePath);
+        String manifestBefore = Files.readString(filePath);
+        storage.saveCardiBuddy(model.getDetachedCardiBuddy());
+
+        assertEquals(filesBefore, listDeckFiles(filePath));
+        assertEquals(manifestBefore, Files.readString(filePath));
+    }
+
+    @Test
+    public void saveCardiBuddy_leftoverFiles_sweptOnFirstSave() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(original);
+
+        // a deck file written by a save that was interrupted before the manifest was replaced
+        Path leftover = ShardedCardiBuddyStorage.getDecksDirectory(filePath)
+                .resolve(ShardedCardiBuddyStorage.getDeckFileName("Leftover", 99));
+        Files.writeString(leftover, "{}");
+
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(original);
+        assertFalse(Files.exists(leftover));
+        assertEquals(original, new CardiBuddy(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void readCardiBuddy_missingDeckFile_throwsDataConversionException() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(getTypicalCardiBuddy());
+        Files.delete(ShardedCardiBuddyStorage.getDecksDirectory(filePath).resolve(listDeckFiles(filePath)
+                .iterator().next()));
+
+        assertThrows(DataConversionException.class, () -> new ShardedCardiBuddyStorage(filePath).readCardiBuddy());
+    }
+
+    @Test
+    public void readCardiBuddy_lazy_readsDeckFilesOnlyWhenCardsAreNeeded() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(original);
+        Path decksDirectory = ShardedCardiBuddyStorage.getDecksDirectory(filePath);
+        Path movedDirectory = testFolder.resolve("moved");
+        Files.move(decksDirectory, movedDirectory);
+
+        // the headers in the manifest are enough to list the decks
+        ReadOnlyCardiBuddy lazy = new ShardedCardiBuddyStorage(filePath, true).readCardiBuddy().get();
+        assertEquals(original.getDeckList().size(), lazy.getDeckList().size());
+        for (int i = 0; i < lazy.getDeckList().size(); i++) {
+            Deck deck = lazy.getDeckList().get(i);
+            assertFalse(deck.isLoaded());
+            assertEquals(original.getDeckList().get(i).getTitle(), deck.getTitle());
+            assertEquals(original.getDeckList().get(i).getTags(), deck.getTags());
+            assertEquals(original.getDeckList().get(i).getFlashcards().size(), deck.getCardCount());
+        }
+        assertThrows(DeckNotLoadedException.class, () -> lazy.getDeckList().get(0).getFlashcards());
+
+        Files.move(movedDirectory, decksDirectory);
+        assertEquals(original, new CardiBuddy(new ShardedCardiBuddyStorage(filePath, true).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_lazyDecksNotLoaded_writesNothingAndLoadsNothing() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(getTypicalCardiBuddy());
+
+        ShardedCardiBuddyStorage storage = new ShardedCardiBuddyStorage(filePath, true);
+        ModelManager model = new ModelManager(storage.readCardiBuddy().get(), new UserPrefs());
+        storage.awaitPrefetch();
+        String manifestBefore = Files.readString(filePath);
+        ReadOnlyCardiBuddy copy = model.getDetachedCardiBuddy();
+        storage.saveCardiBuddy(copy);
+
+        assertEquals(manifestBefore, Files.readString(filePath));
+        assertTrue(copy.getDeckList().stream().noneMatch(Deck::isLoaded));
+        assertTrue(model.getCardiBuddy().getDeckList().stream().noneMatch(Deck::isLoaded));
+    }
+
+    @Test
+    public void saveCardiBuddy_headerOfDeckNotLoadedChanged_deckStillLoads() throws Exception {
+        Path filePath = testFolder.resolve("TempCardiBuddy.json");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(original);
+
+        ShardedCardiBuddyStorage storage = new ShardedCardiBuddyStorage(filePath, true);
+        ModelManager model = new ModelManager(storage.readCardiBuddy().get(), new UserPrefs());
+        Deck deck = model.getCardiBuddy().getDeckList().get(0);
+        Set<String> filesBefore = listDeckFiles(filePath);
+
+        // the deck file is rewritten from a copy, so the deck itself must load from the new file
+        deck.getStatistics().trackDeckAdded();
+        storage.saveCardiBuddy(model.getDetachedCardiBuddy());
+        assertNotEquals(filesBefore, listDeckFiles(filePath));
+        assertFalse(deck.isLoaded());
+        assertEquals(original.getDeckList().get(0).getFlashcards(), deck.getFlashcards());
+        assertEquals(new CardiBuddy(model.getCardiBuddy()),
+                new CardiBuddy(new ShardedCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void getDeckFileName_similarTitles_differentNames() {
+        assertEquals(ShardedCardiBuddyStorage.getDeckFileName("CS2103T", 1),
+                ShardedCardiBuddyStorage.getDeckFileName("CS2103T", 1));
+        assertNotEquals(ShardedCardiBuddyStorage.getDeckFileName("a/b", 1),
+                ShardedCardiBuddyStorage.getDeckFileName("a:b", 1));
+        assertTrue(ShardedCardiBuddyStorage.getDeckFileName("../CS 2103T", 3)
+                .matches("___cs_2103t-[0-9a-f]{8}-3\\.json"));
+    }
+
+    private Set<String> listDeckFiles(Path filePath) throws IOException {
+        try (Stream<Path> files = Files.list(ShardedCardiBuddyStorage.getDecksDirectory(filePath))) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+}
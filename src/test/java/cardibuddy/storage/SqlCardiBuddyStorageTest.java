@@ -0,0 +1,128 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.StorageFormat;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.model.flashcard.Card;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class SqlCardiBuddyStorageTest {
+
+    private static final int CARDS = 200;
+
+    @TempDir
+    public Path testFolder;
+
+    /**
+     * Returns the titles, tags and questions of the decks of {@code cardiBuddy}.
+     */
+    private static List<String> describeDecks(ReadOnlyCardiBuddy cardiBuddy) {
+        List<String> decks = new ArrayList<>();
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            decks.add(deck.getTitle() + " " + deck.getTags() + ": " + deck.getFlashcards());
+        }
+        return decks;
+    }
+
+    private static Deck largeDeck() {
+        Deck deck = new DeckBuilder().withTitle("Large").build();
+        for (int i = 0; i < CARDS; i++) {
+            deck.addCard(new FlashcardBuilder().withQuestion("Question " + i + "?").withAnswer("Answer " + i)
+                    .build());
+        }
+        return deck;
+    }
+
+    @Test
+    public void readCardiBuddy_missingFile_emptyResult() throws Exception {
+        assertFalse(new SqlCardiBuddyStorage(testFolder.resolve("NonExistentFile.mv.db")).readCardiBuddy()
+                .isPresent());
+    }
+
+    @Test
+    public void getFormat_databaseFile_sql() {
+        assertEquals(StorageFormat.SQL,
+                CardiBuddyStorageFactory.getFormat(StorageFormat.JSON, testFolder.resolve("cardibuddy.mv.db")));
+    }
+
+    @Test
+    public void readAndSave_typicalCardiBuddy_success() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.mv.db");
+        CardiBuddy original = getTypicalCardiBuddy();
+        new SqlCardiBuddyStorage(filePath).saveCardiBuddy(original);
+
+        ReadOnlyCardiBuddy read = new SqlCardiBuddyStorage(filePath).readCardiBuddy().get();
+        assertEquals(describeDecks(original), describeDecks(read));
+        assertEquals(original.getStatistics().getDecksAdded(), read.getStatistics().getDecksAdded());
+    }
+
+    @Test
+    public void saveCardiBuddy_decksAddedAndRemoved_success() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.mv.db");
+        SqlCardiBuddyStorage storage = new SqlCardiBuddyStorage(filePath);
+        CardiBuddy cardiBuddy = getTypicalCardiBuddy();
+        storage.saveCardiBuddy(cardiBuddy);
+
+        cardiBuddy.removeDeck(cardiBuddy.getDeckList().get(0));
+        cardiBuddy.addDeck(new DeckBuilder().withTitle("Spanish").withTags("language").build());
+        storage.saveCardiBuddy(cardiBuddy);
+
+        assertEquals(describeDecks(cardiBuddy),
+                describeDecks(new SqlCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_singleCardEdited_onlyItsRowsWritten() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.mv.db");
+        SqlCardiBuddyStorage storage = new SqlCardiBuddyStorage(filePath);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        Deck deck = largeDeck();
+        cardiBuddy.addDeck(deck);
+        storage.saveCardiBuddy(cardiBuddy);
+
+        Card edited = new FlashcardBuilder().withQuestion("Edited?").withAnswer("Edited").build();
+        deck.setFlashcard(deck.getFlashcards().get(CARDS / 2), edited);
+        storage.saveCardiBuddy(cardiBuddy);
+
+        // the row of the deck, the row of its statistics and the row of the edited card
+        assertEquals(3, storage.getLastRowsWritten());
+        assertEquals(describeDecks(cardiBuddy),
+                describeDecks(new SqlCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+
+    @Test
+    public void saveCardiBuddy_firstCardDeleted_onlyItsRowsWritten() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.mv.db");
+        SqlCardiBuddyStorage storage = new SqlCardiBuddyStorage(filePath);
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        Deck deck = largeDeck();
+        cardiBuddy.addDeck(deck);
+        storage.saveCardiBuddy(cardiBuddy);
+        storage.close();
+
+        SqlCardiBuddyStorage reopened = new SqlCardiBuddyStorage(filePath);
+        CardiBuddy read = new CardiBuddy(reopened.readCardiBuddy().get());
+        Deck readDeck = read.getDeckList().get(0);
+        readDeck.deleteCard(readDeck.getFlashcards().get(0));
+        readDeck.addCard(new FlashcardBuilder().withQuestion("Added?").withAnswer("Added").build());
+        reopened.saveCardiBuddy(read);
+        reopened.close();
+
+        // the row of the deck, the row of its statistics and the row of the deleted card, reused for the added one
+        assertEquals(3, reopened.getLastRowsWritten());
+        assertEquals(describeDecks(read), describeDecks(new SqlCardiBuddyStorage(filePath).readCardiBuddy().get()));
+    }
+}
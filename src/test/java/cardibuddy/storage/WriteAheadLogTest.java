@@ -0,0 +1,282 @@
+package cardibuddy.storage;
+
+import static cardibuddy.testutil.Assert.assertThrows;
+import static cardibuddy.testutil.TypicalDecks.getTypicalCardiBuddy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import cardibuddy.commons.util.JsonUtil;
+import cardibuddy.model.CardiBuddy;
+import cardibuddy.model.FsyncPolicy;
+import cardibuddy.model.ModelManager;
+import cardibuddy.model.ReadOnlyCardiBuddy;
+import cardibuddy.model.UserPrefs;
+import cardibuddy.model.deck.Deck;
+import cardibuddy.testutil.DeckBuilder;
+import cardibuddy.testutil.FlashcardBuilder;
+
+public class WriteAheadLogTest {
+
+    private static final int COMMANDS = 5;
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    public Path testFolder;
+
+    private final List<CrashingLogFile> openedFiles = new ArrayList<>();
+
+    /**
+     * Returns the data after the first {@code commands} of a run of commands, built afresh each time
+     * as the copies saved by {@code LogicManager} are.
+     */
+    private static ReadOnlyCardiBuddy stateAfter(int commands) {
+        CardiBuddy cardiBuddy = new CardiBuddy();
+        if (commands >= 1) {
+            Deck spanish = new DeckBuilder().withTitle("Spanish").build();
+            if (commands >= 3) {
+                spanish.addCard(new FlashcardBuilder().withQuestion("Hola?").withAnswer("Hello").build());
+            }
+            cardiBuddy.addDeck(spanish);
+        }
+        if (commands >= 2 && commands < 4) {
+            cardiBuddy.addDeck(new DeckBuilder().withTitle("French").build());
+        }
+        if (commands >= 5) {
+            cardiBuddy.addDeck(new DeckBuilder().withTitle("German").withTags("language").build());
+        }
+        return cardiBuddy;
+    }
+
+    private static String describe(ReadOnlyCardiBuddy cardiBuddy) throws IOException {
+        return JsonUtil.toJsonLine(new JsonSerializableCardiBuddy(cardiBuddy));
+    }
+
+    /**
+     * Returns the titles and questions of the decks of {@code cardiBuddy}, leaving out the statistics,
+     * which count the decks added again each time the data file is read.
+     */
+    private static List<String> describeDecks(ReadOnlyCardiBuddy cardiBuddy) {
+        List<String> decks = new ArrayList<>();
+        for (Deck deck : cardiBuddy.getDeckList()) {
+            decks.add(deck.getTitle() + ": " + deck.getFlashcards());
+        }
+        return decks;
+    }
+
+    private WriteAheadLog newLog(FsyncPolicy fsyncPolicy, long fsyncDelayMillis) {
+        return new WriteAheadLog(testFolder.resolve("cardibuddy.json.wal"), fsyncPolicy, fsyncDelayMillis,
+                CrashingLogFile.opener(openedFiles::add));
+    }
+
+    private CrashingLogFile lastOpened() {
+        return openedFiles.get(openedFiles.size() - 1);
+    }
+
+    /**
+     * Returns the data a new log recovers over {@code snapshot} after the crash.
+     */
+    private ReadOnlyCardiBuddy recover(ReadOnlyCardiBuddy snapshot) throws Exception {
+        return newLog(FsyncPolicy.EVERY_COMMAND, 0).recover(Optional.of(snapshot)).get();
+    }
+
+    @Test
+    public void recover_noLog_returnsSnapshot() throws Exception {
+        Optional<ReadOnlyCardiBuddy> snapshot = Optional.of(stateAfter(2));
+        assertSame(snapshot, newLog(FsyncPolicy.EVERY_COMMAND, 0).recover(snapshot));
+        assertFalse(newLog(FsyncPolicy.EVERY_COMMAND, 0).recover(Optional.empty()).isPresent());
+    }
+
+    @Test
+    public void append_everyCommand_crashAfterAnyCommandRecoversIt() throws Exception {
+        for (int crashAfter = 1; crashAfter <= COMMANDS; crashAfter++) {
+            Files.deleteIfExists(testFolder.resolve("cardibuddy.json.wal"));
+            WriteAheadLog log = newLog(FsyncPolicy.EVERY_COMMAND, 0);
+            log.recover(Optional.of(stateAfter(0)));
+            for (int command = 1; command <= crashAfter; command++) {
+                log.append(stateAfter(command));
+            }
+            assertEquals(0, lastOpened().getUnforcedBytes());
+            lastOpened().crash(0);
+
+            assertEquals(describe(stateAfter(crashAfter)), describe(recover(stateAfter(0))));
+        }
+    }
+
+    @Test
+    public void appendInBackground_closedWhileQueued_everyCommandAppendedAndForced() throws Exception {
+        WriteAheadLog log = newLog(FsyncPolicy.EVERY_COMMAND, 0);
+        log.recover(Optional.of(stateAfter(0)));
+        List<CompletableFuture<Void>> appended = new ArrayList<>();
+        for (int command = 1; command <= COMMANDS; command++) {
+            appended.add(log.appendInBackground(stateAfter(command)));
+        }
+        log.close();
+        for (CompletableFuture<Void> future : appended) {
+            assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        }
+        lastOpened().crash(0);
+
+        assertEquals(describe(stateAfter(COMMANDS)), describe(recover(stateAfter(0))));
+    }
+
+    @Test
+    public void append_failsPartWay_cutShortLineIgnored() throws Exception {
+        for (int failingCommand = 1; failingCommand <= COMMANDS; failingCommand++) {
+            Files.deleteIfExists(testFolder.resolve("cardibuddy.json.wal"));
+            int appendsBeforeFailure = failingCommand - 1;
+            WriteAheadLog log = new WriteAheadLog(testFolder.resolve("cardibuddy.json.wal"),
+                    FsyncPolicy.EVERY_COMMAND, 0, CrashingLogFile.opener(file -> {
+                        file.failAfter(appendsBeforeFailure);
+                        openedFiles.add(file);
+                    }));
+            log.recover(Optional.of(stateAfter(0)));
+            for (int command = 1; command < failingCommand; command++) {
+                log.append(stateAfter(command));
+            }
+            ReadOnlyCardiBuddy failing = stateAfter(failingCommand);
+            assertThrows(IOException.class, () -> log.append(failing));
+            // even if the half written line reached the disk, the command did not report success
+            lastOpened().crash(Integer.MAX_VALUE);
+
+            assertEquals(describe(stateAfter(failingCommand - 1)), describe(recover(stateAfter(0))));
+        }
+    }
+
+    @Test
+    public void append_interval_unforcedChangesLostOrKept() throws Exception {
+        WriteAheadLog log = newLog(FsyncPolicy.INTERVAL, NEVER);
+        log.recover(Optional.of(stateAfter(0)));
+        log.append(stateAfter(1));
+        log.sync();
+        log.append(stateAfter(2));
+        log.append(stateAfter(3));
+        CrashingLogFile file = lastOpened();
+        assertEquals(1, file.getForces());
+
+        // everything not forced is lost
+        file.crash(0);
+        assertEquals(describe(stateAfter(1)), describe(recover(stateAfter(0))));
+        // part of it reached the disk
+        file.crash(file.getUnforcedBytes() - 1);
+        assertEquals(describe(stateAfter(2)), describe(recover(stateAfter(0))));
+        // all of it reached the disk
+        file.crash(file.getUnforcedBytes());
+        assertEquals(describe(stateAfter(3)), describe(recover(stateAfter(0))));
+    }
+
+    @Test
+    public void append_idle_forcedOnceIdle() throws Exception {
+        WriteAheadLog log = newLog(FsyncPolicy.IDLE, 10);
+        log.recover(Optional.of(stateAfter(0)));
+        log.append(stateAfter(1));
+        log.append(stateAfter(2));
+        CrashingLogFile file = lastOpened();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (file.getUnforcedBytes() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(0, file.getUnforcedBytes());
+        log.close();
+    }
+
+    @Test
+    public void checkpoint_crashBeforeOrAfter_sameDataRecovered() throws Exception {
+        WriteAheadLog log = newLog(FsyncPolicy.EVERY_COMMAND, 0);
+        log.recover(Optional.of(stateAfter(0)));
+        for (int command = 1; command <= 3; command++) {
+            log.append(stateAfter(command));
+        }
+        ReadOnlyCardiBuddy saved = stateAfter(3);
+        log.append(saved); // nothing changed, but it is now the data last logged
+        CrashingLogFile file = lastOpened();
+
+        // the data file was saved, but the log not yet emptied: applying the log again changes nothing
+        file.crash(0);
+        assertEquals(describe(stateAfter(3)), describe(recover(saved)));
+
+        log.checkpoint(stateAfter(2)); // not the data last logged, so the log is kept
+        file.crash(0);
+        assertTrue(Files.size(testFolder.resolve("cardibuddy.json.wal")) > 0);
+        log.checkpoint(saved);
+        file.crash(0);
+        assertEquals(0, Files.size(testFolder.resolve("cardibuddy.json.wal")));
+
+        // commands after the checkpoint are logged against the saved data
+        log.append(stateAfter(4));
+        log.append(stateAfter(5));
+        file.crash(0);
+        assertEquals(describe(stateAfter(5)), describe(recover(saved)));
+    }
+
+    @Test
+    public void readCardiBuddy_storageManager_recoversAndSaves() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        JsonCardiBuddyStorage cardiBuddyStorage = new JsonCardiBuddyStorage(filePath);
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(testFolder.resolve("prefs.json"));
+        StorageManager storage = new StorageManager(cardiBuddyStorage, userPrefsStorage,
+                newLog(FsyncPolicy.EVERY_COMMAND, 0));
+        storage.saveCardiBuddy(stateAfter(2));
+        storage.readCardiBuddy();
+        storage.logCardiBuddy(stateAfter(3)).get();
+        storage.logCardiBuddy(stateAfter(4)).get();
+        lastOpened().crash(0);
+
+        StorageManager restarted = new StorageManager(cardiBuddyStorage, userPrefsStorage,
+                new WriteAheadLog(WriteAheadLog.getWalPath(filePath), FsyncPolicy.EVERY_COMMAND, 0));
+        assertEquals(describeDecks(stateAfter(4)), describeDecks(restarted.readCardiBuddy().get()));
+        // the recovered data is saved and the log emptied
+        assertEquals(describeDecks(stateAfter(4)),
+                describeDecks(new JsonCardiBuddyStorage(filePath).readCardiBuddy().get()));
+        assertEquals(0, Files.size(WriteAheadLog.getWalPath(filePath)));
+        restarted.closeCardiBuddyLog();
+    }
+
+    @Test
+    public void recover_lazyDecks_leftUnloadedByRecoveryAndNextCommand() throws Exception {
+        Path filePath = testFolder.resolve("cardibuddy.json");
+        Path walPath = WriteAheadLog.getWalPath(filePath);
+        JsonUserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(testFolder.resolve("prefs.json"));
+        new ShardedCardiBuddyStorage(filePath).saveCardiBuddy(getTypicalCardiBuddy());
+
+        StorageManager storage = new StorageManager(new ShardedCardiBuddyStorage(filePath, true), userPrefsStorage,
+                newLog(FsyncPolicy.EVERY_COMMAND, 0));
+        ModelManager model = new ModelManager(storage.readCardiBuddy().get(), new UserPrefs());
+        storage.markCardiBuddyRead(model.getDetachedCardiBuddy());
+        model.addDeck(new DeckBuilder().withTitle("Spanish").build());
+        storage.logCardiBuddy(model.getDetachedCardiBuddy()).get();
+        lastOpened().crash(0);
+
+        StorageManager restarted = new StorageManager(new ShardedCardiBuddyStorage(filePath, true),
+                userPrefsStorage, new WriteAheadLog(walPath, FsyncPolicy.EVERY_COMMAND, 0));
+        ModelManager recovered = new ModelManager(restarted.readCardiBuddy().get(), new UserPrefs());
+        restarted.markCardiBuddyRead(recovered.getDetachedCardiBuddy());
+        recovered.addDeck(new DeckBuilder().withTitle("German").build());
+        restarted.logCardiBuddy(recovered.getDetachedCardiBuddy()).get();
+        restarted.closeCardiBuddyLog();
+
+        // only the decks added are logged, and no deck read from the data file is loaded for it
+        List<String> lines = Files.readAllLines(walPath);
+        assertEquals(1, lines.size());
+        JsonJournalRecord record = JsonUtil.fromJsonString(lines.get(0), JsonJournalRecord.class);
+        assertEquals(1, record.getPut().size());
+        assertEquals("German", record.getPut().get(0).getTitle());
+        for (Deck deck : recovered.getCardiBuddy().getDeckList()) {
+            String title = deck.getTitle().toString();
+            assertTrue(title.equals("Spanish") || title.equals("German") || !deck.isLoaded(), title);
+        }
+    }
+}